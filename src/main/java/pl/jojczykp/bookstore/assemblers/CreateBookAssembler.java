@@ -1,14 +1,24 @@
 package pl.jojczykp.bookstore.assemblers;
 
+import com.google.common.base.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
 import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.builders.BookFileBuilder;
+import pl.jojczykp.bookstore.utils.BookContentCompressor;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.Blob;
 import java.util.Locale;
 
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.utils.BookContentCompressor.GZIP;
 
 @Service
 public class CreateBookAssembler {
@@ -16,20 +26,51 @@ public class CreateBookAssembler {
 	private static final int ID_TO_BE_SET_AUTOMATICALLY = 0;
 	private static final int VERSION_TO_BE_SET_AUTOMATICALLY = 0;
 
+	@Autowired private BookContentCompressor bookContentCompressor;
+
 	public Book toDomain(CreateBookCommand command) {
+		MessageDigest contentDigest = getSha256Digest();
 		Book domain = new Book();
 		domain.setId(ID_TO_BE_SET_AUTOMATICALLY);
 		domain.setVersion(VERSION_TO_BE_SET_AUTOMATICALLY);
 		domain.setTitle(command.getTitle());
-		domain.setBookFile(aBookFile()
+		domain.setBookFile(withFileContentIn(command, contentDigest, aBookFile()
 				.withFileType(fileExtensionIn(command))
 				.withContentType(fileContentTypeIn(command))
-				.withContent(fileContentIn(command))
+				.withContentDigest(contentDigest))
 				.build());
 
 		return domain;
 	}
 
+	private BookFileBuilder withFileContentIn(CreateBookCommand command, MessageDigest contentDigest,
+												BookFileBuilder bookFile) {
+		if (!bookContentCompressor.isCandidate(fileExtensionIn(command))) {
+			return bookFile.withContent(digesting(fileContentIn(command), contentDigest), fileContentLengthIn(command));
+		}
+
+		Optional<Blob> compressed = compressedFileContentIn(command, contentDigest);
+		if (compressed.isPresent()) {
+			return bookFile.withContent(compressed.get())
+					.withContentLength(fileContentLengthIn(command))
+					.withContentEncoding(GZIP);
+		} else {
+			return bookFile.withContent(fileContentIn(command), fileContentLengthIn(command));
+		}
+	}
+
+	private Optional<Blob> compressedFileContentIn(CreateBookCommand command, MessageDigest contentDigest) {
+		try (InputStream content = digesting(fileContentIn(command), contentDigest)) {
+			return bookContentCompressor.compress(content, fileContentLengthIn(command));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private InputStream digesting(InputStream content, MessageDigest contentDigest) {
+		return new DigestInputStream(content, contentDigest);
+	}
+
 	private String fileExtensionIn(CreateBookCommand command) {
 		return getExtension(command.getFile().getOriginalFilename()).toLowerCase(Locale.US);
 	}
@@ -38,12 +79,16 @@ public class CreateBookAssembler {
 		return command.getFile().getContentType();
 	}
 
-	private byte[] fileContentIn(CreateBookCommand command) {
+	private InputStream fileContentIn(CreateBookCommand command) {
 		try {
-			return command.getFile().getBytes();
+			return command.getFile().getInputStream();
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	private long fileContentLengthIn(CreateBookCommand command) {
+		return command.getFile().getSize();
+	}
+
 }
@@ -2,7 +2,7 @@ package pl.jojczykp.bookstore.assemblers;
 
 import org.springframework.stereotype.Service;
 import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
-import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,21 +19,21 @@ public class DisplayBookAssembler {
 			"7z", "bin", "bmp", "doc", "eps", "gz", "htm", "html", "jpeg", "jpg", "pdf", "pps",
 			"ps", "psd", "rar", "rtf", "tgz", "tif", "txt", "wps", "xls", "zip");
 
-	public List<DisplayBookCommand> toCommands(List<Book> domains) {
+	public List<DisplayBookCommand> toCommands(List<BookSummary> domains) {
 		List<DisplayBookCommand> commands = new ArrayList<>(domains.size());
-		for (Book domain : domains) {
+		for (BookSummary domain : domains) {
 			commands.add(toCommand(domain));
 		}
 
 		return commands;
 	}
 
-	private DisplayBookCommand toCommand(Book domain) {
+	private DisplayBookCommand toCommand(BookSummary domain) {
 		DisplayBookCommand command = new DisplayBookCommand();
 		command.setId(domain.getId());
 		command.setVersion(domain.getVersion());
 		command.setTitle(domain.getTitle());
-		command.setIconName(iconNameFor(domain.getBookFile().getFileType()));
+		command.setIconName(iconNameFor(domain.getFileType()));
 
 		return command;
 	}
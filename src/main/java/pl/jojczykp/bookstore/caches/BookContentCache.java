@@ -0,0 +1,303 @@
+package pl.jojczykp.bookstore.caches;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static com.google.common.base.Throwables.propagate;
+import static com.google.common.base.Throwables.propagateIfInstanceOf;
+import static com.google.common.util.concurrent.Callables.returning;
+import static pl.jojczykp.bookstore.utils.BufferUtils.bufferReadFully;
+
+@Service
+public class BookContentCache {
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final boolean ACCESS_ORDER = true;
+
+	@Autowired private BookContentStore bookContentStore;
+
+	@Value("${cache.books.contents.maxBytes}") private long maxBytes;
+
+	private final Map<Integer, CachedContent> contents =
+			new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, ACCESS_ORDER);
+	private final Map<Integer, ContentLoading> loadings = new HashMap<>();
+	private final Set<ReleasedContent> releasedContents = new HashSet<>();
+	private final ReferenceQueue<ByteBuffer> collectedContents = new ReferenceQueue<>();
+
+	private long residentBytes;
+	private long releasedBytes;
+	private long hitsCount;
+	private long missesCount;
+	private long rangeHitsCount;
+	private long rangeMissesCount;
+	private long evictionsCount;
+
+	public ByteBuffer get(BookFile bookFile) throws IOException {
+		FutureTask<ByteBuffer> loading = loadingOf(bookFile);
+		if (loading == null) {
+			return null;
+		}
+
+		loading.run();
+
+		return resultOf(loading).asReadOnlyBuffer();
+	}
+
+	private synchronized FutureTask<ByteBuffer> loadingOf(BookFile bookFile) {
+		ByteBuffer cached = lookup(bookFile);
+		if (cached != null) {
+			hitsCount++;
+			return completed(cached);
+		}
+
+		missesCount++;
+		if (!isCacheable(bookFile)) {
+			return null;
+		}
+
+		ContentLoading loading = loadings.get(bookFile.getId());
+		if (loading == null || !loading.contentHash.equals(bookFile.getContentHash())) {
+			loading = new ContentLoading(bookFile);
+			loadings.put(bookFile.getId(), loading);
+		}
+
+		return loading.task;
+	}
+
+	private FutureTask<ByteBuffer> completed(ByteBuffer content) {
+		FutureTask<ByteBuffer> task = new FutureTask<>(returning(content));
+		task.run();
+
+		return task;
+	}
+
+	private ByteBuffer resultOf(FutureTask<ByteBuffer> loading) throws IOException {
+		try {
+			return loading.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			propagateIfInstanceOf(e.getCause(), IOException.class);
+			throw propagate(e.getCause());
+		}
+	}
+
+	public synchronized ByteBuffer getIfPresent(BookFile bookFile) {
+		ByteBuffer cached = lookup(bookFile);
+		if (cached != null) {
+			rangeHitsCount++;
+		} else {
+			rangeMissesCount++;
+		}
+
+		return cached;
+	}
+
+	private ByteBuffer lookup(BookFile bookFile) {
+		CachedContent cached = contents.get(bookFile.getId());
+		if (cached == null) {
+			return null;
+		}
+
+		if (!cached.contentHash.equals(bookFile.getContentHash())) {
+			remove(bookFile.getId());
+			return null;
+		}
+
+		return cached.content.asReadOnlyBuffer();
+	}
+
+	private boolean isCacheable(BookFile bookFile) {
+		return maxBytes > 0 && bookFile.getStoredContentLength() <= maxBytes;
+	}
+
+	private ByteBuffer load(BookFile bookFile) throws IOException {
+		ByteBuffer content = ByteBuffer.allocateDirect(bookFile.getStoredContentLength());
+		try (InputStream stream = bookContentStore.openStream(bookFile)) {
+			bufferReadFully(stream, content);
+		}
+		content.flip();
+
+		return content;
+	}
+
+	private synchronized void loaded(ContentLoading loading, ByteBuffer content) {
+		boolean current = (loadings.get(loading.bookFileId) == loading);
+		if (current) {
+			loadings.remove(loading.bookFileId);
+		}
+
+		if (current && content != null) {
+			put(loading, content);
+		} else if (content != null) {
+			release(content);
+		}
+	}
+
+	private void put(ContentLoading loading, ByteBuffer content) {
+		remove(loading.bookFileId);
+		evictToFit(content.capacity());
+		contents.put(loading.bookFileId, new CachedContent(loading.contentHash, content));
+		residentBytes += content.capacity();
+	}
+
+	private void evictToFit(long length) {
+		Iterator<CachedContent> eldestFirst = contents.values().iterator();
+		while (residentBytes + length > maxBytes && eldestFirst.hasNext()) {
+			CachedContent evicted = eldestFirst.next();
+			eldestFirst.remove();
+			residentBytes -= evicted.content.capacity();
+			release(evicted.content);
+			evictionsCount++;
+		}
+	}
+
+	public synchronized void invalidate(Collection<Integer> bookFileIds) {
+		for (Integer bookFileId : bookFileIds) {
+			loadings.remove(bookFileId);
+			remove(bookFileId);
+		}
+	}
+
+	private void remove(Integer bookFileId) {
+		CachedContent removed = contents.remove(bookFileId);
+		if (removed != null) {
+			residentBytes -= removed.content.capacity();
+			release(removed.content);
+		}
+	}
+
+	private void release(ByteBuffer content) {
+		pollCollected();
+		releasedContents.add(new ReleasedContent(content, collectedContents));
+		releasedBytes += content.capacity();
+	}
+
+	private void pollCollected() {
+		Reference<? extends ByteBuffer> collected;
+		while ((collected = collectedContents.poll()) != null) {
+			ReleasedContent released = (ReleasedContent) collected;
+			releasedContents.remove(released);
+			releasedBytes -= released.length;
+		}
+	}
+
+	public synchronized void clear() {
+		for (CachedContent cached : contents.values()) {
+			release(cached.content);
+		}
+		contents.clear();
+		loadings.clear();
+		residentBytes = 0;
+	}
+
+	public synchronized int getEntriesCount() {
+		return contents.size();
+	}
+
+	public synchronized long getResidentBytes() {
+		return residentBytes;
+	}
+
+	public synchronized long getReleasedBytes() {
+		pollCollected();
+		return releasedBytes;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	public synchronized long getHitsCount() {
+		return hitsCount;
+	}
+
+	public synchronized long getMissesCount() {
+		return missesCount;
+	}
+
+	public synchronized long getRangeHitsCount() {
+		return rangeHitsCount;
+	}
+
+	public synchronized long getRangeMissesCount() {
+		return rangeMissesCount;
+	}
+
+	public synchronized long getEvictionsCount() {
+		return evictionsCount;
+	}
+
+	private static final class CachedContent {
+
+		private final String contentHash;
+		private final ByteBuffer content;
+
+		private CachedContent(String contentHash, ByteBuffer content) {
+			this.contentHash = contentHash;
+			this.content = content;
+		}
+
+	}
+
+	private final class ContentLoading implements Callable<ByteBuffer> {
+
+		private final Integer bookFileId;
+		private final String contentHash;
+		private final BookFile bookFile;
+		private final FutureTask<ByteBuffer> task;
+
+		private ContentLoading(BookFile bookFile) {
+			this.bookFileId = bookFile.getId();
+			this.contentHash = bookFile.getContentHash();
+			this.bookFile = bookFile;
+			this.task = new FutureTask<>(this);
+		}
+
+		@Override
+		public ByteBuffer call() throws IOException {
+			ByteBuffer content = null;
+			try {
+				content = load(bookFile);
+				return content;
+			} finally {
+				loaded(this, content);
+			}
+		}
+
+	}
+
+	private static final class ReleasedContent extends PhantomReference<ByteBuffer> {
+
+		private final long length;
+
+		private ReleasedContent(ByteBuffer content, ReferenceQueue<ByteBuffer> queue) {
+			super(content, queue);
+			this.length = content.capacity();
+		}
+
+	}
+
+}
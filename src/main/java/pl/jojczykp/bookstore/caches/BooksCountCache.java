@@ -0,0 +1,63 @@
+package pl.jojczykp.bookstore.caches;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.currentTimeMillis;
+
+@Service
+public class BooksCountCache {
+
+	private static final long NEVER = -1;
+
+	@Autowired private BooksRepository booksRepository;
+
+	@Value("${cache.books.count.resyncIntervalMillis}") private long resyncIntervalMillis;
+
+	private final AtomicInteger count = new AtomicInteger();
+	private final AtomicInteger resyncsCount = new AtomicInteger();
+	private final AtomicLong lastResyncMillis = new AtomicLong(NEVER);
+
+	public int get() {
+		if (isResyncDue()) {
+			resyncIfDue();
+		}
+
+		return count.get();
+	}
+
+	private synchronized void resyncIfDue() {
+		if (isResyncDue()) {
+			resync();
+		}
+	}
+
+	public void increment() {
+		count.incrementAndGet();
+	}
+
+	public void decrement(int delta) {
+		count.addAndGet(-delta);
+	}
+
+	public synchronized void resync() {
+		count.set(booksRepository.totalCount());
+		lastResyncMillis.set(currentTimeMillis());
+		resyncsCount.incrementAndGet();
+	}
+
+	public int getResyncsCount() {
+		return resyncsCount.get();
+	}
+
+	private boolean isResyncDue() {
+		long last = lastResyncMillis.get();
+		return last == NEVER || currentTimeMillis() - last >= resyncIntervalMillis;
+	}
+
+}
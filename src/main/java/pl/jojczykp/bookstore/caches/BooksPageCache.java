@@ -0,0 +1,62 @@
+package pl.jojczykp.bookstore.caches;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
+import pl.jojczykp.bookstore.commands.common.PagerCommand;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+@Service
+public class BooksPageCache {
+
+	@Value("${cache.books.pages.maxSize}") private int maxSize;
+
+	private final long generation = currentTimeMillis();
+	private final AtomicLong catalogVersion = new AtomicLong();
+	private Cache<List<Object>, List<DisplayBookCommand>> pages;
+
+	@PostConstruct
+	public void init() {
+		pages = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.build();
+	}
+
+	public String getCatalogVersion() {
+		return generation + "-" + catalogVersion.get();
+	}
+
+	public void bumpCatalogVersion() {
+		catalogVersion.incrementAndGet();
+	}
+
+	public List<DisplayBookCommand> get(String version, PagerCommand pager) {
+		return pages.getIfPresent(keyFor(version, pager));
+	}
+
+	public void put(String version, PagerCommand pager, List<DisplayBookCommand> books) {
+		pages.put(keyFor(version, pager), unmodifiableList(books));
+	}
+
+	private List<Object> keyFor(String version, PagerCommand pager) {
+		return asList(
+				(Object) version,
+				pager.getPageNumber(),
+				pager.getPageSize(),
+				pager.getSorter().getColumn(),
+				pager.getSorter().getDirection(),
+				pager.getSeek().getDirection(),
+				pager.getSeek().getBookId(),
+				pager.getSeek().getBookTitle());
+	}
+
+}
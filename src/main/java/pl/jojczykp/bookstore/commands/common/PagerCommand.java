@@ -1,5 +1,6 @@
 package pl.jojczykp.bookstore.commands.common;
 
+import pl.jojczykp.bookstore.utils.PageSeek;
 import pl.jojczykp.bookstore.utils.PageSorter;
 
 public class PagerCommand {
@@ -9,9 +10,11 @@ public class PagerCommand {
 	private int pagesCount;
 	private int totalCount;
 	private PageSorter sorter;
+	private PageSeek seek;
 
 	public PagerCommand() {
 		sorter = new PageSorter();
+		seek = new PageSeek();
 	}
 
 	public int getPageNumber() {
@@ -54,4 +57,12 @@ public class PagerCommand {
 		this.sorter = sorter;
 	}
 
+	public PageSeek getSeek() {
+		return seek;
+	}
+
+	public void setSeek(PageSeek seek) {
+		this.seek = seek;
+	}
+
 }
@@ -7,6 +7,7 @@ public abstract class BooksConsts {
 	public static final String URL_ACTION_UPDATE = "/books/update";
 	public static final String URL_ACTION_DELETE = "/books/delete";
 	public static final String URL_ACTION_DOWNLOAD = "/books/download";
+	public static final String URL_ACTION_UPLOADS = "/books/uploads";
 
 	public static final String URL_ACTION_SORT = "/books/sort";
 	public static final String URL_ACTION_GO_TO_PAGE = "/books/goToPage";
@@ -22,4 +23,7 @@ public abstract class BooksConsts {
 	public static final String DISPLAY_BOOKS_VIEW = "books";
 
 	public static final String EXCEPTION_VIEW = "exception";
+
+	public static final String BOOKS_CACHE_REGION = "books";
+	public static final String BOOK_FILES_CACHE_REGION = "bookFiles";
 }
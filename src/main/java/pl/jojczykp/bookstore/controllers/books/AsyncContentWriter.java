@@ -0,0 +1,78 @@
+package pl.jojczykp.bookstore.controllers.books;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.lang.Math.min;
+
+public class AsyncContentWriter implements WriteListener, AsyncListener {
+
+	private final AsyncContext asyncContext;
+	private final ServletOutputStream output;
+	private final ByteBuffer content;
+	private final byte[] chunk;
+	private boolean completed;
+
+	public AsyncContentWriter(AsyncContext asyncContext, ServletOutputStream output, ByteBuffer content,
+								int chunkSize) {
+		this.asyncContext = asyncContext;
+		this.output = output;
+		this.content = content;
+		this.chunk = new byte[chunkSize];
+	}
+
+	public void start() {
+		asyncContext.addListener(this);
+		output.setWriteListener(this);
+	}
+
+	@Override
+	public synchronized void onWritePossible() throws IOException {
+		while (!completed && output.isReady()) {
+			if (!content.hasRemaining()) {
+				complete();
+				return;
+			}
+
+			int length = min(chunk.length, content.remaining());
+			content.get(chunk, 0, length);
+			output.write(chunk, 0, length);
+		}
+	}
+
+	@Override
+	public synchronized void onError(Throwable t) {
+		complete();
+	}
+
+	@Override
+	public synchronized void onTimeout(AsyncEvent event) {
+		complete();
+	}
+
+	@Override
+	public synchronized void onError(AsyncEvent event) {
+		complete();
+	}
+
+	@Override
+	public void onComplete(AsyncEvent event) {
+	}
+
+	@Override
+	public void onStartAsync(AsyncEvent event) {
+	}
+
+	private void complete() {
+		if (!completed) {
+			completed = true;
+			asyncContext.complete();
+		}
+	}
+
+}
@@ -2,19 +2,29 @@ package pl.jojczykp.bookstore.controllers.books;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.ModelAndView;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
+import pl.jojczykp.bookstore.commands.common.MessagesCommand;
+import pl.jojczykp.bookstore.commands.common.PagerCommand;
 import pl.jojczykp.bookstore.services.books.DisplayBooksService;
 import pl.jojczykp.bookstore.utils.BooksCommandFactory;
 
+import javax.servlet.http.HttpServletResponse;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static pl.jojczykp.bookstore.consts.BooksConsts.DISPLAY_BOOKS_COMMAND;
 import static pl.jojczykp.bookstore.consts.BooksConsts.DISPLAY_BOOKS_VIEW;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_DISPLAY;
+import static pl.jojczykp.bookstore.utils.EntityTags.aWeakEntityTagOf;
+import static pl.jojczykp.bookstore.utils.EntityTags.isNoneMatchSatisfiedBy;
 
 @Controller
 public class DisplayBooksController {
@@ -30,13 +40,46 @@ public class DisplayBooksController {
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@RequestMapping(value = URL_ACTION_DISPLAY, method = GET)
 	public ModelAndView display(
-			@ModelAttribute(DISPLAY_BOOKS_COMMAND) DisplayBooksCommand displayBooksCommand)
+			@ModelAttribute(DISPLAY_BOOKS_COMMAND) DisplayBooksCommand displayBooksCommand,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+			HttpServletResponse response)
 	{
-		DisplayBooksCommand resultDisplayBooksCommand = displayBooksService.display(displayBooksCommand);
+		String catalogVersion = displayBooksService.catalogVersion();
+		if (isCacheable(displayBooksCommand)) {
+			String entityTag = entityTagFor(catalogVersion, displayBooksCommand.getPager());
+			response.setHeader("ETag", entityTag);
+			if (isNoneMatchSatisfiedBy(ifNoneMatch, entityTag)) {
+				response.setStatus(SC_NOT_MODIFIED);
+				return null;
+			}
+		}
+
+		DisplayBooksCommand resultDisplayBooksCommand =
+				displayBooksService.display(displayBooksCommand, catalogVersion);
 
 		return new ModelAndView(DISPLAY_BOOKS_VIEW, aModelFor(resultDisplayBooksCommand));
 	}
 
+	private boolean isCacheable(DisplayBooksCommand displayBooksCommand) {
+		MessagesCommand messages = displayBooksCommand.getMessages();
+
+		return messages.getInfos().isEmpty() && messages.getWarns().isEmpty() && messages.getErrors().isEmpty()
+				&& !displayBooksCommand.getPager().getSeek().isActive();
+	}
+
+	private String entityTagFor(String catalogVersion, PagerCommand pager) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		return aWeakEntityTagOf(
+				catalogVersion,
+				pager.getPageNumber(),
+				pager.getPageSize(),
+				pager.getSorter().getColumn(),
+				pager.getSorter().getDirection(),
+				authentication == null ? "" : authentication.getName(),
+				authentication == null ? "" : authentication.getAuthorities());
+	}
+
 	private ModelMap aModelFor(DisplayBooksCommand displayBooksCommand) {
 		return new ModelMap().addAttribute(DISPLAY_BOOKS_COMMAND, displayBooksCommand);
 	}
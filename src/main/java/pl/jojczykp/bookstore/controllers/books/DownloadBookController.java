@@ -1,56 +1,266 @@
 package pl.jojczykp.bookstore.controllers.books;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import pl.jojczykp.bookstore.commands.books.DownloadBookCommand;
 import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimeMetric;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimer;
 import pl.jojczykp.bookstore.services.books.DownloadBookService;
+import pl.jojczykp.bookstore.utils.ByteRange;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
+import static com.google.common.primitives.Ints.checkedCast;
+import static java.nio.channels.Channels.newChannel;
+import static java.util.UUID.randomUUID;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.apache.commons.io.IOUtils.copy;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static pl.jojczykp.bookstore.consts.BooksConsts.DOWNLOAD_BOOK_COMMAND;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_DOWNLOAD;
-import static pl.jojczykp.bookstore.utils.BlobUtils.blobInputStream;
+import static pl.jojczykp.bookstore.utils.BookContentCompressor.GZIP;
+import static pl.jojczykp.bookstore.utils.BufferUtils.bufferInputStream;
+import static pl.jojczykp.bookstore.utils.BufferUtils.bufferWriteFully;
+import static pl.jojczykp.bookstore.utils.ByteRange.isValidRangesHeader;
+import static pl.jojczykp.bookstore.utils.ByteRange.parseSatisfiableRanges;
+import static pl.jojczykp.bookstore.utils.EntityTags.aStrongEntityTag;
+import static pl.jojczykp.bookstore.utils.EntityTags.isNoneMatchSatisfiedBy;
+import static pl.jojczykp.bookstore.utils.ServletOutputUtils.nonBlockingOutputOf;
 
 @Controller
 public class DownloadBookController {
 
+	private static final String CRLF = "\r\n";
+	private static final String ANY_CODING = "*";
+	private static final Pattern ZERO_QUALITY = Pattern.compile("q\\s*=\\s*0(\\.0*)?");
+
 	@Autowired private DownloadBookService downloadBookService;
+	@Autowired private ConnectionHoldTimeMetric connectionHoldTimeMetric;
+
+	@Value("${download.async.enabled}") private boolean asyncEnabled;
+	@Value("${download.async.chunkSize}") private int asyncChunkSize;
+	@Value("${download.async.timeoutMillis}") private long asyncTimeoutMillis;
 
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@RequestMapping(value = URL_ACTION_DOWNLOAD, method = GET)
-	@Transactional
 	public void download(
 			@ModelAttribute(DOWNLOAD_BOOK_COMMAND) DownloadBookCommand downloadBookCommand,
-			HttpServletResponse response) throws IOException
+			@RequestHeader(value = "Range", required = false) String range,
+			@RequestHeader(value = "If-Range", required = false) String ifRange,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+			@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+			HttpServletRequest request, HttpServletResponse response) throws IOException
 	{
-		setResponse(response, downloadBookService.download(downloadBookCommand));
+		ConnectionHoldTimer holdTimer = new ConnectionHoldTimer();
+		try {
+			download(downloadBookCommand, range, ifRange, ifNoneMatch, acceptEncoding, request, response, holdTimer);
+		} finally {
+			connectionHoldTimeMetric.record(holdTimer.getHeldNanos());
+		}
+	}
+
+	private void download(DownloadBookCommand downloadBookCommand, String range, String ifRange, String ifNoneMatch,
+							String acceptEncoding, HttpServletRequest request, HttpServletResponse response,
+							ConnectionHoldTimer holdTimer) throws IOException {
+		Book book = find(downloadBookCommand, holdTimer);
+		BookFile bookFile = book.getBookFile();
+		boolean inflating = isGzipped(bookFile) && !acceptsGzip(acceptEncoding);
+		String entityTag = entityTagFor(bookFile, inflating);
+		setCommonResponseHeaders(response, book, entityTag, inflating);
+
+		if (isNoneMatchSatisfiedBy(ifNoneMatch, entityTag)) {
+			response.setStatus(SC_NOT_MODIFIED);
+		} else if (inflating) {
+			setInflatedContentResponse(response, bookFile, holdTimer);
+		} else if (isRangeRequested(range, ifRange, entityTag)) {
+			List<ByteRange> ranges = parseSatisfiableRanges(range, bookFile.getStoredContentLength());
+			setRangesResponse(request, response, bookFile, ranges, holdTimer);
+		} else {
+			setWholeContentResponse(request, response, bookFile, holdTimer);
+		}
+	}
+
+	private Book find(DownloadBookCommand downloadBookCommand, ConnectionHoldTimer holdTimer) {
+		holdTimer.started();
+		try {
+			return downloadBookService.find(downloadBookCommand);
+		} finally {
+			holdTimer.stopped();
+		}
+	}
+
+	private ByteBuffer content(BookFile bookFile, ConnectionHoldTimer holdTimer) {
+		holdTimer.started();
+		try {
+			return downloadBookService.content(bookFile);
+		} finally {
+			holdTimer.stopped();
+		}
 	}
 
-	private void setResponse(HttpServletResponse response, Book book) throws IOException {
-		setResponseHeaders(response, book);
-		setResponseBody(response, book);
+	private ByteBuffer content(BookFile bookFile, ByteRange range, ConnectionHoldTimer holdTimer) {
+		holdTimer.started();
+		try {
+			return downloadBookService.content(bookFile, range.getFirst(), range.getLength());
+		} finally {
+			holdTimer.stopped();
+		}
+	}
+
+	private boolean isGzipped(BookFile bookFile) {
+		return GZIP.equals(bookFile.getContentEncoding());
+	}
+
+	private boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		for (String coding : acceptEncoding.split(",")) {
+			String[] nameAndParameters = coding.trim().split("\\s*;\\s*");
+			boolean gzipCoding = GZIP.equalsIgnoreCase(nameAndParameters[0]) || ANY_CODING.equals(nameAndParameters[0]);
+			if (gzipCoding && !hasZeroQuality(nameAndParameters)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean hasZeroQuality(String[] nameAndParameters) {
+		for (int i = 1; i < nameAndParameters.length; i++) {
+			if (ZERO_QUALITY.matcher(nameAndParameters[i]).matches()) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
-	private void setResponseHeaders(HttpServletResponse response, Book book) {
-		response.setContentType(book.getBookFile().getContentType());
-		response.setContentLength(book.getBookFile().getContentLength());
+	private void setCommonResponseHeaders(HttpServletResponse response, Book book, String entityTag,
+											boolean inflating) {
 		response.setHeader("Content-Disposition", "attachment; filename=\"" + fileNameFor(book) + "\"");
+		response.setHeader("Accept-Ranges", inflating ? "none" : "bytes");
+		response.setHeader("ETag", entityTag);
+		if (isGzipped(book.getBookFile())) {
+			response.setHeader("Vary", "Accept-Encoding");
+			if (!inflating) {
+				response.setHeader("Content-Encoding", GZIP);
+			}
+		}
 	}
 
 	private String fileNameFor(Book book) {
 		return book.getTitle() + "." + book.getBookFile().getFileType();
 	}
 
-	private void setResponseBody(HttpServletResponse response, Book book) throws IOException {
-		copy(blobInputStream(book.getBookFile().getContent()), response.getOutputStream());
+	private String entityTagFor(BookFile bookFile, boolean inflating) {
+		if (isGzipped(bookFile) && !inflating) {
+			return aStrongEntityTag(bookFile.getContentHash() + "-" + GZIP);
+		} else {
+			return aStrongEntityTag(bookFile.getContentHash());
+		}
+	}
+
+	private void setInflatedContentResponse(HttpServletResponse response, BookFile bookFile,
+											ConnectionHoldTimer holdTimer) throws IOException {
+		ByteBuffer content = content(bookFile, holdTimer);
+		response.setContentType(bookFile.getContentType());
+		response.setContentLength(bookFile.getContentLength());
+		try (InputStream inflated = new GZIPInputStream(bufferInputStream(content))) {
+			copy(inflated, response.getOutputStream());
+		}
+	}
+
+	private boolean isRangeRequested(String range, String ifRange, String entityTag) {
+		return isValidRangesHeader(range) && (ifRange == null || ifRange.equals(entityTag));
+	}
+
+	private void setWholeContentResponse(HttpServletRequest request, HttpServletResponse response,
+											BookFile bookFile, ConnectionHoldTimer holdTimer) throws IOException {
+		ByteBuffer content = content(bookFile, holdTimer);
+		response.setContentType(bookFile.getContentType());
+		response.setContentLength(bookFile.getStoredContentLength());
+		sendContent(request, response, content);
+	}
+
+	private void setRangesResponse(HttpServletRequest request, HttpServletResponse response, BookFile bookFile,
+									List<ByteRange> ranges, ConnectionHoldTimer holdTimer) throws IOException {
+		if (ranges.isEmpty()) {
+			response.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+			response.setHeader("Content-Range", "bytes */" + bookFile.getStoredContentLength());
+		} else if (ranges.size() == 1) {
+			setSingleRangeResponse(request, response, bookFile, ranges.get(0), holdTimer);
+		} else {
+			setMultipleRangesResponse(response, bookFile, ranges, holdTimer);
+		}
+	}
+
+	private void setSingleRangeResponse(HttpServletRequest request, HttpServletResponse response, BookFile bookFile,
+										ByteRange range, ConnectionHoldTimer holdTimer) throws IOException {
+		ByteBuffer content = content(bookFile, range, holdTimer);
+		response.setStatus(SC_PARTIAL_CONTENT);
+		response.setContentType(bookFile.getContentType());
+		response.setHeader("Content-Range", range.toContentRange(bookFile.getStoredContentLength()));
+		response.setContentLength(checkedCast(range.getLength()));
+		sendContent(request, response, content);
+	}
+
+	private void setMultipleRangesResponse(HttpServletResponse response, BookFile bookFile, List<ByteRange> ranges,
+											ConnectionHoldTimer holdTimer) throws IOException {
+		String boundary = randomUUID().toString();
+		response.setStatus(SC_PARTIAL_CONTENT);
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+		ServletOutputStream output = response.getOutputStream();
+		for (ByteRange range : ranges) {
+			ByteBuffer content = content(bookFile, range, holdTimer);
+			output.print("--" + boundary + CRLF);
+			output.print("Content-Type: " + bookFile.getContentType() + CRLF);
+			output.print("Content-Range: " + range.toContentRange(bookFile.getStoredContentLength()) + CRLF + CRLF);
+			bufferWriteFully(content, newChannel(output));
+			output.print(CRLF);
+		}
+		output.print("--" + boundary + "--" + CRLF);
+	}
+
+	private void sendContent(HttpServletRequest request, HttpServletResponse response, ByteBuffer content)
+			throws IOException {
+		ServletOutputStream nonBlockingOutput = nonBlockingOutputFor(request, response);
+		if (nonBlockingOutput != null) {
+			AsyncContext asyncContext = request.startAsync(request, response);
+			asyncContext.setTimeout(asyncTimeoutMillis);
+			new AsyncContentWriter(asyncContext, nonBlockingOutput, content, asyncChunkSize).start();
+		} else {
+			bufferWriteFully(content, newChannel(response.getOutputStream()));
+		}
+	}
+
+	private ServletOutputStream nonBlockingOutputFor(HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		if (asyncEnabled && request.isAsyncSupported()) {
+			return nonBlockingOutputOf(response);
+		} else {
+			return null;
+		}
 	}
 
 }
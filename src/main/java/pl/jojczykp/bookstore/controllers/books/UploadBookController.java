@@ -0,0 +1,88 @@
+package pl.jojczykp.bookstore.controllers.books;
+
+import com.google.common.base.Joiner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import pl.jojczykp.bookstore.services.books.UploadBookService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static javax.servlet.http.HttpServletResponse.SC_CREATED;
+import static javax.servlet.http.HttpServletResponse.SC_NO_CONTENT;
+import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+import static org.springframework.web.bind.annotation.RequestMethod.PUT;
+import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_UPLOADS;
+
+@Controller
+public class UploadBookController {
+
+	private static final String URL_SESSION = URL_ACTION_UPLOADS + "/{sessionId}";
+	private static final String TEXT_PLAIN = "text/plain";
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+	@Autowired private UploadBookService uploadBookService;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@RequestMapping(value = URL_ACTION_UPLOADS, method = POST)
+	public void open(
+			@RequestParam("title") String title,
+			@RequestParam("fileName") String fileName,
+			@RequestParam(value = "contentType", defaultValue = DEFAULT_CONTENT_TYPE) String contentType,
+			HttpServletRequest request, HttpServletResponse response) throws IOException
+	{
+		String sessionId = uploadBookService.open(title, fileName, contentType);
+
+		response.setStatus(SC_CREATED);
+		response.setHeader("Location", request.getContextPath() + URL_ACTION_UPLOADS + "/" + sessionId);
+		response.setContentType(TEXT_PLAIN);
+		response.getWriter().print(sessionId);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@RequestMapping(value = URL_SESSION, method = GET)
+	public void status(@PathVariable String sessionId, HttpServletResponse response) throws IOException {
+		response.setContentType(TEXT_PLAIN);
+		response.getWriter().print(Joiner.on(',').join(uploadBookService.receivedChunks(sessionId)));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@RequestMapping(value = URL_SESSION + "/chunks/{number}", method = PUT)
+	public void putChunk(
+			@PathVariable String sessionId,
+			@PathVariable int number,
+			@RequestHeader("X-Chunk-SHA256") String sha256Hex,
+			InputStream content, HttpServletResponse response)
+	{
+		uploadBookService.putChunk(sessionId, number, sha256Hex, content);
+		response.setStatus(SC_NO_CONTENT);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@RequestMapping(value = URL_SESSION + "/commit", method = POST)
+	public void commit(
+			@PathVariable String sessionId,
+			@RequestParam("chunksCount") int chunksCount,
+			HttpServletResponse response)
+	{
+		uploadBookService.commit(sessionId, chunksCount);
+		response.setStatus(SC_CREATED);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@RequestMapping(value = URL_SESSION, method = DELETE)
+	public void abort(@PathVariable String sessionId, HttpServletResponse response) {
+		uploadBookService.abort(sessionId);
+		response.setStatus(SC_NO_CONTENT);
+	}
+
+}
@@ -26,6 +26,12 @@ public class ControllerExceptionHandler {
 		return redirectToExceptionView(ex);
 	}
 
+	@ExceptionHandler(InvalidUploadException.class)
+	@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+	public ModelAndView handleInvalidUploadException(InvalidUploadException ex) {
+		return redirectToExceptionView(ex);
+	}
+
 	@ExceptionHandler(Exception.class)
 	@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
 	public ModelAndView handleAnyException(Exception ex) {
@@ -0,0 +1,9 @@
+package pl.jojczykp.bookstore.controllers.errors;
+
+public class InvalidUploadException extends RuntimeException {
+
+	public InvalidUploadException(String message) {
+		super(message);
+	}
+
+}
@@ -1,5 +1,6 @@
 package pl.jojczykp.bookstore.entities;
 
+import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.DynamicUpdate;
 
@@ -8,19 +9,42 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
-import javax.persistence.OneToOne;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 import javax.persistence.Version;
 
 import static javax.persistence.FetchType.EAGER;
-import static org.hibernate.annotations.CascadeType.DELETE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 import static org.hibernate.annotations.CascadeType.SAVE_UPDATE;
+import static pl.jojczykp.bookstore.consts.BooksConsts.BOOKS_CACHE_REGION;
+import static pl.jojczykp.bookstore.utils.TitleNormalizer.normalizedTitle;
 
 @Entity
 @DynamicUpdate
 @Table(name = "BOOKS")
+@Cache(usage = READ_WRITE, region = BOOKS_CACHE_REGION)
+@NamedQueries({
+		@NamedQuery(name = "Book.summaries.title.ASC",
+				query = Book.SUMMARIES_QUERY + "b.title asc, b.id asc"),
+		@NamedQuery(name = "Book.summaries.title.DESC",
+				query = Book.SUMMARIES_QUERY + "b.title desc, b.id desc"),
+		@NamedQuery(name = "Book.summaries.titleNormalized.ASC",
+				query = Book.SUMMARIES_QUERY + "b.titleNormalized asc, b.id asc"),
+		@NamedQuery(name = "Book.summaries.titleNormalized.DESC",
+				query = Book.SUMMARIES_QUERY + "b.titleNormalized desc, b.id desc"),
+		@NamedQuery(name = "Book.summaries.titleCollationKey.ASC",
+				query = Book.SUMMARIES_QUERY + "b.titleCollationKey asc, b.id asc"),
+		@NamedQuery(name = "Book.summaries.titleCollationKey.DESC",
+				query = Book.SUMMARIES_QUERY + "b.titleCollationKey desc, b.id desc")
+})
 public class Book {
 
+	static final String SUMMARIES_QUERY =
+			"select b.id as id, b.version as version, b.title as title, f.fileType as fileType"
+			+ " from Book b join b.bookFile f order by ";
+
 	@Id
 	@GeneratedValue
 	@Column(name = "ID")
@@ -33,8 +57,17 @@ public class Book {
 	@Column(name = "TITLE", nullable = false)
 	private String title;
 
-	@OneToOne(fetch = EAGER)
-	@Cascade({SAVE_UPDATE, DELETE})
+	@Column(name = "TITLE_NORMALIZED", nullable = false)
+	private String titleNormalized;
+
+	@Column(name = "TITLE_COLLATION_KEY", nullable = false)
+	private String titleCollationKey;
+
+	@Column(name = "TITLE_COLLATION_LOCALE", nullable = false)
+	private String titleCollationLocale;
+
+	@ManyToOne(fetch = EAGER)
+	@Cascade(SAVE_UPDATE)
 	@JoinColumn(name = "BOOK_FILE_ID", nullable = false)
 	private BookFile bookFile;
 
@@ -42,6 +75,9 @@ public class Book {
 		this.id = 0;
 		this.version = 0;
 		this.title = "";
+		this.titleNormalized = "";
+		this.titleCollationKey = "";
+		this.titleCollationLocale = "";
 		this.bookFile = null;
 	}
 
@@ -67,6 +103,27 @@ public class Book {
 
 	public void setTitle(String title) {
 		this.title = title;
+		this.titleNormalized = normalizedTitle(title);
+	}
+
+	public String getTitleNormalized() {
+		return titleNormalized;
+	}
+
+	public String getTitleCollationKey() {
+		return titleCollationKey;
+	}
+
+	public void setTitleCollationKey(String titleCollationKey) {
+		this.titleCollationKey = titleCollationKey;
+	}
+
+	public String getTitleCollationLocale() {
+		return titleCollationLocale;
+	}
+
+	public void setTitleCollationLocale(String titleCollationLocale) {
+		this.titleCollationLocale = titleCollationLocale;
 	}
 
 	public BookFile getBookFile() {
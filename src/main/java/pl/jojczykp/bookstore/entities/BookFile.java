@@ -1,20 +1,32 @@
 package pl.jojczykp.bookstore.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.Cascade;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
-import javax.persistence.Lob;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.security.MessageDigest;
 import java.sql.Blob;
 
-import static pl.jojczykp.bookstore.utils.BlobUtils.anEmptySerialBlob;
+import static javax.persistence.FetchType.LAZY;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+import static org.hibernate.annotations.CascadeType.SAVE_UPDATE;
+import static pl.jojczykp.bookstore.consts.BooksConsts.BOOK_FILES_CACHE_REGION;
 
 @Entity
 @Table(name = "BOOK_FILES")
+@Cache(usage = READ_WRITE, region = BOOK_FILES_CACHE_REGION)
 public class BookFile {
 
 	private static final int ID_TO_BE_GENERATED = 0;
+	private static final String EMPTY_CONTENT_HASH = sha256Hex(new byte[0]);
 
 	@Id
 	@GeneratedValue
@@ -30,16 +42,39 @@ public class BookFile {
 	@Column(name = "CONTENT_LENGTH", nullable = false)
 	private int contentLength;
 
-	@Lob
-	@Column(name = "CONTENT", nullable = false)
-	private Blob content;
+	@Column(name = "STORED_CONTENT_LENGTH", nullable = false)
+	private int storedContentLength;
+
+	@Column(name = "CONTENT_HASH", nullable = false)
+	private String contentHash;
+
+	@Column(name = "REFERENCES_COUNT", nullable = false)
+	private int referencesCount;
+
+	@Column(name = "CONTENT_KEY", nullable = false)
+	private String contentKey;
+
+	@Column(name = "CONTENT_ENCODING", nullable = false)
+	private String contentEncoding;
+
+	@OneToOne(fetch = LAZY, optional = false)
+	@Cascade(SAVE_UPDATE)
+	@JoinColumn(name = "CONTENT_ID", nullable = false)
+	private BookFileContent bookFileContent;
+
+	@Transient
+	private MessageDigest contentDigest;
 
 	public BookFile() {
 		this.id = ID_TO_BE_GENERATED;
 		this.fileType = "";
 		this.contentType = "";
 		this.contentLength = 0;
-		this.content = anEmptySerialBlob();
+		this.storedContentLength = 0;
+		this.contentHash = EMPTY_CONTENT_HASH;
+		this.referencesCount = 0;
+		this.contentKey = "";
+		this.contentEncoding = "";
 	}
 
 	public int getId() {
@@ -74,12 +109,68 @@ public class BookFile {
 		this.contentLength = contentLength;
 	}
 
+	public int getStoredContentLength() {
+		return storedContentLength;
+	}
+
+	public void setStoredContentLength(int storedContentLength) {
+		this.storedContentLength = storedContentLength;
+	}
+
+	public String getContentHash() {
+		return contentHash;
+	}
+
+	public void setContentHash(String contentHash) {
+		this.contentHash = contentHash;
+	}
+
+	public int getReferencesCount() {
+		return referencesCount;
+	}
+
+	public void setReferencesCount(int referencesCount) {
+		this.referencesCount = referencesCount;
+	}
+
+	public String getContentKey() {
+		return contentKey;
+	}
+
+	public void setContentKey(String contentKey) {
+		this.contentKey = contentKey;
+	}
+
+	public String getContentEncoding() {
+		return contentEncoding;
+	}
+
+	public void setContentEncoding(String contentEncoding) {
+		this.contentEncoding = contentEncoding;
+	}
+
+	public BookFileContent getBookFileContent() {
+		return bookFileContent;
+	}
+
+	public void setBookFileContent(BookFileContent bookFileContent) {
+		this.bookFileContent = bookFileContent;
+	}
+
+	public MessageDigest getContentDigest() {
+		return contentDigest;
+	}
+
+	public void setContentDigest(MessageDigest contentDigest) {
+		this.contentDigest = contentDigest;
+	}
+
 	public Blob getContent() {
-		return content;
+		return bookFileContent.getContent();
 	}
 
 	public void setContent(Blob content) {
-		this.content = content;
+		bookFileContent.setContent(content);
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+package pl.jojczykp.bookstore.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.sql.Blob;
+
+import static pl.jojczykp.bookstore.utils.BlobUtils.anEmptySerialBlob;
+
+@Entity
+@Table(name = "BOOK_FILE_CONTENTS")
+public class BookFileContent {
+
+	private static final int ID_TO_BE_GENERATED = 0;
+
+	@Id
+	@GeneratedValue
+	@Column(name = "ID")
+	private int id;
+
+	@Lob
+	@Column(name = "CONTENT", nullable = false)
+	private Blob content;
+
+	public BookFileContent() {
+		this.id = ID_TO_BE_GENERATED;
+		this.content = anEmptySerialBlob();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public Blob getContent() {
+		return content;
+	}
+
+	public void setContent(Blob content) {
+		this.content = content;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		BookFileContent bookFileContent = (BookFileContent) o;
+
+		return (id == bookFileContent.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.valueOf(id).hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{id=" + id + "}";
+	}
+
+}
@@ -0,0 +1,55 @@
+package pl.jojczykp.bookstore.entities;
+
+public class BookSummary {
+
+	private int id;
+	private int version;
+	private String title;
+	private String fileType;
+
+	public BookSummary() {
+		this.id = 0;
+		this.version = 0;
+		this.title = "";
+		this.fileType = "";
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getFileType() {
+		return fileType;
+	}
+
+	public void setFileType(String fileType) {
+		this.fileType = fileType;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName()
+			+ "{id=" + id + ", version=" + version + ", title='" + title + "', fileType='" + fileType + "'}";
+	}
+
+}
@@ -1,12 +1,22 @@
 package pl.jojczykp.bookstore.entities.builders;
 
 import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.entities.BookFileContent;
 
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.sql.Blob;
+
+import static com.google.common.primitives.Ints.checkedCast;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aStreamedBlobWith;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
 
 public class BookFileBuilder {
 
 	private BookFile template = new BookFile();
+	private Blob content;
 
 	public static BookFileBuilder aBookFile() {
 		return new BookFileBuilder();
@@ -29,7 +39,53 @@ public class BookFileBuilder {
 
 	public BookFileBuilder withContent(byte[] content) {
 		template.setContentLength(content.length);
-		template.setContent(aSerialBlobWith(content));
+		template.setStoredContentLength(content.length);
+		template.setContentHash(sha256Hex(content));
+		this.content = aSerialBlobWith(content);
+		return this;
+	}
+
+	public BookFileBuilder withContent(InputStream content, long length) {
+		template.setContentLength(checkedCast(length));
+		template.setStoredContentLength(checkedCast(length));
+		this.content = aStreamedBlobWith(content, length);
+		return this;
+	}
+
+	public BookFileBuilder withContent(Blob content) {
+		template.setContentLength(checkedCast(blobLength(content)));
+		template.setStoredContentLength(checkedCast(blobLength(content)));
+		this.content = content;
+		return this;
+	}
+
+	public BookFileBuilder withContentLength(long contentLength) {
+		template.setContentLength(checkedCast(contentLength));
+		return this;
+	}
+
+	public BookFileBuilder withContentHash(String contentHash) {
+		template.setContentHash(contentHash);
+		return this;
+	}
+
+	public BookFileBuilder withContentDigest(MessageDigest contentDigest) {
+		template.setContentDigest(contentDigest);
+		return this;
+	}
+
+	public BookFileBuilder withReferencesCount(int referencesCount) {
+		template.setReferencesCount(referencesCount);
+		return this;
+	}
+
+	public BookFileBuilder withContentKey(String contentKey) {
+		template.setContentKey(contentKey);
+		return this;
+	}
+
+	public BookFileBuilder withContentEncoding(String contentEncoding) {
+		template.setContentEncoding(contentEncoding);
 		return this;
 	}
 
@@ -39,9 +95,24 @@ public class BookFileBuilder {
 		constructed.setFileType(template.getFileType());
 		constructed.setContentType(template.getContentType());
 		constructed.setContentLength(template.getContentLength());
-		constructed.setContent(template.getContent());
+		constructed.setStoredContentLength(template.getStoredContentLength());
+		constructed.setContentHash(template.getContentHash());
+		constructed.setReferencesCount(template.getReferencesCount());
+		constructed.setContentKey(template.getContentKey());
+		constructed.setContentEncoding(template.getContentEncoding());
+		constructed.setContentDigest(template.getContentDigest());
+		constructed.setBookFileContent(aBookFileContent());
 
 		return constructed;
 	}
 
+	private BookFileContent aBookFileContent() {
+		BookFileContent bookFileContent = new BookFileContent();
+		if (content != null) {
+			bookFileContent.setContent(content);
+		}
+
+		return bookFileContent;
+	}
+
 }
@@ -0,0 +1,68 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.caches.BookContentCache;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=BookContentCacheMBean",
+		description="Book Content Cache Management Bean")
+public class BookContentCacheMBean {
+
+	private static final double NO_HIT_RATE = 0.0;
+
+	@Autowired private BookContentCache bookContentCache;
+
+	@ManagedOperation(description="Gets ratio of cache hits to all whole book content lookups")
+	public double getHitRate() {
+		return hitRateOf(bookContentCache.getHitsCount(), bookContentCache.getMissesCount());
+	}
+
+	@ManagedOperation(description="Gets ratio of cache hits to all book content range lookups")
+	public double getRangeHitRate() {
+		return hitRateOf(bookContentCache.getRangeHitsCount(), bookContentCache.getRangeMissesCount());
+	}
+
+	private double hitRateOf(long hitsCount, long missesCount) {
+		long lookupsCount = hitsCount + missesCount;
+		if (lookupsCount == 0) {
+			return NO_HIT_RATE;
+		}
+
+		return (double) hitsCount / lookupsCount;
+	}
+
+	@ManagedOperation(description="Gets number of book content bytes held off-heap by cache")
+	public long getResidentBytes() {
+		return bookContentCache.getResidentBytes();
+	}
+
+	@ManagedOperation(description="Gets number of book content bytes released by cache but not yet garbage collected")
+	public long getReleasedBytes() {
+		return bookContentCache.getReleasedBytes();
+	}
+
+	@ManagedOperation(description="Gets maximal number of book content bytes held by cache")
+	public long getMaxBytes() {
+		return bookContentCache.getMaxBytes();
+	}
+
+	@ManagedOperation(description="Gets number of book contents held by cache")
+	public int getEntriesCount() {
+		return bookContentCache.getEntriesCount();
+	}
+
+	@ManagedOperation(description="Gets number of book contents evicted from cache to fit new ones")
+	public long getEvictionsCount() {
+		return bookContentCache.getEvictionsCount();
+	}
+
+	@ManagedOperation(description="Removes all book contents from cache")
+	public void clear() {
+		bookContentCache.clear();
+	}
+
+}
@@ -0,0 +1,33 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.stores.FilesystemBookContentStore;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=BookContentMigrationMBean",
+		description="Book Content Migration Management Bean")
+public class BookContentMigrationMBean {
+
+	private static final int BATCH_SIZE = 100;
+
+	@Autowired private BooksRepository booksRepository;
+	@Autowired private FilesystemBookContentStore filesystemBookContentStore;
+
+	@ManagedOperation(description="Moves book files content kept in database to filesystem store")
+	public int migrateToFilesystem() {
+		int migratedCount = 0;
+		int batchCount;
+		do {
+			batchCount = booksRepository.migrateBookFileContents(filesystemBookContentStore, BATCH_SIZE);
+			migratedCount += batchCount;
+		} while (batchCount == BATCH_SIZE);
+
+		return migratedCount;
+	}
+
+}
@@ -0,0 +1,34 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=BookFilesDeduplicationMBean",
+		description="Book Files Deduplication Management Bean")
+public class BookFilesDeduplicationMBean {
+
+	private static final double NO_DEDUPLICATION_RATIO = 1.0;
+
+	@Autowired private BooksRepository booksRepository;
+
+	@ManagedOperation(description="Gets ratio of referenced to physically stored book files content length")
+	public double getDeduplicationRatio() {
+		long storedContentLength = booksRepository.storedContentLength();
+		if (storedContentLength == 0) {
+			return NO_DEDUPLICATION_RATIO;
+		}
+
+		return (double) booksRepository.referencedContentLength() / storedContentLength;
+	}
+
+	@ManagedOperation(description="Gets number of bytes saved by storing shared book files content once")
+	public long getBytesSaved() {
+		return booksRepository.referencedContentLength() - booksRepository.storedContentLength();
+	}
+
+}
@@ -0,0 +1,32 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=BooksCountCacheMBean",
+		description="Books Count Cache Management Bean")
+public class BooksCountCacheMBean {
+
+	@Autowired private BooksCountCache booksCountCache;
+
+	@ManagedOperation(description="Gets cached number of books")
+	public int getCount() {
+		return booksCountCache.get();
+	}
+
+	@ManagedOperation(description="Gets number of cached books count resyncs with database")
+	public int getResyncsCount() {
+		return booksCountCache.getResyncsCount();
+	}
+
+	@ManagedOperation(description="Resyncs cached books count with database")
+	public void resync() {
+		booksCountCache.resync();
+	}
+
+}
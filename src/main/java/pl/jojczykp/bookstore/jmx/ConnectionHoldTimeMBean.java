@@ -0,0 +1,53 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimeMetric;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=ConnectionHoldTimeMBean",
+		description="Database Connection Hold Time per Download Management Bean")
+public class ConnectionHoldTimeMBean {
+
+	private static final double NANOS_PER_MILLI = NANOSECONDS.convert(1, MILLISECONDS);
+	private static final double NO_HOLD_TIME = 0.0;
+
+	@Autowired private ConnectionHoldTimeMetric connectionHoldTimeMetric;
+
+	@ManagedOperation(description="Gets number of downloads measured")
+	public long getDownloadsCount() {
+		return connectionHoldTimeMetric.getCount();
+	}
+
+	@ManagedOperation(description="Gets average time in milliseconds a download held database connection")
+	public double getAverageHoldMillis() {
+		long count = connectionHoldTimeMetric.getCount();
+		if (count == 0) {
+			return NO_HOLD_TIME;
+		}
+
+		return connectionHoldTimeMetric.getTotalNanos() / NANOS_PER_MILLI / count;
+	}
+
+	@ManagedOperation(description="Gets longest time in milliseconds a download held database connection")
+	public double getMaxHoldMillis() {
+		return connectionHoldTimeMetric.getMaxNanos() / NANOS_PER_MILLI;
+	}
+
+	@ManagedOperation(description="Gets total time in milliseconds downloads held database connection")
+	public double getTotalHoldMillis() {
+		return connectionHoldTimeMetric.getTotalNanos() / NANOS_PER_MILLI;
+	}
+
+	@ManagedOperation(description="Resets measurements")
+	public void reset() {
+		connectionHoldTimeMetric.reset();
+	}
+
+}
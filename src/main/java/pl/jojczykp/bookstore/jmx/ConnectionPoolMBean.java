@@ -0,0 +1,111 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.metrics.ConnectionAcquireMetric;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=ConnectionPoolMBean",
+		description="Database Connection Pool Management Bean")
+public class ConnectionPoolMBean {
+
+	private static final double NANOS_PER_MILLI = NANOSECONDS.convert(1, MILLISECONDS);
+	private static final int NO_POOL = 0;
+	private static final double MEDIAN = 50;
+	private static final double PERCENTILE_95 = 95;
+	private static final double PERCENTILE_99 = 99;
+
+	@Autowired(required = false) @Qualifier("pooledDataSource") private BasicDataSource pooledDataSource;
+	@Autowired(required = false) @Qualifier("replicaPooledDataSource") private BasicDataSource replicaPooledDataSource;
+	@Autowired private ConnectionAcquireMetric connectionAcquireMetric;
+
+	@ManagedOperation(description="Gets number of connections currently borrowed from pool")
+	public int getActiveConnections() {
+		return activeConnectionsOf(pooledDataSource);
+	}
+
+	@ManagedOperation(description="Gets number of idle connections in pool")
+	public int getIdleConnections() {
+		return idleConnectionsOf(pooledDataSource);
+	}
+
+	@ManagedOperation(description="Gets maximal number of connections in pool")
+	public int getMaxActiveConnections() {
+		return maxActiveConnectionsOf(pooledDataSource);
+	}
+
+	@ManagedOperation(description="Gets number of connections currently borrowed from replica pool")
+	public int getReplicaActiveConnections() {
+		return activeConnectionsOf(replicaPooledDataSource);
+	}
+
+	@ManagedOperation(description="Gets number of idle connections in replica pool")
+	public int getReplicaIdleConnections() {
+		return idleConnectionsOf(replicaPooledDataSource);
+	}
+
+	@ManagedOperation(description="Gets maximal number of connections in replica pool")
+	public int getReplicaMaxActiveConnections() {
+		return maxActiveConnectionsOf(replicaPooledDataSource);
+	}
+
+	private int activeConnectionsOf(BasicDataSource pool) {
+		return (pool == null) ? NO_POOL : pool.getNumActive();
+	}
+
+	private int idleConnectionsOf(BasicDataSource pool) {
+		return (pool == null) ? NO_POOL : pool.getNumIdle();
+	}
+
+	private int maxActiveConnectionsOf(BasicDataSource pool) {
+		return (pool == null) ? NO_POOL : pool.getMaxActive();
+	}
+
+	@ManagedOperation(description="Gets number of connection acquires currently in progress, waiting or not")
+	public int getAcquiresInProgress() {
+		return connectionAcquireMetric.getInProgress();
+	}
+
+	@ManagedOperation(description="Gets number of connections acquired")
+	public long getAcquiresCount() {
+		return connectionAcquireMetric.getCount();
+	}
+
+	@ManagedOperation(description="Gets number of failed connection acquires")
+	public long getAcquireFailuresCount() {
+		return connectionAcquireMetric.getFailuresCount();
+	}
+
+	@ManagedOperation(description="Gets median connection acquire time in milliseconds of recent acquires")
+	public double getAcquireMedianMillis() {
+		return acquirePercentileMillis(MEDIAN);
+	}
+
+	@ManagedOperation(description="Gets 95th percentile connection acquire time in milliseconds of recent acquires")
+	public double getAcquire95thPercentileMillis() {
+		return acquirePercentileMillis(PERCENTILE_95);
+	}
+
+	@ManagedOperation(description="Gets 99th percentile connection acquire time in milliseconds of recent acquires")
+	public double getAcquire99thPercentileMillis() {
+		return acquirePercentileMillis(PERCENTILE_99);
+	}
+
+	private double acquirePercentileMillis(double percentile) {
+		return connectionAcquireMetric.getPercentileNanos(percentile) / NANOS_PER_MILLI;
+	}
+
+	@ManagedOperation(description="Resets measurements")
+	public void reset() {
+		connectionAcquireMetric.reset();
+	}
+
+}
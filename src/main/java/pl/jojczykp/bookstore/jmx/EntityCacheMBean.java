@@ -0,0 +1,53 @@
+package pl.jojczykp.bookstore.jmx;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=EntityCacheMBean",
+		description="Entity Second Level Cache Management Bean")
+public class EntityCacheMBean {
+
+	@Autowired private CacheManager cacheManager;
+
+	@ManagedOperation(description="Gets names of entity cache regions")
+	public String[] getRegionNames() {
+		return cacheManager.getCacheNames();
+	}
+
+	@ManagedOperation(description="Gets number of cache hits in given region")
+	@ManagedOperationParameters(@ManagedOperationParameter(name="region", description="Cache region name"))
+	public long getHitCount(String region) {
+		return statisticsOf(region).getCacheHits();
+	}
+
+	@ManagedOperation(description="Gets number of cache misses in given region")
+	@ManagedOperationParameters(@ManagedOperationParameter(name="region", description="Cache region name"))
+	public long getMissCount(String region) {
+		return statisticsOf(region).getCacheMisses();
+	}
+
+	@ManagedOperation(description="Gets number of cache evictions in given region")
+	@ManagedOperationParameters(@ManagedOperationParameter(name="region", description="Cache region name"))
+	public long getEvictionCount(String region) {
+		return statisticsOf(region).getEvictionCount();
+	}
+
+	private Statistics statisticsOf(String region) {
+		Cache cache = cacheManager.getCache(region);
+		if (cache == null) {
+			throw new IllegalArgumentException("Unknown cache region: " + region);
+		}
+
+		return cache.getStatistics();
+	}
+
+}
@@ -0,0 +1,45 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.utils.TitleCollator;
+
+@Service
+@ManagedResource(
+		objectName="custom.application.mbeans:name=TitleCollationMBean",
+		description="Title Collation Management Bean")
+public class TitleCollationMBean implements ApplicationListener<ContextRefreshedEvent> {
+
+	@Autowired private BooksRepository booksRepository;
+	@Autowired private BooksPageCache booksPageCache;
+	@Autowired private TitleCollator titleCollator;
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext().getParent() == null) {
+			recomputeCollationKeys();
+		}
+	}
+
+	@ManagedOperation(description="Gets locale book titles are collated for")
+	public String getCollationLocale() {
+		return titleCollator.getCollationLocale().toString();
+	}
+
+	@ManagedOperation(description="Recomputes stale book title collation keys, returns number of books updated")
+	public int recomputeCollationKeys() {
+		int recomputedCount = booksRepository.recomputeTitleCollationKeys();
+		if (recomputedCount > 0) {
+			booksPageCache.bumpCatalogVersion();
+		}
+
+		return recomputedCount;
+	}
+
+}
@@ -0,0 +1,77 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+@Service
+public class ConnectionAcquireMetric {
+
+	private static final int SAMPLES_CAPACITY = 1024;
+	private static final double PERCENT = 100.0;
+	private static final long NO_SAMPLES = 0;
+
+	private final AtomicInteger inProgress = new AtomicInteger();
+	private final AtomicLong failuresCount = new AtomicLong();
+	private final long[] samples = new long[SAMPLES_CAPACITY];
+	private long count;
+
+	public void acquireStarted() {
+		inProgress.incrementAndGet();
+	}
+
+	public void acquired(long nanos) {
+		inProgress.decrementAndGet();
+		addSample(nanos);
+	}
+
+	public void acquireFailed() {
+		inProgress.decrementAndGet();
+		failuresCount.incrementAndGet();
+	}
+
+	private synchronized void addSample(long nanos) {
+		samples[(int) (count % SAMPLES_CAPACITY)] = nanos;
+		count++;
+	}
+
+	public synchronized void reset() {
+		count = 0;
+		failuresCount.set(0);
+	}
+
+	public int getInProgress() {
+		return inProgress.get();
+	}
+
+	public long getFailuresCount() {
+		return failuresCount.get();
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	public long getPercentileNanos(double percentile) {
+		long[] recent = recentSamples();
+		if (recent.length == 0) {
+			return NO_SAMPLES;
+		}
+
+		Arrays.sort(recent);
+		int rank = (int) ceil(percentile / PERCENT * recent.length);
+
+		return recent[min(max(rank, 1), recent.length) - 1];
+	}
+
+	private synchronized long[] recentSamples() {
+		return Arrays.copyOf(samples, (int) min(count, SAMPLES_CAPACITY));
+	}
+
+}
@@ -0,0 +1,22 @@
+package pl.jojczykp.bookstore.metrics;
+
+import static java.lang.System.nanoTime;
+
+public class ConnectionHoldTimer {
+
+	private long startNanos;
+	private long heldNanos;
+
+	public void started() {
+		startNanos = nanoTime();
+	}
+
+	public void stopped() {
+		heldNanos += nanoTime() - startNanos;
+	}
+
+	public long getHeldNanos() {
+		return heldNanos;
+	}
+
+}
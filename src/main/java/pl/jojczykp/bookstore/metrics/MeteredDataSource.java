@@ -0,0 +1,56 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static java.lang.System.nanoTime;
+import static org.apache.log4j.Logger.getLogger;
+
+public class MeteredDataSource extends DelegatingDataSource {
+
+	private final Logger logger = getLogger(MeteredDataSource.class);
+
+	@Autowired private ConnectionAcquireMetric connectionAcquireMetric;
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		long start = acquireStarted();
+		try {
+			return acquired(start, super.getConnection());
+		} catch (SQLException | RuntimeException e) {
+			acquireFailed(e);
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		long start = acquireStarted();
+		try {
+			return acquired(start, super.getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			acquireFailed(e);
+			throw e;
+		}
+	}
+
+	private long acquireStarted() {
+		connectionAcquireMetric.acquireStarted();
+		return nanoTime();
+	}
+
+	private Connection acquired(long start, Connection connection) {
+		connectionAcquireMetric.acquired(nanoTime() - start);
+		return connection;
+	}
+
+	private void acquireFailed(Exception e) {
+		connectionAcquireMetric.acquireFailed();
+		logger.warn("Could not acquire database connection", e);
+	}
+
+}
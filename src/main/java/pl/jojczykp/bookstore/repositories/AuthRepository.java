@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.jojczykp.bookstore.entities.User;
 
 import static org.hibernate.criterion.Restrictions.eq;
+import static pl.jojczykp.bookstore.utils.SessionUtils.sessionReadOnlyInReadOnlyTransaction;
 
 @Repository
 @Transactional
@@ -15,13 +16,18 @@ public class AuthRepository {
 
 	@Autowired private SessionFactory sessionFactory;
 
+	@Transactional(readOnly = true)
 	public User findByName(String name) {
-		return (User) getCurrentSession()
+		return (User) getReadOnlySession()
 				.createCriteria(User.class)
 				.add(eq("name", name))
 				.uniqueResult();
 	}
 
+	private Session getReadOnlySession() {
+		return sessionReadOnlyInReadOnlyTransaction(getCurrentSession());
+	}
+
 	private Session getCurrentSession() {
 		return sessionFactory.getCurrentSession();
 	}
@@ -1,38 +1,170 @@
 package pl.jojczykp.bookstore.repositories;
 
-import org.hibernate.Criteria;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimap;
+import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StaleObjectStateException;
+import org.hibernate.jdbc.Work;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import pl.jojczykp.bookstore.caches.BookContentCache;
 import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.entities.BookSummary;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+import pl.jojczykp.bookstore.utils.PageSeek;
 import pl.jojczykp.bookstore.utils.PageSorterColumn;
 import pl.jojczykp.bookstore.utils.PageSorterDirection;
+import pl.jojczykp.bookstore.utils.TitleCollator;
 
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import static com.google.common.collect.Lists.partition;
 import static com.google.common.primitives.Ints.checkedCast;
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.reverse;
+import static java.util.Collections.singleton;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
 import static org.hibernate.criterion.Projections.rowCount;
-import static pl.jojczykp.bookstore.utils.PageSorter.orderBy;
+import static org.hibernate.transform.Transformers.aliasToBean;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobFree;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE_COLLATED;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
+import static pl.jojczykp.bookstore.utils.SessionUtils.sessionReadOnlyInReadOnlyTransaction;
 import static pl.jojczykp.bookstore.utils.SuppressUnchecked.suppressUnchecked;
+import static pl.jojczykp.bookstore.utils.TitleNormalizer.normalizedTitle;
 
 @Repository
 @Transactional
 public class BooksRepository {
 
+	private static final String SUMMARIES_QUERY_NAME = "Book.summaries.%s.%s";
+
+	private static final String SEEK_QUERY =
+			"select b.id as id, b.version as version, b.title as title, f.fileType as fileType"
+			+ " from Book b join b.bookFile f"
+			+ " where %1$s %2$s :bookTitle or (%1$s = :bookTitle and b.id %2$s :bookId)"
+			+ " order by %1$s %3$s, b.id %3$s";
+
+	private static final String UPDATE_QUERY =
+			"update Book b set b.title = :title, b.titleNormalized = :titleNormalized,"
+			+ " b.titleCollationKey = :titleCollationKey, b.titleCollationLocale = :titleCollationLocale,"
+			+ " b.version = b.version + 1"
+			+ " where b.id = :id and b.version = :version";
+
+	private static final String STALE_TITLES_QUERY =
+			"select b.id, b.title from Book b where b.titleCollationLocale <> :titleCollationLocale";
+
+	private static final String UPDATE_TITLE_COLLATION_KEY_SQL =
+			"update BOOKS set TITLE_COLLATION_KEY = ?, TITLE_COLLATION_LOCALE = ? where ID = ?";
+
+	private static final int BULK_DELETE_CHUNK_SIZE = 1000;
+	private static final int RECOMPUTE_BATCH_SIZE = 1000;
+
 	@Autowired private SessionFactory sessionFactory;
+	@Autowired private BookContentStore bookContentStore;
+	@Autowired private BookContentCache bookContentCache;
+	@Autowired private TitleCollator titleCollator;
 
 	public int create(Book book) {
+		book.setTitleCollationKey(titleCollator.collationKeyFor(book.getTitle()));
+		book.setTitleCollationLocale(collationLocale());
+		book.setBookFile(sharedBookFileFor(book.getBookFile()));
 		return (int) getCurrentSession().save(book);
 	}
 
+	private BookFile sharedBookFileFor(BookFile uploaded) {
+		storeContent(uploaded);
+		Integer storedId = storedBookFileIdMatching(uploaded);
+		if (storedId != null && referenceStoredBookFile(storedId)) {
+			discardStoredContent(uploaded);
+			return (BookFile) getCurrentSession().load(BookFile.class, storedId);
+		}
+
+		uploaded.setReferencesCount(1);
+		return uploaded;
+	}
+
+	private void storeContent(BookFile uploaded) {
+		freeAfterCompletion(uploaded.getContent());
+		bookContentStore.save(uploaded);
+		getCurrentSession().save(uploaded.getBookFileContent());
+		getCurrentSession().flush();
+		if (uploaded.getContentDigest() != null) {
+			uploaded.setContentHash(encodeHexString(uploaded.getContentDigest().digest()));
+		}
+	}
+
+	private void discardStoredContent(BookFile uploaded) {
+		getCurrentSession().delete(uploaded.getBookFileContent());
+		getCurrentSession().flush();
+		if (!uploaded.getContentKey().isEmpty()) {
+			bookContentStore.delete(singleton(uploaded.getContentKey()));
+		}
+	}
+
+	private void freeAfterCompletion(final Blob content) {
+		registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				blobFree(content);
+			}
+		});
+	}
+
+	private Integer storedBookFileIdMatching(BookFile uploaded) {
+		return (Integer) getCurrentSession()
+				.createQuery("select f.id from BookFile f where f.contentHash = :contentHash"
+						+ " and f.fileType = :fileType and f.contentType = :contentType"
+						+ " and f.contentEncoding = :contentEncoding")
+				.setString("contentHash", uploaded.getContentHash())
+				.setString("fileType", uploaded.getFileType())
+				.setString("contentType", uploaded.getContentType())
+				.setString("contentEncoding", uploaded.getContentEncoding())
+				.setMaxResults(1)
+				.uniqueResult();
+	}
+
+	private boolean referenceStoredBookFile(int storedId) {
+		int updatedCount = getCurrentSession()
+				.createQuery("update BookFile f set f.referencesCount = f.referencesCount + 1"
+						+ " where f.id = :id and f.referencesCount > 0")
+				.setInteger("id", storedId)
+				.executeUpdate();
+		evictBookFilesFromCache(singleton(storedId));
+
+		return updatedCount == 1;
+	}
+
+	@Transactional(readOnly = true)
 	public Book find(int id) {
-		return (Book) getCurrentSession().get(Book.class, id);
+		return (Book) getReadOnlySession().get(Book.class, id);
 	}
 
-	public List<Book> read(int offset, int size, PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
+	@Transactional(readOnly = true)
+	public BookFile findBookFile(int id) {
+		return (BookFile) getReadOnlySession().get(BookFile.class, id);
+	}
+
+	@Transactional(readOnly = true)
+	public List<BookSummary> read(int offset, int size,
+									PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
 		if (size <= 0) {
 			return emptyList();
 		} else {
@@ -40,32 +172,281 @@ public class BooksRepository {
 		}
 	}
 
-	private List<Book> readWithPositiveSize(int offset, int size,
+	private List<BookSummary> readWithPositiveSize(int offset, int size,
 											PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
-		Criteria criteria = getCurrentSession().createCriteria(Book.class);
-		criteria.setFirstResult(offset);
-		criteria.setMaxResults(size);
-		criteria.addOrder(orderBy(sortColumn, sortDirection));
+		return suppressUnchecked(getReadOnlySession()
+				.getNamedQuery(format(SUMMARIES_QUERY_NAME, sortColumn.getSortNameForQuery(), sortDirection.name()))
+				.setResultTransformer(aliasToBean(BookSummary.class))
+				.setFirstResult(offset)
+				.setMaxResults(size)
+				.list());
+	}
 
-		return suppressUnchecked(criteria.list());
+	@Transactional(readOnly = true)
+	public List<BookSummary> read(PageSeek seek, int size,
+									PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
+		if (size <= 0) {
+			return emptyList();
+		} else if (seek.getDirection() == NEXT) {
+			return readFollowing(seek, size, sortColumn, sortDirection);
+		} else {
+			return readPreceding(seek, size, sortColumn, sortDirection);
+		}
+	}
+
+	private List<BookSummary> readFollowing(PageSeek seek, int size,
+										PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
+		return suppressUnchecked(seekQuery(seek, size, sortColumn, sortDirection).list());
+	}
+
+	private List<BookSummary> readPreceding(PageSeek seek, int size,
+										PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
+		List<BookSummary> summaries =
+				suppressUnchecked(seekQuery(seek, size, sortColumn, opposite(sortDirection)).list());
+		reverse(summaries);
+
+		return summaries;
+	}
+
+	private Query seekQuery(PageSeek seek, int size, PageSorterColumn sortColumn, PageSorterDirection sortDirection) {
+		String hql = format(SEEK_QUERY,
+				"b." + sortColumn.getSortNameForQuery(),
+				sortDirection == ASC ? ">" : "<",
+				sortDirection.name());
+
+		return getReadOnlySession().createQuery(hql)
+				.setString("bookTitle", sortKeyFor(sortColumn, seek.getBookTitle()))
+				.setInteger("bookId", seek.getBookId())
+				.setResultTransformer(aliasToBean(BookSummary.class))
+				.setMaxResults(size);
+	}
+
+	private String sortKeyFor(PageSorterColumn sortColumn, String bookTitle) {
+		if (!sortColumn.isIgnoreCase()) {
+			return bookTitle;
+		} else if (sortColumn == BOOK_TITLE_COLLATED) {
+			return titleCollator.collationKeyFor(bookTitle);
+		} else {
+			return normalizedTitle(bookTitle);
+		}
+	}
+
+	private PageSorterDirection opposite(PageSorterDirection sortDirection) {
+		return sortDirection == ASC ? DESC : ASC;
 	}
 
 	public void update(Book updated) {
-		Book existing = (Book) getCurrentSession().load(Book.class, updated.getId());
-		updated.setBookFile(existing.getBookFile());
-		getCurrentSession().merge(updated);
+		int updatedCount = getCurrentSession().createQuery(UPDATE_QUERY)
+				.setString("title", updated.getTitle())
+				.setString("titleNormalized", updated.getTitleNormalized())
+				.setString("titleCollationKey", titleCollator.collationKeyFor(updated.getTitle()))
+				.setString("titleCollationLocale", collationLocale())
+				.setInteger("id", updated.getId())
+				.setInteger("version", updated.getVersion())
+				.executeUpdate();
+
+		if (updatedCount == 0) {
+			throw new StaleObjectStateException(Book.class.getName(), updated.getId());
+		}
 	}
 
 	public void delete(int id) {
 		Book book = (Book) getCurrentSession().load(Book.class, id);
+		int bookFileId = book.getBookFile().getId();
 		getCurrentSession().delete(book);
+		getCurrentSession().flush();
+		releaseBookFiles(ImmutableListMultimap.of(1L, bookFileId));
+		evictFromCache(id);
 	}
 
+	public int deleteAll(Set<Integer> ids) {
+		int deletedCount = 0;
+		for (List<Integer> chunk : partition(new ArrayList<>(ids), BULK_DELETE_CHUNK_SIZE)) {
+			deletedCount += deleteChunk(chunk);
+		}
+
+		return deletedCount;
+	}
+
+	private int deleteChunk(List<Integer> ids) {
+		List<Object[]> bookFileReferences = suppressUnchecked(getCurrentSession()
+				.createQuery("select b.bookFile.id, count(b) from Book b where b.id in (:ids) group by b.bookFile.id")
+				.setParameterList("ids", ids)
+				.list());
+
+		if (bookFileReferences.isEmpty()) {
+			return 0;
+		}
+
+		int deletedCount = getCurrentSession()
+				.createQuery("delete from Book b where b.id in (:ids)")
+				.setParameterList("ids", ids)
+				.executeUpdate();
+		releaseBookFiles(bookFileIdsByReleasedCount(bookFileReferences));
+
+		return deletedCount;
+	}
+
+	private Multimap<Long, Integer> bookFileIdsByReleasedCount(List<Object[]> bookFileReferences) {
+		Multimap<Long, Integer> result = ArrayListMultimap.create();
+		for (Object[] bookFileReference : bookFileReferences) {
+			result.put((Long) bookFileReference[1], (Integer) bookFileReference[0]);
+		}
+
+		return result;
+	}
+
+	private void releaseBookFiles(Multimap<Long, Integer> bookFileIdsByReleasedCount) {
+		for (Long releasedCount : bookFileIdsByReleasedCount.keySet()) {
+			getCurrentSession()
+					.createQuery("update BookFile f set f.referencesCount = f.referencesCount - :count"
+							+ " where f.id in (:ids)")
+					.setInteger("count", checkedCast(releasedCount))
+					.setParameterList("ids", bookFileIdsByReleasedCount.get(releasedCount))
+					.executeUpdate();
+		}
+		evictBookFilesFromCache(bookFileIdsByReleasedCount.values());
+		removeUnreferencedBookFiles(bookFileIdsByReleasedCount.values());
+	}
+
+	private void removeUnreferencedBookFiles(Collection<Integer> ids) {
+		List<Object[]> removed = suppressUnchecked(getCurrentSession()
+				.createQuery("select f.id, f.contentKey, f.bookFileContent.id from BookFile f"
+						+ " where f.id in (:ids) and f.referencesCount <= 0")
+				.setParameterList("ids", ids)
+				.list());
+		if (removed.isEmpty()) {
+			return;
+		}
+
+		getCurrentSession()
+				.createQuery("delete from BookFile f where f.id in (:ids) and f.referencesCount <= 0")
+				.setParameterList("ids", ids)
+				.executeUpdate();
+		removeBookFileContents(removed);
+		releaseContentsAfterCommit(removed);
+	}
+
+	private void removeBookFileContents(List<Object[]> removed) {
+		List<Integer> bookFileContentIds = new ArrayList<>();
+		for (Object[] row : removed) {
+			bookFileContentIds.add((Integer) row[2]);
+		}
+
+		getCurrentSession()
+				.createQuery("delete from BookFileContent c where c.id in (:ids)")
+				.setParameterList("ids", bookFileContentIds)
+				.executeUpdate();
+	}
+
+	private void releaseContentsAfterCommit(List<Object[]> removed) {
+		final List<Integer> bookFileIds = new ArrayList<>();
+		final List<String> contentKeys = new ArrayList<>();
+		for (Object[] row : removed) {
+			bookFileIds.add((Integer) row[0]);
+			if (!((String) row[1]).isEmpty()) {
+				contentKeys.add((String) row[1]);
+			}
+		}
+
+		registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				bookContentCache.invalidate(bookFileIds);
+				if (!contentKeys.isEmpty()) {
+					bookContentStore.delete(contentKeys);
+				}
+			}
+		});
+	}
+
+	public int migrateBookFileContents(BookContentStore target, int maxCount) {
+		List<BookFile> bookFiles = suppressUnchecked(getCurrentSession()
+				.createQuery("from BookFile f where f.contentKey = ''")
+				.setMaxResults(maxCount)
+				.list());
+
+		for (BookFile bookFile : bookFiles) {
+			target.save(bookFile);
+		}
+
+		return bookFiles.size();
+	}
+
+	public int recomputeTitleCollationKeys() {
+		int recomputedCount = 0;
+		for (List<Object[]> staleTitles = staleTitles(); !staleTitles.isEmpty(); staleTitles = staleTitles()) {
+			updateTitleCollationKeys(staleTitles);
+			recomputedCount += staleTitles.size();
+		}
+
+		if (recomputedCount > 0) {
+			sessionFactory.getCache().evictEntityRegion(Book.class);
+		}
+
+		return recomputedCount;
+	}
+
+	private List<Object[]> staleTitles() {
+		return suppressUnchecked(getCurrentSession().createQuery(STALE_TITLES_QUERY)
+				.setString("titleCollationLocale", collationLocale())
+				.setMaxResults(RECOMPUTE_BATCH_SIZE)
+				.list());
+	}
+
+	private void updateTitleCollationKeys(final List<Object[]> titles) {
+		getCurrentSession().doWork(new Work() {
+			@Override
+			public void execute(Connection connection) throws SQLException {
+				try (PreparedStatement update = connection.prepareStatement(UPDATE_TITLE_COLLATION_KEY_SQL)) {
+					for (Object[] title : titles) {
+						update.setString(1, titleCollator.collationKeyFor((String) title[1]));
+						update.setString(2, collationLocale());
+						update.setInt(3, (Integer) title[0]);
+						update.addBatch();
+					}
+					update.executeBatch();
+				}
+			}
+		});
+	}
+
+	private String collationLocale() {
+		return titleCollator.getCollationLocale().toString();
+	}
+
+	private void evictFromCache(int id) {
+		sessionFactory.getCache().evictEntity(Book.class, id);
+	}
+
+	private void evictBookFilesFromCache(Collection<Integer> ids) {
+		for (Integer id : ids) {
+			sessionFactory.getCache().evictEntity(BookFile.class, id);
+		}
+	}
+
+	@Transactional(readOnly = true)
 	public int totalCount() {
-		Long result = (Long) getCurrentSession().createCriteria(Book.class).setProjection(rowCount()).uniqueResult();
+		Long result = (Long) getReadOnlySession().createCriteria(Book.class).setProjection(rowCount()).uniqueResult();
 		return checkedCast(result);
 	}
 
+	public long storedContentLength() {
+		return (Long) getCurrentSession()
+				.createQuery("select coalesce(sum(f.storedContentLength), 0) from BookFile f")
+				.uniqueResult();
+	}
+
+	public long referencedContentLength() {
+		return (Long) getCurrentSession()
+				.createQuery("select coalesce(sum(f.storedContentLength * f.referencesCount), 0) from BookFile f")
+				.uniqueResult();
+	}
+
+	private Session getReadOnlySession() {
+		return sessionReadOnlyInReadOnlyTransaction(getCurrentSession());
+	}
+
 	private Session getCurrentSession() {
 		return sessionFactory.getCurrentSession();
 	}
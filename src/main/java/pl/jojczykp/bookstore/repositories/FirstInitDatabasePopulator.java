@@ -0,0 +1,33 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.springframework.jdbc.datasource.init.DatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class FirstInitDatabasePopulator implements DatabasePopulator {
+
+	private final String markerTable;
+	private final DatabasePopulator populator;
+
+	public FirstInitDatabasePopulator(String markerTable, DatabasePopulator populator) {
+		this.markerTable = markerTable;
+		this.populator = populator;
+	}
+
+	@Override
+	public void populate(Connection connection) throws SQLException, ScriptException {
+		if (!markerTableExists(connection)) {
+			populator.populate(connection);
+		}
+	}
+
+	private boolean markerTableExists(Connection connection) throws SQLException {
+		try (ResultSet tables = connection.getMetaData().getTables(null, null, markerTable, null)) {
+			return tables.next();
+		}
+	}
+
+}
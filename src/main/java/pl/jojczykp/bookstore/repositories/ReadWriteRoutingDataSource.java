@@ -0,0 +1,54 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isCurrentTransactionReadOnly;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Route {
+		PRIMARY, REPLICA
+	}
+
+	@Autowired private ReplicaLagGuard replicaLagGuard;
+
+	private DataSource primaryDataSource;
+	private DataSource replicaDataSource;
+
+	public void setPrimaryDataSource(DataSource primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	public void setReplicaDataSource(DataSource replicaDataSource) {
+		this.replicaDataSource = replicaDataSource;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Map<Object, Object> targetDataSources = new HashMap<>();
+		targetDataSources.put(Route.PRIMARY, primaryDataSource);
+		targetDataSources.put(Route.REPLICA, replicaDataSource);
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(primaryDataSource);
+		super.afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		boolean readOnly = isCurrentTransactionReadOnly();
+		if (readOnly && !replicaLagGuard.isPrimaryRequired()) {
+			return Route.REPLICA;
+		}
+
+		if (!readOnly) {
+			replicaLagGuard.primaryUsed();
+		}
+		return Route.PRIMARY;
+	}
+
+}
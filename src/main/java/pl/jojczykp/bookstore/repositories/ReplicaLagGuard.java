@@ -0,0 +1,51 @@
+package pl.jojczykp.bookstore.repositories;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+
+import javax.annotation.PostConstruct;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.security.core.context.SecurityContextHolder.getContext;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+
+public class ReplicaLagGuard {
+
+	@Value("${database.replica.maxLagMillis}") private long maxLagMillis;
+
+	private Cache<String, Boolean> recentWriters;
+
+	@PostConstruct
+	public void init() {
+		recentWriters = CacheBuilder.newBuilder()
+				.expireAfterWrite(maxLagMillis, MILLISECONDS)
+				.build();
+	}
+
+	public boolean isPrimaryRequired() {
+		String user = currentUser();
+		return user != null && recentWriters.getIfPresent(user) != null;
+	}
+
+	public void primaryUsed() {
+		final String user = currentUser();
+		if (user != null && isSynchronizationActive()) {
+			registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					recentWriters.put(user, Boolean.TRUE);
+				}
+			});
+		}
+	}
+
+	private String currentUser() {
+		Authentication authentication = getContext().getAuthentication();
+		return (authentication == null) ? null : authentication.getName();
+	}
+
+}
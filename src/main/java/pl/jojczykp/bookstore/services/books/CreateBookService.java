@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import pl.jojczykp.bookstore.assemblers.CreateBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
@@ -16,6 +18,8 @@ public class CreateBookService {
 	@Autowired private CreateBookValidator createBookValidator;
 	@Autowired private CreateBookAssembler createBookAssembler;
 	@Autowired private BooksRepository booksRepository;
+	@Autowired private BooksCountCache booksCountCache;
+	@Autowired private BooksPageCache booksPageCache;
 
 	public DisplayBooksCommand create(CreateBookCommand createBookCommand, BindingResult bindingResult) {
 		createBookValidator.validate(createBookCommand, bindingResult);
@@ -41,6 +45,8 @@ public class CreateBookService {
 
 	private DisplayBooksCommand processWhenCommandValid(CreateBookCommand createBookCommand) {
 		booksRepository.create(createBookAssembler.toDomain(createBookCommand));
+		booksCountCache.increment();
+		booksPageCache.bumpCatalogVersion();
 
 		DisplayBooksCommand displayBooksCommand = new DisplayBooksCommand();
 		displayBooksCommand.setPager(createBookCommand.getPager());
@@ -1,35 +1,48 @@
 package pl.jojczykp.bookstore.services.books;
 
-import org.hibernate.ObjectNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.DeleteBooksCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.commands.common.MessagesCommand;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
 
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+
 @Service
 public class DeleteBookService {
 
 	@Autowired private BooksRepository booksRepository;
+	@Autowired private BooksCountCache booksCountCache;
+	@Autowired private BooksPageCache booksPageCache;
 
 	public DisplayBooksCommand delete(DeleteBooksCommand deleteBooksCommand) {
 		DisplayBooksCommand displayBooksCommand = new DisplayBooksCommand();
 		displayBooksCommand.setPager(deleteBooksCommand.getPager());
 
-		for (Integer id : deleteBooksCommand.getIds()) {
-			deleteBookFromRepository(id, displayBooksCommand.getMessages());
+		Set<Integer> ids = newHashSet(deleteBooksCommand.getIds());
+		int deletedCount = booksRepository.deleteAll(ids);
+		int missingCount = ids.size() - deletedCount;
+
+		if (deletedCount > 0) {
+			booksCountCache.decrement(deletedCount);
+			booksPageCache.bumpCatalogVersion();
 		}
+		addMessages(displayBooksCommand.getMessages(), deletedCount, missingCount);
 
 		return displayBooksCommand;
 	}
 
-	private void deleteBookFromRepository(int bookId, MessagesCommand messagesContainer) {
-		try {
-			booksRepository.delete(bookId);
-			messagesContainer.addInfos("Object deleted.");
-		} catch (ObjectNotFoundException ex) {
-			messagesContainer.addWarns("Object already deleted.");
+	private void addMessages(MessagesCommand messagesContainer, int deletedCount, int missingCount) {
+		if (deletedCount > 0) {
+			messagesContainer.addInfos("Objects deleted: " + deletedCount + ".");
+		}
+		if (missingCount > 0) {
+			messagesContainer.addWarns("Objects already deleted: " + missingCount + ".");
 		}
 	}
 
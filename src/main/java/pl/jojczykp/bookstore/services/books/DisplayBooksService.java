@@ -2,34 +2,71 @@ package pl.jojczykp.bookstore.services.books;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pl.jojczykp.bookstore.assemblers.DisplayBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
+import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.commands.common.PagerCommand;
-import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
 import pl.jojczykp.bookstore.utils.PagerLimiter;
 
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class DisplayBooksService {
 
 	@Autowired private BooksRepository booksRepository;
+	@Autowired private BooksCountCache booksCountCache;
+	@Autowired private BooksPageCache booksPageCache;
 	@Autowired private PagerLimiter pagerLimiter;
 	@Autowired private DisplayBookAssembler displayBookAssembler;
 
-	public DisplayBooksCommand display(DisplayBooksCommand displayBooksCommand) {
+	public DisplayBooksCommand display(DisplayBooksCommand displayBooksCommand, String catalogVersion) {
 		PagerCommand limitedPager = pagerLimiter.createLimited(
-														displayBooksCommand.getPager(), booksRepository.totalCount());
+														displayBooksCommand.getPager(), booksCountCache.get());
 		displayBooksCommand.setPager(limitedPager);
-
-		List<Book> books = read(displayBooksCommand.getPager());
-		displayBooksCommand.setBooks(displayBookAssembler.toCommands(books));
+		displayBooksCommand.setBooks(books(limitedPager, catalogVersion));
 
 		return displayBooksCommand;
 	}
 
-	private List<Book> read(PagerCommand pager) {
+	public String catalogVersion() {
+		return booksPageCache.getCatalogVersion();
+	}
+
+	private List<DisplayBookCommand> books(PagerCommand pager, String catalogVersion) {
+		List<DisplayBookCommand> cached = booksPageCache.get(catalogVersion, pager);
+		if (cached != null) {
+			return cached;
+		}
+
+		List<DisplayBookCommand> books = displayBookAssembler.toCommands(read(pager));
+		booksPageCache.put(catalogVersion, pager, books);
+
+		return books;
+	}
+
+	private List<BookSummary> read(PagerCommand pager) {
+		if (pager.getSeek().isActive()) {
+			return readBySeek(pager);
+		} else {
+			return readByOffset(pager);
+		}
+	}
+
+	private List<BookSummary> readBySeek(PagerCommand pager) {
+		return booksRepository.read(
+					pager.getSeek(),
+					pager.getPageSize(),
+					pager.getSorter().getColumn(),
+					pager.getSorter().getDirection());
+	}
+
+	private List<BookSummary> readByOffset(PagerCommand pager) {
 		int pageSize = pager.getPageSize();
 		int pageNumber = pager.getPageNumber();
 		int offset = (pageNumber - 1) * pageSize;
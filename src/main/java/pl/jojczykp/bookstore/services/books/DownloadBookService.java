@@ -2,30 +2,73 @@ package pl.jojczykp.bookstore.services.books;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.jojczykp.bookstore.caches.BookContentCache;
 import pl.jojczykp.bookstore.commands.books.DownloadBookCommand;
 import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
 import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookFile;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
+import static pl.jojczykp.bookstore.utils.BufferUtils.bufferRange;
 
 @Service
+@Transactional(readOnly = true)
 public class DownloadBookService {
 
 	@Autowired private BooksRepository booksRepository;
+	@Autowired private BookContentCache bookContentCache;
+	@Autowired private BookContentStore bookContentStore;
 
-	public Book download(DownloadBookCommand downloadBookCommand) {
+	public Book find(DownloadBookCommand downloadBookCommand) {
+		String id = downloadBookCommand.getId();
 		try {
-			Book book = booksRepository.find(parseInt(downloadBookCommand.getId()));
-			verifyBookFound(downloadBookCommand.getId(), book);
+			Book book = booksRepository.find(parseInt(id));
+			verifyFound(id, book);
 			return book;
 		} catch (NumberFormatException e) {
-			throw new ResourceNotFoundException(exceptionMessageFor(downloadBookCommand.getId()), e);
+			throw new ResourceNotFoundException(exceptionMessageFor(id), e);
 		}
 	}
 
-	private void verifyBookFound(String id, Book book) {
+	public ByteBuffer content(BookFile bookFile) {
+		try {
+			BookFile stored = storedBookFileOf(bookFile);
+			ByteBuffer cached = bookContentCache.get(stored);
+			return (cached != null) ? cached : bookContentStore.read(stored);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public ByteBuffer content(BookFile bookFile, long offset, long length) {
+		try {
+			ByteBuffer cached = bookContentCache.getIfPresent(bookFile);
+			return (cached != null)
+					? bufferRange(cached, offset, length)
+					: bookContentStore.read(storedBookFileOf(bookFile), offset, length);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private BookFile storedBookFileOf(BookFile bookFile) {
+		BookFile stored = booksRepository.findBookFile(bookFile.getId());
+		if (stored == null) {
+			throw new ResourceNotFoundException(
+					format("Content of book file with id '%d' not found.", bookFile.getId()));
+		}
+
+		return stored;
+	}
+
+	private void verifyFound(String id, Book book) {
 		if (book == null) {
 			throw new ResourceNotFoundException(exceptionMessageFor(id));
 		}
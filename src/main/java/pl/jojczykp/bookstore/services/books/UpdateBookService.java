@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import pl.jojczykp.bookstore.assemblers.UpdateBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.commands.books.UpdateBookCommand;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
@@ -17,6 +18,7 @@ public class UpdateBookService {
 	@Autowired private UpdateBookValidator updateBookValidator;
 	@Autowired private UpdateBookAssembler updateBookAssembler;
 	@Autowired private BooksRepository booksRepository;
+	@Autowired private BooksPageCache booksPageCache;
 
 	public DisplayBooksCommand update(UpdateBookCommand updateBookCommand, BindingResult bindingResult) {
 		updateBookValidator.validate(updateBookCommand, bindingResult);
@@ -46,6 +48,7 @@ public class UpdateBookService {
 
 		try {
 			booksRepository.update(updateBookAssembler.toDomain(updateBookCommand));
+			booksPageCache.bumpCatalogVersion();
 			displayBooksCommand.getMessages().addInfos("Title updated.");
 		} catch (StaleObjectStateException e) {
 			displayBooksCommand.getMessages().addWarns(
@@ -0,0 +1,128 @@
+package pl.jojczykp.bookstore.services.books;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Range;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
+import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
+import pl.jojczykp.bookstore.controllers.errors.InvalidUploadException;
+import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
+import pl.jojczykp.bookstore.stores.StagedMultipartFile;
+import pl.jojczykp.bookstore.stores.UploadSession;
+import pl.jojczykp.bookstore.stores.UploadSessionStore;
+import pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.SortedSet;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static org.springframework.util.StringUtils.hasText;
+import static pl.jojczykp.bookstore.consts.BooksConsts.CREATE_BOOK_COMMAND;
+
+@Service
+public class UploadBookService {
+
+	@Autowired private UploadSessionStore uploadSessionStore;
+	@Autowired private CreateBookService createBookService;
+
+	@Value("${upload.book.session.expiryMillis}") private long sessionExpiryMillis;
+	@Value("${upload.book.session.maxSize}") private long maxSessionSize;
+	@Value("${upload.book.chunk.maxSize}") private long maxChunkSize;
+
+	public String open(String title, String fileName, String contentType) {
+		if (!hasText(title) || !hasText(fileName)) {
+			throw new InvalidUploadException("Uploading with empty title or file name is not allowed.");
+		}
+
+		uploadSessionStore.deleteOlderThan(sessionExpiryMillis);
+		return uploadSessionStore.create(title, fileName, contentType).getId();
+	}
+
+	public SortedSet<Integer> receivedChunks(String sessionId) {
+		return uploadSessionStore.chunkNumbers(find(sessionId));
+	}
+
+	public void putChunk(String sessionId, int number, String sha256Hex, InputStream content) {
+		if (number < 0) {
+			throw new InvalidUploadException(format("Chunk number %d is negative.", number));
+		}
+
+		UploadSession session = find(sessionId);
+		long maxSize = min(maxChunkSize, max(0, maxSessionSize - uploadSessionStore.otherChunksSize(session, number)));
+		ChunkStatus status = uploadSessionStore.saveChunk(session, number, content, sha256Hex, maxSize);
+		if (status == ChunkStatus.TOO_LARGE) {
+			throw new InvalidUploadException(format(
+					"Chunk %d exceeds %d bytes allowed by chunk size limit %d and session size limit %d.",
+					number, maxSize, maxChunkSize, maxSessionSize));
+		} else if (status == ChunkStatus.CHECKSUM_MISMATCH) {
+			throw new InvalidUploadException(format("Checksum of chunk %d does not match its content.", number));
+		}
+	}
+
+	public void commit(String sessionId, int chunksCount) {
+		UploadSession session = find(sessionId);
+		verifyAllChunksReceived(session, chunksCount);
+		verifySessionSizeWithinLimit(session);
+
+		CreateBookCommand command = new CreateBookCommand();
+		command.setTitle(session.getTitle());
+		command.setFile(new StagedMultipartFile(
+				uploadSessionStore.assemble(session, chunksCount), session.getFileName(), session.getContentType()));
+		DisplayBooksCommand result =
+				createBookService.create(command, new BeanPropertyBindingResult(command, CREATE_BOOK_COMMAND));
+
+		verifyNoErrorsIn(result);
+		uploadSessionStore.delete(session);
+	}
+
+	public void abort(String sessionId) {
+		uploadSessionStore.delete(find(sessionId));
+	}
+
+	private UploadSession find(String sessionId) {
+		Optional<UploadSession> session = uploadSessionStore.find(sessionId);
+		if (!session.isPresent()) {
+			throw new ResourceNotFoundException(format("Upload session '%s' not found.", sessionId));
+		}
+
+		return session.get();
+	}
+
+	private void verifyAllChunksReceived(UploadSession session, int chunksCount) {
+		if (chunksCount < 1) {
+			throw new InvalidUploadException("Committing upload with no chunks is not allowed.");
+		}
+
+		SortedSet<Integer> expected = ContiguousSet.create(Range.closedOpen(0, chunksCount), DiscreteDomain.integers());
+		SortedSet<Integer> received = uploadSessionStore.chunkNumbers(session);
+		if (!received.equals(expected)) {
+			throw new InvalidUploadException(format(
+					"Expected chunks 0 to %d but received %s.", chunksCount - 1, received));
+		}
+	}
+
+	private void verifySessionSizeWithinLimit(UploadSession session) {
+		long size = uploadSessionStore.chunksSize(session);
+		if (size > maxSessionSize) {
+			throw new InvalidUploadException(format(
+					"Upload of %d bytes exceeds session size limit %d.", size, maxSessionSize));
+		}
+	}
+
+	private void verifyNoErrorsIn(DisplayBooksCommand result) {
+		List<String> errors = result.getMessages().getErrors();
+		if (!errors.isEmpty()) {
+			throw new InvalidUploadException(Joiner.on(' ').join(errors));
+		}
+	}
+
+}
@@ -0,0 +1,22 @@
+package pl.jojczykp.bookstore.stores;
+
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+public interface BookContentStore {
+
+	void save(BookFile bookFile);
+
+	ByteBuffer read(BookFile bookFile) throws IOException;
+
+	ByteBuffer read(BookFile bookFile, long offset, long length) throws IOException;
+
+	InputStream openStream(BookFile bookFile) throws IOException;
+
+	void delete(Collection<String> contentKeys);
+
+}
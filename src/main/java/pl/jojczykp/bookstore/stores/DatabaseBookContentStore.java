@@ -0,0 +1,70 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+import static com.google.common.primitives.Ints.checkedCast;
+import static java.lang.System.getProperty;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobInputStream;
+import static pl.jojczykp.bookstore.utils.BufferUtils.aSpooledBufferOf;
+import static pl.jojczykp.bookstore.utils.BufferUtils.bufferReadFully;
+
+@Service
+public class DatabaseBookContentStore implements BookContentStore {
+
+	private static final String NO_CONTENT_KEY = "";
+	private static final Path SPOOL_DIRECTORY = Paths.get(getProperty("java.io.tmpdir"));
+
+	@Value("${upload.book.maxInMemorySize}") private int maxInMemorySize;
+
+	@Override
+	public void save(BookFile bookFile) {
+		bookFile.setContentKey(NO_CONTENT_KEY);
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile) throws IOException {
+		return readFully(openStream(bookFile), bookFile.getStoredContentLength());
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile, long offset, long length) throws IOException {
+		return readFully(blobInputStream(bookFile.getContent(), offset, length), length);
+	}
+
+	private ByteBuffer readFully(InputStream stream, long length) throws IOException {
+		try (InputStream content = stream) {
+			if (length <= maxInMemorySize) {
+				return readIntoMemory(content, length);
+			} else {
+				return aSpooledBufferOf(content, SPOOL_DIRECTORY);
+			}
+		}
+	}
+
+	private ByteBuffer readIntoMemory(InputStream content, long length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(checkedCast(length));
+		bufferReadFully(content, buffer);
+		buffer.flip();
+
+		return buffer;
+	}
+
+	@Override
+	public InputStream openStream(BookFile bookFile) {
+		return blobInputStream(bookFile.getContent());
+	}
+
+	@Override
+	public void delete(Collection<String> contentKeys) {
+	}
+
+}
@@ -0,0 +1,111 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.singleton;
+import static java.util.UUID.randomUUID;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static pl.jojczykp.bookstore.utils.BlobUtils.anEmptySerialBlob;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobInputStream;
+import static pl.jojczykp.bookstore.utils.BufferUtils.aMappedBufferOf;
+
+@Service
+public class FilesystemBookContentStore implements BookContentStore {
+
+	@Value("${book.content.store.filesystem.directory}") private String directoryName;
+
+	private Path directory;
+
+	@PostConstruct
+	public void init() throws IOException {
+		if (!directoryName.trim().isEmpty()) {
+			directory = Files.createDirectories(Paths.get(directoryName));
+		}
+	}
+
+	@Override
+	public void save(BookFile bookFile) {
+		String contentKey = randomUUID().toString();
+		try {
+			saveContent(contentKey, bookFile);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		deleteOnRollback(contentKey);
+		bookFile.setContentKey(contentKey);
+		bookFile.setContent(anEmptySerialBlob());
+	}
+
+	private void deleteOnRollback(final String contentKey) {
+		if (isSynchronizationActive()) {
+			registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_ROLLED_BACK) {
+						delete(singleton(contentKey));
+					}
+				}
+			});
+		}
+	}
+
+	private void saveContent(String contentKey, BookFile bookFile) throws IOException {
+		Path temporary = Files.createTempFile(directory(), contentKey, ".tmp");
+		try (InputStream content = blobInputStream(bookFile.getContent())) {
+			Files.copy(content, temporary, REPLACE_EXISTING);
+			Files.move(temporary, directory().resolve(contentKey), ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile) throws IOException {
+		return aMappedBufferOf(directory().resolve(bookFile.getContentKey()));
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile, long offset, long length) throws IOException {
+		return aMappedBufferOf(directory().resolve(bookFile.getContentKey()), offset, length);
+	}
+
+	@Override
+	public InputStream openStream(BookFile bookFile) throws IOException {
+		return Files.newInputStream(directory().resolve(bookFile.getContentKey()));
+	}
+
+	@Override
+	public void delete(Collection<String> contentKeys) {
+		try {
+			for (String contentKey : contentKeys) {
+				Files.deleteIfExists(directory().resolve(contentKey));
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Path directory() {
+		if (directory == null) {
+			throw new IllegalStateException("No book.content.store.filesystem.directory configured");
+		}
+
+		return directory;
+	}
+
+}
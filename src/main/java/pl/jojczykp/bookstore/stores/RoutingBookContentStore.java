@@ -0,0 +1,48 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+@Service
+public class RoutingBookContentStore implements BookContentStore {
+
+	@Autowired private BookContentStore savingBookContentStore;
+	@Autowired private DatabaseBookContentStore databaseBookContentStore;
+	@Autowired private FilesystemBookContentStore filesystemBookContentStore;
+
+	@Override
+	public void save(BookFile bookFile) {
+		savingBookContentStore.save(bookFile);
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile) throws IOException {
+		return storeOf(bookFile).read(bookFile);
+	}
+
+	@Override
+	public ByteBuffer read(BookFile bookFile, long offset, long length) throws IOException {
+		return storeOf(bookFile).read(bookFile, offset, length);
+	}
+
+	@Override
+	public InputStream openStream(BookFile bookFile) throws IOException {
+		return storeOf(bookFile).openStream(bookFile);
+	}
+
+	@Override
+	public void delete(Collection<String> contentKeys) {
+		filesystemBookContentStore.delete(contentKeys);
+	}
+
+	private BookContentStore storeOf(BookFile bookFile) {
+		return bookFile.getContentKey().isEmpty() ? databaseBookContentStore : filesystemBookContentStore;
+	}
+
+}
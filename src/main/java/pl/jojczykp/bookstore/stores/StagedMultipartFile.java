@@ -0,0 +1,71 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+public class StagedMultipartFile implements MultipartFile {
+
+	private static final String NAME = "file";
+
+	private final Path content;
+	private final String originalFilename;
+	private final String contentType;
+
+	public StagedMultipartFile(Path content, String originalFilename, String contentType) {
+		this.content = content;
+		this.originalFilename = originalFilename;
+		this.contentType = contentType;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public String getOriginalFilename() {
+		return originalFilename;
+	}
+
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return getSize() == 0;
+	}
+
+	@Override
+	public long getSize() {
+		try {
+			return Files.size(content);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public byte[] getBytes() throws IOException {
+		return Files.readAllBytes(content);
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return Files.newInputStream(content);
+	}
+
+	@Override
+	public void transferTo(File dest) throws IOException {
+		Files.copy(content, dest.toPath(), REPLACE_EXISTING);
+	}
+
+}
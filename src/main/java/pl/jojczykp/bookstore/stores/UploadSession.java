@@ -0,0 +1,33 @@
+package pl.jojczykp.bookstore.stores;
+
+public class UploadSession {
+
+	private final String id;
+	private final String title;
+	private final String fileName;
+	private final String contentType;
+
+	public UploadSession(String id, String title, String fileName, String contentType) {
+		this.id = id;
+		this.title = title;
+		this.fileName = fileName;
+		this.contentType = contentType;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+}
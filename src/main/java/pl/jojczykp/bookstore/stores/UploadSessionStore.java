@@ -0,0 +1,228 @@
+package pl.jojczykp.bookstore.stores;
+
+import com.google.common.base.Optional;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.UUID.randomUUID;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.apache.commons.io.IOUtils.copy;
+
+@Service
+public class UploadSessionStore {
+
+	public enum ChunkStatus {
+		SAVED, TOO_LARGE, CHECKSUM_MISMATCH
+	}
+
+	private static final Pattern SESSION_ID = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}");
+	private static final String METADATA_FILE = "session.properties";
+	private static final String CONTENT_FILE = "content";
+	private static final String CHUNK_PREFIX = "chunk-";
+	private static final String CHUNK_FORMAT = CHUNK_PREFIX + "%09d";
+	private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+	private static final String TITLE = "title";
+	private static final String FILE_NAME = "fileName";
+	private static final String CONTENT_TYPE = "contentType";
+
+	@Value("${upload.book.staging.directory}") private String directoryName;
+
+	private Path directory;
+
+	@PostConstruct
+	public void init() throws IOException {
+		directory = Files.createDirectories(Paths.get(directoryName));
+	}
+
+	public UploadSession create(String title, String fileName, String contentType) {
+		String id = randomUUID().toString();
+		Properties metadata = new Properties();
+		metadata.setProperty(TITLE, title);
+		metadata.setProperty(FILE_NAME, fileName);
+		metadata.setProperty(CONTENT_TYPE, contentType);
+
+		try (OutputStream output = Files.newOutputStream(Files.createDirectory(sessionDirectory(id))
+				.resolve(METADATA_FILE))) {
+			metadata.store(output, null);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return new UploadSession(id, title, fileName, contentType);
+	}
+
+	public Optional<UploadSession> find(String id) {
+		if (!SESSION_ID.matcher(id).matches() || !Files.isDirectory(sessionDirectory(id))) {
+			return Optional.absent();
+		}
+
+		Properties metadata = new Properties();
+		try (InputStream input = Files.newInputStream(sessionDirectory(id).resolve(METADATA_FILE))) {
+			metadata.load(input);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return Optional.of(new UploadSession(id,
+				metadata.getProperty(TITLE), metadata.getProperty(FILE_NAME), metadata.getProperty(CONTENT_TYPE)));
+	}
+
+	public ChunkStatus saveChunk(UploadSession session, int number, InputStream content, String sha256Hex,
+									long maxSize) {
+		Path chunk = chunkOf(session, number);
+		try {
+			Path temporary = Files.createTempFile(chunk.getParent(), chunk.getFileName().toString(),
+					TEMPORARY_FILE_SUFFIX);
+			try {
+				String actualSha256Hex = copyDigesting(new BoundedInputStream(content, maxSize + 1), temporary);
+				if (Files.size(temporary) > maxSize) {
+					return ChunkStatus.TOO_LARGE;
+				}
+				if (!actualSha256Hex.equalsIgnoreCase(sha256Hex)) {
+					return ChunkStatus.CHECKSUM_MISMATCH;
+				}
+				Files.move(temporary, chunk, REPLACE_EXISTING, ATOMIC_MOVE);
+				return ChunkStatus.SAVED;
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private String copyDigesting(InputStream content, Path target) throws IOException {
+		MessageDigest digest = getSha256Digest();
+		try (OutputStream output = Files.newOutputStream(target)) {
+			copy(new DigestInputStream(content, digest), output);
+		}
+
+		return encodeHexString(digest.digest());
+	}
+
+	public long otherChunksSize(UploadSession session, int number) {
+		long size = 0;
+		for (int otherNumber : chunkNumbers(session)) {
+			if (otherNumber != number) {
+				size += chunkOf(session, otherNumber).toFile().length();
+			}
+		}
+
+		return size;
+	}
+
+	public long chunksSize(UploadSession session) {
+		long size = 0;
+		for (int number : chunkNumbers(session)) {
+			size += chunkOf(session, number).toFile().length();
+		}
+
+		return size;
+	}
+
+	public SortedSet<Integer> chunkNumbers(UploadSession session) {
+		SortedSet<Integer> numbers = new TreeSet<>();
+		try (DirectoryStream<Path> chunks = Files.newDirectoryStream(
+				sessionDirectory(session.getId()), CHUNK_PREFIX + "*[0-9]")) {
+			for (Path chunk : chunks) {
+				numbers.add(parseInt(chunk.getFileName().toString().substring(CHUNK_PREFIX.length())));
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return numbers;
+	}
+
+	public Path assemble(UploadSession session, int chunksCount) {
+		Path sessionDirectory = sessionDirectory(session.getId());
+		Path content = sessionDirectory.resolve(CONTENT_FILE);
+		try {
+			Files.deleteIfExists(content);
+			try (FileChannel target = FileChannel.open(content, CREATE, APPEND)) {
+				for (int number = 0; number < chunksCount; number++) {
+					appendChunk(sessionDirectory.resolve(format(CHUNK_FORMAT, number)), target);
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return content;
+	}
+
+	private void appendChunk(Path chunk, FileChannel target) throws IOException {
+		try (FileChannel source = FileChannel.open(chunk, READ)) {
+			long position = 0;
+			long size = source.size();
+			while (position < size) {
+				position += source.transferTo(position, size - position, target);
+			}
+		}
+	}
+
+	public void delete(UploadSession session) {
+		deleteSessionDirectory(sessionDirectory(session.getId()));
+	}
+
+	public int deleteOlderThan(long ageMillis) {
+		long threshold = currentTimeMillis() - ageMillis;
+		int deletedCount = 0;
+		try (DirectoryStream<Path> sessions = Files.newDirectoryStream(directory)) {
+			for (Path session : sessions) {
+				if (Files.getLastModifiedTime(session).toMillis() < threshold) {
+					deleteSessionDirectory(session);
+					deletedCount++;
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return deletedCount;
+	}
+
+	private void deleteSessionDirectory(Path sessionDirectory) {
+		try {
+			deleteDirectory(sessionDirectory.toFile());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Path chunkOf(UploadSession session, int number) {
+		return sessionDirectory(session.getId()).resolve(format(CHUNK_FORMAT, number));
+	}
+
+	private Path sessionDirectory(String id) {
+		return directory.resolve(id);
+	}
+
+}
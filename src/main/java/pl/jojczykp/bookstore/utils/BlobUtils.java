@@ -1,5 +1,6 @@
 package pl.jojczykp.bookstore.utils;
 
+import org.hibernate.engine.jdbc.NonContextualLobCreator;
 
 import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
@@ -27,6 +28,10 @@ public final class BlobUtils {
 		}
 	}
 
+	public static Blob aStreamedBlobWith(InputStream stream, long length) {
+		return NonContextualLobCreator.INSTANCE.createBlob(stream, length);
+	}
+
 	private static void throwExceptionOnNull(byte[] bytes) throws SQLException {
 		if (bytes == null) {
 			throw new SQLException("Cannot create BLOB for null data");
@@ -49,6 +54,14 @@ public final class BlobUtils {
 		}
 	}
 
+	public static void blobFree(Blob blob) {
+		try {
+			blob.free();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static InputStream blobInputStream(Blob blob) {
 		try {
 			return blob.getBinaryStream();
@@ -57,4 +70,12 @@ public final class BlobUtils {
 		}
 	}
 
+	public static InputStream blobInputStream(Blob blob, long offset, long length) {
+		try {
+			return blob.getBinaryStream(offset + 1, length);
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 }
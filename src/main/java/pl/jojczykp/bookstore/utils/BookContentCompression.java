@@ -0,0 +1,3 @@
+package pl.jojczykp.bookstore.utils;
+
+public enum BookContentCompression { NONE, FILE_TYPE, MEASURED }
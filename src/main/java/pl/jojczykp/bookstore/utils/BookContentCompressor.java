@@ -0,0 +1,82 @@
+package pl.jojczykp.bookstore.utils;
+
+import com.google.common.base.Optional;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.sql.Blob;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.IOUtils.copy;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aStreamedBlobWith;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.FILE_TYPE;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.MEASURED;
+
+@Service
+public class BookContentCompressor {
+
+	public static final String GZIP = "gzip";
+
+	private static final String TEMPORARY_FILE_PREFIX = "bookstore-gzip";
+	private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+	@Value("${book.content.compression}") private BookContentCompression compression;
+	@Value("${book.content.compression.fileTypes}") private String[] fileTypes;
+	@Value("${book.content.compression.maxRatio}") private double maxRatio;
+	@Value("${upload.book.maxInMemorySize}") private int maxInMemorySize;
+
+	public boolean isCandidate(String fileType) {
+		return compression == MEASURED || (compression == FILE_TYPE && asList(fileTypes).contains(fileType));
+	}
+
+	public Optional<Blob> compress(InputStream content, long length) {
+		try {
+			DeferredFileOutputStream compressed = gzip(content);
+			if (compression == MEASURED && compressed.getByteCount() > length * maxRatio) {
+				discard(compressed);
+				return Optional.absent();
+			}
+
+			return Optional.of(blobOf(compressed));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private DeferredFileOutputStream gzip(InputStream content) throws IOException {
+		DeferredFileOutputStream compressed = new DeferredFileOutputStream(
+				maxInMemorySize, TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX, null);
+		try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+			copy(content, output);
+		} catch (IOException e) {
+			discard(compressed);
+			throw e;
+		}
+
+		return compressed;
+	}
+
+	private Blob blobOf(DeferredFileOutputStream compressed) throws IOException {
+		if (compressed.isInMemory()) {
+			return aSerialBlobWith(compressed.getData());
+		}
+
+		File file = compressed.getFile();
+		return aStreamedBlobWith(Files.newInputStream(file.toPath(), DELETE_ON_CLOSE), file.length());
+	}
+
+	private void discard(DeferredFileOutputStream compressed) throws IOException {
+		if (!compressed.isInMemory()) {
+			Files.deleteIfExists(compressed.getFile().toPath());
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package pl.jojczykp.bookstore.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.primitives.Ints.checkedCast;
+import static java.lang.Math.min;
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.channels.Channels.newOutputStream;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.commons.io.IOUtils.copyLarge;
+
+public final class BufferUtils {
+
+	private static final int END_OF_STREAM = -1;
+	private static final int BYTE_MASK = 0xff;
+	private static final String SPOOL_FILE_PREFIX = "bookstore-spool";
+	private static final String SPOOL_FILE_SUFFIX = ".tmp";
+
+	private BufferUtils() {
+	}
+
+	public static ByteBuffer aMappedBufferOf(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			return channel.map(READ_ONLY, 0, channel.size());
+		}
+	}
+
+	public static ByteBuffer aMappedBufferOf(Path path, long offset, long length) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			return channel.map(READ_ONLY, offset, length);
+		}
+	}
+
+	public static ByteBuffer aSpooledBufferOf(InputStream stream, Path directory) throws IOException {
+		Path spool = Files.createTempFile(directory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+		try (FileChannel channel = FileChannel.open(spool, READ, WRITE, DELETE_ON_CLOSE)) {
+			copyLarge(stream, newOutputStream(channel));
+			return channel.map(READ_ONLY, 0, channel.size());
+		}
+	}
+
+	public static ByteBuffer bufferRange(ByteBuffer buffer, long offset, long length) {
+		ByteBuffer range = buffer.duplicate();
+		range.clear();
+		range.position(checkedCast(offset));
+		range.limit(checkedCast(offset + length));
+
+		return range;
+	}
+
+	public static void bufferReadFully(InputStream stream, ByteBuffer buffer) throws IOException {
+		ReadableByteChannel channel = newChannel(stream);
+		int read = 0;
+		while (buffer.hasRemaining() && read >= 0) {
+			read = channel.read(buffer);
+		}
+	}
+
+	public static void bufferWriteFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	public static InputStream bufferInputStream(final ByteBuffer buffer) {
+		return new InputStream() {
+			@Override
+			public int read() {
+				return buffer.hasRemaining() ? buffer.get() & BYTE_MASK : END_OF_STREAM;
+			}
+
+			@Override
+			public int read(byte[] bytes, int offset, int length) {
+				if (!buffer.hasRemaining()) {
+					return END_OF_STREAM;
+				}
+
+				int read = min(length, buffer.remaining());
+				buffer.get(bytes, offset, read);
+				return read;
+			}
+		};
+	}
+
+}
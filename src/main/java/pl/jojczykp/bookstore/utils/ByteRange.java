@@ -0,0 +1,157 @@
+package pl.jojczykp.bookstore.utils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+public final class ByteRange {
+
+	private static final int MAX_RANGES_COUNT = 16;
+
+	private static final String BYTES_UNIT_PREFIX = "bytes=";
+	private static final BigInteger MAX_POSITION = BigInteger.valueOf(Long.MAX_VALUE);
+	private static final Comparator<ByteRange> BY_FIRST = new Comparator<ByteRange>() {
+		@Override
+		public int compare(ByteRange a, ByteRange b) {
+			return Long.compare(a.first, b.first);
+		}
+	};
+	private static final Pattern RANGES_HEADER_PATTERN =
+			Pattern.compile("bytes=\\s*(\\d+-\\d*|-\\d+)(\\s*,\\s*(\\d+-\\d*|-\\d+))*\\s*");
+
+	private final long first;
+	private final long last;
+
+	public ByteRange(long first, long last) {
+		this.first = first;
+		this.last = last;
+	}
+
+	public long getFirst() {
+		return first;
+	}
+
+	public long getLast() {
+		return last;
+	}
+
+	public long getLength() {
+		return last - first + 1;
+	}
+
+	public String toContentRange(long totalLength) {
+		return "bytes " + first + "-" + last + "/" + totalLength;
+	}
+
+	public static boolean isValidRangesHeader(String header) {
+		if (header == null || !RANGES_HEADER_PATTERN.matcher(header).matches()) {
+			return false;
+		}
+
+		String[] specs = specsOf(header);
+		if (specs.length > MAX_RANGES_COUNT) {
+			return false;
+		}
+
+		for (String spec : specs) {
+			if (!spec.startsWith("-") && !spec.endsWith("-") && firstOf(spec) > lastOf(spec)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public static List<ByteRange> parseSatisfiableRanges(String header, long totalLength) {
+		List<ByteRange> ranges = new ArrayList<>();
+		for (String spec : specsOf(header)) {
+			ByteRange range = satisfiableRangeOf(spec, totalLength);
+			if (range != null) {
+				ranges.add(range);
+			}
+		}
+
+		return coalesced(ranges);
+	}
+
+	private static List<ByteRange> coalesced(List<ByteRange> ranges) {
+		Collections.sort(ranges, BY_FIRST);
+
+		List<ByteRange> result = new ArrayList<>();
+		for (ByteRange range : ranges) {
+			int lastIndex = result.size() - 1;
+			if (lastIndex >= 0 && range.first <= result.get(lastIndex).last + 1) {
+				ByteRange previous = result.get(lastIndex);
+				result.set(lastIndex, new ByteRange(previous.first, max(previous.last, range.last)));
+			} else {
+				result.add(range);
+			}
+		}
+
+		return result;
+	}
+
+	private static ByteRange satisfiableRangeOf(String spec, long totalLength) {
+		if (spec.startsWith("-")) {
+			long suffixLength = positionOf(spec.substring(1));
+			return (suffixLength == 0 || totalLength == 0) ? null
+					: new ByteRange(max(0, totalLength - suffixLength), totalLength - 1);
+		}
+
+		long first = firstOf(spec);
+		if (first >= totalLength) {
+			return null;
+		}
+
+		long last = spec.endsWith("-") ? totalLength - 1 : min(lastOf(spec), totalLength - 1);
+		return new ByteRange(first, last);
+	}
+
+	private static String[] specsOf(String header) {
+		return header.substring(BYTES_UNIT_PREFIX.length()).replaceAll("\\s", "").split(",");
+	}
+
+	private static long firstOf(String spec) {
+		return positionOf(spec.substring(0, spec.indexOf('-')));
+	}
+
+	private static long lastOf(String spec) {
+		return positionOf(spec.substring(spec.indexOf('-') + 1));
+	}
+
+	private static long positionOf(String digits) {
+		return new BigInteger(digits).min(MAX_POSITION).longValue();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		ByteRange byteRange = (ByteRange) o;
+
+		return first == byteRange.first && last == byteRange.last;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.valueOf(first).hashCode() + Long.valueOf(last).hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{first=" + first + ", last=" + last + "}";
+	}
+
+}
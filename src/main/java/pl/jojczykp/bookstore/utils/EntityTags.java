@@ -0,0 +1,46 @@
+package pl.jojczykp.bookstore.utils;
+
+import com.google.common.base.Splitter;
+
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+
+public final class EntityTags {
+
+	private static final String WEAK_PREFIX = "W/";
+	private static final String ANY = "*";
+
+	private EntityTags() {
+	}
+
+	public static String aStrongEntityTag(String value) {
+		return "\"" + value + "\"";
+	}
+
+	public static String aWeakEntityTagOf(Object... parts) {
+		StringBuilder state = new StringBuilder();
+		for (Object part : parts) {
+			state.append(part).append('\n');
+		}
+
+		return WEAK_PREFIX + aStrongEntityTag(sha256Hex(state.toString()));
+	}
+
+	public static boolean isNoneMatchSatisfiedBy(String ifNoneMatch, String entityTag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+
+		for (String candidate : Splitter.on(',').trimResults().omitEmptyStrings().split(ifNoneMatch)) {
+			if (ANY.equals(candidate) || opaquePartOf(candidate).equals(opaquePartOf(entityTag))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static String opaquePartOf(String entityTag) {
+		return entityTag.startsWith(WEAK_PREFIX) ? entityTag.substring(WEAK_PREFIX.length()) : entityTag;
+	}
+
+}
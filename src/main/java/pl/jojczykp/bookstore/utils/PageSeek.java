@@ -0,0 +1,51 @@
+package pl.jojczykp.bookstore.utils;
+
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NONE;
+
+public class PageSeek {
+
+	private PageSeekDirection direction;
+	private int bookId;
+	private String bookTitle;
+
+	public PageSeek() {
+		this.direction = NONE;
+		this.bookId = 0;
+		this.bookTitle = "";
+	}
+
+	public PageSeekDirection getDirection() {
+		return direction;
+	}
+
+	public void setDirection(PageSeekDirection direction) {
+		this.direction = direction;
+	}
+
+	public int getBookId() {
+		return bookId;
+	}
+
+	public void setBookId(int bookId) {
+		this.bookId = bookId;
+	}
+
+	public String getBookTitle() {
+		return bookTitle;
+	}
+
+	public void setBookTitle(String bookTitle) {
+		this.bookTitle = bookTitle;
+	}
+
+	public boolean isActive() {
+		return direction != NONE;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName()
+				+ "{direction=" + direction.name() + ", bookId=" + bookId + ", bookTitle='" + bookTitle + "'}";
+	}
+
+}
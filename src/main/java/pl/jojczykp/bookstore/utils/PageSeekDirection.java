@@ -0,0 +1,3 @@
+package pl.jojczykp.bookstore.utils;
+
+public enum PageSeekDirection { NONE, NEXT, PREV }
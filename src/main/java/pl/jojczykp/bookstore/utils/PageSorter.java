@@ -1,9 +1,5 @@
 package pl.jojczykp.bookstore.utils;
 
-import org.hibernate.criterion.Order;
-
-import static org.hibernate.criterion.Order.asc;
-import static org.hibernate.criterion.Order.desc;
 import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
 
@@ -41,24 +37,4 @@ public class PageSorter {
 		return getClass().getSimpleName() + "{column=" + column.name() + ", direction=" + direction.name() + "}";
 	}
 
-	public static Order orderBy(PageSorterColumn column, PageSorterDirection direction) {
-		return caseAwareOrderFor(column.isIgnoreCase(), directionAwareOrderFor(column, direction));
-	}
-
-	private static Order directionAwareOrderFor(PageSorterColumn column, PageSorterDirection direction) {
-		if (direction == ASC) {
-			return asc(column.getNameForQuery());
-		} else {
-			return desc(column.getNameForQuery());
-		}
-	}
-
-	private static Order caseAwareOrderFor(boolean ignoreCase, Order order) {
-		if (ignoreCase) {
-			return order.ignoreCase();
-		} else {
-			return order;
-		}
-	}
-
 }
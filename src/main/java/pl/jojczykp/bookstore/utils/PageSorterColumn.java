@@ -2,13 +2,16 @@ package pl.jojczykp.bookstore.utils;
 
 public enum PageSorterColumn {
 
-	BOOK_TITLE("title", true);
+	BOOK_TITLE("title", "titleNormalized", true),
+	BOOK_TITLE_COLLATED("title", "titleCollationKey", true);
 
 	private String nameForQuery;
+	private String normalizedNameForQuery;
 	private boolean ignoreCase;
 
-	private PageSorterColumn(String nameForQuery, boolean ignoreCase) {
+	private PageSorterColumn(String nameForQuery, String normalizedNameForQuery, boolean ignoreCase) {
 		this.nameForQuery = nameForQuery;
+		this.normalizedNameForQuery = normalizedNameForQuery;
 		this.ignoreCase = ignoreCase;
 	}
 
@@ -16,6 +19,14 @@ public enum PageSorterColumn {
 		return nameForQuery;
 	}
 
+	public String getNormalizedNameForQuery() {
+		return normalizedNameForQuery;
+	}
+
+	public String getSortNameForQuery() {
+		return ignoreCase ? normalizedNameForQuery : nameForQuery;
+	}
+
 	public boolean isIgnoreCase() {
 		return ignoreCase;
 	}
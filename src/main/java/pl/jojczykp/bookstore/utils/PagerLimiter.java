@@ -18,8 +18,11 @@ public class PagerLimiter {
 
 		int limitedPageSize = max(0, requestPager.getPageSize());
 
-		return aPagerCommandWith(limitedPageNumber, limitedPageSize, limitedPagesCount, totalCount,
+		PagerCommand limitedPager = aPagerCommandWith(limitedPageNumber, limitedPageSize, limitedPagesCount, totalCount,
 				requestPager.getSorter().getColumn(), requestPager.getSorter().getDirection());
+		propagateSeekIfPageNotChanged(requestPager, limitedPager);
+
+		return limitedPager;
 	}
 
 	private int divCap(int number, int div) {
@@ -38,4 +41,11 @@ public class PagerLimiter {
 
 		return limitedPager;
 	}
+
+	private void propagateSeekIfPageNotChanged(PagerCommand requestPager, PagerCommand limitedPager) {
+		if (limitedPager.getPageNumber() == requestPager.getPageNumber()
+				&& limitedPager.getPageSize() == requestPager.getPageSize()) {
+			limitedPager.setSeek(requestPager.getSeek());
+		}
+	}
 }
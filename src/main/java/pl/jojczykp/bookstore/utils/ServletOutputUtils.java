@@ -0,0 +1,49 @@
+package pl.jojczykp.bookstore.utils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static java.lang.reflect.Modifier.isAbstract;
+
+public final class ServletOutputUtils {
+
+	private ServletOutputUtils() {
+	}
+
+	public static ServletOutputStream nonBlockingOutputOf(ServletResponse response) throws IOException {
+		ServletResponse current = response;
+		while (true) {
+			ServletOutputStream output = current.getOutputStream();
+			if (supportsNonBlockingWrites(output)) {
+				return output;
+			} else if (current instanceof ServletResponseWrapper) {
+				current = ((ServletResponseWrapper) current).getResponse();
+			} else {
+				return null;
+			}
+		}
+	}
+
+	private static boolean supportsNonBlockingWrites(ServletOutputStream output) {
+		for (Class<?> type = output.getClass(); type != ServletOutputStream.class; type = type.getSuperclass()) {
+			for (Method method : type.getDeclaredMethods()) {
+				if (isSetWriteListener(method)) {
+					return !isAbstract(method.getModifiers());
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean isSetWriteListener(Method method) {
+		return "setWriteListener".equals(method.getName())
+				&& Arrays.equals(method.getParameterTypes(), new Class<?>[] {WriteListener.class});
+	}
+
+}
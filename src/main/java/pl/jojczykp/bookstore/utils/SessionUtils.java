@@ -0,0 +1,20 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.hibernate.Session;
+
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isCurrentTransactionReadOnly;
+
+public final class SessionUtils {
+
+	private SessionUtils() {
+	}
+
+	public static Session sessionReadOnlyInReadOnlyTransaction(Session session) {
+		if (isCurrentTransactionReadOnly()) {
+			session.setDefaultReadOnly(true);
+		}
+
+		return session;
+	}
+
+}
@@ -0,0 +1,24 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Collator;
+import java.util.Locale;
+
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+
+@Service
+public class TitleCollator {
+
+	@Value("${book.title.collation.locale}") private Locale collationLocale;
+
+	public Locale getCollationLocale() {
+		return collationLocale;
+	}
+
+	public String collationKeyFor(String title) {
+		return encodeHexString(Collator.getInstance(collationLocale).getCollationKey(title).toByteArray());
+	}
+
+}
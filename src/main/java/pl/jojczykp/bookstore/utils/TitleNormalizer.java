@@ -0,0 +1,14 @@
+package pl.jojczykp.bookstore.utils;
+
+import static java.util.Locale.ROOT;
+
+public final class TitleNormalizer {
+
+	private TitleNormalizer() {
+	}
+
+	public static String normalizedTitle(String title) {
+		return title.toLowerCase(ROOT);
+	}
+
+}
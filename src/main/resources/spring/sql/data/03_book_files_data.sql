@@ -1,15 +1,31 @@
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (01, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 31 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (02, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 33 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (03, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 35 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (04, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 37 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (05, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 39 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (06, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 31 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (07, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 33 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (08, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 35 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (09, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 32 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (10, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 34 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (11, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 36 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (12, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 30 38 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (13, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 30 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (14, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 32 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
-INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, CONTENT) VALUES (15, 'txt', 'text/plain; charset=utf-8', 47, x'54 68 65 20 42 6F 6F 6B 20 31 34 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (01, x'54 68 65 20 42 6F 6F 6B 20 30 31 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (02, x'54 68 65 20 42 6F 6F 6B 20 30 33 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (03, x'54 68 65 20 42 6F 6F 6B 20 30 35 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (04, x'54 68 65 20 42 6F 6F 6B 20 30 37 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (05, x'54 68 65 20 42 6F 6F 6B 20 30 39 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (06, x'54 68 65 20 42 6F 6F 6B 20 31 31 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (07, x'54 68 65 20 42 6F 6F 6B 20 31 33 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (08, x'54 68 65 20 42 6F 6F 6B 20 31 35 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (09, x'54 68 65 20 42 6F 6F 6B 20 30 32 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (10, x'54 68 65 20 42 6F 6F 6B 20 30 34 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (11, x'54 68 65 20 42 6F 6F 6B 20 30 36 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (12, x'54 68 65 20 42 6F 6F 6B 20 30 38 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (13, x'54 68 65 20 42 6F 6F 6B 20 31 30 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (14, x'54 68 65 20 42 6F 6F 6B 20 31 32 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+INSERT INTO BOOK_FILE_CONTENTS (ID, CONTENT) VALUES (15, x'54 68 65 20 42 6F 6F 6B 20 31 34 0D 0A 47 C4 99 C5 9B 6C C4 85 20 6A 61 C5 BA C5 84 20 C5 BA 64 C5 BA 62 C5 82 6F 20 6D C4 99 C5 82 6F 0D 0A');
+
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (01, 'txt', 'text/plain; charset=utf-8', 47, 47, 'f881f61e5f5f7ea0978871c15ee91866824ff41c0b06ad5ce79cd1655b71e7b5', 1, '', '', 01);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (02, 'txt', 'text/plain; charset=utf-8', 47, 47, '12400db0210dd18e810981bb568501c38ad395e5881000bb31d8c14445a3fadb', 1, '', '', 02);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (03, 'txt', 'text/plain; charset=utf-8', 47, 47, '27bcb0831a50a688030db1ec2227bb0f85c77bb68452c546207e6039e739e820', 1, '', '', 03);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (04, 'txt', 'text/plain; charset=utf-8', 47, 47, '5bae4ccc0ffeea65134bc1e84495a414a41b2c6b4d6634135a120ce2627b2edf', 1, '', '', 04);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (05, 'txt', 'text/plain; charset=utf-8', 47, 47, '91033fa707ddf8e7935b971fb6ea01f29ae340bd62586e06964a4044221b6b4b', 1, '', '', 05);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (06, 'txt', 'text/plain; charset=utf-8', 47, 47, 'bc756e017bafa1118927894c22728bfc4d80673bcf9993e91199e2f65e0b3328', 1, '', '', 06);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (07, 'txt', 'text/plain; charset=utf-8', 47, 47, '9ee67e9915e5bb0333eba6d894884bd9069ff4e7fa6f22899229f7757e1252f7', 1, '', '', 07);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (08, 'txt', 'text/plain; charset=utf-8', 47, 47, '005ecff3264de0a770b87fc30713af4343f955cc98d978327664574d9ee678fd', 1, '', '', 08);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (09, 'txt', 'text/plain; charset=utf-8', 47, 47, 'a6cb34fe02fdfab58aced31c4f831ec0cfc48c26c6530ed8108d30cd40a9bb8d', 1, '', '', 09);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (10, 'txt', 'text/plain; charset=utf-8', 47, 47, '30e142687bdf84d77223eb56d6be0e5ea13bb00d432a19cde2522b2686d4ca7a', 1, '', '', 10);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (11, 'txt', 'text/plain; charset=utf-8', 47, 47, 'e467eaac6e269847e277ab7871382c14e6a1b36009ab8030367babafd5e4734b', 1, '', '', 11);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (12, 'txt', 'text/plain; charset=utf-8', 47, 47, '0a3029cd0ddc341c2664346c9ec8052c890dfdeb96ba804c49e8a18bb492911d', 1, '', '', 12);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (13, 'txt', 'text/plain; charset=utf-8', 47, 47, 'c251a49c6cde53c9abe62f0285be78e16194aa25a5b7421d712efbe1c6d39634', 1, '', '', 13);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (14, 'txt', 'text/plain; charset=utf-8', 47, 47, '71d58c95b8841790c4034b89fea4fcd8ad4f63a1dbd1df178782a8b076105e88', 1, '', '', 14);
+INSERT INTO BOOK_FILES (ID, FILE_TYPE, CONTENT_TYPE, CONTENT_LENGTH, STORED_CONTENT_LENGTH, CONTENT_HASH, REFERENCES_COUNT, CONTENT_KEY, CONTENT_ENCODING, CONTENT_ID) VALUES (15, 'txt', 'text/plain; charset=utf-8', 47, 47, '7e984757f914cbf12d3c2b42c5654b9ef8cf0ef94a4038d3dea8f627b46ccb1a', 1, '', '', 15);
@@ -1,15 +1,15 @@
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (01, 0, 'Book 01', 01);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (02, 0, 'Book 03', 02);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (03, 0, 'Book 05', 03);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (04, 0, 'Book 07', 04);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (05, 0, 'Book 09', 05);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (06, 0, 'Book 11', 06);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (07, 0, 'Book 13', 07);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (08, 0, 'Book 15', 08);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (09, 0, 'Book 02', 09);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (10, 0, 'Book 04', 10);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (11, 0, 'Book 06', 11);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (12, 0, 'Book 08', 12);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (13, 0, 'Book 10', 13);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (14, 0, 'Book 12', 14);
-INSERT INTO BOOKS (ID, VERSION, TITLE, BOOK_FILE_ID) VALUES (15, 0, 'Book 14', 15);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (01, 0, 'Book 01', 'book 01', 01);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (02, 0, 'Book 03', 'book 03', 02);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (03, 0, 'Book 05', 'book 05', 03);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (04, 0, 'Book 07', 'book 07', 04);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (05, 0, 'Book 09', 'book 09', 05);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (06, 0, 'Book 11', 'book 11', 06);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (07, 0, 'Book 13', 'book 13', 07);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (08, 0, 'Book 15', 'book 15', 08);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (09, 0, 'Book 02', 'book 02', 09);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (10, 0, 'Book 04', 'book 04', 10);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (11, 0, 'Book 06', 'book 06', 11);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (12, 0, 'Book 08', 'book 08', 12);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (13, 0, 'Book 10', 'book 10', 13);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (14, 0, 'Book 12', 'book 12', 14);
+INSERT INTO BOOKS (ID, VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID) VALUES (15, 0, 'Book 14', 'book 14', 15);
@@ -1,7 +1,19 @@
+CREATE TABLE BOOK_FILE_CONTENTS (
+	ID INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY,
+	CONTENT BLOB NOT NULL
+);
+
 CREATE TABLE BOOK_FILES (
 	ID INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY,
 	FILE_TYPE VARCHAR(30) NOT NULL,
 	CONTENT_TYPE VARCHAR(50) NOT NULL,
 	CONTENT_LENGTH INTEGER NOT NULL,
-	CONTENT BLOB NOT NULL
+	STORED_CONTENT_LENGTH INTEGER NOT NULL,
+	CONTENT_HASH CHAR(64) NOT NULL,
+	REFERENCES_COUNT INTEGER NOT NULL,
+	CONTENT_KEY VARCHAR(64) NOT NULL,
+	CONTENT_ENCODING VARCHAR(16) NOT NULL,
+	CONTENT_ID INTEGER NOT NULL FOREIGN KEY REFERENCES BOOK_FILE_CONTENTS(ID)
 );
+
+CREATE INDEX BOOK_FILES_CONTENT_HASH_IDX ON BOOK_FILES (CONTENT_HASH);
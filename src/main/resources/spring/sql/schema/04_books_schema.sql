@@ -2,5 +2,11 @@ CREATE TABLE BOOKS (
 	ID INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY,
 	VERSION INTEGER NOT NULL,
 	TITLE VARCHAR(100) NOT NULL,
+	TITLE_NORMALIZED VARCHAR(100) NOT NULL,
+	TITLE_COLLATION_KEY VARCHAR(2400) DEFAULT '' NOT NULL,
+	TITLE_COLLATION_LOCALE VARCHAR(20) DEFAULT '' NOT NULL,
 	BOOK_FILE_ID INTEGER NOT NULL FOREIGN KEY REFERENCES BOOK_FILES(ID)
 );
+
+CREATE INDEX BOOKS_TITLE_NORMALIZED_IDX ON BOOKS (TITLE_NORMALIZED, ID);
+CREATE INDEX BOOKS_TITLE_COLLATION_KEY_IDX ON BOOKS (TITLE_COLLATION_KEY, ID);
@@ -0,0 +1 @@
+SHUTDOWN;
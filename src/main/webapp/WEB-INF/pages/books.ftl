@@ -76,6 +76,10 @@
 <#macro formPagerPrev>
 	<#if (pageNumber <= 1) >
 		<input type="button" value="&#x25C0;" class="arrowsButtons" disabled="disabled" />
+	<#elseif displayBooksCommand.books?has_content>
+		<#assign firstBook = displayBooksCommand.books?first>
+		<input type="button" value="&#x25C0;" class="arrowsButtons"
+			onClick="sendSeekToPage(${pageNumber - 1}, 'PREV', ${firstBook.id?c}, '${firstBook.title?js_string?html}')" />
 	<#else>
 		<input type="button" value="&#x25C0;" class="arrowsButtons" onClick="sendGoToPage(${pageNumber - 1})" />
 	</#if>
@@ -90,6 +94,10 @@
 <#macro formPagerNext>
 	<#if (pageNumber >= pagesCount) >
 		<input type="button" value="&#x25B6;" class="arrowsButtons" disabled="disabled" />
+	<#elseif displayBooksCommand.books?has_content>
+		<#assign lastBook = displayBooksCommand.books?last>
+		<input type="button" value="&#x25B6;" class="arrowsButtons"
+			onClick="sendSeekToPage(${pageNumber + 1}, 'NEXT', ${lastBook.id?c}, '${lastBook.title?js_string?html}')" />
 	<#else>
 		<input type="button" value="&#x25B6;" class="arrowsButtons" onClick="sendGoToPage(${pageNumber + 1})" />
 	</#if>
@@ -147,7 +155,7 @@
 				<th class="deleteCheckboxHeader"></th>
 				<th class="idHeader">Id</th>
 				<th class="titleHeader">
-					<@sectionDataTableSorter 'BOOK_TITLE' 'Title'/>
+					<@sectionDataTableSorter 'BOOK_TITLE_COLLATED' 'Title'/>
 				</th>
 				<th class="downloadHeader"></th>
 				<th class="updateButtonHeader"></th>
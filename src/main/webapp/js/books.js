@@ -36,6 +36,15 @@ function sendGoToPage(newPageNumber) {
 	})
 }
 
+function sendSeekToPage(newPageNumber, seekDirection, bookId, bookTitle) {
+	sendPost('goToPage', ORIGINAL_PARAMS, {
+		'pager.pageNumber' : newPageNumber,
+		'pager.seek.direction' : seekDirection,
+		'pager.seek.bookId' : bookId,
+		'pager.seek.bookTitle' : bookTitle
+	})
+}
+
 function sendSetPageSize() {
 	var newPageSize = document.getElementsByClassName('setPageSizeInput')[0].value;
 	sendPost('setPageSize', ORIGINAL_PARAMS, {
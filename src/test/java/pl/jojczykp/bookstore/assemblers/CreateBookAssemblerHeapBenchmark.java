@@ -0,0 +1,163 @@
+package pl.jojczykp.bookstore.assemblers;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.stores.StagedMultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.allocatedBytes;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.report;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.usedHeapAfterGc;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:spring/repositories-benchmark-context.xml")
+@ActiveProfiles("file-database")
+@DirtiesContext
+public class CreateBookAssemblerHeapBenchmark {
+
+	private static final int UPLOADS_COUNT = 50;
+	private static final int UPLOAD_SIZE = 5 * 1024 * 1024;
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	private static final long MATERIALIZED_UPLOADS_SIZE = (long) UPLOADS_COUNT * UPLOAD_SIZE;
+	private static final long SAMPLING_INTERVAL_MILLIS = 100;
+	private static final String DATABASE_FILE_PATH_PROPERTY = "database.file.path";
+
+	@ClassRule public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Autowired private CreateBookAssembler createBookAssembler;
+	@Autowired private BooksRepository booksRepository;
+
+	@BeforeClass
+	public static void useTemporaryDatabase() {
+		System.setProperty(DATABASE_FILE_PATH_PROPERTY, new File(temporaryFolder.getRoot(), "bookstore").getPath());
+	}
+
+	@AfterClass
+	public static void forgetTemporaryDatabase() {
+		System.clearProperty(DATABASE_FILE_PATH_PROPERTY);
+	}
+
+	@Test
+	public void shouldKeepHeapGrowthFarBelowUploadsSizeWhileUploadsRunConcurrently() throws Exception {
+		List<CreateBookCommand> commands = givenUploads(UPLOADS_COUNT, UPLOAD_SIZE);
+		int initialBooksCount = booksRepository.totalCount();
+		long baseline = usedHeapAfterGc();
+		AtomicBoolean uploading = new AtomicBoolean(true);
+		ExecutorService sampling = newSingleThreadExecutor();
+		Future<Long> peakLiveHeap = sampling.submit(peakLiveHeapWhile(uploading));
+
+		long allocatedPerUpload = allocatedBytesOfConcurrent(commands) / UPLOADS_COUNT;
+		uploading.set(false);
+		long peakLiveHeapGrowth = peakLiveHeap.get() - baseline;
+		sampling.shutdown();
+
+		report(format("%d concurrent uploads of %d B: %d B allocated per upload, %d B peak live heap growth",
+				UPLOADS_COUNT, UPLOAD_SIZE, allocatedPerUpload, peakLiveHeapGrowth));
+		assertThat(booksRepository.totalCount(), is(initialBooksCount + UPLOADS_COUNT));
+		assertThat(allocatedPerUpload, is(lessThan((long) UPLOAD_SIZE)));
+		assertThat(peakLiveHeapGrowth, is(lessThan(MATERIALIZED_UPLOADS_SIZE / 10)));
+	}
+
+	private List<CreateBookCommand> givenUploads(int count, int size) throws IOException {
+		List<CreateBookCommand> commands = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			CreateBookCommand command = new CreateBookCommand();
+			command.setTitle("Book Title " + i);
+			command.setFile(new StagedMultipartFile(anUploadFile(i, size), "book" + i + ".pdf", "application/pdf"));
+			commands.add(command);
+		}
+
+		return commands;
+	}
+
+	private Path anUploadFile(int seed, int size) throws IOException {
+		Path file = temporaryFolder.newFile().toPath();
+		Random random = new Random(seed);
+		byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+		try (OutputStream output = Files.newOutputStream(file)) {
+			for (int written = 0; written < size; written += buffer.length) {
+				random.nextBytes(buffer);
+				output.write(buffer, 0, Math.min(buffer.length, size - written));
+			}
+		}
+
+		return file;
+	}
+
+	private long allocatedBytesOfConcurrent(List<CreateBookCommand> commands) throws Exception {
+		ExecutorService uploads = newFixedThreadPool(commands.size());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> allocations = new ArrayList<>(commands.size());
+		for (CreateBookCommand command : commands) {
+			allocations.add(uploads.submit(upload(command, start)));
+		}
+		start.countDown();
+
+		long allocated = 0;
+		for (Future<Long> allocation : allocations) {
+			allocated += allocation.get();
+		}
+		uploads.shutdown();
+
+		return allocated;
+	}
+
+	private Callable<Long> upload(final CreateBookCommand command, final CountDownLatch start) {
+		return new Callable<Long>() {
+			@Override
+			public Long call() throws InterruptedException {
+				start.await();
+				long allocatedBefore = allocatedBytes();
+				booksRepository.create(createBookAssembler.toDomain(command));
+
+				return allocatedBytes() - allocatedBefore;
+			}
+		};
+	}
+
+	private Callable<Long> peakLiveHeapWhile(final AtomicBoolean uploading) {
+		return new Callable<Long>() {
+			@Override
+			public Long call() throws InterruptedException {
+				long peak = 0;
+				while (uploading.get()) {
+					peak = Math.max(peak, usedHeapAfterGc());
+					Thread.sleep(SAMPLING_INTERVAL_MILLIS);
+				}
+
+				return peak;
+			}
+		};
+	}
+
+}
@@ -1,19 +1,36 @@
 package pl.jojczykp.bookstore.assemblers;
 
-import org.junit.Before;
+import com.google.common.base.Optional;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.springframework.mock.web.MockMultipartFile;
 import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
 import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.utils.BookContentCompressor;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
 import java.util.Locale;
 
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.apache.commons.io.IOUtils.toByteArray;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
 import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
 
+@RunWith(MockitoJUnitRunner.class)
 public class CreateBookAssemblerUnitTest {
 
 	private static final int ID_TO_BE_SET_AUTOMATICALLY = 0;
@@ -24,12 +41,11 @@ public class CreateBookAssemblerUnitTest {
 	private static final String CONTENT_TYPE = "application/octet-stream";
 	private static final byte[] CONTENT = {1, 2, 3};
 
-	private CreateBookAssembler testee;
+	private static final byte[] COMPRESSED_CONTENT = {9, 8};
 
-	@Before
-	public void setUpTestee() {
-		testee = new CreateBookAssembler();
-	}
+	@Mock private BookContentCompressor bookContentCompressor;
+
+	@InjectMocks private CreateBookAssembler testee;
 
 	@Test
 	public void shouldAssemblySingleBookDomainObjectFromCreateBookCommandObject() {
@@ -43,7 +59,72 @@ public class CreateBookAssemblerUnitTest {
 		assertThat(domain.getBookFile().getFileType(), is(equalTo(FILE_TYPE.toLowerCase(Locale.US))));
 		assertThat(domain.getBookFile().getContentType(), is(equalTo(CONTENT_TYPE)));
 		assertThat(domain.getBookFile().getContentLength(), is(equalTo(CONTENT.length)));
+		assertThat(domain.getBookFile().getStoredContentLength(), is(equalTo(CONTENT.length)));
+		assertThat(blobBytes(domain.getBookFile().getContent()), is(equalTo(CONTENT)));
+		assertThat(digestedHashOf(domain), is(equalTo(sha256Hex(CONTENT))));
+		assertThat(domain.getBookFile().getContentEncoding(), is(equalTo("")));
+	}
+
+	@Test
+	public void shouldStoreCompressedContentWhenCompressorProducesIt() {
+		CreateBookCommand command = aCreateBookCommand(TITLE, aMultiPartFile(FILE_TYPE, CONTENT_TYPE, CONTENT));
+		given(bookContentCompressor.isCandidate(FILE_TYPE.toLowerCase(Locale.US))).willReturn(true);
+		given(bookContentCompressor.compress(any(InputStream.class), eq((long) CONTENT.length)))
+				.willAnswer(drainingContentAndReturning(Optional.of(aSerialBlobWith(COMPRESSED_CONTENT))));
+
+		Book domain = testee.toDomain(command);
+
+		assertThat(domain.getBookFile().getContentLength(), is(equalTo(CONTENT.length)));
+		assertThat(domain.getBookFile().getStoredContentLength(), is(equalTo(COMPRESSED_CONTENT.length)));
+		assertThat(blobBytes(domain.getBookFile().getContent()), is(equalTo(COMPRESSED_CONTENT)));
+		assertThat(domain.getBookFile().getContentEncoding(), is(equalTo("gzip")));
+		assertThat(digestedHashOf(domain), is(equalTo(sha256Hex(CONTENT))));
+	}
+
+	@Test
+	public void shouldReadUploadOnceWhenCompressing() {
+		CountingMultipartFile file = new CountingMultipartFile();
+		given(bookContentCompressor.isCandidate(FILE_TYPE.toLowerCase(Locale.US))).willReturn(true);
+		given(bookContentCompressor.compress(any(InputStream.class), eq((long) CONTENT.length)))
+				.willAnswer(drainingContentAndReturning(Optional.of(aSerialBlobWith(COMPRESSED_CONTENT))));
+
+		testee.toDomain(aCreateBookCommand(TITLE, file));
+
+		assertThat(file.inputStreamsCount, is(1));
+	}
+
+	@Test
+	public void shouldReadUploadOnceWhenNotCompressing() {
+		CountingMultipartFile file = new CountingMultipartFile();
+
+		Book domain = testee.toDomain(aCreateBookCommand(TITLE, file));
+		blobBytes(domain.getBookFile().getContent());
+
+		assertThat(file.inputStreamsCount, is(1));
+		assertThat(digestedHashOf(domain), is(equalTo(sha256Hex(CONTENT))));
+	}
+
+	@Test
+	public void shouldStoreRawContentWhenCompressorRejectsIt() {
+		CreateBookCommand command = aCreateBookCommand(TITLE, aMultiPartFile(FILE_TYPE, CONTENT_TYPE, CONTENT));
+		given(bookContentCompressor.isCandidate(FILE_TYPE.toLowerCase(Locale.US))).willReturn(true);
+		given(bookContentCompressor.compress(any(InputStream.class), eq((long) CONTENT.length)))
+				.willAnswer(drainingContentAndReturning(Optional.<Blob>absent()));
+
+		Book domain = testee.toDomain(command);
+
 		assertThat(blobBytes(domain.getBookFile().getContent()), is(equalTo(CONTENT)));
+		assertThat(domain.getBookFile().getContentEncoding(), is(equalTo("")));
+		assertThat(digestedHashOf(domain), is(equalTo(sha256Hex(CONTENT))));
+	}
+
+	@Test
+	public void shouldNotReadWholeFileContentIntoMemory() {
+		CreateBookCommand command = aCreateBookCommand(TITLE, aFileThrowingExceptionWhenGettingBytes());
+
+		Book domain = testee.toDomain(command);
+
+		assertThat(domain.getBookFile().getContentLength(), is(equalTo(CONTENT.length)));
 	}
 
 	@Test(expected = RuntimeException.class)
@@ -60,6 +141,20 @@ public class CreateBookAssemblerUnitTest {
 		assertThat(blobBytes(domain.getBookFile().getContent()), is(equalTo(CONTENT)));
 	}
 
+	private Answer<Optional<Blob>> drainingContentAndReturning(final Optional<Blob> compressed) {
+		return new Answer<Optional<Blob>>() {
+			@Override
+			public Optional<Blob> answer(InvocationOnMock invocation) throws IOException {
+				toByteArray((InputStream) invocation.getArguments()[0]);
+				return compressed;
+			}
+		};
+	}
+
+	private String digestedHashOf(Book domain) {
+		return encodeHexString(domain.getBookFile().getContentDigest().digest());
+	}
+
 	private CreateBookCommand aCreateBookCommand(String title, MockMultipartFile file) {
 		CreateBookCommand command = new CreateBookCommand();
 		command.setTitle(title);
@@ -72,10 +167,35 @@ public class CreateBookAssemblerUnitTest {
 		return new MockMultipartFile("name", "baseName." + fileType, contentType, content);
 	}
 
+	private MockMultipartFile aFileThrowingExceptionWhenGettingBytes() {
+		return new MockMultipartFile("name", "baseName." + FILE_TYPE, CONTENT_TYPE, CONTENT) {
+			@Override
+			public byte[] getBytes() throws IOException {
+				throw new IOException("Dummy " + getClass().getName());
+			}
+		};
+	}
+
+	private static class CountingMultipartFile extends MockMultipartFile {
+
+		private int inputStreamsCount;
+
+		CountingMultipartFile() {
+			super("name", "baseName." + FILE_TYPE, CONTENT_TYPE, CONTENT);
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			inputStreamsCount++;
+			return super.getInputStream();
+		}
+
+	}
+
 	private MockMultipartFile aFileThrowingExceptionWhenRead() {
 		return new MockMultipartFile("name", "fileExt", "contentType", "content".getBytes()) {
 			@Override
-			public byte[] getBytes() throws IOException {
+			public InputStream getInputStream() throws IOException {
 				throw new IOException("Dummy " + getClass().getName());
 			}
 		};
@@ -5,7 +5,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.runners.MockitoJUnitRunner;
 import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
-import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
 
 import java.util.List;
 
@@ -13,8 +13,6 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThat;
-import static pl.jojczykp.bookstore.entities.builders.BookBuilder.aBook;
-import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DisplayBookAssemblerUnitTest {
@@ -27,7 +25,7 @@ public class DisplayBookAssemblerUnitTest {
 
 	@Test
 	public void shouldAssemblyBookCommandObjectsListFromDomainObjectsList() {
-		List<Book> domains = aDomainObjectsList();
+		List<BookSummary> domains = aDomainObjectsList();
 
 		List<DisplayBookCommand> commands = testee.toCommands(domains);
 
@@ -39,28 +37,34 @@ public class DisplayBookAssemblerUnitTest {
 
 	@Test
 	public void shouldSetDefaultIconForUnknownFileType() {
-		Book domain = aBook().withBookFile(aBookFile().withId(0).withFileType(UNKNOWN_FILE_TYPE).build()).build();
+		BookSummary domain = aBookSummary(0, 0, "A Title", UNKNOWN_FILE_TYPE);
 
 		List<DisplayBookCommand> commands = testee.toCommands(asList(domain));
 
 		assertThat(commands.get(0).getIconName(), is(equalTo("unknown")));
 	}
 
-	private List<Book> aDomainObjectsList() {
+	private List<BookSummary> aDomainObjectsList() {
 		return asList(
-				aBook().withId(1).withVersion(0).withTitle("A Title 001")
-						.withBookFile(aBookFile().withId(0).withFileType(KNOWN_FILE_TYPE).build())
-						.build(),
-				aBook().withId(2).withVersion(1).withTitle("A Title 002")
-						.withBookFile(aBookFile().withId(1).withFileType(OTHER_KNOWN_FILE_TYPE).build())
-						.build());
+				aBookSummary(1, 0, "A Title 001", KNOWN_FILE_TYPE),
+				aBookSummary(2, 1, "A Title 002", OTHER_KNOWN_FILE_TYPE));
 	}
 
-	private void assertThatHaveEqualBookData(Book domain, DisplayBookCommand command) {
+	private BookSummary aBookSummary(int id, int version, String title, String fileType) {
+		BookSummary bookSummary = new BookSummary();
+		bookSummary.setId(id);
+		bookSummary.setVersion(version);
+		bookSummary.setTitle(title);
+		bookSummary.setFileType(fileType);
+
+		return bookSummary;
+	}
+
+	private void assertThatHaveEqualBookData(BookSummary domain, DisplayBookCommand command) {
 		assertThat(domain.getId(), equalTo(command.getId()));
 		assertThat(domain.getVersion(), equalTo(command.getVersion()));
 		assertThat(domain.getTitle(), equalTo(command.getTitle()));
-		assertThat(domain.getBookFile().getFileType(), is(equalTo(command.getIconName())));
+		assertThat(domain.getFileType(), is(equalTo(command.getIconName())));
 	}
 
 }
@@ -0,0 +1,401 @@
+package pl.jojczykp.bookstore.caches;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookContentCacheUnitTest {
+
+	private static final long MAX_BYTES = 10;
+	private static final byte[] CONTENT_A = {1, 2, 3, 4};
+	private static final byte[] CONTENT_B = {5, 6, 7, 8};
+	private static final byte[] CONTENT_C = {9, 10, 11, 12};
+	private static final byte[] CONTENT_TOO_LARGE = new byte[(int) MAX_BYTES + 1];
+	private static final int MAX_GC_ATTEMPTS = 50;
+	private static final long GC_WAIT_MILLIS = 20;
+
+	@Mock private BookContentStore bookContentStore;
+
+	@InjectMocks private BookContentCache testee;
+
+	private BookFile bookFileA = aBookFile().withId(1).withContent(CONTENT_A).build();
+	private BookFile bookFileB = aBookFile().withId(2).withContent(CONTENT_B).build();
+	private BookFile bookFileC = aBookFile().withId(3).withContent(CONTENT_C).build();
+
+	private final CountDownLatch loadStarted = new CountDownLatch(1);
+	private final CountDownLatch loadReleased = new CountDownLatch(1);
+
+	@Before
+	public void setUp() throws IOException {
+		setField(testee, "maxBytes", MAX_BYTES);
+		given(bookContentStore.openStream(any(BookFile.class))).willAnswer(new Answer<InputStream>() {
+			@Override
+			public InputStream answer(InvocationOnMock invocation) {
+				BookFile bookFile = (BookFile) invocation.getArguments()[0];
+				return new ByteArrayInputStream(blobBytes(bookFile.getContent()));
+			}
+		});
+	}
+
+	@Test
+	public void shouldLoadContentOnMiss() throws IOException {
+		ByteBuffer content = testee.get(bookFileA);
+
+		assertThat(bytesOf(content), is(equalTo(CONTENT_A)));
+		assertThat(content.isDirect(), is(true));
+		assertThat(testee.getMissesCount(), is(1L));
+		assertThat(testee.getHitsCount(), is(0L));
+		assertThat(testee.getResidentBytes(), is((long) CONTENT_A.length));
+		verify(bookContentStore).openStream(bookFileA);
+	}
+
+	@Test
+	public void shouldServeContentFromCacheOnHit() throws IOException {
+		testee.get(bookFileA);
+
+		ByteBuffer content = testee.get(bookFileA);
+
+		assertThat(bytesOf(content), is(equalTo(CONTENT_A)));
+		assertThat(testee.getHitsCount(), is(1L));
+		verify(bookContentStore, times(1)).openStream(bookFileA);
+	}
+
+	@Test
+	public void shouldGetCachedContentIfPresentWithoutLoading() throws IOException {
+		testee.get(bookFileA);
+
+		ByteBuffer cached = testee.getIfPresent(bookFileA);
+		ByteBuffer notCached = testee.getIfPresent(bookFileB);
+
+		assertThat(bytesOf(cached), is(equalTo(CONTENT_A)));
+		assertThat(notCached, is(nullValue()));
+		verify(bookContentStore, never()).openStream(bookFileB);
+	}
+
+	@Test
+	public void shouldCountRangeLookupsSeparately() throws IOException {
+		testee.get(bookFileA);
+
+		testee.getIfPresent(bookFileA);
+		testee.getIfPresent(bookFileB);
+		testee.getIfPresent(bookFileC);
+
+		assertThat(testee.getHitsCount(), is(0L));
+		assertThat(testee.getMissesCount(), is(1L));
+		assertThat(testee.getRangeHitsCount(), is(1L));
+		assertThat(testee.getRangeMissesCount(), is(2L));
+	}
+
+	@Test
+	public void shouldReloadContentWhenContentHashChanged() throws IOException {
+		testee.get(bookFileA);
+		BookFile changed = aBookFile().withId(bookFileA.getId()).withContent(CONTENT_B).build();
+
+		ByteBuffer content = testee.get(changed);
+
+		assertThat(bytesOf(content), is(equalTo(CONTENT_B)));
+		assertThat(testee.getEntriesCount(), is(1));
+		assertThat(testee.getResidentBytes(), is((long) CONTENT_B.length));
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsedWhenOverMaxBytes() throws IOException {
+		testee.get(bookFileA);
+		testee.get(bookFileB);
+		testee.get(bookFileA);
+
+		testee.get(bookFileC);
+
+		assertThat(testee.getEvictionsCount(), is(1L));
+		assertThat(testee.getEntriesCount(), is(2));
+		assertThat(testee.getResidentBytes(), is((long) (CONTENT_A.length + CONTENT_C.length)));
+		testee.get(bookFileA);
+		assertThat(testee.getHitsCount(), is(2L));
+	}
+
+	@Test
+	public void shouldNotCacheContentLargerThanMaxBytes() throws IOException {
+		BookFile large = aBookFile().withId(4).withContent(CONTENT_TOO_LARGE).build();
+
+		ByteBuffer content = testee.get(large);
+
+		assertThat(content, is(nullValue()));
+		assertThat(testee.getResidentBytes(), is(0L));
+		verifyZeroInteractions(bookContentStore);
+	}
+
+	@Test
+	public void shouldNotCacheAnythingWhenDisabled() throws IOException {
+		setField(testee, "maxBytes", 0L);
+
+		assertThat(testee.get(bookFileA), is(nullValue()));
+		verifyZeroInteractions(bookContentStore);
+	}
+
+	@Test
+	public void shouldInvalidateGivenBookFiles() throws IOException {
+		testee.get(bookFileA);
+		testee.get(bookFileB);
+
+		testee.invalidate(asList(bookFileA.getId()));
+
+		assertThat(testee.getEntriesCount(), is(1));
+		assertThat(testee.getResidentBytes(), is((long) CONTENT_B.length));
+		assertThat(testee.getEvictionsCount(), is(0L));
+	}
+
+	@Test
+	public void shouldClear() throws IOException {
+		testee.get(bookFileA);
+		testee.get(bookFileB);
+
+		testee.clear();
+
+		assertThat(testee.getEntriesCount(), is(0));
+		assertThat(testee.getResidentBytes(), is(0L));
+	}
+
+	@Test
+	public void shouldHandOutIndependentBuffers() throws IOException {
+		testee.get(bookFileA).position(2);
+
+		ByteBuffer content = testee.get(bookFileA);
+
+		assertThat(content.position(), is(0));
+		assertThat(content.isReadOnly(), is(true));
+	}
+
+	@Test
+	public void shouldAdmitContentWhileReleasedContentNotYetCollected() throws IOException {
+		ByteBuffer contentA = testee.get(bookFileA);
+		ByteBuffer contentB = testee.get(bookFileB);
+		testee.invalidate(asList(bookFileA.getId(), bookFileB.getId()));
+
+		ByteBuffer contentC = testee.get(bookFileC);
+
+		assertThat(bytesOf(contentC), is(equalTo(CONTENT_C)));
+		assertThat(testee.getEntriesCount(), is(1));
+		assertThat(testee.getResidentBytes(), is((long) CONTENT_C.length));
+		assertThat(testee.getReleasedBytes(), is((long) (CONTENT_A.length + CONTENT_B.length)));
+		assertThat(contentA.capacity() + contentB.capacity(), is(CONTENT_A.length + CONTENT_B.length));
+	}
+
+	@Test
+	public void shouldKeepAdmittingWhileEvictedContentsStillReferenced() throws IOException {
+		ByteBuffer contentA = testee.get(bookFileA);
+		ByteBuffer contentB = testee.get(bookFileB);
+		ByteBuffer contentC = testee.get(bookFileC);
+		BookFile bookFileD = aBookFile().withId(4).withContent(CONTENT_A).build();
+
+		testee.get(bookFileD);
+
+		assertThat(testee.getEntriesCount(), is(2));
+		assertThat(testee.getEvictionsCount(), is(2L));
+		assertThat(testee.getResidentBytes(), is((long) (CONTENT_C.length + CONTENT_A.length)));
+		assertThat(contentA.capacity() + contentB.capacity() + contentC.capacity(),
+				is(CONTENT_A.length + CONTENT_B.length + CONTENT_C.length));
+	}
+
+	@Test
+	public void shouldStopAccountingEvictedContentOnceCollected() throws IOException, InterruptedException {
+		testee.get(bookFileA);
+		testee.invalidate(asList(bookFileA.getId()));
+
+		for (int attempt = 0; attempt < MAX_GC_ATTEMPTS && testee.getReleasedBytes() > 0; attempt++) {
+			System.gc();
+			Thread.sleep(GC_WAIT_MILLIS);
+		}
+
+		assertThat(testee.getReleasedBytes(), is(0L));
+	}
+
+	@Test
+	public void shouldLoadContentOnceForConcurrentMisses() throws Exception {
+		givenLoadBlockedOf(bookFileA);
+		FutureTask<ByteBuffer> first = getInBackground(bookFileA);
+		loadStarted.await();
+		Thread secondThread = startInBackground(getTaskOf(bookFileA));
+		awaitWaiting(secondThread);
+
+		loadReleased.countDown();
+		secondThread.join();
+
+		assertThat(bytesOf(first.get()), is(equalTo(CONTENT_A)));
+		assertThat(testee.getEntriesCount(), is(1));
+		verify(bookContentStore, times(1)).openStream(bookFileA);
+	}
+
+	@Test
+	public void shouldLoadChangedContentWhileStaleOneIsLoading() throws Exception {
+		BookFile changed = aBookFile().withId(bookFileA.getId()).withContent(CONTENT_B).build();
+		givenLoadBlockedOf(bookFileA);
+		FutureTask<ByteBuffer> stale = getInBackground(bookFileA);
+		loadStarted.await();
+
+		ByteBuffer content = testee.get(changed);
+		loadReleased.countDown();
+
+		assertThat(bytesOf(content), is(equalTo(CONTENT_B)));
+		assertThat(bytesOf(stale.get()), is(equalTo(CONTENT_A)));
+		assertThat(bytesOf(testee.getIfPresent(changed)), is(equalTo(CONTENT_B)));
+		assertThat(testee.getEntriesCount(), is(1));
+	}
+
+	@Test
+	public void shouldNotCacheContentInvalidatedWhileLoading() throws Exception {
+		givenLoadBlockedOf(bookFileA);
+		FutureTask<ByteBuffer> loading = getInBackground(bookFileA);
+		loadStarted.await();
+
+		testee.invalidate(asList(bookFileA.getId()));
+		loadReleased.countDown();
+
+		assertThat(bytesOf(loading.get()), is(equalTo(CONTENT_A)));
+		assertThat(testee.getEntriesCount(), is(0));
+		assertThat(testee.getResidentBytes(), is(0L));
+	}
+
+	@Test
+	public void shouldRestoreInterruptWhenInterruptedWaitingForLoad() throws Exception {
+		givenLoadBlockedOf(bookFileA);
+		FutureTask<ByteBuffer> loading = getInBackground(bookFileA);
+		loadStarted.await();
+
+		Thread.currentThread().interrupt();
+		try {
+			testee.get(bookFileA);
+			fail("Exception expected");
+		} catch (IOException e) {
+			assertThat(e.getCause(), is(instanceOf(InterruptedException.class)));
+			assertThat(Thread.interrupted(), is(true));
+		} finally {
+			loadReleased.countDown();
+		}
+
+		assertThat(bytesOf(loading.get()), is(equalTo(CONTENT_A)));
+	}
+
+	@Test
+	public void shouldPropagateLoadIOExceptionAndRetryOnNextGet() throws IOException {
+		IOException failure = new IOException();
+		given(bookContentStore.openStream(bookFileA)).willThrow(failure).willReturn(streamOf(CONTENT_A));
+
+		try {
+			testee.get(bookFileA);
+			fail("Exception expected");
+		} catch (IOException e) {
+			assertThat(e, is(sameInstance(failure)));
+		}
+		ByteBuffer content = testee.get(bookFileA);
+
+		assertThat(bytesOf(content), is(equalTo(CONTENT_A)));
+		verify(bookContentStore, times(2)).openStream(bookFileA);
+	}
+
+	@Test
+	public void shouldPropagateLoadRuntimeException() throws IOException {
+		RuntimeException failure = new IllegalStateException();
+		given(bookContentStore.openStream(bookFileA)).willThrow(failure);
+
+		try {
+			testee.get(bookFileA);
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertThat(e, is(sameInstance((RuntimeException) failure)));
+		}
+		assertThat(testee.getEntriesCount(), is(0));
+	}
+
+	@Test
+	public void shouldGetMaxBytes() {
+		assertThat(testee.getMaxBytes(), is(MAX_BYTES));
+	}
+
+	private void givenLoadBlockedOf(final BookFile bookFile) throws IOException {
+		willAnswer(new Answer<InputStream>() {
+			@Override
+			public InputStream answer(InvocationOnMock invocation) throws InterruptedException {
+				loadStarted.countDown();
+				loadReleased.await();
+				return streamOf(blobBytes(bookFile.getContent()));
+			}
+		}).given(bookContentStore).openStream(same(bookFile));
+	}
+
+	private InputStream streamOf(byte[] content) {
+		return new ByteArrayInputStream(content);
+	}
+
+	private FutureTask<ByteBuffer> getInBackground(BookFile bookFile) {
+		FutureTask<ByteBuffer> task = getTaskOf(bookFile);
+		startInBackground(task);
+
+		return task;
+	}
+
+	private FutureTask<ByteBuffer> getTaskOf(final BookFile bookFile) {
+		return new FutureTask<>(new Callable<ByteBuffer>() {
+			@Override
+			public ByteBuffer call() throws IOException {
+				return testee.get(bookFile);
+			}
+		});
+	}
+
+	private Thread startInBackground(Runnable task) {
+		Thread thread = new Thread(task);
+		thread.start();
+
+		return thread;
+	}
+
+	private void awaitWaiting(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+	}
+
+	private byte[] bytesOf(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+
+		return bytes;
+	}
+
+}
@@ -0,0 +1,156 @@
+package pl.jojczykp.bookstore.caches;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BooksCountCacheUnitTest {
+
+	private static final int REPO_TOTAL_COUNT = 17;
+	private static final int OTHER_REPO_TOTAL_COUNT = 21;
+	private static final long LONG_RESYNC_INTERVAL = Long.MAX_VALUE;
+	private static final long NO_RESYNC_INTERVAL = 0;
+
+	@Mock private BooksRepository booksRepository;
+
+	@InjectMocks private BooksCountCache testee;
+
+	@Before
+	public void setUp() {
+		given(booksRepository.totalCount()).willReturn(REPO_TOTAL_COUNT);
+		givenResyncInterval(LONG_RESYNC_INTERVAL);
+	}
+
+	@Test
+	public void shouldLoadCountOnFirstGet() {
+		int count = testee.get();
+
+		assertThat(count, is(equalTo(REPO_TOTAL_COUNT)));
+		assertThat(testee.getResyncsCount(), is(equalTo(1)));
+		verify(booksRepository).totalCount();
+	}
+
+	@Test
+	public void shouldNotReloadCountBeforeResyncIntervalElapsed() {
+		testee.get();
+		given(booksRepository.totalCount()).willReturn(OTHER_REPO_TOTAL_COUNT);
+
+		int count = testee.get();
+
+		assertThat(count, is(equalTo(REPO_TOTAL_COUNT)));
+		assertThat(testee.getResyncsCount(), is(equalTo(1)));
+		verify(booksRepository).totalCount();
+	}
+
+	@Test
+	public void shouldReloadCountAfterResyncIntervalElapsed() {
+		givenResyncInterval(NO_RESYNC_INTERVAL);
+		testee.get();
+		given(booksRepository.totalCount()).willReturn(OTHER_REPO_TOTAL_COUNT);
+
+		int count = testee.get();
+
+		assertThat(count, is(equalTo(OTHER_REPO_TOTAL_COUNT)));
+		assertThat(testee.getResyncsCount(), is(equalTo(2)));
+		verify(booksRepository, times(2)).totalCount();
+	}
+
+	@Test
+	public void shouldReloadCountOnceForConcurrentFirstGets() throws InterruptedException {
+		final CountDownLatch reloadStarted = new CountDownLatch(1);
+		final CountDownLatch reloadReleased = new CountDownLatch(1);
+		given(booksRepository.totalCount()).willAnswer(new Answer<Integer>() {
+			@Override
+			public Integer answer(InvocationOnMock invocation) throws InterruptedException {
+				reloadStarted.countDown();
+				reloadReleased.await();
+				return REPO_TOTAL_COUNT;
+			}
+		});
+		Thread firstThread = startGetInBackground();
+		reloadStarted.await();
+		Thread secondThread = startGetInBackground();
+		awaitBlocked(secondThread);
+
+		reloadReleased.countDown();
+		firstThread.join();
+		secondThread.join();
+
+		assertThat(testee.getResyncsCount(), is(equalTo(1)));
+		verify(booksRepository).totalCount();
+	}
+
+	@Test
+	public void shouldIncrementCount() {
+		testee.get();
+
+		testee.increment();
+
+		assertThat(testee.get(), is(equalTo(REPO_TOTAL_COUNT + 1)));
+	}
+
+	@Test
+	public void shouldDecrementCount() {
+		testee.get();
+
+		testee.decrement(2);
+
+		assertThat(testee.get(), is(equalTo(REPO_TOTAL_COUNT - 2)));
+	}
+
+	@Test
+	public void shouldResyncOnDemand() {
+		testee.get();
+		testee.increment();
+
+		testee.resync();
+
+		assertThat(testee.get(), is(equalTo(REPO_TOTAL_COUNT)));
+		assertThat(testee.getResyncsCount(), is(equalTo(2)));
+	}
+
+	@Test
+	public void shouldHaveNoResyncsInitially() {
+		assertThat(testee.getResyncsCount(), is(equalTo(0)));
+	}
+
+	private Thread startGetInBackground() {
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				testee.get();
+			}
+		});
+		thread.start();
+
+		return thread;
+	}
+
+	private void awaitBlocked(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.BLOCKED) {
+			Thread.sleep(1);
+		}
+	}
+
+	private void givenResyncInterval(long resyncIntervalMillis) {
+		setField(testee, "resyncIntervalMillis", resyncIntervalMillis);
+	}
+
+}
@@ -0,0 +1,192 @@
+package pl.jojczykp.bookstore.caches;
+
+import org.junit.Before;
+import org.junit.Test;
+import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
+import pl.jojczykp.bookstore.commands.common.PagerCommand;
+import pl.jojczykp.bookstore.utils.PageSeekDirection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Long.parseLong;
+import static java.lang.System.currentTimeMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.PREV;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE_COLLATED;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
+
+public class BooksPageCacheUnitTest {
+
+	private static final int MAX_SIZE = 2;
+	private static final String VERSION = "1418342400000-5";
+	private static final String OTHER_VERSION = "1418342400000-6";
+
+	private BooksPageCache testee;
+
+	private List<DisplayBookCommand> books = new ArrayList<>();
+
+	@Before
+	public void setUpTestee() {
+		testee = new BooksPageCache();
+		setField(testee, "maxSize", MAX_SIZE);
+		testee.init();
+	}
+
+	@Test
+	public void shouldStartCatalogVersionFromCreationTime() {
+		long before = currentTimeMillis();
+		BooksPageCache created = new BooksPageCache();
+		long after = currentTimeMillis();
+
+		String[] catalogVersion = created.getCatalogVersion().split("-");
+
+		assertThat(parseLong(catalogVersion[0]), is(both(greaterThanOrEqualTo(before)).and(lessThanOrEqualTo(after))));
+		assertThat(catalogVersion[1], is(equalTo("0")));
+	}
+
+	@Test
+	public void shouldKeepCatalogVersionWhenNotBumped() {
+		String catalogVersion = testee.getCatalogVersion();
+
+		assertThat(testee.getCatalogVersion(), is(equalTo(catalogVersion)));
+	}
+
+	@Test
+	public void shouldBumpCatalogVersion() {
+		String catalogVersion = testee.getCatalogVersion();
+
+		testee.bumpCatalogVersion();
+		testee.bumpCatalogVersion();
+
+		assertThat(testee.getCatalogVersion(), is(equalTo(catalogVersion.replaceFirst("-0$", "-2"))));
+	}
+
+	@Test
+	public void shouldMissWhenNothingPut() {
+		assertThat(testee.get(VERSION, aPager(1, 7)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldHitForSameVersionAndPagerState() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		assertThat(testee.get(VERSION, aPager(1, 7)), is(equalTo(books)));
+	}
+
+	@Test
+	public void shouldMissForOtherVersion() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		assertThat(testee.get(OTHER_VERSION, aPager(1, 7)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherPageNumber() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		assertThat(testee.get(VERSION, aPager(2, 7)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherPageSize() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		assertThat(testee.get(VERSION, aPager(1, 8)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherSortColumn() {
+		testee.put(VERSION, aPager(1, 7), books);
+		PagerCommand otherColumnPager = aPager(1, 7);
+		otherColumnPager.getSorter().setColumn(BOOK_TITLE_COLLATED);
+
+		assertThat(testee.get(VERSION, otherColumnPager), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherSortDirection() {
+		testee.put(VERSION, aPager(1, 7), books);
+		PagerCommand otherDirectionPager = aPager(1, 7);
+		otherDirectionPager.getSorter().setDirection(DESC);
+
+		assertThat(testee.get(VERSION, otherDirectionPager), is(nullValue()));
+	}
+
+	@Test
+	public void shouldHitForSameSeek() {
+		testee.put(VERSION, aSeekPager(NEXT, 3, "Title"), books);
+
+		assertThat(testee.get(VERSION, aSeekPager(NEXT, 3, "Title")), is(equalTo(books)));
+	}
+
+	@Test
+	public void shouldMissForOtherSeekDirection() {
+		testee.put(VERSION, aSeekPager(NEXT, 3, "Title"), books);
+
+		assertThat(testee.get(VERSION, aSeekPager(PREV, 3, "Title")), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherSeekBookId() {
+		testee.put(VERSION, aSeekPager(NEXT, 3, "Title"), books);
+
+		assertThat(testee.get(VERSION, aSeekPager(NEXT, 4, "Title")), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForOtherSeekBookTitle() {
+		testee.put(VERSION, aSeekPager(NEXT, 3, "Title"), books);
+
+		assertThat(testee.get(VERSION, aSeekPager(NEXT, 3, "Other Title")), is(nullValue()));
+	}
+
+	@Test
+	public void shouldMissForSeekWhenOffsetPagePut() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		assertThat(testee.get(VERSION, aSeekPager(NEXT, 0, "")), is(nullValue()));
+	}
+
+	@Test
+	public void shouldEvictWhenMaxSizeExceeded() {
+		testee.put(VERSION, aPager(1, 7), books);
+		testee.put(VERSION, aPager(2, 7), books);
+		testee.put(VERSION, aPager(3, 7), books);
+
+		assertThat(testee.get(VERSION, aPager(1, 7)), is(nullValue()));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldProtectCachedBooksFromModification() {
+		testee.put(VERSION, aPager(1, 7), books);
+
+		testee.get(VERSION, aPager(1, 7)).add(new DisplayBookCommand());
+	}
+
+	private PagerCommand aPager(int pageNumber, int pageSize) {
+		PagerCommand pager = new PagerCommand();
+		pager.setPageNumber(pageNumber);
+		pager.setPageSize(pageSize);
+
+		return pager;
+	}
+
+	private PagerCommand aSeekPager(PageSeekDirection direction, int bookId, String bookTitle) {
+		PagerCommand pager = aPager(1, 7);
+		pager.getSeek().setDirection(direction);
+		pager.getSeek().setBookId(bookId);
+		pager.getSeek().setBookTitle(bookTitle);
+
+		return pager;
+	}
+
+}
@@ -2,6 +2,7 @@ package pl.jojczykp.bookstore.commands.common;
 
 import org.junit.Before;
 import org.junit.Test;
+import pl.jojczykp.bookstore.utils.PageSeek;
 import pl.jojczykp.bookstore.utils.PageSorter;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -26,6 +27,7 @@ public class PagerCommandUnitTest {
 		assertThat(testee.getPagesCount(), is(0));
 		assertThat(testee.getTotalCount(), is(0));
 		assertThat(testee.getSorter(), is(notNullValue()));
+		assertThat(testee.getSeek(), is(notNullValue()));
 	}
 
 	@Test
@@ -73,4 +75,13 @@ public class PagerCommandUnitTest {
 		assertThat(testee.getSorter(), sameInstance(pageSorter));
 	}
 
+	@Test
+	public void shouldSetSeek() {
+		final PageSeek pageSeek = new PageSeek();
+
+		testee.setSeek(pageSeek);
+
+		assertThat(testee.getSeek(), sameInstance(pageSeek));
+	}
+
 }
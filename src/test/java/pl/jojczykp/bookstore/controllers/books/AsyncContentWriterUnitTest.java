@@ -0,0 +1,120 @@
+package pl.jojczykp.bookstore.controllers.books;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.ServletOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncContentWriterUnitTest {
+
+	private static final int CHUNK_SIZE = 2;
+	private static final byte[] CONTENT = {1, 2, 3, 4, 5};
+
+	@Mock private AsyncContext asyncContext;
+	@Mock private ServletOutputStream output;
+	@Mock private AsyncEvent asyncEvent;
+
+	private AsyncContentWriter testee;
+
+	@Before
+	public void setUpTestee() {
+		testee = new AsyncContentWriter(asyncContext, output, ByteBuffer.wrap(CONTENT), CHUNK_SIZE);
+	}
+
+	@Test
+	public void shouldRegisterAsAsyncListenerAndWriteListenerOnGivenOutputWhenStarted() {
+		testee.start();
+
+		InOrder inOrder = inOrder(asyncContext, output);
+		inOrder.verify(asyncContext).addListener(testee);
+		inOrder.verify(output).setWriteListener(testee);
+	}
+
+	@Test
+	public void shouldWriteAllChunksAndCompleteWhileOutputReady() throws IOException {
+		given(output.isReady()).willReturn(true);
+
+		testee.onWritePossible();
+
+		InOrder inOrder = inOrder(output, asyncContext);
+		inOrder.verify(output).write(any(byte[].class), eq(0), eq(2));
+		inOrder.verify(output).write(any(byte[].class), eq(0), eq(2));
+		inOrder.verify(output).write(any(byte[].class), eq(0), eq(1));
+		inOrder.verify(asyncContext).complete();
+	}
+
+	@Test
+	public void shouldStopWritingWhenOutputNotReadyAndResumeLater() throws IOException {
+		given(output.isReady()).willReturn(true, false);
+
+		testee.onWritePossible();
+
+		verify(output).write(any(byte[].class), eq(0), eq(CHUNK_SIZE));
+		verify(asyncContext, never()).complete();
+
+		given(output.isReady()).willReturn(true);
+		testee.onWritePossible();
+
+		verify(asyncContext).complete();
+	}
+
+	@Test
+	public void shouldNotWriteWhenOutputNotReady() throws IOException {
+		given(output.isReady()).willReturn(false);
+
+		testee.onWritePossible();
+
+		verify(output, never()).write(any(byte[].class), anyInt(), anyInt());
+		verify(asyncContext, never()).complete();
+	}
+
+	@Test
+	public void shouldCompleteOnWriteError() {
+		testee.onError(new IOException("Dummy " + getClass().getName()));
+
+		verify(asyncContext).complete();
+	}
+
+	@Test
+	public void shouldCompleteOnAsyncTimeout() {
+		testee.onTimeout(asyncEvent);
+
+		verify(asyncContext).complete();
+	}
+
+	@Test
+	public void shouldCompleteOnAsyncError() {
+		testee.onError(asyncEvent);
+
+		verify(asyncContext).complete();
+	}
+
+	@Test
+	public void shouldNotWriteNorCompleteAgainAfterTimeout() throws IOException {
+		given(output.isReady()).willReturn(true);
+		testee.onTimeout(asyncEvent);
+
+		testee.onWritePossible();
+
+		verify(output, never()).write(any(byte[].class), anyInt(), anyInt());
+		verify(asyncContext).complete();
+	}
+
+}
@@ -6,8 +6,10 @@ import pl.jojczykp.bookstore.testutils.controllers.security.HttpAccessVerifier;
 import pl.jojczykp.bookstore.testutils.controllers.security.SecurityControllersTestAbstract;
 
 import static junitparams.JUnitParamsRunner.$;
+import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
+import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_CREATE;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_DELETE;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_DISPLAY;
@@ -16,11 +18,18 @@ import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_GO_TO_PAGE;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_SET_PAGE_SIZE;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_SORT;
 import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_UPDATE;
+import static pl.jojczykp.bookstore.consts.BooksConsts.URL_ACTION_UPLOADS;
 import static pl.jojczykp.bookstore.testutils.controllers.security.HttpAccessVerifier.allow;
 import static pl.jojczykp.bookstore.testutils.controllers.security.HttpAccessVerifier.deny;
 
 public class BooksControllersSecurityComponentTest extends SecurityControllersTestAbstract {
 
+	private static final String URL_UPLOAD_OPEN = URL_ACTION_UPLOADS + "?title=t&fileName=f";
+	private static final String URL_UPLOAD_SESSION = URL_ACTION_UPLOADS + "/someSessionId";
+	private static final String URL_UPLOAD_CHUNK = URL_UPLOAD_SESSION + "/chunks/0";
+	private static final String URL_UPLOAD_COMMIT = URL_UPLOAD_SESSION + "/commit?chunksCount=1";
+	private static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
 	public static Object[] rules() {
 		return $(
 			allow().method(POST).url(URL_ACTION_CREATE).role(ROLE_ADMIN),
@@ -53,7 +62,27 @@ public class BooksControllersSecurityComponentTest extends SecurityControllersTe
 
 			allow().method(GET).url(URL_ACTION_DOWNLOAD).role(ROLE_USER),
 			deny().method(GET).url(URL_ACTION_DOWNLOAD).role(ROLE_ADMIN),
-			deny().method(GET).url(URL_ACTION_DOWNLOAD).role(ROLE_UNAUTHORIZED)
+			deny().method(GET).url(URL_ACTION_DOWNLOAD).role(ROLE_UNAUTHORIZED),
+
+			allow().method(POST).url(URL_UPLOAD_OPEN).role(ROLE_ADMIN),
+			deny().method(POST).url(URL_UPLOAD_OPEN).role(ROLE_USER),
+			deny().method(POST).url(URL_UPLOAD_OPEN).role(ROLE_UNAUTHORIZED),
+
+			allow().method(GET).url(URL_UPLOAD_SESSION).role(ROLE_ADMIN),
+			deny().method(GET).url(URL_UPLOAD_SESSION).role(ROLE_USER),
+			deny().method(GET).url(URL_UPLOAD_SESSION).role(ROLE_UNAUTHORIZED),
+
+			allow().method(PUT).url(URL_UPLOAD_CHUNK).header(CHUNK_CHECKSUM_HEADER, "00").role(ROLE_ADMIN),
+			deny().method(PUT).url(URL_UPLOAD_CHUNK).header(CHUNK_CHECKSUM_HEADER, "00").role(ROLE_USER),
+			deny().method(PUT).url(URL_UPLOAD_CHUNK).header(CHUNK_CHECKSUM_HEADER, "00").role(ROLE_UNAUTHORIZED),
+
+			allow().method(POST).url(URL_UPLOAD_COMMIT).role(ROLE_ADMIN),
+			deny().method(POST).url(URL_UPLOAD_COMMIT).role(ROLE_USER),
+			deny().method(POST).url(URL_UPLOAD_COMMIT).role(ROLE_UNAUTHORIZED),
+
+			allow().method(DELETE).url(URL_UPLOAD_SESSION).role(ROLE_ADMIN),
+			deny().method(DELETE).url(URL_UPLOAD_SESSION).role(ROLE_USER),
+			deny().method(DELETE).url(URL_UPLOAD_SESSION).role(ROLE_UNAUTHORIZED)
 		);
 	}
 
@@ -17,16 +17,23 @@ import pl.jojczykp.bookstore.utils.BooksCommandFactory;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -39,6 +46,8 @@ public class DisplayBooksControllerComponentTest {
 
 	private static final String DISPLAY_BOOKS_COMMAND = "displayBooksCommand";
 	private static final String URL_ACTION_DISPLAY = "/books/display";
+	private static final String CATALOG_VERSION = "1418342400000-5";
+	private static final String OTHER_CATALOG_VERSION = "1418342400000-6";
 
 	private MockMvc mvcMock;
 	private ResultActions mvcMockPerformResult;
@@ -58,31 +67,94 @@ public class DisplayBooksControllerComponentTest {
 		reset(displayBooksService);
 		reset(booksCommandFactory);
 		given(booksCommandFactory.create()).willReturn(defaultDisplayBooksCommand);
+		given(displayBooksService.catalogVersion()).willReturn(CATALOG_VERSION);
 	}
 
 	@Test
 	public void shouldUseServiceWithGivenBooksWhenGiven() throws Exception {
-		given(displayBooksService.display(givenDisplayBooksCommand)).willReturn(resultDisplayBooksCommand);
+		given(displayBooksService.display(givenDisplayBooksCommand, CATALOG_VERSION))
+				.willReturn(resultDisplayBooksCommand);
 
 		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY)
 				.flashAttr(DISPLAY_BOOKS_COMMAND, givenDisplayBooksCommand));
 
-		thenExpectServiceInvokedFor(givenDisplayBooksCommand);
+		thenExpectServiceInvokedFor(givenDisplayBooksCommand, CATALOG_VERSION);
 		thenExpectCorrectViewSelectedAndModelSetWith(resultDisplayBooksCommand.getBooks());
 	}
 
 	@Test
 	public void shouldUseServiceWithDefaultBooksWhenNotGiven() throws Exception {
-		given(displayBooksService.display(defaultDisplayBooksCommand)).willReturn(resultDisplayBooksCommand);
+		given(displayBooksService.display(defaultDisplayBooksCommand, CATALOG_VERSION))
+				.willReturn(resultDisplayBooksCommand);
 
 		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY));
 
-		thenExpectServiceInvokedFor(defaultDisplayBooksCommand);
+		thenExpectServiceInvokedFor(defaultDisplayBooksCommand, CATALOG_VERSION);
 		thenExpectCorrectViewSelectedAndModelSetWith(resultDisplayBooksCommand.getBooks());
 	}
 
-	private void thenExpectServiceInvokedFor(DisplayBooksCommand command) {
-		verify(displayBooksService).display(eq(command));
+	@Test
+	public void shouldSetWeakEntityTag() throws Exception {
+		given(displayBooksService.display(defaultDisplayBooksCommand, CATALOG_VERSION))
+				.willReturn(resultDisplayBooksCommand);
+
+		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY));
+
+		mvcMockPerformResult.andExpect(header().string("ETag", startsWith("W/\"")));
+	}
+
+	@Test
+	public void shouldAnswerNotModifiedWhenIfNoneMatchMatches() throws Exception {
+		String entityTag = entityTagOfDisplayPerformed();
+
+		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY).header("If-None-Match", entityTag));
+
+		mvcMockPerformResult
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", is(equalTo(entityTag))));
+		verify(displayBooksService, never()).display(any(DisplayBooksCommand.class), anyString());
+	}
+
+	@Test
+	public void shouldDisplayWhenCatalogChangedSinceEntityTagTaken() throws Exception {
+		String entityTag = entityTagOfDisplayPerformed();
+		given(displayBooksService.catalogVersion()).willReturn(OTHER_CATALOG_VERSION);
+		given(displayBooksService.display(defaultDisplayBooksCommand, OTHER_CATALOG_VERSION))
+				.willReturn(resultDisplayBooksCommand);
+
+		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY).header("If-None-Match", entityTag));
+
+		mvcMockPerformResult.andExpect(header().string("ETag", is(not(equalTo(entityTag)))));
+		thenExpectServiceInvokedFor(defaultDisplayBooksCommand, OTHER_CATALOG_VERSION);
+		thenExpectCorrectViewSelectedAndModelSetWith(resultDisplayBooksCommand.getBooks());
+	}
+
+	@Test
+	public void shouldNotSetEntityTagWhenMessagesGiven() throws Exception {
+		givenDisplayBooksCommand.getMessages().addInfos("Object created.");
+		given(displayBooksService.display(givenDisplayBooksCommand, CATALOG_VERSION))
+				.willReturn(resultDisplayBooksCommand);
+
+		mvcMockPerformResult = mvcMock.perform(get(URL_ACTION_DISPLAY)
+				.flashAttr(DISPLAY_BOOKS_COMMAND, givenDisplayBooksCommand)
+				.header("If-None-Match", "*"));
+
+		mvcMockPerformResult.andExpect(header().doesNotExist("ETag"));
+		thenExpectServiceInvokedFor(givenDisplayBooksCommand, CATALOG_VERSION);
+		thenExpectCorrectViewSelectedAndModelSetWith(resultDisplayBooksCommand.getBooks());
+	}
+
+	private String entityTagOfDisplayPerformed() throws Exception {
+		String entityTag = mvcMock.perform(get(URL_ACTION_DISPLAY)).andReturn().getResponse().getHeader("ETag");
+		reset(displayBooksService);
+		given(displayBooksService.catalogVersion()).willReturn(CATALOG_VERSION);
+
+		return entityTag;
+	}
+
+	private void thenExpectServiceInvokedFor(DisplayBooksCommand command, String catalogVersion) {
+		verify(displayBooksService).catalogVersion();
+		verify(displayBooksService).display(eq(command), eq(catalogVersion));
 		verifyNoMoreInteractions(displayBooksService);
 	}
 
@@ -5,6 +5,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -12,32 +14,49 @@ import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.context.WebApplicationContext;
 import pl.jojczykp.bookstore.commands.books.DownloadBookCommand;
 import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
 import pl.jojczykp.bookstore.entities.Book;
 import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimeMetric;
 import pl.jojczykp.bookstore.services.books.DownloadBookService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.base.Charsets.US_ASCII;
 import static java.lang.String.format;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
 import static pl.jojczykp.bookstore.testutils.matchers.HasBeanProperty.hasBeanProperty;
-import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @WebAppConfiguration
@@ -49,6 +68,10 @@ public class DownloadBookControllerComponentTest {
 	private static final String FILE_TYPE = "fileType";
 	private static final String CONTENT_TYPE = "content/type";
 	private static final byte[] CONTENT = {1, 2, 3, 4, 5};
+	private static final String CONTENT_HASH = "aContentHash";
+	private static final String ENTITY_TAG = "\"aContentHash\"";
+	private static final String GZIP_ENTITY_TAG = "\"aContentHash-gzip\"";
+	private static final String MULTIPART_CONTENT_TYPE_PREFIX = "multipart/byteranges; boundary=";
 	private static final String SERVICE_EXCEPTION_MESSAGE = "Service Exception Message";
 	private static final Exception SERVICE_EXCEPTION = new ResourceNotFoundException(SERVICE_EXCEPTION_MESSAGE);
 
@@ -57,6 +80,7 @@ public class DownloadBookControllerComponentTest {
 	@Autowired private WebApplicationContext wac;
 
 	@Autowired private DownloadBookService downloadBookService;
+	@Autowired private ConnectionHoldTimeMetric connectionHoldTimeMetric;
 
 	@Mock private Book book;
 	@Mock private BookFile bookFile;
@@ -68,6 +92,8 @@ public class DownloadBookControllerComponentTest {
 				.build();
 		initMocks(this);
 		reset(downloadBookService);
+		reset(connectionHoldTimeMetric);
+		setField(wac.getBean(DownloadBookController.class), "asyncEnabled", false);
 	}
 
 	@Test
@@ -79,9 +105,253 @@ public class DownloadBookControllerComponentTest {
 
 		thenExpectStatusIsOk();
 		thenExpectHeadersFor(TITLE, FILE_TYPE, CONTENT.length, CONTENT_TYPE);
+		thenExpectRangesSupportHeaders();
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldDownloadSingleRange() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=1-3", null);
+
+		thenExpectStatusIsPartialContent();
+		thenExpectHeadersFor(TITLE, FILE_TYPE, 3, CONTENT_TYPE);
+		thenExpectContentRange("bytes 1-3/5");
+		thenExpectContent(new byte[] {2, 3, 4});
+		thenExpectOnlyRangesRead(new long[] {1, 3});
+	}
+
+	@Test
+	public void shouldDownloadSuffixRange() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=-2", null);
+
+		thenExpectStatusIsPartialContent();
+		thenExpectContentRange("bytes 3-4/5");
+		thenExpectContent(new byte[] {4, 5});
+	}
+
+	@Test
+	public void shouldDownloadMultipleRanges() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=0-0,3-4", null);
+
+		thenExpectStatusIsPartialContent();
+		String boundary = multipartBoundary();
+		thenExpectContent(multipartBody(boundary,
+				"bytes 0-0/5", new byte[] {1},
+				"bytes 3-4/5", new byte[] {4, 5}));
+		thenExpectOnlyRangesRead(new long[] {0, 1}, new long[] {3, 2});
+	}
+
+	@Test
+	public void shouldDownloadOverlappingRangesAsSingleRange() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=0-,0-,1-2", null);
+
+		thenExpectStatusIsPartialContent();
+		thenExpectContentRange("bytes 0-4/5");
+		thenExpectContent(CONTENT);
+		thenExpectOnlyRangesRead(new long[] {0, 5});
+	}
+
+	@Test
+	public void shouldFailDownloadingRangeStartingBeyondLongRange() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=99999999999999999999-", null);
+
+		thenExpectStatusIsRequestedRangeNotSatisfiable();
+		thenExpectContentRange("bytes */5");
+		thenExpectNoContentRead();
+	}
+
+	@Test
+	public void shouldFailDownloadingUnsatisfiableRange() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=10-20", null);
+
+		thenExpectStatusIsRequestedRangeNotSatisfiable();
+		thenExpectContentRange("bytes */5");
+		thenExpectContent(new byte[0]);
+		thenExpectNoContentRead();
+	}
+
+	@Test
+	public void shouldDownloadWholeContentWhenRangeInvalid() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=3-1", null);
+
+		thenExpectStatusIsOk();
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldDownloadRangeWhenIfRangeMatches() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=1-3", ENTITY_TAG);
+
+		thenExpectStatusIsPartialContent();
+		thenExpectContent(new byte[] {2, 3, 4});
+	}
+
+	@Test
+	public void shouldDownloadWholeContentWhenIfRangeDoesNotMatch() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=1-3", "\"otherContentHash\"");
+
+		thenExpectStatusIsOk();
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldDownloadBlockingWhenAsyncEnabledButOutputDoesNotSupportNonBlockingWrites() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+		givenAsyncDownloadsEnabled();
+
+		whenControllerDownloadPerformedWithCommand(command);
+
+		mvcMockPerformResult.andExpect(request().asyncNotStarted());
+		thenExpectStatusIsOk();
+		thenExpectHeadersFor(TITLE, FILE_TYPE, CONTENT.length, CONTENT_TYPE);
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldAnswerNotModifiedWhenIfNoneMatchMatches() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithIfNoneMatch(command, "\"otherContentHash\", " + ENTITY_TAG);
+
+		thenExpectStatusIsNotModified();
+		thenExpectRangesSupportHeaders();
+		thenExpectContent(new byte[0]);
+		thenExpectNoContentRead();
+	}
+
+	@Test
+	public void shouldDownloadWhenIfNoneMatchDoesNotMatch() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithIfNoneMatch(command, "\"otherContentHash\"");
+
+		thenExpectStatusIsOk();
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldDownloadStoredGzipUnchangedWhenClientAcceptsGzip() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, gzipped(CONTENT));
+		given(bookFile.getContentEncoding()).willReturn("gzip");
+		given(bookFile.getContentLength()).willReturn(CONTENT.length);
+
+		whenControllerDownloadPerformedWithAcceptEncoding(command, "deflate, gzip;q=0.8");
+
+		thenExpectStatusIsOk();
+		thenExpectHeadersFor(TITLE, FILE_TYPE, gzipped(CONTENT).length, CONTENT_TYPE);
+		mvcMockPerformResult
+				.andExpect(header().string("Content-Encoding", is(equalTo("gzip"))))
+				.andExpect(header().string("Vary", is(equalTo("Accept-Encoding"))))
+				.andExpect(header().string("ETag", is(equalTo(GZIP_ENTITY_TAG))));
+		thenExpectContent(gzipped(CONTENT));
+	}
+
+	@Test
+	public void shouldInflateStoredGzipWhenClientDoesNotAcceptGzip() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, gzipped(CONTENT));
+		given(bookFile.getContentEncoding()).willReturn("gzip");
+		given(bookFile.getContentLength()).willReturn(CONTENT.length);
+
+		whenControllerDownloadPerformedWithAcceptEncoding(command, "deflate, gzip;q=0");
+
+		thenExpectStatusIsOk();
+		mvcMockPerformResult
+				.andExpect(header().string("Content-Length", is(equalTo(String.valueOf(CONTENT.length)))))
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andExpect(header().string("Vary", is(equalTo("Accept-Encoding"))))
+				.andExpect(header().string("Accept-Ranges", is(equalTo("none"))))
+				.andExpect(header().string("ETag", is(equalTo(ENTITY_TAG))));
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldInflateStoredGzipIgnoringRangeWhenClientDoesNotAcceptGzip() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, gzipped(CONTENT));
+		given(bookFile.getContentEncoding()).willReturn("gzip");
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=1-3", null);
+
+		thenExpectStatusIsOk();
 		thenExpectContent(CONTENT);
 	}
 
+	@Test
+	public void shouldNotSetContentEncodingForRawContent() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithAcceptEncoding(command, "gzip");
+
+		thenExpectStatusIsOk();
+		mvcMockPerformResult
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andExpect(header().doesNotExist("Vary"));
+		thenExpectContent(CONTENT);
+	}
+
+	@Test
+	public void shouldRecordConnectionHoldTime() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command);
+
+		thenExpectConnectionHoldTimeRecordedOnce();
+	}
+
+	@Test
+	public void shouldRecordConnectionHoldTimeOnceForMultipleRanges() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenBookReturnedByService(command, TITLE, FILE_TYPE, CONTENT_TYPE, CONTENT);
+
+		whenControllerDownloadPerformedWithCommand(command, "bytes=0-0,3-4", null);
+
+		thenExpectConnectionHoldTimeRecordedOnce();
+	}
+
+	@Test
+	public void shouldRecordConnectionHoldTimeOnServiceException() throws Exception {
+		DownloadBookCommand command = downloadBookCommandWith(ID);
+		givenExceptionReturnedByService(command);
+
+		whenControllerDownloadPerformedWithCommand(command);
+
+		thenExpectConnectionHoldTimeRecordedOnce();
+	}
+
 	@Test
 	public void shouldFailDownloadingOnServiceException() throws Exception {
 		DownloadBookCommand command = downloadBookCommandWith(ID);
@@ -102,18 +372,36 @@ public class DownloadBookControllerComponentTest {
 	}
 
 	private void givenBookReturnedByService(DownloadBookCommand command, String title, String fileType,
-											String contentType, byte[] content) {
-		given(downloadBookService.download(command)).willReturn(book);
+											String contentType, final byte[] content) {
+		given(downloadBookService.find(command)).willReturn(book);
+		given(downloadBookService.content(bookFile)).willAnswer(contentRangeOf(content, 0, content.length));
+		given(downloadBookService.content(eq(bookFile), anyLong(), anyLong())).willAnswer(new Answer<ByteBuffer>() {
+			@Override
+			public ByteBuffer answer(InvocationOnMock invocation) throws Throwable {
+				Object[] arguments = invocation.getArguments();
+				return contentRangeOf(content, (Long) arguments[1], (Long) arguments[2]).answer(invocation);
+			}
+		});
 		given(book.getTitle()).willReturn(title);
 		given(book.getBookFile()).willReturn(bookFile);
 		given(bookFile.getFileType()).willReturn(fileType);
 		given(bookFile.getContentType()).willReturn(contentType);
 		given(bookFile.getContentLength()).willReturn(content.length);
-		given(bookFile.getContent()).willReturn(aSerialBlobWith(content));
+		given(bookFile.getStoredContentLength()).willReturn(content.length);
+		given(bookFile.getContentHash()).willReturn(CONTENT_HASH);
+	}
+
+	private Answer<ByteBuffer> contentRangeOf(final byte[] content, final long offset, final long length) {
+		return new Answer<ByteBuffer>() {
+			@Override
+			public ByteBuffer answer(InvocationOnMock invocation) {
+				return ByteBuffer.wrap(content, (int) offset, (int) length).slice().asReadOnlyBuffer();
+			}
+		};
 	}
 
 	private void givenExceptionReturnedByService(DownloadBookCommand command) {
-		given(downloadBookService.download(command)).willThrow(SERVICE_EXCEPTION);
+		given(downloadBookService.find(command)).willThrow(SERVICE_EXCEPTION);
 	}
 
 	private void whenControllerDownloadPerformedWithCommand(DownloadBookCommand command) throws Exception {
@@ -121,6 +409,100 @@ public class DownloadBookControllerComponentTest {
 				.flashAttr("downloadBookCommand", command));
 	}
 
+	private void whenControllerDownloadPerformedWithCommand(DownloadBookCommand command, String range,
+															String ifRange) throws Exception {
+		MockHttpServletRequestBuilder request = get("/books/download")
+				.flashAttr("downloadBookCommand", command)
+				.header("Range", range);
+		if (ifRange != null) {
+			request.header("If-Range", ifRange);
+		}
+		mvcMockPerformResult = mvcMock.perform(request);
+	}
+
+	private void givenAsyncDownloadsEnabled() {
+		setField(wac.getBean(DownloadBookController.class), "asyncEnabled", true);
+	}
+
+	private void whenControllerDownloadPerformedWithIfNoneMatch(DownloadBookCommand command, String ifNoneMatch)
+			throws Exception {
+		mvcMockPerformResult = mvcMock.perform(get("/books/download")
+				.flashAttr("downloadBookCommand", command)
+				.header("If-None-Match", ifNoneMatch));
+	}
+
+	private void whenControllerDownloadPerformedWithAcceptEncoding(DownloadBookCommand command, String acceptEncoding)
+			throws Exception {
+		mvcMockPerformResult = mvcMock.perform(get("/books/download")
+				.flashAttr("downloadBookCommand", command)
+				.header("Accept-Encoding", acceptEncoding));
+	}
+
+	private void thenExpectStatusIsNotModified() throws Exception {
+		mvcMockPerformResult.andExpect(status().isNotModified());
+	}
+
+	private void thenExpectConnectionHoldTimeRecordedOnce() {
+		verify(connectionHoldTimeMetric).record(anyLong());
+	}
+
+	private void thenExpectNoContentRead() {
+		verify(downloadBookService, never()).content(any(BookFile.class));
+		verify(downloadBookService, never()).content(any(BookFile.class), anyLong(), anyLong());
+	}
+
+	private void thenExpectOnlyRangesRead(long[]... offsetsAndLengths) {
+		verify(downloadBookService, never()).content(any(BookFile.class));
+		verify(downloadBookService, times(offsetsAndLengths.length)).content(any(BookFile.class), anyLong(), anyLong());
+		for (long[] offsetAndLength : offsetsAndLengths) {
+			verify(downloadBookService).content(bookFile, offsetAndLength[0], offsetAndLength[1]);
+		}
+	}
+
+	private void thenExpectStatusIsPartialContent() throws Exception {
+		mvcMockPerformResult.andExpect(status().isPartialContent());
+	}
+
+	private void thenExpectStatusIsRequestedRangeNotSatisfiable() throws Exception {
+		mvcMockPerformResult.andExpect(status().isRequestedRangeNotSatisfiable());
+	}
+
+	private void thenExpectRangesSupportHeaders() throws Exception {
+		mvcMockPerformResult
+			.andExpect(header().string("Accept-Ranges", is(equalTo("bytes"))))
+			.andExpect(header().string("ETag", is(equalTo(ENTITY_TAG))));
+	}
+
+	private void thenExpectContentRange(String contentRange) throws Exception {
+		mvcMockPerformResult.andExpect(header().string("Content-Range", is(equalTo(contentRange))));
+	}
+
+	private String multipartBoundary() throws Exception {
+		String contentType = mvcMockPerformResult.andReturn().getResponse().getContentType();
+		assertThat(contentType, startsWith(MULTIPART_CONTENT_TYPE_PREFIX));
+
+		return contentType.substring(MULTIPART_CONTENT_TYPE_PREFIX.length());
+	}
+
+	private byte[] multipartBody(String boundary, String contentRange1, byte[] content1,
+									String contentRange2, byte[] content2) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		writeMultipartPart(body, boundary, contentRange1, content1);
+		writeMultipartPart(body, boundary, contentRange2, content2);
+		body.write(("--" + boundary + "--\r\n").getBytes(US_ASCII));
+
+		return body.toByteArray();
+	}
+
+	private void writeMultipartPart(ByteArrayOutputStream body, String boundary, String contentRange,
+									byte[] content) throws IOException {
+		body.write(("--" + boundary + "\r\n"
+				+ "Content-Type: " + CONTENT_TYPE + "\r\n"
+				+ "Content-Range: " + contentRange + "\r\n\r\n").getBytes(US_ASCII));
+		body.write(content);
+		body.write("\r\n".getBytes(US_ASCII));
+	}
+
 	private void thenExpectStatusIsOk() throws Exception {
 		mvcMockPerformResult.andExpect(status().isOk());
 	}
@@ -158,4 +540,13 @@ public class DownloadBookControllerComponentTest {
 		return model().attribute("exceptionCommand", matcher);
 	}
 
+	private byte[] gzipped(byte[] content) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+			output.write(content);
+		}
+
+		return compressed.toByteArray();
+	}
+
 }
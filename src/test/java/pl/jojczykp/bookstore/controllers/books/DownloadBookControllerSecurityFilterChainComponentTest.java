@@ -0,0 +1,169 @@
+package pl.jojczykp.bookstore.controllers.books;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import pl.jojczykp.bookstore.commands.books.DownloadBookCommand;
+import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.services.books.DownloadBookService;
+
+import javax.servlet.Filter;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@WebAppConfiguration
+@ContextConfiguration({
+		"classpath:spring/controllers-test-context.xml",
+		"classpath:spring/authentication-provider-mock-context.xml",
+		"classpath:spring/datasource-mock-context.xml",
+		"classpath:spring/applicationContext/security-context.xml"})
+public class DownloadBookControllerSecurityFilterChainComponentTest {
+
+	private static final String ID = "7";
+	private static final String URL = "/books/download";
+	private static final byte[] CONTENT = {1, 2, 3, 4, 5};
+
+	@Autowired private WebApplicationContext wac;
+	@Autowired private Filter springSecurityFilterChain;
+	@Autowired private DownloadBookService downloadBookService;
+
+	@Mock private Book book;
+	@Mock private BookFile bookFile;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		reset(downloadBookService);
+		given(downloadBookService.find(any(DownloadBookCommand.class))).willReturn(book);
+		given(downloadBookService.content(bookFile)).willReturn(ByteBuffer.wrap(CONTENT).asReadOnlyBuffer());
+		given(book.getTitle()).willReturn("title");
+		given(book.getBookFile()).willReturn(bookFile);
+		given(bookFile.getFileType()).willReturn("txt");
+		given(bookFile.getContentType()).willReturn("text/plain");
+		given(bookFile.getContentLength()).willReturn(CONTENT.length);
+		given(bookFile.getStoredContentLength()).willReturn(CONTENT.length);
+		given(bookFile.getContentHash()).willReturn("aContentHash");
+		setField(wac.getBean(DownloadBookController.class), "asyncEnabled", true);
+	}
+
+	@Test
+	public void shouldDownloadThroughSecurityFilterChainWhenOutputDoesNotSupportNonBlockingWrites()
+			throws Exception {
+		webAppContextSetup(wac)
+				.addFilters(springSecurityFilterChain)
+				.build()
+				.perform(get(URL).param("id", ID).session(anAuthenticatedSession()))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(CONTENT));
+	}
+
+	@Test
+	public void shouldWriteAsynchronouslyToContainerOutputUnderSecurityResponseWrapper() throws Exception {
+		MockHttpServletRequest request = anAuthenticatedAsyncRequest();
+		NonBlockingResponse response = new NonBlockingResponse();
+
+		springSecurityFilterChain.doFilter(request, response, new MockFilterChain(aDispatcherServlet()));
+
+		assertThat(request.isAsyncStarted(), is(true));
+		assertThat(response.writeListener, is(notNullValue()));
+
+		response.writeListener.onWritePossible();
+
+		assertThat(request.isAsyncStarted(), is(false));
+		assertThat(response.getStatus(), is(equalTo(SC_OK)));
+		assertThat(response.getContentAsByteArray(), is(equalTo(CONTENT)));
+	}
+
+	private MockHttpServletRequest anAuthenticatedAsyncRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest(wac.getServletContext(), "GET", URL);
+		request.setAsyncSupported(true);
+		request.setSession(anAuthenticatedSession());
+		request.setParameter("id", ID);
+
+		return request;
+	}
+
+	private MockHttpSession anAuthenticatedSession() {
+		SecurityContextImpl securityContext = new SecurityContextImpl();
+		securityContext.setAuthentication(
+				new UsernamePasswordAuthenticationToken("someUser", "", createAuthorityList("ROLE_USER")));
+		MockHttpSession session = new MockHttpSession(wac.getServletContext());
+		session.setAttribute(SPRING_SECURITY_CONTEXT_KEY, securityContext);
+
+		return session;
+	}
+
+	private DispatcherServlet aDispatcherServlet() throws ServletException {
+		DispatcherServlet dispatcherServlet = new DispatcherServlet(wac);
+		dispatcherServlet.init(new MockServletConfig(wac.getServletContext()));
+
+		return dispatcherServlet;
+	}
+
+	private static class NonBlockingResponse extends MockHttpServletResponse {
+
+		private WriteListener writeListener;
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			final ServletOutputStream blockingOutput = super.getOutputStream();
+
+			return new ServletOutputStream() {
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setWriteListener(WriteListener writeListener) {
+					NonBlockingResponse.this.writeListener = writeListener;
+				}
+
+				@Override
+				public void write(int b) throws IOException {
+					blockingOutput.write(b);
+				}
+			};
+		}
+
+	}
+
+}
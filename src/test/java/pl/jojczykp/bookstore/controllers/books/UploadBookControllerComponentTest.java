@@ -0,0 +1,171 @@
+package pl.jojczykp.bookstore.controllers.books;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.context.WebApplicationContext;
+import pl.jojczykp.bookstore.controllers.errors.InvalidUploadException;
+import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
+import pl.jojczykp.bookstore.services.books.UploadBookService;
+
+import java.io.InputStream;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@WebAppConfiguration
+@ContextConfiguration("classpath:spring/controllers-test-context.xml")
+public class UploadBookControllerComponentTest {
+
+	private static final String SESSION_ID = "someSessionId";
+	private static final String TITLE = "Some Title";
+	private static final String FILE_NAME = "someBook.pdf";
+	private static final String CONTENT_TYPE = "application/pdf";
+	private static final String CHECKSUM = "someChecksum";
+	private static final byte[] CHUNK = {7, 8, 9};
+
+	private MockMvc mvcMock;
+	private ResultActions mvcMockPerformResult;
+	@Autowired private WebApplicationContext wac;
+	@Autowired private UploadBookService uploadBookService;
+
+	@Before
+	public void setUp() {
+		mvcMock = webAppContextSetup(wac)
+				.alwaysDo(print())
+				.build();
+		reset(uploadBookService);
+	}
+
+	@Test
+	public void shouldOpenSession() throws Exception {
+		given(uploadBookService.open(TITLE, FILE_NAME, CONTENT_TYPE)).willReturn(SESSION_ID);
+
+		mvcMockPerformResult = mvcMock.perform(post("/books/uploads")
+				.param("title", TITLE)
+				.param("fileName", FILE_NAME)
+				.param("contentType", CONTENT_TYPE));
+
+		mvcMockPerformResult
+				.andExpect(status().isCreated())
+				.andExpect(header().string("Location", is(equalTo("/books/uploads/" + SESSION_ID))))
+				.andExpect(content().string(SESSION_ID));
+	}
+
+	@Test
+	public void shouldOpenSessionWithDefaultContentType() throws Exception {
+		given(uploadBookService.open(TITLE, FILE_NAME, "application/octet-stream")).willReturn(SESSION_ID);
+
+		mvcMockPerformResult = mvcMock.perform(post("/books/uploads")
+				.param("title", TITLE)
+				.param("fileName", FILE_NAME));
+
+		mvcMockPerformResult.andExpect(status().isCreated());
+	}
+
+	@Test
+	public void shouldFailOpeningInvalidSession() throws Exception {
+		given(uploadBookService.open(TITLE, FILE_NAME, CONTENT_TYPE))
+				.willThrow(new InvalidUploadException("Invalid."));
+
+		mvcMockPerformResult = mvcMock.perform(post("/books/uploads")
+				.param("title", TITLE)
+				.param("fileName", FILE_NAME)
+				.param("contentType", CONTENT_TYPE));
+
+		mvcMockPerformResult.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void shouldGetReceivedChunks() throws Exception {
+		given(uploadBookService.receivedChunks(SESSION_ID)).willReturn(new TreeSet<>(asList(0, 1, 3)));
+
+		mvcMockPerformResult = mvcMock.perform(get("/books/uploads/" + SESSION_ID));
+
+		mvcMockPerformResult
+				.andExpect(status().isOk())
+				.andExpect(content().string("0,1,3"));
+	}
+
+	@Test
+	public void shouldFailGettingReceivedChunksOfNotExistingSession() throws Exception {
+		given(uploadBookService.receivedChunks(SESSION_ID)).willThrow(new ResourceNotFoundException("Not found."));
+
+		mvcMockPerformResult = mvcMock.perform(get("/books/uploads/" + SESSION_ID));
+
+		mvcMockPerformResult.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void shouldPutChunk() throws Exception {
+		mvcMockPerformResult = mvcMock.perform(put("/books/uploads/" + SESSION_ID + "/chunks/2")
+				.header("X-Chunk-SHA256", CHECKSUM)
+				.content(CHUNK));
+
+		mvcMockPerformResult.andExpect(status().isNoContent());
+		thenExpectChunkPassedToService(2, CHECKSUM, CHUNK);
+	}
+
+	@Test
+	public void shouldFailPuttingChunkWithNotMatchingChecksum() throws Exception {
+		willThrow(new InvalidUploadException("Checksum mismatch.")).given(uploadBookService)
+				.putChunk(eq(SESSION_ID), eq(2), eq(CHECKSUM), any(InputStream.class));
+
+		mvcMockPerformResult = mvcMock.perform(put("/books/uploads/" + SESSION_ID + "/chunks/2")
+				.header("X-Chunk-SHA256", CHECKSUM)
+				.content(CHUNK));
+
+		mvcMockPerformResult.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void shouldCommit() throws Exception {
+		mvcMockPerformResult = mvcMock.perform(post("/books/uploads/" + SESSION_ID + "/commit")
+				.param("chunksCount", "4"));
+
+		mvcMockPerformResult.andExpect(status().isCreated());
+		verify(uploadBookService).commit(SESSION_ID, 4);
+	}
+
+	@Test
+	public void shouldAbort() throws Exception {
+		mvcMockPerformResult = mvcMock.perform(delete("/books/uploads/" + SESSION_ID));
+
+		mvcMockPerformResult.andExpect(status().isNoContent());
+		verify(uploadBookService).abort(SESSION_ID);
+	}
+
+	private void thenExpectChunkPassedToService(int number, String checksum, byte[] content) throws Exception {
+		ArgumentCaptor<InputStream> stream = ArgumentCaptor.forClass(InputStream.class);
+		verify(uploadBookService).putChunk(eq(SESSION_ID), eq(number), eq(checksum), stream.capture());
+		assertThat(toByteArray(stream.getValue()), is(equalTo(content)));
+	}
+
+}
@@ -48,6 +48,11 @@ public class ControllerExceptionHandlerComponentTest {
 		shouldHandleExceptionFromController(ResourceNotFoundException.class, HttpStatus.NOT_FOUND);
 	}
 
+	@Test
+	public void shouldHandleInvalidUploadExceptionFromController() throws Exception {
+		shouldHandleExceptionFromController(InvalidUploadException.class, HttpStatus.BAD_REQUEST);
+	}
+
 	@Test
 	public void shouldHandleAnyExceptionFromController() throws Exception {
 		shouldHandleExceptionFromController(RuntimeException.class, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,20 @@
+package pl.jojczykp.bookstore.controllers.errors;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class InvalidUploadExceptionTest {
+
+	@Test
+	public void shouldHaveConstructorWithMessage() {
+		final String message = "some message";
+
+		InvalidUploadException exception = new InvalidUploadException(message);
+
+		assertThat(exception.getMessage(), is(equalTo(message)));
+	}
+
+}
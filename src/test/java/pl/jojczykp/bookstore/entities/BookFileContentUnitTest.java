@@ -0,0 +1,65 @@
+package pl.jojczykp.bookstore.entities;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
+
+public class BookFileContentUnitTest {
+
+	private static final int ID_TO_BE_GENERATED = 0;
+
+	private static final int ID = 7;
+	private static final byte[] CONTENT = {1, 3, 5, 7};
+
+	private BookFileContent testee;
+
+	@Before
+	public void setupTestee() {
+		testee = new BookFileContent();
+	}
+
+	@Test
+	public void shouldHaveDefaultConstructorForHibernate() {
+		assertThat(testee.getId(), is(ID_TO_BE_GENERATED));
+		assertThat(blobLength(testee.getContent()), is(0L));
+	}
+
+	@Test
+	public void shouldSetId() {
+		testee.setId(ID);
+
+		assertThat(testee.getId(), is(ID));
+	}
+
+	@Test
+	public void shouldSetContent() {
+		testee.setContent(aSerialBlobWith(CONTENT));
+
+		assertThat(blobBytes(testee.getContent()), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldMeetEqualsHashCodeContract() {
+		EqualsVerifier.forClass(BookFileContent.class)
+				.usingGetClass()
+				.verify();
+	}
+
+	@Test
+	public void shouldHaveToStringWithDetails() {
+		testee.setId(ID);
+
+		String toStringResult = testee.toString();
+
+		assertThat(toStringResult, equalTo(format("%s{id=%d}", testee.getClass().getSimpleName(), ID)));
+	}
+
+}
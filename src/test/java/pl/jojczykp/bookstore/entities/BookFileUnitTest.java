@@ -4,14 +4,19 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.security.MessageDigest;
+
 import static java.lang.String.format;
+import static org.apache.commons.codec.digest.DigestUtils.getMd5Digest;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
 import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
 import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
-import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
 
 public class BookFileUnitTest {
 
@@ -21,6 +26,11 @@ public class BookFileUnitTest {
 	private static final String FILE_TYPE = "fileType";
 	private static final String CONTENT_TYPE = "content/type";
 	private static final byte[] CONTENT = {2, 4, 6, 8};
+	private static final String EMPTY_CONTENT_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+	private static final String CONTENT_HASH = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+	private static final int REFERENCES_COUNT = 5;
+	private static final String CONTENT_KEY = "contentKey";
+	private static final String CONTENT_ENCODING = "gzip";
 
 	private BookFile testee = new BookFile();
 
@@ -34,7 +44,13 @@ public class BookFileUnitTest {
 		assertThat(testee.getId(), is(ID_TO_BE_GENERATED));
 		assertThat(testee.getFileType(), is(equalTo("")));
 		assertThat(testee.getContentType(), is(equalTo("")));
-		assertThat(blobLength(testee.getContent()), is(0L));
+		assertThat(testee.getStoredContentLength(), is(0));
+		assertThat(testee.getContentHash(), is(equalTo(EMPTY_CONTENT_HASH)));
+		assertThat(testee.getReferencesCount(), is(0));
+		assertThat(testee.getContentKey(), is(equalTo("")));
+		assertThat(testee.getContentEncoding(), is(equalTo("")));
+		assertThat(testee.getBookFileContent(), is(nullValue()));
+		assertThat(testee.getContentDigest(), is(nullValue()));
 	}
 
 	@Test
@@ -65,17 +81,75 @@ public class BookFileUnitTest {
 		assertThat(testee.getContentLength(), is(CONTENT.length));
 	}
 
+	@Test
+	public void shouldSetContentDigest() {
+		MessageDigest contentDigest = getSha256Digest();
+
+		testee.setContentDigest(contentDigest);
+
+		assertThat(testee.getContentDigest(), is(sameInstance(contentDigest)));
+	}
+
+	@Test
+	public void shouldSetStoredContentLength() {
+		testee.setStoredContentLength(CONTENT.length);
+
+		assertThat(testee.getStoredContentLength(), is(CONTENT.length));
+	}
+
+	@Test
+	public void shouldSetContentHash() {
+		testee.setContentHash(CONTENT_HASH);
+
+		assertThat(testee.getContentHash(), is(equalTo(CONTENT_HASH)));
+	}
+
+	@Test
+	public void shouldSetReferencesCount() {
+		testee.setReferencesCount(REFERENCES_COUNT);
+
+		assertThat(testee.getReferencesCount(), is(REFERENCES_COUNT));
+	}
+
+	@Test
+	public void shouldSetContentKey() {
+		testee.setContentKey(CONTENT_KEY);
+
+		assertThat(testee.getContentKey(), is(equalTo(CONTENT_KEY)));
+	}
+
+	@Test
+	public void shouldSetContentEncoding() {
+		testee.setContentEncoding(CONTENT_ENCODING);
+
+		assertThat(testee.getContentEncoding(), is(equalTo(CONTENT_ENCODING)));
+	}
+
 	@Test
 	public void shouldSetContent() {
+		testee.setBookFileContent(new BookFileContent());
+
 		testee.setContent(aSerialBlobWith(CONTENT));
 
 		assertThat(blobBytes(testee.getContent()), is(equalTo(CONTENT)));
 	}
 
+	@Test
+	public void shouldSetBookFileContent() {
+		BookFileContent bookFileContent = new BookFileContent();
+		bookFileContent.setContent(aSerialBlobWith(CONTENT));
+
+		testee.setBookFileContent(bookFileContent);
+
+		assertThat(testee.getBookFileContent(), is(bookFileContent));
+		assertThat(blobBytes(testee.getContent()), is(equalTo(CONTENT)));
+	}
+
 	@Test
 	public void shouldMeetEqualsHashCodeContract() {
 		EqualsVerifier.forClass(BookFile.class)
 				.usingGetClass()
+				.withPrefabValues(MessageDigest.class, getSha256Digest(), getMd5Digest())
 				.verify();
 	}
 
@@ -0,0 +1,75 @@
+package pl.jojczykp.bookstore.entities;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BookSummaryUnitTest {
+
+	private static final int ID = 8;
+	private static final int VERSION = 76;
+	private static final String TITLE = "some title";
+	private static final String FILE_TYPE = "pdf";
+
+	private BookSummary testee;
+
+	@Before
+	public void setupTestee() {
+		testee = new BookSummary();
+	}
+
+	@Test
+	public void shouldHaveDefaultConstructorForResultTransformer() {
+		assertThat(testee.getId(), is(0));
+		assertThat(testee.getVersion(), is(0));
+		assertThat(testee.getTitle(), is(""));
+		assertThat(testee.getFileType(), is(""));
+	}
+
+	@Test
+	public void shouldSetId() {
+		testee.setId(ID);
+
+		assertThat(testee.getId(), is(ID));
+	}
+
+	@Test
+	public void shouldSetVersion() {
+		testee.setVersion(VERSION);
+
+		assertThat(testee.getVersion(), is(VERSION));
+	}
+
+	@Test
+	public void shouldSetTitle() {
+		testee.setTitle(TITLE);
+
+		assertThat(testee.getTitle(), is(TITLE));
+	}
+
+	@Test
+	public void shouldSetFileType() {
+		testee.setFileType(FILE_TYPE);
+
+		assertThat(testee.getFileType(), is(FILE_TYPE));
+	}
+
+	@Test
+	public void shouldHaveToStringWithDetails() {
+		testee.setId(ID);
+		testee.setVersion(VERSION);
+		testee.setTitle(TITLE);
+		testee.setFileType(FILE_TYPE);
+
+		String toStringResult = testee.toString();
+
+		assertThat(toStringResult, equalTo(
+				format("%s{id=%d, version=%d, title='%s', fileType='%s'}",
+						testee.getClass().getSimpleName(), ID, VERSION, TITLE, FILE_TYPE)));
+	}
+
+}
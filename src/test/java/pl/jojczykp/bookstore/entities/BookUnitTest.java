@@ -7,7 +7,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.security.MessageDigest;
+
 import static java.lang.String.format;
+import static org.apache.commons.codec.digest.DigestUtils.getMd5Digest;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -21,7 +25,10 @@ public class BookUnitTest {
 
 	private static final int ID = 8;
 	private static final int VERSION = 76;
-	private static final String TITLE = "some title";
+	private static final String TITLE = "Some Title";
+	private static final String TITLE_NORMALIZED = "some title";
+	private static final String TITLE_COLLATION_KEY = "0a1b2c";
+	private static final String TITLE_COLLATION_LOCALE = "pl_PL";
 
 	@Mock private BookFile bookFile;
 	private static final String BOOK_FILE_AS_STRING = "bookFile as String";
@@ -43,6 +50,9 @@ public class BookUnitTest {
 		assertThat(testee.getId(), is(0));
 		assertThat(testee.getVersion(), is(0));
 		assertThat(testee.getTitle(), is(""));
+		assertThat(testee.getTitleNormalized(), is(""));
+		assertThat(testee.getTitleCollationKey(), is(""));
+		assertThat(testee.getTitleCollationLocale(), is(""));
 		assertThat(testee.getBookFile(), is(nullValue()));
 	}
 
@@ -67,6 +77,27 @@ public class BookUnitTest {
 		assertThat(testee.getTitle(), is(TITLE));
 	}
 
+	@Test
+	public void shouldUpdateNormalizedTitleWhenSettingTitle() {
+		testee.setTitle(TITLE);
+
+		assertThat(testee.getTitleNormalized(), is(TITLE_NORMALIZED));
+	}
+
+	@Test
+	public void shouldSetTitleCollationKey() {
+		testee.setTitleCollationKey(TITLE_COLLATION_KEY);
+
+		assertThat(testee.getTitleCollationKey(), is(TITLE_COLLATION_KEY));
+	}
+
+	@Test
+	public void shouldSetTitleCollationLocale() {
+		testee.setTitleCollationLocale(TITLE_COLLATION_LOCALE);
+
+		assertThat(testee.getTitleCollationLocale(), is(TITLE_COLLATION_LOCALE));
+	}
+
 	@Test
 	public void shouldSetBookFile() {
 		testee.setBookFile(bookFile);
@@ -78,6 +109,7 @@ public class BookUnitTest {
 	public void shouldMeetEqualsHashCodeContract() {
 		EqualsVerifier.forClass(Book.class)
 				.usingGetClass()
+				.withPrefabValues(MessageDigest.class, getSha256Digest(), getMd5Digest())
 				.verify();
 	}
 
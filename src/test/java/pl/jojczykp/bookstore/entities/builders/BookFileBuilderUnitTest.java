@@ -3,11 +3,20 @@ package pl.jojczykp.bookstore.entities.builders;
 import org.junit.Test;
 import pl.jojczykp.bookstore.entities.BookFile;
 
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
 import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
 
 public class BookFileBuilderUnitTest {
 
@@ -15,6 +24,10 @@ public class BookFileBuilderUnitTest {
 	private static final String FILE_TYPE = "aFileType";
 	private static final String CONTENT_TYPE = "some-content/type";
 	private static final byte[] CONTENT = {7, 5, 3, 0, 1};
+	private static final String CONTENT_HASH = "fedcba9876543210fedcba9876543210fedcba9876543210fedcba9876543210";
+	private static final int REFERENCES_COUNT = 2;
+	private static final String CONTENT_KEY = "aContentKey";
+	private static final String CONTENT_ENCODING = "gzip";
 
 	@Test
 	public void shouldBuildWithId() {
@@ -37,10 +50,89 @@ public class BookFileBuilderUnitTest {
 		assertThat(bookFile.getContentType(), is(equalTo(CONTENT_TYPE)));
 	}
 
+	@Test
+	public void shouldBuildWithEmptyContentByDefault() {
+		BookFile bookFile = aBookFile().build();
+
+		assertThat(blobLength(bookFile.getContent()), is(0L));
+	}
+
+	@Test
+	public void shouldBuildWithOwnContentHolderEachTime() {
+		BookFileBuilder builder = aBookFile().withContent(CONTENT);
+
+		BookFile first = builder.build();
+		BookFile second = builder.build();
+
+		assertThat(first.getBookFileContent(), is(not(sameInstance(second.getBookFileContent()))));
+	}
+
 	@Test
 	public void shouldBuildWithContentAndContentLength() {
 		BookFile bookFile = aBookFile().withContent(CONTENT).build();
 
+		assertThat(blobBytes(bookFile.getContent()), is(equalTo(CONTENT)));
+		assertThat(bookFile.getContentLength(), is(CONTENT.length));
+		assertThat(bookFile.getContentHash(), is(equalTo(sha256Hex(CONTENT))));
+	}
+
+	@Test
+	public void shouldBuildWithContentLengthDifferentFromStoredContentLength() {
+		BookFile bookFile = aBookFile().withContent(CONTENT).withContentLength(CONTENT.length + 1).build();
+
+		assertThat(bookFile.getContentLength(), is(CONTENT.length + 1));
+		assertThat(bookFile.getStoredContentLength(), is(CONTENT.length));
+	}
+
+	@Test
+	public void shouldBuildWithContentHash() {
+		BookFile bookFile = aBookFile().withContentHash(CONTENT_HASH).build();
+
+		assertThat(bookFile.getContentHash(), is(equalTo(CONTENT_HASH)));
+	}
+
+	@Test
+	public void shouldBuildWithContentDigest() {
+		MessageDigest contentDigest = getSha256Digest();
+
+		BookFile bookFile = aBookFile().withContentDigest(contentDigest).build();
+
+		assertThat(bookFile.getContentDigest(), is(sameInstance(contentDigest)));
+	}
+
+	@Test
+	public void shouldBuildWithContentKey() {
+		BookFile bookFile = aBookFile().withContentKey(CONTENT_KEY).build();
+
+		assertThat(bookFile.getContentKey(), is(equalTo(CONTENT_KEY)));
+	}
+
+	@Test
+	public void shouldBuildWithContentEncoding() {
+		BookFile bookFile = aBookFile().withContentEncoding(CONTENT_ENCODING).build();
+
+		assertThat(bookFile.getContentEncoding(), is(equalTo(CONTENT_ENCODING)));
+	}
+
+	@Test
+	public void shouldBuildWithBlobContentAndContentLength() {
+		BookFile bookFile = aBookFile().withContent(aSerialBlobWith(CONTENT)).build();
+
+		assertThat(blobBytes(bookFile.getContent()), is(equalTo(CONTENT)));
+		assertThat(bookFile.getContentLength(), is(CONTENT.length));
+	}
+
+	@Test
+	public void shouldBuildWithReferencesCount() {
+		BookFile bookFile = aBookFile().withReferencesCount(REFERENCES_COUNT).build();
+
+		assertThat(bookFile.getReferencesCount(), is(REFERENCES_COUNT));
+	}
+
+	@Test
+	public void shouldBuildWithStreamedContentAndContentLength() {
+		BookFile bookFile = aBookFile().withContent(new ByteArrayInputStream(CONTENT), CONTENT.length).build();
+
 		assertThat(blobBytes(bookFile.getContent()), is(equalTo(CONTENT)));
 		assertThat(bookFile.getContentLength(), is(CONTENT.length));
 	}
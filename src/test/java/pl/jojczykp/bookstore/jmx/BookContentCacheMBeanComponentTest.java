@@ -0,0 +1,135 @@
+package pl.jojczykp.bookstore.jmx;
+
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import pl.jojczykp.bookstore.caches.BookContentCache;
+import pl.jojczykp.bookstore.testutils.jmx.JmxClient;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static pl.jojczykp.bookstore.testutils.jmx.JmxClient.credentials;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration({
+		"classpath:spring/applicationContext/jmx-context.xml",
+		"classpath:spring/jmx-test-context.xml"
+})
+public class BookContentCacheMBeanComponentTest {
+
+	private static final String JMX_SERVICE_URL_PATTERN =
+			"service:jmx:rmi://localhost/jndi/rmi://localhost:%d/%s";
+	private static final String JMX_OBJECT_NAME = "custom.application.mbeans:name=BookContentCacheMBean";
+	private static final String USERNAME = "username";
+	private static final String PASSWORD = "password";
+	private static final long HITS_COUNT = 9;
+	private static final long MISSES_COUNT = 1;
+	private static final long RANGE_HITS_COUNT = 3;
+	private static final long RANGE_MISSES_COUNT = 1;
+	private static final long RESIDENT_BYTES = 1024;
+	private static final long RELEASED_BYTES = 512;
+	private static final long EVICTIONS_COUNT = 4;
+
+	@Autowired private AuthenticationManager authenticationManager;
+	@Autowired private BookContentCache bookContentCache;
+	@Value("${jmx.port}") private int jmxPort;
+	@Value("${jmx.connector.name}") private String jmxConnectorName;
+
+	private JmxClient jmxClient;
+
+	@Before
+	public void givenJmxConnection() {
+		givenAuthenticationMock();
+		establishJmxConnection();
+		reset(bookContentCache);
+	}
+
+	private void givenAuthenticationMock() {
+		reset(authenticationManager);
+		given(authenticationManager.authenticate(any(Authentication.class))).willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				Authentication arg = (Authentication) invocation.getArguments()[0];
+				return new UsernamePasswordAuthenticationToken(
+						arg.getPrincipal(), arg.getCredentials(), newHashSet(new SimpleGrantedAuthority("ROLE_JMX")));
+			}
+		});
+	}
+
+	private void establishJmxConnection() {
+		String jmxServiceUrl = String.format(JMX_SERVICE_URL_PATTERN, jmxPort, jmxConnectorName);
+		jmxClient = new JmxClient(jmxServiceUrl, credentials(USERNAME, PASSWORD), JMX_OBJECT_NAME);
+	}
+
+	@Test
+	public void shouldGetHitRate() {
+		given(bookContentCache.getHitsCount()).willReturn(HITS_COUNT);
+		given(bookContentCache.getMissesCount()).willReturn(MISSES_COUNT);
+
+		double hitRate = (double) jmxClient.invoke("getHitRate");
+
+		assertThat(hitRate, is(equalTo(0.9)));
+	}
+
+	@Test
+	public void shouldGetRangeHitRate() {
+		given(bookContentCache.getRangeHitsCount()).willReturn(RANGE_HITS_COUNT);
+		given(bookContentCache.getRangeMissesCount()).willReturn(RANGE_MISSES_COUNT);
+
+		double rangeHitRate = (double) jmxClient.invoke("getRangeHitRate");
+
+		assertThat(rangeHitRate, is(equalTo(0.75)));
+	}
+
+	@Test
+	public void shouldGetResidentBytes() {
+		given(bookContentCache.getResidentBytes()).willReturn(RESIDENT_BYTES);
+
+		long residentBytes = (long) jmxClient.invoke("getResidentBytes");
+
+		assertThat(residentBytes, is(equalTo(RESIDENT_BYTES)));
+	}
+
+	@Test
+	public void shouldGetReleasedBytes() {
+		given(bookContentCache.getReleasedBytes()).willReturn(RELEASED_BYTES);
+
+		long releasedBytes = (long) jmxClient.invoke("getReleasedBytes");
+
+		assertThat(releasedBytes, is(equalTo(RELEASED_BYTES)));
+	}
+
+	@Test
+	public void shouldGetEvictionsCount() {
+		given(bookContentCache.getEvictionsCount()).willReturn(EVICTIONS_COUNT);
+
+		long evictionsCount = (long) jmxClient.invoke("getEvictionsCount");
+
+		assertThat(evictionsCount, is(equalTo(EVICTIONS_COUNT)));
+	}
+
+	@Test
+	public void shouldClear() {
+		jmxClient.invoke("clear");
+
+		verify(bookContentCache).clear();
+	}
+
+}
@@ -0,0 +1,101 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.caches.BookContentCache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookContentCacheMBeanUnitTest {
+
+	private static final long HITS_COUNT = 3;
+	private static final long MISSES_COUNT = 1;
+	private static final long RANGE_HITS_COUNT = 1;
+	private static final long RANGE_MISSES_COUNT = 4;
+	private static final long RESIDENT_BYTES = 2048;
+	private static final long RELEASED_BYTES = 1024;
+	private static final long MAX_BYTES = 4096;
+	private static final int ENTRIES_COUNT = 2;
+	private static final long EVICTIONS_COUNT = 7;
+
+	@Mock private BookContentCache bookContentCache;
+
+	@InjectMocks private BookContentCacheMBean testee;
+
+	@Test
+	public void shouldGetHitRate() {
+		given(bookContentCache.getHitsCount()).willReturn(HITS_COUNT);
+		given(bookContentCache.getMissesCount()).willReturn(MISSES_COUNT);
+
+		assertThat(testee.getHitRate(), is(equalTo(0.75)));
+	}
+
+	@Test
+	public void shouldGetNoHitRateWhenNothingLookedUp() {
+		assertThat(testee.getHitRate(), is(equalTo(0.0)));
+	}
+
+	@Test
+	public void shouldGetRangeHitRate() {
+		given(bookContentCache.getRangeHitsCount()).willReturn(RANGE_HITS_COUNT);
+		given(bookContentCache.getRangeMissesCount()).willReturn(RANGE_MISSES_COUNT);
+
+		assertThat(testee.getRangeHitRate(), is(equalTo(0.2)));
+	}
+
+	@Test
+	public void shouldGetNoRangeHitRateWhenNoRangeLookedUp() {
+		assertThat(testee.getRangeHitRate(), is(equalTo(0.0)));
+	}
+
+	@Test
+	public void shouldGetResidentBytes() {
+		given(bookContentCache.getResidentBytes()).willReturn(RESIDENT_BYTES);
+
+		assertThat(testee.getResidentBytes(), is(equalTo(RESIDENT_BYTES)));
+	}
+
+	@Test
+	public void shouldGetReleasedBytes() {
+		given(bookContentCache.getReleasedBytes()).willReturn(RELEASED_BYTES);
+
+		assertThat(testee.getReleasedBytes(), is(equalTo(RELEASED_BYTES)));
+	}
+
+	@Test
+	public void shouldGetMaxBytes() {
+		given(bookContentCache.getMaxBytes()).willReturn(MAX_BYTES);
+
+		assertThat(testee.getMaxBytes(), is(equalTo(MAX_BYTES)));
+	}
+
+	@Test
+	public void shouldGetEntriesCount() {
+		given(bookContentCache.getEntriesCount()).willReturn(ENTRIES_COUNT);
+
+		assertThat(testee.getEntriesCount(), is(equalTo(ENTRIES_COUNT)));
+	}
+
+	@Test
+	public void shouldGetEvictionsCount() {
+		given(bookContentCache.getEvictionsCount()).willReturn(EVICTIONS_COUNT);
+
+		assertThat(testee.getEvictionsCount(), is(equalTo(EVICTIONS_COUNT)));
+	}
+
+	@Test
+	public void shouldClear() {
+		testee.clear();
+
+		verify(bookContentCache).clear();
+	}
+
+}
@@ -0,0 +1,51 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.stores.FilesystemBookContentStore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookContentMigrationMBeanUnitTest {
+
+	private static final int BATCH_SIZE = 100;
+
+	@Mock private BooksRepository booksRepository;
+	@Mock private FilesystemBookContentStore filesystemBookContentStore;
+
+	@InjectMocks private BookContentMigrationMBean testee;
+
+	@Test
+	public void shouldMigrateContentsInBatchesUntilNoneLeft() {
+		given(booksRepository.migrateBookFileContents(same(filesystemBookContentStore), anyInt()))
+				.willReturn(BATCH_SIZE, BATCH_SIZE, 7);
+
+		int migratedCount = testee.migrateToFilesystem();
+
+		assertThat(migratedCount, is(equalTo(2 * BATCH_SIZE + 7)));
+		verify(booksRepository, times(3)).migrateBookFileContents(filesystemBookContentStore, BATCH_SIZE);
+	}
+
+	@Test
+	public void shouldMigrateNothingWhenAllContentsAlreadyMigrated() {
+		given(booksRepository.migrateBookFileContents(same(filesystemBookContentStore), anyInt())).willReturn(0);
+
+		int migratedCount = testee.migrateToFilesystem();
+
+		assertThat(migratedCount, is(equalTo(0)));
+		verify(booksRepository).migrateBookFileContents(filesystemBookContentStore, BATCH_SIZE);
+	}
+
+}
@@ -0,0 +1,51 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookFilesDeduplicationMBeanUnitTest {
+
+	private static final long STORED_CONTENT_LENGTH = 400;
+	private static final long REFERENCED_CONTENT_LENGTH = 1000;
+
+	@Mock private BooksRepository booksRepository;
+
+	@InjectMocks private BookFilesDeduplicationMBean testee;
+
+	@Test
+	public void shouldGetDeduplicationRatio() {
+		givenContentLengths(STORED_CONTENT_LENGTH, REFERENCED_CONTENT_LENGTH);
+
+		assertThat(testee.getDeduplicationRatio(), is(equalTo(2.5)));
+	}
+
+	@Test
+	public void shouldGetNoDeduplicationRatioWhenNothingStored() {
+		givenContentLengths(0, 0);
+
+		assertThat(testee.getDeduplicationRatio(), is(equalTo(1.0)));
+	}
+
+	@Test
+	public void shouldGetBytesSaved() {
+		givenContentLengths(STORED_CONTENT_LENGTH, REFERENCED_CONTENT_LENGTH);
+
+		assertThat(testee.getBytesSaved(), is(equalTo(REFERENCED_CONTENT_LENGTH - STORED_CONTENT_LENGTH)));
+	}
+
+	private void givenContentLengths(long stored, long referenced) {
+		given(booksRepository.storedContentLength()).willReturn(stored);
+		given(booksRepository.referencedContentLength()).willReturn(referenced);
+	}
+
+}
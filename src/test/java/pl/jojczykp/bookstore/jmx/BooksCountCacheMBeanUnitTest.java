@@ -0,0 +1,47 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BooksCountCacheMBeanUnitTest {
+
+	private static final int COUNT = 34;
+	private static final int RESYNCS_COUNT = 5;
+
+	@Mock private BooksCountCache booksCountCache;
+
+	@InjectMocks private BooksCountCacheMBean testee;
+
+	@Test
+	public void shouldGetCount() {
+		given(booksCountCache.get()).willReturn(COUNT);
+
+		assertThat(testee.getCount(), is(equalTo(COUNT)));
+	}
+
+	@Test
+	public void shouldGetResyncsCount() {
+		given(booksCountCache.getResyncsCount()).willReturn(RESYNCS_COUNT);
+
+		assertThat(testee.getResyncsCount(), is(equalTo(RESYNCS_COUNT)));
+	}
+
+	@Test
+	public void shouldResync() {
+		testee.resync();
+
+		verify(booksCountCache).resync();
+	}
+
+}
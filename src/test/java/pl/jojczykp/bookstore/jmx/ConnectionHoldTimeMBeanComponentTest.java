@@ -0,0 +1,111 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimeMetric;
+import pl.jojczykp.bookstore.testutils.jmx.JmxClient;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static pl.jojczykp.bookstore.testutils.jmx.JmxClient.credentials;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration({
+		"classpath:spring/applicationContext/jmx-context.xml",
+		"classpath:spring/jmx-test-context.xml"
+})
+public class ConnectionHoldTimeMBeanComponentTest {
+
+	private static final String JMX_SERVICE_URL_PATTERN =
+			"service:jmx:rmi://localhost/jndi/rmi://localhost:%d/%s";
+	private static final String JMX_OBJECT_NAME = "custom.application.mbeans:name=ConnectionHoldTimeMBean";
+	private static final String USERNAME = "username";
+	private static final String PASSWORD = "password";
+	private static final long COUNT = 2;
+	private static final long TOTAL_NANOS = 3000000;
+	private static final long MAX_NANOS = 2000000;
+
+	@Autowired private AuthenticationManager authenticationManager;
+	@Autowired private ConnectionHoldTimeMetric connectionHoldTimeMetric;
+	@Value("${jmx.port}") private int jmxPort;
+	@Value("${jmx.connector.name}") private String jmxConnectorName;
+
+	private JmxClient jmxClient;
+
+	@Before
+	public void givenJmxConnection() {
+		givenAuthenticationMock();
+		establishJmxConnection();
+		reset(connectionHoldTimeMetric);
+	}
+
+	private void givenAuthenticationMock() {
+		reset(authenticationManager);
+		given(authenticationManager.authenticate(any(Authentication.class))).willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				Authentication arg = (Authentication) invocation.getArguments()[0];
+				return new UsernamePasswordAuthenticationToken(
+						arg.getPrincipal(), arg.getCredentials(), newHashSet(new SimpleGrantedAuthority("ROLE_JMX")));
+			}
+		});
+	}
+
+	private void establishJmxConnection() {
+		String jmxServiceUrl = String.format(JMX_SERVICE_URL_PATTERN, jmxPort, jmxConnectorName);
+		jmxClient = new JmxClient(jmxServiceUrl, credentials(USERNAME, PASSWORD), JMX_OBJECT_NAME);
+	}
+
+	@Test
+	public void shouldGetDownloadsCount() {
+		given(connectionHoldTimeMetric.getCount()).willReturn(COUNT);
+
+		long downloadsCount = (long) jmxClient.invoke("getDownloadsCount");
+
+		assertThat(downloadsCount, is(equalTo(COUNT)));
+	}
+
+	@Test
+	public void shouldGetAverageHoldMillis() {
+		given(connectionHoldTimeMetric.getCount()).willReturn(COUNT);
+		given(connectionHoldTimeMetric.getTotalNanos()).willReturn(TOTAL_NANOS);
+
+		double averageHoldMillis = (double) jmxClient.invoke("getAverageHoldMillis");
+
+		assertThat(averageHoldMillis, is(equalTo(1.5)));
+	}
+
+	@Test
+	public void shouldGetMaxHoldMillis() {
+		given(connectionHoldTimeMetric.getMaxNanos()).willReturn(MAX_NANOS);
+
+		double maxHoldMillis = (double) jmxClient.invoke("getMaxHoldMillis");
+
+		assertThat(maxHoldMillis, is(equalTo(2.0)));
+	}
+
+	@Test
+	public void shouldReset() {
+		jmxClient.invoke("reset");
+
+		verify(connectionHoldTimeMetric).reset();
+	}
+
+}
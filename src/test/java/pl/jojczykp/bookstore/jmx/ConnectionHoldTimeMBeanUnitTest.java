@@ -0,0 +1,68 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.metrics.ConnectionHoldTimeMetric;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionHoldTimeMBeanUnitTest {
+
+	private static final long COUNT = 4;
+	private static final long TOTAL_NANOS = 10000000;
+	private static final long MAX_NANOS = 5500000;
+
+	@Mock private ConnectionHoldTimeMetric connectionHoldTimeMetric;
+
+	@InjectMocks private ConnectionHoldTimeMBean testee;
+
+	@Test
+	public void shouldGetDownloadsCount() {
+		given(connectionHoldTimeMetric.getCount()).willReturn(COUNT);
+
+		assertThat(testee.getDownloadsCount(), is(equalTo(COUNT)));
+	}
+
+	@Test
+	public void shouldGetAverageHoldMillis() {
+		given(connectionHoldTimeMetric.getCount()).willReturn(COUNT);
+		given(connectionHoldTimeMetric.getTotalNanos()).willReturn(TOTAL_NANOS);
+
+		assertThat(testee.getAverageHoldMillis(), is(equalTo(2.5)));
+	}
+
+	@Test
+	public void shouldGetNoAverageHoldMillisWhenNothingMeasured() {
+		assertThat(testee.getAverageHoldMillis(), is(equalTo(0.0)));
+	}
+
+	@Test
+	public void shouldGetMaxHoldMillis() {
+		given(connectionHoldTimeMetric.getMaxNanos()).willReturn(MAX_NANOS);
+
+		assertThat(testee.getMaxHoldMillis(), is(equalTo(5.5)));
+	}
+
+	@Test
+	public void shouldGetTotalHoldMillis() {
+		given(connectionHoldTimeMetric.getTotalNanos()).willReturn(TOTAL_NANOS);
+
+		assertThat(testee.getTotalHoldMillis(), is(equalTo(10.0)));
+	}
+
+	@Test
+	public void shouldReset() {
+		testee.reset();
+
+		verify(connectionHoldTimeMetric).reset();
+	}
+
+}
@@ -0,0 +1,134 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import pl.jojczykp.bookstore.metrics.ConnectionAcquireMetric;
+import pl.jojczykp.bookstore.testutils.jmx.JmxClient;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static pl.jojczykp.bookstore.testutils.jmx.JmxClient.credentials;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration({
+		"classpath:spring/applicationContext/jmx-context.xml",
+		"classpath:spring/jmx-test-context.xml"
+})
+public class ConnectionPoolMBeanComponentTest {
+
+	private static final String JMX_SERVICE_URL_PATTERN =
+			"service:jmx:rmi://localhost/jndi/rmi://localhost:%d/%s";
+	private static final String JMX_OBJECT_NAME = "custom.application.mbeans:name=ConnectionPoolMBean";
+	private static final String USERNAME = "username";
+	private static final String PASSWORD = "password";
+	private static final int ACTIVE = 5;
+	private static final int REPLICA_ACTIVE = 4;
+	private static final int IN_PROGRESS = 3;
+	private static final long COUNT = 2;
+	private static final long PERCENTILE_95_NANOS = 2000000;
+
+	@Autowired private AuthenticationManager authenticationManager;
+	@Autowired @Qualifier("pooledDataSource") private BasicDataSource pooledDataSource;
+	@Autowired @Qualifier("replicaPooledDataSource") private BasicDataSource replicaPooledDataSource;
+	@Autowired private ConnectionAcquireMetric connectionAcquireMetric;
+	@Value("${jmx.port}") private int jmxPort;
+	@Value("${jmx.connector.name}") private String jmxConnectorName;
+
+	private JmxClient jmxClient;
+
+	@Before
+	public void givenJmxConnection() {
+		givenAuthenticationMock();
+		establishJmxConnection();
+		reset(connectionAcquireMetric, pooledDataSource, replicaPooledDataSource);
+	}
+
+	private void givenAuthenticationMock() {
+		reset(authenticationManager);
+		given(authenticationManager.authenticate(any(Authentication.class))).willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				Authentication arg = (Authentication) invocation.getArguments()[0];
+				return new UsernamePasswordAuthenticationToken(
+						arg.getPrincipal(), arg.getCredentials(), newHashSet(new SimpleGrantedAuthority("ROLE_JMX")));
+			}
+		});
+	}
+
+	private void establishJmxConnection() {
+		String jmxServiceUrl = String.format(JMX_SERVICE_URL_PATTERN, jmxPort, jmxConnectorName);
+		jmxClient = new JmxClient(jmxServiceUrl, credentials(USERNAME, PASSWORD), JMX_OBJECT_NAME);
+	}
+
+	@Test
+	public void shouldGetActiveConnections() {
+		given(pooledDataSource.getNumActive()).willReturn(ACTIVE);
+
+		int activeConnections = (int) jmxClient.invoke("getActiveConnections");
+
+		assertThat(activeConnections, is(equalTo(ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetReplicaActiveConnections() {
+		given(replicaPooledDataSource.getNumActive()).willReturn(REPLICA_ACTIVE);
+
+		int activeConnections = (int) jmxClient.invoke("getReplicaActiveConnections");
+
+		assertThat(activeConnections, is(equalTo(REPLICA_ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetAcquiresInProgress() {
+		given(connectionAcquireMetric.getInProgress()).willReturn(IN_PROGRESS);
+
+		int acquiresInProgress = (int) jmxClient.invoke("getAcquiresInProgress");
+
+		assertThat(acquiresInProgress, is(equalTo(IN_PROGRESS)));
+	}
+
+	@Test
+	public void shouldGetAcquiresCount() {
+		given(connectionAcquireMetric.getCount()).willReturn(COUNT);
+
+		long acquiresCount = (long) jmxClient.invoke("getAcquiresCount");
+
+		assertThat(acquiresCount, is(equalTo(COUNT)));
+	}
+
+	@Test
+	public void shouldGetAcquire95thPercentileMillis() {
+		given(connectionAcquireMetric.getPercentileNanos(95)).willReturn(PERCENTILE_95_NANOS);
+
+		double percentileMillis = (double) jmxClient.invoke("getAcquire95thPercentileMillis");
+
+		assertThat(percentileMillis, is(equalTo(2.0)));
+	}
+
+	@Test
+	public void shouldReset() {
+		jmxClient.invoke("reset");
+
+		verify(connectionAcquireMetric).reset();
+	}
+
+}
@@ -0,0 +1,139 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.metrics.ConnectionAcquireMetric;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionPoolMBeanUnitTest {
+
+	private static final int ACTIVE = 3;
+	private static final int IDLE = 2;
+	private static final int MAX_ACTIVE = 16;
+	private static final int REPLICA_ACTIVE = 6;
+	private static final int REPLICA_IDLE = 1;
+	private static final int REPLICA_MAX_ACTIVE = 8;
+	private static final int IN_PROGRESS = 4;
+	private static final long COUNT = 120;
+	private static final long FAILURES_COUNT = 7;
+	private static final long MEDIAN_NANOS = 1500000;
+	private static final long PERCENTILE_95_NANOS = 9500000;
+	private static final long PERCENTILE_99_NANOS = 25000000;
+
+	@Mock private BasicDataSource pooledDataSource;
+	@Mock private BasicDataSource replicaPooledDataSource;
+	@Mock private ConnectionAcquireMetric connectionAcquireMetric;
+
+	@InjectMocks private ConnectionPoolMBean testee;
+
+	@Test
+	public void shouldGetActiveConnections() {
+		given(pooledDataSource.getNumActive()).willReturn(ACTIVE);
+
+		assertThat(testee.getActiveConnections(), is(equalTo(ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetIdleConnections() {
+		given(pooledDataSource.getNumIdle()).willReturn(IDLE);
+
+		assertThat(testee.getIdleConnections(), is(equalTo(IDLE)));
+	}
+
+	@Test
+	public void shouldGetMaxActiveConnections() {
+		given(pooledDataSource.getMaxActive()).willReturn(MAX_ACTIVE);
+
+		assertThat(testee.getMaxActiveConnections(), is(equalTo(MAX_ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetNoConnectionsWithoutPool() {
+		setField(testee, "pooledDataSource", null);
+
+		assertThat(testee.getActiveConnections(), is(equalTo(0)));
+		assertThat(testee.getIdleConnections(), is(equalTo(0)));
+		assertThat(testee.getMaxActiveConnections(), is(equalTo(0)));
+	}
+
+	@Test
+	public void shouldGetReplicaActiveConnections() {
+		given(replicaPooledDataSource.getNumActive()).willReturn(REPLICA_ACTIVE);
+
+		assertThat(testee.getReplicaActiveConnections(), is(equalTo(REPLICA_ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetReplicaIdleConnections() {
+		given(replicaPooledDataSource.getNumIdle()).willReturn(REPLICA_IDLE);
+
+		assertThat(testee.getReplicaIdleConnections(), is(equalTo(REPLICA_IDLE)));
+	}
+
+	@Test
+	public void shouldGetReplicaMaxActiveConnections() {
+		given(replicaPooledDataSource.getMaxActive()).willReturn(REPLICA_MAX_ACTIVE);
+
+		assertThat(testee.getReplicaMaxActiveConnections(), is(equalTo(REPLICA_MAX_ACTIVE)));
+	}
+
+	@Test
+	public void shouldGetNoReplicaConnectionsWithoutReplicaPool() {
+		setField(testee, "replicaPooledDataSource", null);
+
+		assertThat(testee.getReplicaActiveConnections(), is(equalTo(0)));
+		assertThat(testee.getReplicaIdleConnections(), is(equalTo(0)));
+		assertThat(testee.getReplicaMaxActiveConnections(), is(equalTo(0)));
+	}
+
+	@Test
+	public void shouldGetAcquiresInProgress() {
+		given(connectionAcquireMetric.getInProgress()).willReturn(IN_PROGRESS);
+
+		assertThat(testee.getAcquiresInProgress(), is(equalTo(IN_PROGRESS)));
+	}
+
+	@Test
+	public void shouldGetAcquiresCount() {
+		given(connectionAcquireMetric.getCount()).willReturn(COUNT);
+
+		assertThat(testee.getAcquiresCount(), is(equalTo(COUNT)));
+	}
+
+	@Test
+	public void shouldGetAcquireFailuresCount() {
+		given(connectionAcquireMetric.getFailuresCount()).willReturn(FAILURES_COUNT);
+
+		assertThat(testee.getAcquireFailuresCount(), is(equalTo(FAILURES_COUNT)));
+	}
+
+	@Test
+	public void shouldGetAcquirePercentilesMillis() {
+		given(connectionAcquireMetric.getPercentileNanos(50)).willReturn(MEDIAN_NANOS);
+		given(connectionAcquireMetric.getPercentileNanos(95)).willReturn(PERCENTILE_95_NANOS);
+		given(connectionAcquireMetric.getPercentileNanos(99)).willReturn(PERCENTILE_99_NANOS);
+
+		assertThat(testee.getAcquireMedianMillis(), is(equalTo(1.5)));
+		assertThat(testee.getAcquire95thPercentileMillis(), is(equalTo(9.5)));
+		assertThat(testee.getAcquire99thPercentileMillis(), is(equalTo(25.0)));
+	}
+
+	@Test
+	public void shouldReset() {
+		testee.reset();
+
+		verify(connectionAcquireMetric).reset();
+	}
+
+}
@@ -0,0 +1,121 @@
+package pl.jojczykp.bookstore.jmx;
+
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import pl.jojczykp.bookstore.testutils.jmx.JmxClient;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static pl.jojczykp.bookstore.testutils.jmx.JmxClient.credentials;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration({
+		"classpath:spring/applicationContext/jmx-context.xml",
+		"classpath:spring/jmx-test-context.xml"
+})
+public class EntityCacheMBeanComponentTest {
+
+	private static final String JMX_SERVICE_URL_PATTERN =
+			"service:jmx:rmi://localhost/jndi/rmi://localhost:%d/%s";
+	private static final String JMX_OBJECT_NAME = "custom.application.mbeans:name=EntityCacheMBean";
+	private static final String USERNAME = "username";
+	private static final String PASSWORD = "password";
+	private static final String REGION = "someRegion";
+	private static final long HIT_COUNT = 12;
+	private static final long MISS_COUNT = 3;
+	private static final long EVICTION_COUNT = 1;
+
+	@Autowired private AuthenticationManager authenticationManager;
+	@Autowired private CacheManager cacheManager;
+	@Value("${jmx.port}") private int jmxPort;
+	@Value("${jmx.connector.name}") private String jmxConnectorName;
+
+	private JmxClient jmxClient;
+
+	@Before
+	public void givenJmxConnection() {
+		givenAuthenticationMock();
+		establishJmxConnection();
+		givenCacheManagerMock();
+	}
+
+	private void givenAuthenticationMock() {
+		reset(authenticationManager);
+		given(authenticationManager.authenticate(any(Authentication.class))).willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				Authentication arg = (Authentication) invocation.getArguments()[0];
+				return new UsernamePasswordAuthenticationToken(
+						arg.getPrincipal(), arg.getCredentials(), newHashSet(new SimpleGrantedAuthority("ROLE_JMX")));
+			}
+		});
+	}
+
+	private void givenCacheManagerMock() {
+		Cache cache = mock(Cache.class);
+		Statistics statistics = mock(Statistics.class);
+		reset(cacheManager);
+		given(cacheManager.getCacheNames()).willReturn(new String[] {REGION});
+		given(cacheManager.getCache(REGION)).willReturn(cache);
+		given(cache.getStatistics()).willReturn(statistics);
+		given(statistics.getCacheHits()).willReturn(HIT_COUNT);
+		given(statistics.getCacheMisses()).willReturn(MISS_COUNT);
+		given(statistics.getEvictionCount()).willReturn(EVICTION_COUNT);
+	}
+
+	private void establishJmxConnection() {
+		String jmxServiceUrl = String.format(JMX_SERVICE_URL_PATTERN, jmxPort, jmxConnectorName);
+		jmxClient = new JmxClient(jmxServiceUrl, credentials(USERNAME, PASSWORD), JMX_OBJECT_NAME);
+	}
+
+	@Test
+	public void shouldGetRegionNames() {
+		String[] regionNames = (String[]) jmxClient.invoke("getRegionNames");
+
+		assertThat(regionNames, is(arrayContaining(REGION)));
+	}
+
+	@Test
+	public void shouldGetHitCount() {
+		long hitCount = (long) jmxClient.invoke("getHitCount", REGION);
+
+		assertThat(hitCount, is(equalTo(HIT_COUNT)));
+	}
+
+	@Test
+	public void shouldGetMissCount() {
+		long missCount = (long) jmxClient.invoke("getMissCount", REGION);
+
+		assertThat(missCount, is(equalTo(MISS_COUNT)));
+	}
+
+	@Test
+	public void shouldGetEvictionCount() {
+		long evictionCount = (long) jmxClient.invoke("getEvictionCount", REGION);
+
+		assertThat(evictionCount, is(equalTo(EVICTION_COUNT)));
+	}
+
+}
@@ -0,0 +1,77 @@
+package pl.jojczykp.bookstore.jmx;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Statistics;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityCacheMBeanUnitTest {
+
+	private static final String REGION = "someRegion";
+	private static final String OTHER_REGION = "otherRegion";
+	private static final String UNKNOWN_REGION = "unknownRegion";
+	private static final long HIT_COUNT = 17;
+	private static final long MISS_COUNT = 4;
+	private static final long EVICTION_COUNT = 2;
+
+	@Rule public ExpectedException expectedException = ExpectedException.none();
+
+	@Mock private CacheManager cacheManager;
+	@Mock private Cache cache;
+	@Mock private Statistics statistics;
+
+	@InjectMocks private EntityCacheMBean testee;
+
+	@Before
+	public void setUp() {
+		given(cacheManager.getCacheNames()).willReturn(new String[] {REGION, OTHER_REGION});
+		given(cacheManager.getCache(REGION)).willReturn(cache);
+		given(cache.getStatistics()).willReturn(statistics);
+		given(statistics.getCacheHits()).willReturn(HIT_COUNT);
+		given(statistics.getCacheMisses()).willReturn(MISS_COUNT);
+		given(statistics.getEvictionCount()).willReturn(EVICTION_COUNT);
+	}
+
+	@Test
+	public void shouldGetRegionNames() {
+		assertThat(testee.getRegionNames(), is(arrayContaining(REGION, OTHER_REGION)));
+	}
+
+	@Test
+	public void shouldGetHitCount() {
+		assertThat(testee.getHitCount(REGION), is(equalTo(HIT_COUNT)));
+	}
+
+	@Test
+	public void shouldGetMissCount() {
+		assertThat(testee.getMissCount(REGION), is(equalTo(MISS_COUNT)));
+	}
+
+	@Test
+	public void shouldGetEvictionCount() {
+		assertThat(testee.getEvictionCount(REGION), is(equalTo(EVICTION_COUNT)));
+	}
+
+	@Test
+	public void shouldFailOnUnknownRegion() {
+		expectedException.expect(IllegalArgumentException.class);
+		expectedException.expectMessage("Unknown cache region: " + UNKNOWN_REGION);
+
+		testee.getHitCount(UNKNOWN_REGION);
+	}
+
+}
@@ -0,0 +1,80 @@
+package pl.jojczykp.bookstore.jmx;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
+import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.utils.TitleCollator;
+
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TitleCollationMBeanUnitTest {
+
+	private static final int RECOMPUTED_COUNT = 3;
+	private static final Locale COLLATION_LOCALE = new Locale("sv", "SE");
+
+	@Mock private BooksRepository booksRepository;
+	@Mock private BooksPageCache booksPageCache;
+	@Mock private TitleCollator titleCollator;
+	@Mock private ApplicationContext applicationContext;
+	@Mock private ApplicationContext parentApplicationContext;
+
+	@InjectMocks private TitleCollationMBean testee;
+
+	@Before
+	public void setupMock() {
+		given(titleCollator.getCollationLocale()).willReturn(COLLATION_LOCALE);
+	}
+
+	@Test
+	public void shouldGetCollationLocale() {
+		assertThat(testee.getCollationLocale(), is(equalTo("sv_SE")));
+	}
+
+	@Test
+	public void shouldRecomputeCollationKeys() {
+		given(booksRepository.recomputeTitleCollationKeys()).willReturn(RECOMPUTED_COUNT);
+
+		assertThat(testee.recomputeCollationKeys(), is(equalTo(RECOMPUTED_COUNT)));
+		verify(booksPageCache).bumpCatalogVersion();
+	}
+
+	@Test
+	public void shouldNotBumpCatalogVersionWhenNothingRecomputed() {
+		given(booksRepository.recomputeTitleCollationKeys()).willReturn(0);
+
+		assertThat(testee.recomputeCollationKeys(), is(equalTo(0)));
+		verifyZeroInteractions(booksPageCache);
+	}
+
+	@Test
+	public void shouldRecomputeCollationKeysWhenRootContextRefreshed() {
+		testee.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+
+		verify(booksRepository).recomputeTitleCollationKeys();
+	}
+
+	@Test
+	public void shouldNotRecomputeCollationKeysWhenChildContextRefreshed() {
+		given(applicationContext.getParent()).willReturn(parentApplicationContext);
+
+		testee.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+
+		verifyZeroInteractions(booksRepository);
+	}
+
+}
@@ -0,0 +1,93 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class ConnectionAcquireMetricUnitTest {
+
+	private static final int SAMPLES_CAPACITY = 1024;
+	private static final int SAMPLES_COUNT = 100;
+	private static final long OLD_NANOS = 1000000;
+	private static final double MEDIAN = 50;
+	private static final double PERCENTILE_95 = 95;
+	private static final double PERCENTILE_100 = 100;
+
+	private ConnectionAcquireMetric testee = new ConnectionAcquireMetric();
+
+	@Test
+	public void shouldHaveNoMeasurementsInitially() {
+		assertThat(testee.getInProgress(), is(equalTo(0)));
+		assertThat(testee.getCount(), is(equalTo(0L)));
+		assertThat(testee.getFailuresCount(), is(equalTo(0L)));
+		assertThat(testee.getPercentileNanos(MEDIAN), is(equalTo(0L)));
+	}
+
+	@Test
+	public void shouldCountInProgressUntilAcquired() {
+		testee.acquireStarted();
+		testee.acquireStarted();
+
+		assertThat(testee.getInProgress(), is(equalTo(2)));
+
+		testee.acquired(1);
+
+		assertThat(testee.getInProgress(), is(equalTo(1)));
+		assertThat(testee.getCount(), is(equalTo(1L)));
+	}
+
+	@Test
+	public void shouldCountFailures() {
+		testee.acquireStarted();
+
+		testee.acquireFailed();
+
+		assertThat(testee.getInProgress(), is(equalTo(0)));
+		assertThat(testee.getFailuresCount(), is(equalTo(1L)));
+		assertThat(testee.getCount(), is(equalTo(0L)));
+	}
+
+	@Test
+	public void shouldComputePercentiles() {
+		givenAcquiredWithNanos(1, SAMPLES_COUNT);
+
+		assertThat(testee.getPercentileNanos(MEDIAN), is(equalTo(50L)));
+		assertThat(testee.getPercentileNanos(PERCENTILE_95), is(equalTo(95L)));
+		assertThat(testee.getPercentileNanos(PERCENTILE_100), is(equalTo(100L)));
+		assertThat(testee.getPercentileNanos(0), is(equalTo(1L)));
+	}
+
+	@Test
+	public void shouldComputePercentilesOfRecentSamplesOnly() {
+		for (int i = 0; i < SAMPLES_CAPACITY; i++) {
+			givenAcquiredWithNanos(OLD_NANOS, OLD_NANOS);
+		}
+		givenAcquiredWithNanos(1, SAMPLES_CAPACITY);
+
+		assertThat(testee.getPercentileNanos(PERCENTILE_100), is(equalTo((long) SAMPLES_CAPACITY)));
+		assertThat(testee.getCount(), is(equalTo(2L * SAMPLES_CAPACITY)));
+	}
+
+	@Test
+	public void shouldReset() {
+		givenAcquiredWithNanos(1, SAMPLES_COUNT);
+		testee.acquireStarted();
+		testee.acquireFailed();
+
+		testee.reset();
+
+		assertThat(testee.getCount(), is(equalTo(0L)));
+		assertThat(testee.getFailuresCount(), is(equalTo(0L)));
+		assertThat(testee.getPercentileNanos(MEDIAN), is(equalTo(0L)));
+	}
+
+	private void givenAcquiredWithNanos(long from, long to) {
+		for (long nanos = from; nanos <= to; nanos++) {
+			testee.acquireStarted();
+			testee.acquired(nanos);
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class ConnectionHoldTimeMetricUnitTest {
+
+	private static final long SHORT_NANOS = 1000;
+	private static final long LONG_NANOS = 5000;
+
+	private ConnectionHoldTimeMetric testee = new ConnectionHoldTimeMetric();
+
+	@Test
+	public void shouldHaveNoMeasurementsInitially() {
+		assertThat(testee.getCount(), is(equalTo(0L)));
+		assertThat(testee.getTotalNanos(), is(equalTo(0L)));
+		assertThat(testee.getMaxNanos(), is(equalTo(0L)));
+	}
+
+	@Test
+	public void shouldRecordHoldTimes() {
+		testee.record(SHORT_NANOS);
+		testee.record(LONG_NANOS);
+		testee.record(SHORT_NANOS);
+
+		assertThat(testee.getCount(), is(equalTo(3L)));
+		assertThat(testee.getTotalNanos(), is(equalTo(SHORT_NANOS + LONG_NANOS + SHORT_NANOS)));
+		assertThat(testee.getMaxNanos(), is(equalTo(LONG_NANOS)));
+	}
+
+	@Test
+	public void shouldReset() {
+		testee.record(LONG_NANOS);
+
+		testee.reset();
+
+		assertThat(testee.getCount(), is(equalTo(0L)));
+		assertThat(testee.getTotalNanos(), is(equalTo(0L)));
+		assertThat(testee.getMaxNanos(), is(equalTo(0L)));
+	}
+
+}
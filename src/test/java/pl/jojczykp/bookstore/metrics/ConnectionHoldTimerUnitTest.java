@@ -0,0 +1,59 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.junit.Test;
+
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+public class ConnectionHoldTimerUnitTest {
+
+	private static final long HOLD_MILLIS = 5;
+
+	private ConnectionHoldTimer testee = new ConnectionHoldTimer();
+
+	@Test
+	public void shouldHaveNoHoldTimeInitially() {
+		assertThat(testee.getHeldNanos(), is(equalTo(0L)));
+	}
+
+	@Test
+	public void shouldMeasureHoldTime() throws InterruptedException {
+		holdFor(HOLD_MILLIS);
+
+		assertThat(testee.getHeldNanos(), is(greaterThanOrEqualTo(nanosOf(HOLD_MILLIS))));
+	}
+
+	@Test
+	public void shouldSumHoldTimes() throws InterruptedException {
+		holdFor(HOLD_MILLIS);
+		holdFor(HOLD_MILLIS);
+
+		assertThat(testee.getHeldNanos(), is(greaterThanOrEqualTo(nanosOf(2 * HOLD_MILLIS))));
+	}
+
+	@Test
+	public void shouldNotCountTimeBetweenHolds() throws InterruptedException {
+		holdFor(0);
+		long heldNanos = testee.getHeldNanos();
+
+		sleep(HOLD_MILLIS);
+
+		assertThat(testee.getHeldNanos(), is(equalTo(heldNanos)));
+	}
+
+	private void holdFor(long millis) throws InterruptedException {
+		testee.started();
+		sleep(millis);
+		testee.stopped();
+	}
+
+	private static long nanosOf(long millis) {
+		return NANOSECONDS.convert(millis, MILLISECONDS);
+	}
+
+}
@@ -0,0 +1,102 @@
+package pl.jojczykp.bookstore.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MeteredDataSourceUnitTest {
+
+	private static final String USERNAME = "username";
+	private static final String PASSWORD = "password";
+
+	@Mock private DataSource targetDataSource;
+	@Mock private Connection connection;
+	@Mock private ConnectionAcquireMetric connectionAcquireMetric;
+
+	@InjectMocks private MeteredDataSource testee;
+
+	@Before
+	public void setUp() {
+		testee.setTargetDataSource(targetDataSource);
+	}
+
+	@Test
+	public void shouldRecordAcquiredConnection() throws SQLException {
+		given(targetDataSource.getConnection()).willReturn(connection);
+
+		Connection acquired = testee.getConnection();
+
+		assertThat(acquired, is(sameInstance(connection)));
+		InOrder inOrder = inOrder(connectionAcquireMetric, targetDataSource);
+		inOrder.verify(connectionAcquireMetric).acquireStarted();
+		inOrder.verify(targetDataSource).getConnection();
+		inOrder.verify(connectionAcquireMetric).acquired(anyLong());
+	}
+
+	@Test
+	public void shouldRecordFailedAcquire() throws SQLException {
+		SQLException exception = new SQLException("Pool exhausted");
+		given(targetDataSource.getConnection()).willThrow(exception);
+
+		try {
+			testee.getConnection();
+			fail("Exception expected");
+		} catch (SQLException e) {
+			assertThat(e, is(sameInstance(exception)));
+		}
+
+		verify(connectionAcquireMetric).acquireStarted();
+		verify(connectionAcquireMetric).acquireFailed();
+		verify(connectionAcquireMetric, never()).acquired(anyLong());
+	}
+
+	@Test
+	public void shouldRecordAcquiredConnectionForGivenCredentials() throws SQLException {
+		given(targetDataSource.getConnection(USERNAME, PASSWORD)).willReturn(connection);
+
+		Connection acquired = testee.getConnection(USERNAME, PASSWORD);
+
+		assertThat(acquired, is(sameInstance(connection)));
+		InOrder inOrder = inOrder(connectionAcquireMetric, targetDataSource);
+		inOrder.verify(connectionAcquireMetric).acquireStarted();
+		inOrder.verify(targetDataSource).getConnection(USERNAME, PASSWORD);
+		inOrder.verify(connectionAcquireMetric).acquired(anyLong());
+	}
+
+	@Test
+	public void shouldRecordFailedAcquireForGivenCredentials() throws SQLException {
+		SQLException exception = new SQLException("Pool exhausted");
+		given(targetDataSource.getConnection(USERNAME, PASSWORD)).willThrow(exception);
+
+		try {
+			testee.getConnection(USERNAME, PASSWORD);
+			fail("Exception expected");
+		} catch (SQLException e) {
+			assertThat(e, is(sameInstance(exception)));
+		}
+
+		verify(connectionAcquireMetric).acquireStarted();
+		verify(connectionAcquireMetric).acquireFailed();
+		verify(connectionAcquireMetric, never()).acquired(anyLong());
+	}
+
+}
@@ -1,18 +1,26 @@
 package pl.jojczykp.bookstore.repositories;
 
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.jojczykp.bookstore.entities.User;
 import pl.jojczykp.bookstore.testutils.repositories.BooksRepositorySpy;
 
+import static org.hibernate.FlushMode.MANUAL;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
 import static pl.jojczykp.bookstore.testutils.builders.AuthorityBuilder.anAuthority;
 import static pl.jojczykp.bookstore.testutils.builders.UserBuilder.anUser;
 import static pl.jojczykp.bookstore.testutils.repositories.BooksRepositorySpy.ID_TO_GENERATE;
@@ -37,6 +45,8 @@ public class AuthRepositoryIntegrationTest {
 			.build();
 
 	@Autowired private BooksRepositorySpy booksRepositorySpy;
+	@Autowired private SessionFactory sessionFactory;
+	@Autowired private PlatformTransactionManager transactionManager;
 	@Autowired private AuthRepository testee;
 
 	@Test
@@ -66,6 +76,49 @@ public class AuthRepositoryIntegrationTest {
 		assertThat(foundUser, samePropertyValuesAs(userB));
 	}
 
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldFindUserReadOnlyInReadOnlyTransaction() {
+		inTransaction(false, givenRepositoryWithCallback(userA));
+		try {
+			boolean readOnly = inTransaction(true, new TransactionCallback<Boolean>() {
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+					User foundUser = testee.findByName(userA.getName());
+					Session session = sessionFactory.getCurrentSession();
+					return session.isReadOnly(foundUser) && session.getFlushMode() == MANUAL;
+				}
+			});
+
+			assertThat(readOnly, is(true));
+		} finally {
+			inTransaction(false, new TransactionCallback<Object>() {
+				@Override
+				public Object doInTransaction(TransactionStatus status) {
+					sessionFactory.getCurrentSession().delete(testee.findByName(userA.getName()));
+					return null;
+				}
+			});
+		}
+	}
+
+	private TransactionCallback<Object> givenRepositoryWithCallback(final User... users) {
+		return new TransactionCallback<Object>() {
+			@Override
+			public Object doInTransaction(TransactionStatus status) {
+				givenRepositoryWith(users);
+				return null;
+			}
+		};
+	}
+
+	private <T> T inTransaction(boolean readOnly, TransactionCallback<T> callback) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(readOnly);
+
+		return transactionTemplate.execute(callback);
+	}
+
 	private void givenRepositoryWith(User... users) {
 		booksRepositorySpy.givenRepositoryWith((Object[]) users);
 	}
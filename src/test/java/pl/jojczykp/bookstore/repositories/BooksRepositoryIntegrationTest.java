@@ -1,32 +1,94 @@
 package pl.jojczykp.bookstore.repositories;
 
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import org.apache.commons.io.input.NullInputStream;
 import org.hibernate.ObjectNotFoundException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.hibernate.StaleObjectStateException;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ReflectionUtils;
 import pl.jojczykp.bookstore.entities.Book;
 import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.entities.BookSummary;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+import pl.jojczykp.bookstore.stores.FilesystemBookContentStore;
 import pl.jojczykp.bookstore.testutils.repositories.BooksRepositorySpy;
+import pl.jojczykp.bookstore.testutils.repositories.RecordingSqlInterceptor;
+import pl.jojczykp.bookstore.utils.PageSeek;
+import pl.jojczykp.bookstore.utils.PageSeekDirection;
 import pl.jojczykp.bookstore.utils.PageSorterColumn;
 import pl.jojczykp.bookstore.utils.PageSorterDirection;
+import pl.jojczykp.bookstore.utils.TitleCollator;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOfRange;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hibernate.FlushMode.MANUAL;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+import static pl.jojczykp.bookstore.consts.BooksConsts.BOOK_FILES_CACHE_REGION;
 import static pl.jojczykp.bookstore.entities.builders.BookBuilder.aBook;
 import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
 import static pl.jojczykp.bookstore.testutils.matchers.IsBookEqualTo.isBookEqualTo;
 import static pl.jojczykp.bookstore.testutils.matchers.IsBookFileEqualTo.isBookFileEqualTo;
+import static pl.jojczykp.bookstore.testutils.matchers.IsBookSummaryOf.isBookSummaryOf;
 import static pl.jojczykp.bookstore.testutils.repositories.BooksRepositorySpy.ID_TO_GENERATE;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobInputStream;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.PREV;
 import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE_COLLATED;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
 
@@ -35,7 +97,12 @@ import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
 @Transactional
 public class BooksRepositoryIntegrationTest {
 
+	private static final int MANY_BOOKS_COUNT = 10000;
+	private static final int LARGE_CONTENT_LENGTH = 5 * 1024 * 1024;
+	private static final byte[] SHARED_CONTENT = {1, 2, 3, 4};
+	private static final byte[] OTHER_CONTENT = {5, 6, 7};
 	private static final int OLD_VERSION = 3;
+	private static final String BOOK_FILE_CONTENTS_TABLE = "BOOK_FILE_CONTENTS";
 	private static final String OLD_TITLE = "Old Title";
 	private static final String NEW_TITLE = "New Title";
 
@@ -54,10 +121,40 @@ public class BooksRepositoryIntegrationTest {
 													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
 	private Book bookLowCaseC = aBook().withId(ID_TO_GENERATE).withVersion(2).withTitle("Book Title c")
 													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+	private Book bookOtherC = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title C")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
 
+	private Book bookLody = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("lody")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+	private Book bookLos = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("\u0142o\u015b")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+	private Book bookMysz = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Mysz")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+	private Book bookZebra = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Zebra")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+	private Book bookZolw = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("\u017b\u00f3\u0142w")
+													.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+
+	@Autowired private SessionFactory sessionFactory;
+	@Autowired private PlatformTransactionManager transactionManager;
 	@Autowired private BooksRepositorySpy booksRepositorySpy;
+	@Autowired private RecordingSqlInterceptor recordingSqlInterceptor;
+	@Autowired private TitleCollator titleCollator;
+	@Autowired private BookContentStore bookContentStore;
 	@Autowired private BooksRepository testee;
 
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@After
+	public void restoreIgnoreCaseWhileSort() throws NoSuchFieldException {
+		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
+	}
+
+	@After
+	public void restoreBookContentStore() throws Exception {
+		givenBookContentStore(bookContentStore);
+	}
+
 	@Test
 	public void shouldComputeTotalCountOfBooks() {
 		final Book[] givenBooks = {bookA, bookB, bookC, bookD, bookE};
@@ -72,9 +169,9 @@ public class BooksRepositoryIntegrationTest {
 		final int size = 3;
 		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
 
-		List<Book> readBooks = testee.read(offset, size, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(offset, size, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
-		assertThatListContainsOnly(readBooks, bookB, bookC, bookD);
+		assertThatSummariesOf(readBooks, bookB, bookC, bookD);
 	}
 
 	@Test
@@ -82,9 +179,9 @@ public class BooksRepositoryIntegrationTest {
 		final Book[] givenBooks = {bookA, bookB, bookC, bookD, bookE};
 		givenRepositoryWith(givenBooks);
 
-		List<Book> readBooks = testee.read(2, givenBooks.length + 1, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(2, givenBooks.length + 1, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
-		assertThatListContainsOnly(readBooks, bookC, bookD, bookE);
+		assertThatSummariesOf(readBooks, bookC, bookD, bookE);
 	}
 
 	@Test
@@ -93,9 +190,9 @@ public class BooksRepositoryIntegrationTest {
 		final Book[] givenBooks = {bookA, bookB, bookC};
 		givenRepositoryWith(givenBooks);
 
-		List<Book> readBooks = testee.read(negativeOffset, 2, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(negativeOffset, 2, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
-		assertThatListContainsOnly(readBooks, bookA, bookB);
+		assertThatSummariesOf(readBooks, bookA, bookB);
 	}
 
 	@Test
@@ -105,7 +202,7 @@ public class BooksRepositoryIntegrationTest {
 		final int anySize = 8;
 		givenRepositoryWith(givenBooks);
 
-		List<Book> readBooks = testee.read(outOfRangeOffset, anySize, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(outOfRangeOffset, anySize, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
 		assertThat(readBooks.size(), is(0));
 	}
@@ -116,7 +213,7 @@ public class BooksRepositoryIntegrationTest {
 		final int negativeSize = -1;
 		givenRepositoryWith(bookA, bookB);
 
-		List<Book> readBooks = testee.read(anyOffset, negativeSize, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(anyOffset, negativeSize, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
 		assertThat(readBooks.size(), is(0));
 	}
@@ -126,7 +223,7 @@ public class BooksRepositoryIntegrationTest {
 		final int anyOffset = 7;
 		givenRepositoryWith(bookA, bookB);
 
-		List<Book> readBooks = testee.read(anyOffset, 0, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		List<BookSummary> readBooks = testee.read(anyOffset, 0, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
 
 		assertThat(readBooks.size(), is(0));
 	}
@@ -137,9 +234,9 @@ public class BooksRepositoryIntegrationTest {
 		givenRepositoryWith(givenBooks);
 		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
 
-		List<Book> readBooks = testee.read(0, givenBooks.length, SAMPLE_SORT_COLUMN, ASC);
+		List<BookSummary> readBooks = testee.read(0, givenBooks.length, SAMPLE_SORT_COLUMN, ASC);
 
-		assertThatListContainsOnly(readBooks, bookA, bookB, bookC);
+		assertThatSummariesOf(readBooks, bookA, bookB, bookC);
 	}
 
 	@Test
@@ -148,9 +245,9 @@ public class BooksRepositoryIntegrationTest {
 		givenRepositoryWith(givenBooks);
 		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
 
-		List<Book> readBooks = testee.read(0, givenBooks.length, SAMPLE_SORT_COLUMN, DESC);
+		List<BookSummary> readBooks = testee.read(0, givenBooks.length, SAMPLE_SORT_COLUMN, DESC);
 
-		assertThatListContainsOnly(readBooks, bookC, bookB, bookA);
+		assertThatSummariesOf(readBooks, bookC, bookB, bookA);
 	}
 
 	@Test
@@ -158,9 +255,9 @@ public class BooksRepositoryIntegrationTest {
 		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
 		givenRepositoryWith(bookLowCaseC, bookA);
 
-		List<Book> readBooks = testee.read(0, 2, SAMPLE_SORT_COLUMN, ASC);
+		List<BookSummary> readBooks = testee.read(0, 2, SAMPLE_SORT_COLUMN, ASC);
 
-		assertThatListContainsOnly(readBooks, bookA, bookLowCaseC);
+		assertThatSummariesOf(readBooks, bookA, bookLowCaseC);
 	}
 
 	@Test
@@ -168,9 +265,189 @@ public class BooksRepositoryIntegrationTest {
 		givenIgnoreCaseWhileSort(BOOK_TITLE, false);
 		givenRepositoryWith(bookLowCaseC, bookD);
 
-		List<Book> readBooks = testee.read(0, 2, SAMPLE_SORT_COLUMN, ASC);
+		List<BookSummary> readBooks = testee.read(0, 2, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookD, bookLowCaseC);
+	}
+
+	@Test
+	public void shouldReadBooksOrderingByLocaleCollation() {
+		givenRepositoryWithCreated(bookZolw, bookMysz, bookLos, bookZebra, bookLody);
+
+		List<BookSummary> readBooks = testee.read(0, 5, BOOK_TITLE_COLLATED, ASC);
+
+		assertThatSummariesOf(readBooks, bookLody, bookLos, bookMysz, bookZebra, bookZolw);
+	}
+
+	@Test
+	public void shouldReadBooksOrderingByLocaleCollationDesc() {
+		givenRepositoryWithCreated(bookZolw, bookMysz, bookLos, bookZebra, bookLody);
+
+		List<BookSummary> readBooks = testee.read(0, 5, BOOK_TITLE_COLLATED, DESC);
+
+		assertThatSummariesOf(readBooks, bookZolw, bookZebra, bookMysz, bookLos, bookLody);
+	}
+
+	@Test
+	public void shouldSeekNextBooksOrderingByLocaleCollation() {
+		givenRepositoryWithCreated(bookZolw, bookMysz, bookLos, bookZebra, bookLody);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookLos), 2, BOOK_TITLE_COLLATED, ASC);
 
-		assertThatListContainsOnly(readBooks, bookD, bookLowCaseC);
+		assertThatSummariesOf(readBooks, bookMysz, bookZebra);
+	}
+
+	@Test
+	public void shouldSeekPrevBooksOrderingByLocaleCollation() {
+		givenRepositoryWithCreated(bookZolw, bookMysz, bookLos, bookZebra, bookLody);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(PREV, bookZolw), 2, BOOK_TITLE_COLLATED, ASC);
+
+		assertThatSummariesOf(readBooks, bookMysz, bookZebra);
+	}
+
+	@Test
+	public void shouldSeekNextBooksOrderingAsc() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookB), 2, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookC, bookD);
+	}
+
+	@Test
+	public void shouldSeekNextBooksOrderingDesc() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookD), 2, SAMPLE_SORT_COLUMN, DESC);
+
+		assertThatSummariesOf(readBooks, bookC, bookB);
+	}
+
+	@Test
+	public void shouldSeekPrevBooksOrderingAsc() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(PREV, bookD), 2, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookB, bookC);
+	}
+
+	@Test
+	public void shouldSeekPrevBooksOrderingDesc() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(PREV, bookB), 2, SAMPLE_SORT_COLUMN, DESC);
+
+		assertThatSummariesOf(readBooks, bookD, bookC);
+	}
+
+	@Test
+	public void shouldSeekLessBooksThanSizeNearEdge() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD, bookE);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookD), 3, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookE);
+	}
+
+	@Test
+	public void shouldSeekBooksHavingEqualTitlesById() {
+		givenRepositoryWith(bookB, bookC, bookOtherC, bookD);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookC), 2, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookOtherC, bookD);
+	}
+
+	@Test
+	public void shouldSeekBooksCaseInsensitively() throws NoSuchFieldException {
+		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
+		givenRepositoryWith(bookLowCaseC, bookB, bookD);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookB), 1, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookLowCaseC);
+	}
+
+	@Test
+	public void shouldSeekBooksCaseSensitively() throws NoSuchFieldException {
+		givenIgnoreCaseWhileSort(BOOK_TITLE, false);
+		givenRepositoryWith(bookLowCaseC, bookB, bookD);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookB), 1, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThatSummariesOf(readBooks, bookD);
+	}
+
+	@Test
+	public void shouldSeekEmptyBooksListWhenGivenZeroSize() {
+		givenRepositoryWith(bookA, bookB, bookC);
+
+		List<BookSummary> readBooks = testee.read(aPageSeek(NEXT, bookA), 0, SAMPLE_SORT_COLUMN, ASC);
+
+		assertThat(readBooks.size(), is(0));
+	}
+
+	@Test
+	public void shouldNotSelectBookFileContentWhileReadingByOffset() {
+		givenRepositoryWith(bookA, bookB, bookC);
+		recordingSqlInterceptor.clear();
+
+		testee.read(0, 3, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+
+		assertThatNoBookFileContentSelected();
+	}
+
+	@Test
+	public void shouldNotSelectBookFileContentWhileReadingBySeek() {
+		givenRepositoryWith(bookA, bookB, bookC);
+		recordingSqlInterceptor.clear();
+
+		testee.read(aPageSeek(NEXT, bookA), 2, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+		testee.read(aPageSeek(PREV, bookC), 2, SAMPLE_SORT_COLUMN, SAMPLE_DIRECTION);
+
+		assertThatNoBookFileContentSelected();
+	}
+
+	@Test
+	public void shouldReadBooksOrderingByNormalizedTitleWhenIgnoringCase() throws NoSuchFieldException {
+		givenIgnoreCaseWhileSort(BOOK_TITLE, true);
+		givenRepositoryWith(bookA, bookB, bookC);
+		recordingSqlInterceptor.clear();
+
+		testee.read(0, 3, BOOK_TITLE, ASC);
+		testee.read(aPageSeek(NEXT, bookA), 2, BOOK_TITLE, ASC);
+
+		assertThatEveryStatementOrdersByNormalizedTitle();
+	}
+
+	@Test
+	public void shouldReadBooksOrderingByTitleWhenNotIgnoringCase() throws NoSuchFieldException {
+		givenIgnoreCaseWhileSort(BOOK_TITLE, false);
+		givenRepositoryWith(bookA, bookB, bookC);
+		recordingSqlInterceptor.clear();
+
+		testee.read(0, 3, BOOK_TITLE, ASC);
+		testee.read(aPageSeek(NEXT, bookA), 2, BOOK_TITLE, ASC);
+
+		assertThatNoStatementContains("TITLE_NORMALIZED");
+	}
+
+	@Test
+	public void shouldHaveSummariesNamedQueryForEverySortColumnAndDirection() {
+		for (PageSorterColumn column : PageSorterColumn.values()) {
+			for (PageSorterDirection direction : PageSorterDirection.values()) {
+				for (String sortName : asList(column.getNameForQuery(), column.getNormalizedNameForQuery())) {
+					String queryName = String.format("Book.summaries.%s.%s", sortName, direction.name());
+
+					String queryString = sessionFactory.getCurrentSession().getNamedQuery(queryName).getQueryString();
+
+					assertThat(queryString, containsString(
+							String.format("order by b.%s %s", sortName, direction.name().toLowerCase())));
+				}
+			}
+		}
 	}
 
 	@Test
@@ -180,6 +457,327 @@ public class BooksRepositoryIntegrationTest {
 		assertThatRepositoryContainsOnly(bookC);
 	}
 
+	@Test
+	public void shouldCreateBookWithStreamedContent() throws SQLException {
+		Book book = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE)
+						.withContent(new NullInputStream(LARGE_CONTENT_LENGTH), LARGE_CONTENT_LENGTH).build())
+				.build();
+
+		testee.create(book);
+
+		BookFile storedBookFile = booksRepositorySpy.getAllBookFiles().get(0);
+		assertThat(storedBookFile.getContentLength(), is(LARGE_CONTENT_LENGTH));
+		assertThat(storedBookFile.getStoredContentLength(), is(LARGE_CONTENT_LENGTH));
+		assertThat(storedBookFile.getContent().length(), is((long) LARGE_CONTENT_LENGTH));
+	}
+
+	@Test
+	public void shouldCreateBookWithContentEncoding() {
+		Book book = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title G")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE)
+						.withContent(new byte[] {1, 2, 3}).withContentEncoding("gzip").build())
+				.build();
+
+		testee.create(book);
+
+		assertThat(booksRepositorySpy.getAllBookFiles().get(0).getContentEncoding(), is(equalTo("gzip")));
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldCloseStreamedContentAfterTransactionCompleted() throws IOException {
+		final InputStream content = spy(new ByteArrayInputStream(SHARED_CONTENT));
+		final Book book = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S1")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE)
+						.withContent(content, SHARED_CONTENT.length).withContentHash(sha256Hex(SHARED_CONTENT)).build())
+				.build();
+		try {
+			inTransaction(new TransactionCallback<Object>() {
+				@Override
+				public Object doInTransaction(TransactionStatus status) {
+					testee.create(book);
+					sessionFactory.getCurrentSession().flush();
+					thenExpectNotClosed(content);
+					return null;
+				}
+			});
+
+			verify(content).close();
+		} finally {
+			deleteCommitted(book);
+		}
+	}
+
+	@Test
+	public void shouldShareBookFileBetweenBooksWithSameContent() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+
+		testee.create(book);
+		testee.create(otherBook);
+
+		List<BookFile> storedBookFiles = freshlyReadBookFiles();
+		assertThat(storedBookFiles.size(), is(1));
+		assertThat(storedBookFiles.get(0).getReferencesCount(), is(2));
+		assertThat(booksRepositorySpy.getAllBooks().size(), is(2));
+	}
+
+	@Test
+	public void shouldHashDigestedContentWhileStoringIt() {
+		testee.create(aBookWithDigestedContent("Book Title S1", SHARED_CONTENT));
+
+		assertThat(freshlyReadBookFiles().get(0).getContentHash(), is(equalTo(sha256Hex(SHARED_CONTENT))));
+	}
+
+	@Test
+	public void shouldShareBookFileMatchingContentHashedWhileStoring() {
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBookWithDigestedContent("Book Title S2", SHARED_CONTENT));
+
+		List<BookFile> storedBookFiles = freshlyReadBookFiles();
+		assertThat(storedBookFiles.size(), is(1));
+		assertThat(storedBookFiles.get(0).getReferencesCount(), is(2));
+		assertThat(booksRepositorySpy.getAllBookFileContents().size(), is(1));
+	}
+
+	@Test
+	public void shouldDeleteStoredFileOfContentFoundShared() throws Exception {
+		givenBookContentStore(aFilesystemBookContentStore());
+
+		testee.create(aBookWithDigestedContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBookWithDigestedContent("Book Title S2", SHARED_CONTENT));
+
+		assertThat(freshlyReadBookFiles().size(), is(1));
+		assertThat(temporaryFolder.getRoot().list().length, is(1));
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldDeleteStoredFileWhenCreationRollsBack() throws Exception {
+		givenBookContentStore(aFilesystemBookContentStore());
+
+		inTransaction(new TransactionCallback<Void>() {
+			@Override
+			public Void doInTransaction(TransactionStatus status) {
+				testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+				status.setRollbackOnly();
+				return null;
+			}
+		});
+
+		assertThat(temporaryFolder.getRoot().list().length, is(0));
+	}
+
+	@Test
+	public void shouldNotShareBookFileBetweenBooksWithDifferentContent() {
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBookWithContent("Book Title S2", OTHER_CONTENT));
+
+		List<BookFile> storedBookFiles = freshlyReadBookFiles();
+		assertThat(storedBookFiles.size(), is(2));
+		assertThat(storedBookFiles.get(0).getReferencesCount(), is(1));
+		assertThat(storedBookFiles.get(1).getReferencesCount(), is(1));
+	}
+
+	@Test
+	public void shouldNotShareBookFileBetweenBooksWithSameContentButDifferentFileMetadata() {
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S2")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE).withContent(SHARED_CONTENT)
+						.withFileType("otherFileType").build()).build());
+		testee.create(aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S3")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE).withContent(SHARED_CONTENT)
+						.withContentType("other/contentType").build()).build());
+		testee.create(aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S4")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE).withContent(SHARED_CONTENT)
+						.withContentEncoding("gzip").build()).build());
+
+		List<BookFile> storedBookFiles = freshlyReadBookFiles();
+		assertThat(storedBookFiles.size(), is(4));
+		for (BookFile storedBookFile : storedBookFiles) {
+			assertThat(storedBookFile.getReferencesCount(), is(1));
+		}
+	}
+
+	@Test
+	public void shouldNotShareBookFileWithNoReferencesLeft() {
+		booksRepositorySpy.givenRepositoryWith(aBookFile().withId(ID_TO_GENERATE).withContent(SHARED_CONTENT)
+				.withReferencesCount(0).build());
+
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+
+		List<BookFile> storedBookFiles = freshlyReadBookFiles();
+		assertThat(storedBookFiles.size(), is(2));
+		assertThat(storedBookFiles.get(0).getReferencesCount(), is(0));
+		assertThat(storedBookFiles.get(1).getReferencesCount(), is(1));
+	}
+
+	@Test
+	public void shouldKeepSharedBookFileUntilLastReferenceDeleted() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+		testee.create(book);
+		testee.create(otherBook);
+
+		testee.delete(book.getId());
+
+		assertThat(freshlyReadBookFiles().size(), is(1));
+		assertThat(freshlyReadBookFiles().get(0).getReferencesCount(), is(1));
+
+		testee.delete(otherBook.getId());
+
+		assertThat(booksRepositorySpy.getAllBookFiles().size(), is(0));
+		assertThat(booksRepositorySpy.getAllBookFileContents().size(), is(0));
+	}
+
+	@Test
+	public void shouldNotTouchBookFileContentWhenDeletingStillReferencedBookFile() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+		testee.create(book);
+		testee.create(otherBook);
+		recordingSqlInterceptor.clear();
+
+		testee.delete(book.getId());
+
+		assertThatNoStatementContains(BOOK_FILE_CONTENTS_TABLE);
+	}
+
+	@Test
+	public void shouldKeepSharedBookFileWhenDeletingAllButOneReference() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+		Book thirdBook = aBookWithContent("Book Title S3", SHARED_CONTENT);
+		testee.create(book);
+		testee.create(otherBook);
+		testee.create(thirdBook);
+
+		testee.deleteAll(newHashSet(book.getId(), otherBook.getId()));
+
+		assertThat(freshlyReadBookFiles().size(), is(1));
+		assertThat(freshlyReadBookFiles().get(0).getReferencesCount(), is(1));
+
+		testee.deleteAll(newHashSet(thirdBook.getId()));
+
+		assertThat(booksRepositorySpy.getAllBookFiles().size(), is(0));
+		assertThat(booksRepositorySpy.getAllBookFileContents().size(), is(0));
+	}
+
+	@Test
+	public void shouldComputeStoredAndReferencedContentLength() {
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBookWithContent("Book Title S2", SHARED_CONTENT));
+		testee.create(aBookWithContent("Book Title S3", OTHER_CONTENT));
+
+		assertThat(testee.storedContentLength(), is((long) SHARED_CONTENT.length + OTHER_CONTENT.length));
+		assertThat(testee.referencedContentLength(), is(2L * SHARED_CONTENT.length + OTHER_CONTENT.length));
+	}
+
+	@Test
+	public void shouldComputeStoredContentLengthFromEncodedContent() {
+		Book book = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title S")
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE).withContent(SHARED_CONTENT)
+						.withContentLength(10 * SHARED_CONTENT.length).withContentEncoding("gzip").build())
+				.build();
+		testee.create(book);
+
+		assertThat(testee.storedContentLength(), is((long) SHARED_CONTENT.length));
+		assertThat(testee.referencedContentLength(), is((long) SHARED_CONTENT.length));
+	}
+
+	@Test
+	public void shouldComputeZeroContentLengthsWhenNoBookFiles() {
+		assertThat(testee.storedContentLength(), is(0L));
+		assertThat(testee.referencedContentLength(), is(0L));
+	}
+
+	@Test
+	public void shouldMigrateBookFileContentsToGivenStore() throws IOException {
+		testee.create(aBookWithContent("Book Title S1", SHARED_CONTENT));
+		testee.create(aBookWithContent("Book Title S2", OTHER_CONTENT));
+		FilesystemBookContentStore target = aFilesystemBookContentStore();
+
+		int migratedCount = testee.migrateBookFileContents(target, 1);
+		int nextMigratedCount = testee.migrateBookFileContents(target, 1);
+		int lastMigratedCount = testee.migrateBookFileContents(target, 1);
+
+		assertThat(asList(migratedCount, nextMigratedCount, lastMigratedCount), contains(1, 1, 0));
+		for (BookFile bookFile : freshlyReadBookFiles()) {
+			assertThat(bookFile.getContentKey().isEmpty(), is(false));
+			assertThat(blobLength(bookFile.getContent()), is(0L));
+		}
+		assertThat(temporaryFolder.getRoot().list().length, is(2));
+	}
+
+	@Test
+	public void shouldStoreCollationKeyWhenCreatingBook() {
+		testee.create(bookLos);
+
+		assertThatStoredCollationKeyIs(titleCollator.collationKeyFor(bookLos.getTitle()));
+		assertThatStoredCollationLocaleIs(titleCollator.getCollationLocale().toString());
+	}
+
+	@Test
+	public void shouldRecomputeMissingTitleCollationKeys() {
+		givenRepositoryWith(bookLos);
+		givenStoredCollationKeysCleared();
+
+		int recomputedCount = testee.recomputeTitleCollationKeys();
+
+		assertThat(recomputedCount, is(1));
+		assertThatStoredCollationKeyIs(titleCollator.collationKeyFor(bookLos.getTitle()));
+	}
+
+	@Test
+	public void shouldRecomputeTitleCollationKeysStoredForOtherLocale() {
+		givenRepositoryWith(bookLos);
+		givenStoredCollationLocale("sv_SE");
+
+		int recomputedCount = testee.recomputeTitleCollationKeys();
+
+		assertThat(recomputedCount, is(1));
+		assertThatStoredCollationLocaleIs(titleCollator.getCollationLocale().toString());
+	}
+
+	@Test
+	public void shouldRecomputeTitleCollationKeysWithoutChangingVersion() {
+		givenRepositoryWith(bookLos);
+		givenStoredCollationKeysCleared();
+
+		testee.recomputeTitleCollationKeys();
+
+		assertThat(booksRepositorySpy.getAllBooks().get(0).getVersion(), is(bookLos.getVersion()));
+	}
+
+	@Test
+	public void shouldRecomputeTitleCollationKeysInBatches() {
+		Book[] books = manyBooks(MANY_BOOKS_COUNT);
+		givenRepositoryWith(books);
+		givenStoredCollationKeysCleared();
+
+		int recomputedCount = testee.recomputeTitleCollationKeys();
+
+		assertThat(recomputedCount, is(MANY_BOOKS_COUNT));
+		assertThat(testee.recomputeTitleCollationKeys(), is(0));
+	}
+
+	@Test
+	public void shouldNotRecomputeUpToDateTitleCollationKeys() {
+		givenRepositoryWith(bookLos);
+
+		int recomputedCount = testee.recomputeTitleCollationKeys();
+
+		assertThat(recomputedCount, is(0));
+	}
+
+	@Test
+	public void shouldStoreNormalizedTitleWhenCreatingBook() {
+		testee.create(bookLowCaseC);
+
+		assertThatStoredNormalizedTitleIs("book title c");
+	}
+
 	@Test
 	public void shouldUpdateBookTitle() {
 		Book oldBook = aBook().withId(ID_TO_GENERATE).withVersion(OLD_VERSION).withTitle(OLD_TITLE)
@@ -193,6 +791,8 @@ public class BooksRepositoryIntegrationTest {
 		testee.update(updatingBook);
 
 		assertThatRepositoryContainsOnly(updatedBook);
+		assertThatStoredNormalizedTitleIs("new title");
+		assertThatStoredCollationKeyIs(titleCollator.collationKeyFor(NEW_TITLE));
 	}
 
 	@Test(expected = StaleObjectStateException.class)
@@ -208,6 +808,29 @@ public class BooksRepositoryIntegrationTest {
 		testee.update(updatingBook);
 	}
 
+	@Test(expected = StaleObjectStateException.class)
+	public void shouldFailUpdatingNotExistingBook() {
+		givenRepositoryWith(bookA);
+		Book updatingBook = aBook().withId(bookA.getId() + 1).withVersion(bookA.getVersion()).withTitle(NEW_TITLE)
+																		.withBookFile(bookA.getBookFile()).build();
+
+		testee.update(updatingBook);
+	}
+
+	@Test
+	public void shouldUpdateBookWithSingleVersionedStatement() {
+		givenRepositoryWith(bookA);
+		Book updatingBook = aBook().withId(bookA.getId()).withVersion(bookA.getVersion()).withTitle(NEW_TITLE)
+																		.withBookFile(bookA.getBookFile()).build();
+		recordingSqlInterceptor.clear();
+
+		testee.update(updatingBook);
+
+		assertThat(recordingSqlInterceptor.getStatements().size(), is(1));
+		assertThat(recordingSqlInterceptor.getStatements().get(0), startsWith("update BOOKS"));
+		assertThat(recordingSqlInterceptor.getStatements().get(0), containsString("VERSION=VERSION+1"));
+	}
+
 	@Test
 	public void shouldDeleteBook() {
 		givenRepositoryWith(bookA, bookB, bookC);
@@ -225,6 +848,54 @@ public class BooksRepositoryIntegrationTest {
 		testee.delete(notExistingId);
 	}
 
+	@Test
+	public void shouldDeleteAllBooksByIds() {
+		givenRepositoryWith(bookA, bookB, bookC, bookD);
+
+		int deletedCount = testee.deleteAll(newHashSet(bookB.getId(), bookD.getId()));
+
+		assertThat(deletedCount, is(2));
+		assertThatRepositoryContainsOnly(bookA, bookC);
+	}
+
+	@Test
+	public void shouldNotCountNotExistingBooksWhileDeletingAll() {
+		givenRepositoryWith(bookA, bookB);
+		int notExistingId = bookA.getId() + bookB.getId();
+
+		int deletedCount = testee.deleteAll(newHashSet(bookA.getId(), notExistingId));
+
+		assertThat(deletedCount, is(1));
+		assertThatRepositoryContainsOnly(bookB);
+	}
+
+	@Test
+	public void shouldNotIssueDeletesWhenNoneOfBooksExist() {
+		givenRepositoryWith(bookA);
+		recordingSqlInterceptor.clear();
+
+		int deletedCount = testee.deleteAll(newHashSet(bookA.getId() + 1, bookA.getId() + 2));
+
+		assertThat(deletedCount, is(0));
+		assertThat(recordingSqlInterceptor.getStatements().size(), is(1));
+		assertThatRepositoryContainsOnly(bookA);
+	}
+
+	@Test
+	public void shouldDeleteManyBooksWithSetBasedStatements() {
+		Book[] books = manyBooks(MANY_BOOKS_COUNT);
+		givenRepositoryWith(books);
+		Set<Integer> ids = idsOf(books);
+		ids.add(books[books.length - 1].getId() + 1);
+		recordingSqlInterceptor.clear();
+
+		int deletedCount = testee.deleteAll(ids);
+
+		assertThat(deletedCount, is(MANY_BOOKS_COUNT));
+		assertThat(recordingSqlInterceptor.getStatements().size(), is(lessThanOrEqualTo(6 * (ids.size() / 1000 + 1))));
+		assertThatRepositoryContainsOnly();
+	}
+
 	@Test
 	public void shouldFindBookById() {
 		givenRepositoryWith(bookB, bookC);
@@ -235,6 +906,239 @@ public class BooksRepositoryIntegrationTest {
 		assertThat(foundBook.getBookFile(), isBookFileEqualTo(bookB.getBookFile()));
 	}
 
+	@Test
+	public void shouldFindBookWithoutSelectingBookFileContent() {
+		givenRepositoryWith(bookB);
+		recordingSqlInterceptor.clear();
+
+		testee.find(bookB.getId());
+
+		assertThatNoStatementContains(BOOK_FILE_CONTENTS_TABLE);
+	}
+
+	@Test
+	public void shouldFindBookFileById() {
+		givenRepositoryWith(bookB, bookC);
+
+		BookFile foundBookFile = testee.findBookFile(bookB.getBookFile().getId());
+
+		assertThat(foundBookFile, isBookFileEqualTo(bookB.getBookFile()));
+	}
+
+	@Test
+	public void shouldReadRangeOfStoredBookFileContent() throws IOException {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		testee.create(book);
+		sessionFactory.getCurrentSession().flush();
+		sessionFactory.getCurrentSession().clear();
+
+		BookFile foundBookFile = testee.findBookFile(book.getBookFile().getId());
+
+		try (InputStream range = blobInputStream(foundBookFile.getContent(), 1, 2)) {
+			assertThat(toByteArray(range), is(equalTo(copyOfRange(SHARED_CONTENT, 1, 3))));
+		}
+	}
+
+	@Test
+	public void shouldLoadBookFileContentLazilyOnAccess() {
+		givenRepositoryWith(bookB);
+		Book foundBook = testee.find(bookB.getId());
+		recordingSqlInterceptor.clear();
+
+		byte[] content = blobBytes(foundBook.getBookFile().getContent());
+
+		assertThat(content, is(equalTo(blobBytes(bookB.getBookFile().getContent()))));
+		assertThat(recordingSqlInterceptor.getStatements(), hasItem(containsString(BOOK_FILE_CONTENTS_TABLE)));
+	}
+
+	@Test
+	public void shouldCacheBooksAndBookFiles() {
+		assertThat(hasCache(Book.class), is(true));
+		assertThat(hasCache(BookFile.class), is(true));
+	}
+
+	@Test
+	public void shouldCacheBookFilesInBoundedRegionOfSharedCacheManager() {
+		Cache region = CacheManager.getInstance().getCache(BOOK_FILES_CACHE_REGION);
+
+		assertThat(region.getCacheConfiguration().getMaxElementsInMemory(), is(greaterThan(0)));
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldFindBookReadOnlyWithoutFlushingInReadOnlyTransaction() {
+		testee.create(bookB);
+		try {
+			List<Object> readOnlyState = inReadOnlyTransaction(new TransactionCallback<List<Object>>() {
+				@Override
+				public List<Object> doInTransaction(TransactionStatus status) {
+					Book found = testee.find(bookB.getId());
+					return readOnlyStateOf(found);
+				}
+			});
+
+			assertThat(readOnlyState, contains((Object) true, MANUAL, true));
+		} finally {
+			deleteCommitted(bookB);
+		}
+	}
+
+	@Test
+	public void shouldFindBookModifiableInReadWriteTransaction() {
+		givenRepositoryWith(bookB);
+
+		Book found = testee.find(bookB.getId());
+
+		assertThat(sessionFactory.getCurrentSession().isReadOnly(found), is(false));
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldPutFoundBookIntoSecondLevelCache() {
+		testee.create(bookB);
+		try {
+			testee.find(bookB.getId());
+
+			assertThat(isCached(bookB), is(true));
+		} finally {
+			deleteCommitted(bookB);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldEvictUpdatedBookFromSecondLevelCache() {
+		testee.create(bookB);
+		try {
+			testee.find(bookB.getId());
+			final Book updatingBook = aBook().withId(bookB.getId()).withVersion(bookB.getVersion())
+											.withTitle(NEW_TITLE).withBookFile(bookB.getBookFile()).build();
+
+			boolean cachedAfterUpdate = inTransaction(new TransactionCallback<Boolean>() {
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+					testee.update(updatingBook);
+					return isCached(updatingBook);
+				}
+			});
+
+			assertThat(cachedAfterUpdate, is(false));
+		} finally {
+			deleteCommitted(bookB);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldEvictDeletedBookFromSecondLevelCache() {
+		testee.create(bookB);
+		try {
+			testee.find(bookB.getId());
+
+			boolean cachedAfterDelete = inTransaction(new TransactionCallback<Boolean>() {
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+					testee.delete(bookB.getId());
+					return isCached(bookB);
+				}
+			});
+
+			assertThat(cachedAfterDelete, is(false));
+		} finally {
+			deleteCommitted(bookB);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldEvictRecomputedBookFromSecondLevelCache() {
+		testee.create(bookB);
+		try {
+			inTransaction(new TransactionCallback<Void>() {
+				@Override
+				public Void doInTransaction(TransactionStatus status) {
+					givenStoredCollationKeysCleared();
+					return null;
+				}
+			});
+			testee.find(bookB.getId());
+
+			testee.recomputeTitleCollationKeys();
+
+			assertThat(isCached(bookB), is(false));
+		} finally {
+			deleteCommitted(bookB);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldPutFoundBookFileIntoSecondLevelCache() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		testee.create(book);
+		try {
+			int bookFileId = testee.find(book.getId()).getBookFile().getId();
+			sessionFactory.getCache().evictEntity(BookFile.class, bookFileId);
+
+			testee.findBookFile(bookFileId);
+
+			assertThat(isBookFileCached(bookFileId), is(true));
+		} finally {
+			deleteCommitted(book);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldEvictReferencedBookFileFromSecondLevelCache() {
+		Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		final Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+		testee.create(book);
+		try {
+			final int bookFileId = testee.find(book.getId()).getBookFile().getId();
+			testee.findBookFile(bookFileId);
+
+			boolean cachedAfterReference = inTransaction(new TransactionCallback<Boolean>() {
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+					testee.create(otherBook);
+					return isBookFileCached(bookFileId);
+				}
+			});
+
+			assertThat(cachedAfterReference, is(false));
+		} finally {
+			deleteCommitted(otherBook);
+			deleteCommitted(book);
+		}
+	}
+
+	@Test
+	@Transactional(propagation = NOT_SUPPORTED)
+	public void shouldEvictReleasedBookFileFromSecondLevelCache() {
+		final Book book = aBookWithContent("Book Title S1", SHARED_CONTENT);
+		Book otherBook = aBookWithContent("Book Title S2", SHARED_CONTENT);
+		testee.create(book);
+		testee.create(otherBook);
+		try {
+			final int bookFileId = testee.find(book.getId()).getBookFile().getId();
+			testee.findBookFile(bookFileId);
+
+			boolean cachedAfterRelease = inTransaction(new TransactionCallback<Boolean>() {
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+					testee.delete(book.getId());
+					return isBookFileCached(bookFileId);
+				}
+			});
+
+			assertThat(cachedAfterRelease, is(false));
+		} finally {
+			deleteCommitted(otherBook);
+			deleteCommitted(book);
+		}
+	}
+
 	@Test
 	public void shouldFailFindingNotExistingBookById() {
 		givenRepositoryWith(bookB, bookC);
@@ -245,6 +1149,15 @@ public class BooksRepositoryIntegrationTest {
 		assertThat(foundBook, is(nullValue()));
 	}
 
+	private PageSeek aPageSeek(PageSeekDirection direction, Book book) {
+		PageSeek seek = new PageSeek();
+		seek.setDirection(direction);
+		seek.setBookId(book.getId());
+		seek.setBookTitle(book.getTitle());
+
+		return seek;
+	}
+
 	private void givenIgnoreCaseWhileSort(PageSorterColumn column, boolean value) throws NoSuchFieldException {
 		Field ignoreCaseField = column.getClass().getDeclaredField("ignoreCase");
 		ReflectionUtils.makeAccessible(ignoreCaseField);
@@ -255,6 +1168,127 @@ public class BooksRepositoryIntegrationTest {
 		booksRepositorySpy.givenRepositoryWith((Object[]) books);
 	}
 
+	private boolean hasCache(Class<?> entityClass) {
+		return ((EntityPersister) sessionFactory.getClassMetadata(entityClass)).hasCache();
+	}
+
+	private boolean isCached(Book book) {
+		return sessionFactory.getCache().containsEntity(Book.class, book.getId());
+	}
+
+	private void thenExpectNotClosed(InputStream content) {
+		try {
+			verify(content, never()).close();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private boolean isBookFileCached(int bookFileId) {
+		return sessionFactory.getCache().containsEntity(BookFile.class, bookFileId);
+	}
+
+	private <T> T inTransaction(TransactionCallback<T> callback) {
+		return new TransactionTemplate(transactionManager).execute(callback);
+	}
+
+	private <T> T inReadOnlyTransaction(TransactionCallback<T> callback) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		return transactionTemplate.execute(callback);
+	}
+
+	private List<Object> readOnlyStateOf(Book book) {
+		Session session = sessionFactory.getCurrentSession();
+		boolean connectionReadOnly = session.doReturningWork(new ReturningWork<Boolean>() {
+			@Override
+			public Boolean execute(Connection connection) throws SQLException {
+				return connection.isReadOnly();
+			}
+		});
+
+		return asList((Object) session.isReadOnly(book), session.getFlushMode(), connectionReadOnly);
+	}
+
+	private void deleteCommitted(Book book) {
+		try {
+			testee.delete(book.getId());
+		} catch (ObjectNotFoundException e) {
+			sessionFactory.getCache().evictEntity(Book.class, book.getId());
+		}
+	}
+
+	private void givenStoredCollationKeysCleared() {
+		sessionFactory.getCurrentSession()
+				.createSQLQuery("update BOOKS set TITLE_COLLATION_KEY = '', TITLE_COLLATION_LOCALE = ''")
+				.executeUpdate();
+	}
+
+	private void givenStoredCollationLocale(String collationLocale) {
+		sessionFactory.getCurrentSession()
+				.createSQLQuery("update BOOKS set TITLE_COLLATION_LOCALE = :collationLocale")
+				.setString("collationLocale", collationLocale)
+				.executeUpdate();
+	}
+
+	private void givenRepositoryWithCreated(Book... books) {
+		for (Book book : books) {
+			testee.create(book);
+		}
+	}
+
+	private Book aBookWithContent(String title, byte[] content) {
+		return aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle(title)
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE).withContent(content).build()).build();
+	}
+
+	private Book aBookWithDigestedContent(String title, byte[] content) {
+		MessageDigest contentDigest = getSha256Digest();
+		return aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle(title)
+				.withBookFile(aBookFile().withId(ID_TO_GENERATE)
+						.withContent(new DigestInputStream(new ByteArrayInputStream(content), contentDigest),
+								content.length)
+						.withContentDigest(contentDigest).build())
+				.build();
+	}
+
+	private void givenBookContentStore(BookContentStore store) throws Exception {
+		setField(((Advised) testee).getTargetSource().getTarget(), "bookContentStore", store);
+	}
+
+	private FilesystemBookContentStore aFilesystemBookContentStore() throws IOException {
+		FilesystemBookContentStore store = new FilesystemBookContentStore();
+		setField(store, "directoryName", temporaryFolder.getRoot().getPath());
+		store.init();
+
+		return store;
+	}
+
+	private List<BookFile> freshlyReadBookFiles() {
+		sessionFactory.getCurrentSession().clear();
+		return booksRepositorySpy.getAllBookFiles();
+	}
+
+	private Book[] manyBooks(int count) {
+		Book[] books = new Book[count];
+		for (int i = 0; i < count; i++) {
+			books[i] = aBook().withId(ID_TO_GENERATE).withVersion(1).withTitle("Book Title " + i)
+					.withBookFile(aBookFile().withId(ID_TO_GENERATE).build()).build();
+		}
+
+		return books;
+	}
+
+	private Set<Integer> idsOf(Book[] books) {
+		Set<Integer> ids = new HashSet<>();
+		for (Book book : books) {
+			ids.add(book.getId());
+		}
+
+		return ids;
+	}
+
 	private void assertThatRepositoryContainsOnly(Book... books) {
 		assertThatListContainsOnly(booksRepositorySpy.getAllBooks(), books);
 		assertThatListContainsOnly(booksRepositorySpy.getAllBookFiles(), bookFilesOf(books));
@@ -269,6 +1303,49 @@ public class BooksRepositoryIntegrationTest {
 		return result;
 	}
 
+	private void assertThatNoBookFileContentSelected() {
+		assertThat(recordingSqlInterceptor.getStatements().isEmpty(), is(false));
+		assertThat(recordingSqlInterceptor.getStatements(), everyItem(not(containsString(".CONTENT "))));
+		assertThat(recordingSqlInterceptor.getStatements(), everyItem(not(containsString(".CONTENT,"))));
+	}
+
+	private void assertThatEveryStatementOrdersByNormalizedTitle() {
+		assertThat(recordingSqlInterceptor.getStatements().isEmpty(), is(false));
+		assertThat(recordingSqlInterceptor.getStatements(), everyItem(anyOf(
+				containsString(".TITLE_NORMALIZED asc"), containsString(".TITLE_NORMALIZED ASC"))));
+		assertThat(recordingSqlInterceptor.getStatements(), everyItem(not(containsString("lower("))));
+	}
+
+	private void assertThatNoStatementContains(String text) {
+		assertThat(recordingSqlInterceptor.getStatements().isEmpty(), is(false));
+		assertThat(recordingSqlInterceptor.getStatements(), everyItem(not(containsString(text))));
+	}
+
+	private void assertThatStoredCollationKeyIs(String expected) {
+		List<Book> books = booksRepositorySpy.getAllBooks();
+		assertThat(books.size(), is(1));
+		assertThat(books.get(0).getTitleCollationKey(), is(expected));
+	}
+
+	private void assertThatStoredCollationLocaleIs(String expected) {
+		List<Book> books = booksRepositorySpy.getAllBooks();
+		assertThat(books.size(), is(1));
+		assertThat(books.get(0).getTitleCollationLocale(), is(expected));
+	}
+
+	private void assertThatStoredNormalizedTitleIs(String expected) {
+		List<Book> books = booksRepositorySpy.getAllBooks();
+		assertThat(books.size(), is(1));
+		assertThat(books.get(0).getTitleNormalized(), is(expected));
+	}
+
+	private void assertThatSummariesOf(List<BookSummary> givens, Book... expecteds) {
+		assertThat(expecteds.length, is(givens.size()));
+		for (int i = 0; i < givens.size(); i++) {
+			assertThat(givens.get(i), isBookSummaryOf(expecteds[i]));
+		}
+	}
+
 	private void assertThatListContainsOnly(List<Book> givens, Book... expecteds) {
 		assertThat(expecteds.length, is(givens.size()));
 		for (int i = 0; i < givens.size(); i++) {
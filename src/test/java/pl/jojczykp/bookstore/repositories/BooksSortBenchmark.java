@@ -0,0 +1,125 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.jojczykp.bookstore.entities.BookSummary;
+import pl.jojczykp.bookstore.testutils.benchmarks.Measurement;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hibernate.transform.Transformers.aliasToBean;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.measure;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
+import static pl.jojczykp.bookstore.utils.SuppressUnchecked.suppressUnchecked;
+import static pl.jojczykp.bookstore.utils.TitleNormalizer.normalizedTitle;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:spring/repositories-benchmark-context.xml")
+@DirtiesContext
+public class BooksSortBenchmark {
+
+	private static final int BOOKS_COUNT = 1000000;
+	private static final int INSERT_BATCH_SIZE = 10000;
+	private static final int PAGE_SIZE = 10;
+	private static final int FULL_SORT_WARMUP_ITERATIONS = 0;
+	private static final int FULL_SORT_ITERATIONS = 2;
+	private static final int INDEXED_WARMUP_ITERATIONS = 10;
+	private static final int INDEXED_ITERATIONS = 50;
+	private static final long RANDOM_SEED = 4L;
+
+	private static final String INSERT_BOOK_SQL = "insert into BOOKS (VERSION, TITLE, TITLE_NORMALIZED, BOOK_FILE_ID)"
+			+ " values (0, ?, ?, (select min(ID) from BOOK_FILES))";
+
+	private static final String LOWER_TITLE_QUERY =
+			"select b.id as id, b.version as version, b.title as title, f.fileType as fileType"
+			+ " from Book b join b.bookFile f order by lower(b.title) asc, b.id asc";
+
+	@Autowired private DataSource dataSource;
+	@Autowired private SessionFactory sessionFactory;
+	@Autowired private PlatformTransactionManager transactionManager;
+	@Autowired private BooksRepository testee;
+
+	@Test
+	public void shouldReadFirstPageOfMillionBooksFasterByIndexedNormalizedTitleThanByLowerTitle() {
+		givenBooks(BOOKS_COUNT);
+
+		Measurement lowerTitle = measure("page sorted by lower(TITLE), 1M books",
+				FULL_SORT_WARMUP_ITERATIONS, FULL_SORT_ITERATIONS, new Runnable() {
+					@Override
+					public void run() {
+						pageSortedByLowerTitle();
+					}
+				});
+		Measurement normalizedTitle = measure("page sorted by indexed TITLE_NORMALIZED, 1M books",
+				INDEXED_WARMUP_ITERATIONS, INDEXED_ITERATIONS, new Runnable() {
+					@Override
+					public void run() {
+						testee.read(0, PAGE_SIZE, BOOK_TITLE, ASC);
+					}
+				});
+
+		assertThat(idsOf(testee.read(0, PAGE_SIZE, BOOK_TITLE, ASC)), is(equalTo(idsOf(pageSortedByLowerTitle()))));
+		assertThat(normalizedTitle.getWallNanosPerCall(), is(lessThan(lowerTitle.getWallNanosPerCall())));
+	}
+
+	private void givenBooks(int count) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		Random random = new Random(RANDOM_SEED);
+		for (int inserted = 0; inserted < count; inserted += INSERT_BATCH_SIZE) {
+			List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+			for (int i = 0; i < INSERT_BATCH_SIZE; i++) {
+				String title = aTitle(random);
+				batch.add(new Object[] {title, normalizedTitle(title)});
+			}
+			jdbcTemplate.batchUpdate(INSERT_BOOK_SQL, batch);
+		}
+	}
+
+	private String aTitle(Random random) {
+		return (random.nextBoolean() ? "Book " : "book ") + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36);
+	}
+
+	private List<BookSummary> pageSortedByLowerTitle() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		return transactionTemplate.execute(new TransactionCallback<List<BookSummary>>() {
+			@Override
+			public List<BookSummary> doInTransaction(TransactionStatus status) {
+				return suppressUnchecked(sessionFactory.getCurrentSession()
+						.createQuery(LOWER_TITLE_QUERY)
+						.setResultTransformer(aliasToBean(BookSummary.class))
+						.setMaxResults(PAGE_SIZE)
+						.list());
+			}
+		});
+	}
+
+	private List<Integer> idsOf(List<BookSummary> page) {
+		List<Integer> ids = new ArrayList<>(page.size());
+		for (BookSummary summary : page) {
+			ids.add(summary.getId());
+		}
+
+		return ids;
+	}
+
+}
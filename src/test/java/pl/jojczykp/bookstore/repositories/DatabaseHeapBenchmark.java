@@ -0,0 +1,88 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import pl.jojczykp.bookstore.entities.Book;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Random;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonMap;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static pl.jojczykp.bookstore.entities.builders.BookBuilder.aBook;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.gcMillis;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.report;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.usedHeapAfterGc;
+
+public class DatabaseHeapBenchmark {
+
+	private static final String MEMORY_DATABASE = "memory-database";
+	private static final String FILE_DATABASE = "file-database";
+	private static final int STEPS = 4;
+	private static final int BOOKS_PER_STEP = 50;
+	private static final int BOOK_SIZE = 1024 * 1024;
+	private static final int MEMORY_TO_FILE_HEAP_RATIO = 4;
+
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldKeepStoredBooksOffHeapInFileDatabase() {
+		long memoryDatabaseHeapGrowth = heapGrowthStoringBooksIn(MEMORY_DATABASE);
+		long fileDatabaseHeapGrowth = heapGrowthStoringBooksIn(FILE_DATABASE);
+
+		assertThat(fileDatabaseHeapGrowth, is(lessThan(memoryDatabaseHeapGrowth / MEMORY_TO_FILE_HEAP_RATIO)));
+	}
+
+	private long heapGrowthStoringBooksIn(String profile) {
+		try (GenericXmlApplicationContext context = repositoriesContext(profile)) {
+			BooksRepository repository = context.getBean(BooksRepository.class);
+			Random random = new Random(STEPS);
+			long baselineHeap = usedHeapAfterGc();
+			long heapGrowth = 0;
+			long storingGcMillis = 0;
+			for (int step = 1; step <= STEPS; step++) {
+				long gcMillisBefore = gcMillis();
+				storeBooks(repository, random, BOOKS_PER_STEP);
+				storingGcMillis += gcMillis() - gcMillisBefore;
+				heapGrowth = usedHeapAfterGc() - baselineHeap;
+				report(format("%-16s %6d books of %d B stored: %12d B heap growth, %6d ms GC while storing",
+						profile, step * BOOKS_PER_STEP, BOOK_SIZE, heapGrowth, storingGcMillis));
+			}
+
+			return heapGrowth;
+		}
+	}
+
+	private GenericXmlApplicationContext repositoriesContext(String profile) {
+		Object databaseFilePath = new File(temporaryFolder.getRoot(), "bookstore").getPath();
+		Map<String, Object> properties = singletonMap("database.file.path", databaseFilePath);
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext();
+		context.getEnvironment().setActiveProfiles(profile);
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+		context.load("classpath:spring/repositories-benchmark-context.xml");
+		context.refresh();
+
+		return context;
+	}
+
+	private void storeBooks(BooksRepository repository, Random random, int count) {
+		for (int i = 0; i < count; i++) {
+			byte[] content = new byte[BOOK_SIZE];
+			random.nextBytes(content);
+			repository.create(aBook().withTitle("Book Title " + random.nextInt())
+					.withBookFile(aBookFile().withFileType("pdf").withContentType("application/pdf")
+							.withContent(content).withContentHash(sha256Hex(content)).build())
+					.build());
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.datasource.init.DatabasePopulator;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FirstInitDatabasePopulatorUnitTest {
+
+	private static final String MARKER_TABLE = "MARKER";
+
+	@Mock private DatabasePopulator populator;
+	@Mock private Connection connection;
+	@Mock private DatabaseMetaData metaData;
+	@Mock private ResultSet tables;
+
+	private FirstInitDatabasePopulator testee;
+
+	@Before
+	public void setUp() throws SQLException {
+		testee = new FirstInitDatabasePopulator(MARKER_TABLE, populator);
+		when(connection.getMetaData()).thenReturn(metaData);
+		when(metaData.getTables(null, null, MARKER_TABLE, null)).thenReturn(tables);
+	}
+
+	@Test
+	public void shouldPopulateDatabaseWithoutMarkerTable() throws SQLException {
+		when(tables.next()).thenReturn(false);
+
+		testee.populate(connection);
+
+		verify(populator).populate(connection);
+		verify(tables).close();
+	}
+
+	@Test
+	public void shouldNotPopulateDatabaseWithMarkerTable() throws SQLException {
+		when(tables.next()).thenReturn(true);
+
+		testee.populate(connection);
+
+		verify(populator, never()).populate(connection);
+		verify(tables).close();
+	}
+
+}
@@ -0,0 +1,96 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
+import pl.jojczykp.bookstore.testutils.benchmarks.Measurement;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hibernate.criterion.Order.asc;
+import static org.hibernate.criterion.Projections.projectionList;
+import static org.hibernate.criterion.Projections.property;
+import static org.hibernate.transform.Transformers.aliasToBean;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.measure;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
+import static pl.jojczykp.bookstore.utils.SuppressUnchecked.suppressUnchecked;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:spring/repositories-benchmark-context.xml")
+@DirtiesContext
+public class PageQueryBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 5000;
+	private static final int ITERATIONS = 20000;
+	private static final int PAGE_SIZE = 10;
+
+	@Autowired private SessionFactory sessionFactory;
+	@Autowired private PlatformTransactionManager transactionManager;
+	@Autowired private BooksRepository testee;
+
+	@Test
+	public void shouldReadPageWithLessCpuAndAllocationsThroughNamedQueryThanThroughCriteria() {
+		Measurement criteria = measure("page read through Criteria", WARMUP_ITERATIONS, ITERATIONS,
+				inReadOnlyTransaction(new TransactionCallback<List<BookSummary>>() {
+					@Override
+					public List<BookSummary> doInTransaction(TransactionStatus status) {
+						return pageThroughCriteria();
+					}
+				}));
+		Measurement namedQuery = measure("page read through named query", WARMUP_ITERATIONS, ITERATIONS,
+				inReadOnlyTransaction(new TransactionCallback<List<BookSummary>>() {
+					@Override
+					public List<BookSummary> doInTransaction(TransactionStatus status) {
+						return testee.read(0, PAGE_SIZE, BOOK_TITLE, ASC);
+					}
+				}));
+
+		assertThat(namedQuery.getCpuNanosPerCall(), is(lessThan(criteria.getCpuNanosPerCall())));
+		assertThat(namedQuery.getAllocatedBytesPerCall(), is(lessThan(criteria.getAllocatedBytesPerCall())));
+	}
+
+	private List<BookSummary> pageThroughCriteria() {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(Book.class);
+		criteria.createAlias("bookFile", "f");
+		criteria.setProjection(projectionList()
+				.add(property("id"), "id")
+				.add(property("version"), "version")
+				.add(property("title"), "title")
+				.add(property("f.fileType"), "fileType"));
+		criteria.setResultTransformer(aliasToBean(BookSummary.class));
+		criteria.setFirstResult(0);
+		criteria.setMaxResults(PAGE_SIZE);
+		criteria.addOrder(asc(BOOK_TITLE.getSortNameForQuery()));
+		criteria.addOrder(asc("id"));
+
+		return suppressUnchecked(criteria.list());
+	}
+
+	private Runnable inReadOnlyTransaction(final TransactionCallback<List<BookSummary>> callback) {
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				transactionTemplate.execute(callback);
+			}
+		};
+	}
+
+}
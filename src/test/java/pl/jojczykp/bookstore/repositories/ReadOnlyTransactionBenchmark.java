@@ -0,0 +1,111 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import pl.jojczykp.bookstore.entities.BookSummary;
+import pl.jojczykp.bookstore.testutils.benchmarks.Measurement;
+
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.measure;
+import static pl.jojczykp.bookstore.testutils.benchmarks.BenchmarkMeter.report;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
+import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:spring/repositories-benchmark-context.xml")
+@DirtiesContext
+public class ReadOnlyTransactionBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 2000;
+	private static final int ITERATIONS = 10000;
+	private static final int PAGE_SIZE = 10;
+
+	@Autowired private PlatformTransactionManager transactionManager;
+	@Autowired private BooksRepository testee;
+
+	@Test
+	public void shouldListBooksWithFewerAllocationsInReadOnlyTransaction() {
+		Runnable listing = new Runnable() {
+			@Override
+			public void run() {
+				readPageWithBooks();
+			}
+		};
+
+		Measurement readWrite = measureInTransaction("listing in read-write transaction", false, listing);
+		Measurement readOnly = measureInTransaction("listing in read-only transaction", true, listing);
+
+		assertThat(readOnly.getAllocatedBytesPerCall(), is(lessThan(readWrite.getAllocatedBytesPerCall())));
+	}
+
+	private void readPageWithBooks() {
+		List<BookSummary> page = testee.read(0, PAGE_SIZE, BOOK_TITLE, ASC);
+		for (BookSummary summary : page) {
+			testee.find(summary.getId());
+		}
+	}
+
+	private Measurement measureInTransaction(String name, boolean readOnly, Runnable operation) {
+		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+		definition.setReadOnly(readOnly);
+		CommitTimingOperation timedOperation = new CommitTimingOperation(definition, operation);
+
+		timedOperation.repeat(WARMUP_ITERATIONS);
+		timedOperation.reset();
+		Measurement measurement = measure(name, 0, ITERATIONS, timedOperation);
+		report(format("%-48s %8d calls %12d commit ns/call",
+				name, ITERATIONS, timedOperation.getCommitNanos() / ITERATIONS));
+
+		return measurement;
+	}
+
+	private class CommitTimingOperation implements Runnable {
+
+		private final DefaultTransactionDefinition definition;
+		private final Runnable operation;
+		private long commitNanos;
+
+		CommitTimingOperation(DefaultTransactionDefinition definition, Runnable operation) {
+			this.definition = definition;
+			this.operation = operation;
+		}
+
+		@Override
+		public void run() {
+			TransactionStatus status = transactionManager.getTransaction(definition);
+			operation.run();
+			long commitStart = nanoTime();
+			transactionManager.commit(status);
+			commitNanos += nanoTime() - commitStart;
+		}
+
+		void repeat(int iterations) {
+			for (int i = 0; i < iterations; i++) {
+				run();
+			}
+		}
+
+		void reset() {
+			commitNanos = 0;
+		}
+
+		long getCommitNanos() {
+			return commitNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.orm.hibernate4.HibernateTransactionManager;
+import org.springframework.orm.hibernate4.LocalSessionFactoryBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.core.context.SecurityContextHolder.clearContext;
+import static org.springframework.security.core.context.SecurityContextHolder.getContext;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+public class ReadWriteRoutingDataSourceIntegrationTest {
+
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA = "replica";
+	private static final long MAX_LAG_MILLIS = 60000;
+	private static final String WRITER = "writer";
+	private static final String OTHER_USER = "otherUser";
+
+	private EmbeddedDatabase primaryDatabase;
+	private EmbeddedDatabase replicaDatabase;
+	private ReplicaLagGuard replicaLagGuard;
+	private SessionFactory sessionFactory;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWriteTransaction;
+	private TransactionTemplate readOnlyTransaction;
+	private TransactionTemplate readWriteHibernateTransaction;
+	private TransactionTemplate readOnlyHibernateTransaction;
+
+	@Before
+	public void setUp() {
+		primaryDatabase = aDatabaseNamed(PRIMARY);
+		replicaDatabase = aDatabaseNamed(REPLICA);
+
+		ReplicaLagGuard guard = new ReplicaLagGuard();
+		setField(guard, "maxLagMillis", MAX_LAG_MILLIS);
+		guard.init();
+		replicaLagGuard = spy(guard);
+
+		ReadWriteRoutingDataSource testee = new ReadWriteRoutingDataSource();
+		testee.setPrimaryDataSource(primaryDatabase);
+		testee.setReplicaDataSource(replicaDatabase);
+		setField(testee, "replicaLagGuard", replicaLagGuard);
+		testee.afterPropertiesSet();
+
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(testee);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readWriteTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		sessionFactory = new LocalSessionFactoryBuilder(dataSource)
+				.setProperty("hibernate.dialect", "org.hibernate.dialect.HSQLDialect")
+				.buildSessionFactory();
+		HibernateTransactionManager hibernateTransactionManager = new HibernateTransactionManager(sessionFactory);
+		readWriteHibernateTransaction = new TransactionTemplate(hibernateTransactionManager);
+		readOnlyHibernateTransaction = new TransactionTemplate(hibernateTransactionManager);
+		readOnlyHibernateTransaction.setReadOnly(true);
+	}
+
+	private EmbeddedDatabase aDatabaseNamed(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setName(name).build();
+		JdbcTemplate template = new JdbcTemplate(database);
+		template.execute("CREATE TABLE INSTANCE (NAME VARCHAR(16))");
+		template.update("INSERT INTO INSTANCE (NAME) VALUES (?)", name);
+
+		return database;
+	}
+
+	@After
+	public void tearDown() {
+		sessionFactory.close();
+		primaryDatabase.shutdown();
+		replicaDatabase.shutdown();
+		clearContext();
+	}
+
+	@Test
+	public void shouldRouteReadOnlyTransactionToReplica() {
+		assertThat(instanceReadIn(readOnlyTransaction), is(equalTo(REPLICA)));
+	}
+
+	@Test
+	public void shouldRouteReadWriteTransactionToPrimary() {
+		assertThat(instanceReadIn(readWriteTransaction), is(equalTo(PRIMARY)));
+	}
+
+	@Test
+	public void shouldRouteNonTransactionalAccessToPrimary() {
+		assertThat(instanceRead(), is(equalTo(PRIMARY)));
+	}
+
+	@Test
+	public void shouldRouteReadOnlyTransactionToPrimaryRightAfterOwnWrite() {
+		givenAuthenticated(WRITER);
+		instanceReadIn(readWriteTransaction);
+
+		assertThat(instanceReadIn(readOnlyTransaction), is(equalTo(PRIMARY)));
+	}
+
+	@Test
+	public void shouldRouteReadOnlyTransactionToReplicaAfterOtherUserWrite() {
+		givenAuthenticated(WRITER);
+		instanceReadIn(readWriteTransaction);
+
+		givenAuthenticated(OTHER_USER);
+
+		assertThat(instanceReadIn(readOnlyTransaction), is(equalTo(REPLICA)));
+	}
+
+	@Test
+	public void shouldNotPinWriterAgainWhenReadOnlyTransactionRoutedToPrimary() {
+		givenAuthenticated(WRITER);
+		instanceReadIn(readWriteTransaction);
+		reset(replicaLagGuard);
+
+		instanceReadIn(readOnlyTransaction);
+
+		verify(replicaLagGuard, never()).primaryUsed();
+	}
+
+	@Test
+	public void shouldRouteReadOnlyHibernateTransactionToReplica() {
+		assertThat(instanceReadByHibernateIn(readOnlyHibernateTransaction), is(equalTo(REPLICA)));
+	}
+
+	@Test
+	public void shouldRouteReadWriteHibernateTransactionToPrimary() {
+		assertThat(instanceReadByHibernateIn(readWriteHibernateTransaction), is(equalTo(PRIMARY)));
+	}
+
+	@Test
+	public void shouldRouteReadOnlyHibernateTransactionToPrimaryRightAfterOwnWrite() {
+		givenAuthenticated(WRITER);
+		instanceReadByHibernateIn(readWriteHibernateTransaction);
+
+		assertThat(instanceReadByHibernateIn(readOnlyHibernateTransaction), is(equalTo(PRIMARY)));
+	}
+
+	private void givenAuthenticated(String user) {
+		getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+	}
+
+	private String instanceReadIn(TransactionTemplate transaction) {
+		return transaction.execute(new TransactionCallback<String>() {
+			@Override
+			public String doInTransaction(TransactionStatus status) {
+				return instanceRead();
+			}
+		});
+	}
+
+	private String instanceReadByHibernateIn(TransactionTemplate transaction) {
+		return transaction.execute(new TransactionCallback<String>() {
+			@Override
+			public String doInTransaction(TransactionStatus status) {
+				return (String) sessionFactory.getCurrentSession()
+						.createSQLQuery("SELECT NAME FROM INSTANCE")
+						.uniqueResult();
+			}
+		});
+	}
+
+	private String instanceRead() {
+		return jdbcTemplate.queryForObject("SELECT NAME FROM INSTANCE", String.class);
+	}
+
+}
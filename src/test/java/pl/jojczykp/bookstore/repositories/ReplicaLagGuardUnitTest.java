@@ -0,0 +1,116 @@
+package pl.jojczykp.bookstore.repositories;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.core.context.SecurityContextHolder.clearContext;
+import static org.springframework.security.core.context.SecurityContextHolder.getContext;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.clearSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.getSynchronizations;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.initSynchronization;
+
+public class ReplicaLagGuardUnitTest {
+
+	private static final long MAX_LAG_MILLIS = 60000;
+	private static final String WRITER = "writer";
+	private static final String OTHER_USER = "otherUser";
+
+	private ReplicaLagGuard testee;
+
+	@Before
+	public void setUp() {
+		testee = guardWithMaxLag(MAX_LAG_MILLIS);
+		initSynchronization();
+	}
+
+	@After
+	public void tearDown() {
+		clearSynchronization();
+		clearContext();
+	}
+
+	@Test
+	public void shouldNotRequirePrimaryForUserWithoutWrites() {
+		givenAuthenticated(OTHER_USER);
+
+		assertThat(testee.isPrimaryRequired(), is(false));
+	}
+
+	@Test
+	public void shouldRequirePrimaryForUserAfterOwnCommittedWrite() {
+		givenCommittedWriteBy(WRITER);
+
+		givenAuthenticated(WRITER);
+		assertThat(testee.isPrimaryRequired(), is(true));
+		givenAuthenticated(OTHER_USER);
+		assertThat(testee.isPrimaryRequired(), is(false));
+	}
+
+	@Test
+	public void shouldNotRequirePrimaryAfterRolledBackWrite() {
+		givenAuthenticated(WRITER);
+		testee.primaryUsed();
+
+		for (TransactionSynchronization synchronization : getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+
+		assertThat(testee.isPrimaryRequired(), is(false));
+	}
+
+	@Test
+	public void shouldNotRequirePrimaryAfterLagPassed() {
+		testee = guardWithMaxLag(0);
+
+		givenCommittedWriteBy(WRITER);
+
+		assertThat(testee.isPrimaryRequired(), is(false));
+	}
+
+	@Test
+	public void shouldNotTrackAnonymousWrites() {
+		testee.primaryUsed();
+
+		assertThat(getSynchronizations(), is(empty()));
+		assertThat(testee.isPrimaryRequired(), is(false));
+	}
+
+	@Test
+	public void shouldNotTrackWritesOutsideTransaction() {
+		clearSynchronization();
+		givenAuthenticated(WRITER);
+
+		testee.primaryUsed();
+
+		assertThat(testee.isPrimaryRequired(), is(false));
+		initSynchronization();
+	}
+
+	private ReplicaLagGuard guardWithMaxLag(long maxLagMillis) {
+		ReplicaLagGuard guard = new ReplicaLagGuard();
+		setField(guard, "maxLagMillis", maxLagMillis);
+		guard.init();
+
+		return guard;
+	}
+
+	private void givenAuthenticated(String user) {
+		getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+	}
+
+	private void givenCommittedWriteBy(String user) {
+		givenAuthenticated(user);
+		testee.primaryUsed();
+		for (TransactionSynchronization synchronization : getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+	}
+
+}
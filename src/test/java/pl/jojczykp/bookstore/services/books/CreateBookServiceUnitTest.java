@@ -14,6 +14,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.MapBindingResult;
 import pl.jojczykp.bookstore.assemblers.CreateBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.entities.Book;
@@ -43,6 +45,8 @@ public class CreateBookServiceUnitTest {
 	@Mock private CreateBookValidator createBookValidator;
 	@Mock private CreateBookAssembler createBookAssembler;
 	@Mock private BooksRepository booksRepository;
+	@Mock private BooksCountCache booksCountCache;
+	@Mock private BooksPageCache booksPageCache;
 
 	@InjectMocks private CreateBookService testee;
 
@@ -67,6 +71,8 @@ public class CreateBookServiceUnitTest {
 		thenExpectValidationInvokedFor(command);
 		thenExpectAssemblingCommandToDomainInvokedFor(command);
 		thenExpectCreateInvokedOnRepository();
+		thenExpectBooksCountIncremented();
+		thenExpectCatalogVersionBumped();
 		thenExpectInfoOnlyMessage(displayBooksCommand, "Object created.");
 		thenExpectPagerPropagated(command, displayBooksCommand);
 	}
@@ -81,6 +87,8 @@ public class CreateBookServiceUnitTest {
 		thenExpectValidationInvokedFor(command);
 		thenExpectAssemblingCommandToDomainNotInvoked();
 		thenExpectCreateNotInvokedOnRepository();
+		thenExpectBooksCountNotChanged();
+		thenExpectCatalogVersionNotBumped();
 		thenExpectErrorOnlyMessage(displayBooksCommand, VALIDATOR_ERROR_MESSAGE);
 	}
 
@@ -124,6 +132,24 @@ public class CreateBookServiceUnitTest {
 		verifyZeroInteractions(booksRepository);
 	}
 
+	private void thenExpectBooksCountIncremented() {
+		verify(booksCountCache).increment();
+		verifyNoMoreInteractions(booksCountCache);
+	}
+
+	private void thenExpectBooksCountNotChanged() {
+		verifyZeroInteractions(booksCountCache);
+	}
+
+	private void thenExpectCatalogVersionBumped() {
+		verify(booksPageCache).bumpCatalogVersion();
+		verifyNoMoreInteractions(booksPageCache);
+	}
+
+	private void thenExpectCatalogVersionNotBumped() {
+		verifyZeroInteractions(booksPageCache);
+	}
+
 	private void thenExpectInfoOnlyMessage(DisplayBooksCommand displayBooksCommand, String message) {
 		assertThat(displayBooksCommand.getMessages().getInfos(), contains(message));
 		assertThat(displayBooksCommand.getMessages().getWarns(), emptyCollectionOf(String.class));
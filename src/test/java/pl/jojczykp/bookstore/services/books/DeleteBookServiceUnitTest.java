@@ -1,7 +1,5 @@
 package pl.jojczykp.bookstore.services.books;
 
-import org.hibernate.ObjectNotFoundException;
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -9,21 +7,26 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.DeleteBooksCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
 
+import java.util.Set;
+
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyCollectionOf;
-import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.reset;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DeleteBookServiceUnitTest {
@@ -34,39 +37,69 @@ public class DeleteBookServiceUnitTest {
 	private static final int NOT_EXISTING_ID = 98;
 
 	@Mock private BooksRepository booksRepository;
+	@Mock private BooksCountCache booksCountCache;
+	@Mock private BooksPageCache booksPageCache;
 
 	@InjectMocks private DeleteBookService testee;
 
-	@Captor private ArgumentCaptor<Integer> idOfBookToRemove;
-
-	@Before
-	public void setUp() {
-		reset(booksRepository);
-		doThrow(ObjectNotFoundException.class).when(booksRepository).delete(NOT_EXISTING_ID);
-	}
+	@Captor private ArgumentCaptor<Set<Integer>> idsOfBooksToRemove;
 
 	@Test
 	public void shouldDeleteExistingBooks() {
 		final DeleteBooksCommand command = aCommandToRemoveByIds(EXISTING_ID_1, EXISTING_ID_2, EXISTING_ID_3);
+		givenRepositoryDeletingCount(3);
 
 		DisplayBooksCommand displayBooksCommand = testee.delete(command);
 
-		thenExpectDeleteInvokedOnRepository(EXISTING_ID_1, EXISTING_ID_2, EXISTING_ID_3);
-		thenExpectInfoOnlyMessages(displayBooksCommand, "Object deleted.", "Object deleted.", "Object deleted.");
+		thenExpectDeleteAllInvokedOnRepository(EXISTING_ID_1, EXISTING_ID_2, EXISTING_ID_3);
+		thenExpectBooksCountDecrementedBy(3);
+		thenExpectCatalogVersionBumped(1);
+		thenExpectInfoOnlyMessages(displayBooksCommand, "Objects deleted: 3.");
 		thenExpectPagerPropagated(command, displayBooksCommand);
 	}
 
+	@Test
+	public void shouldDeleteDuplicatedIdsOnce() {
+		final DeleteBooksCommand command = aCommandToRemoveByIds(EXISTING_ID_1, EXISTING_ID_1);
+		givenRepositoryDeletingCount(1);
+
+		DisplayBooksCommand displayBooksCommand = testee.delete(command);
+
+		thenExpectDeleteAllInvokedOnRepository(EXISTING_ID_1);
+		thenExpectBooksCountDecrementedBy(1);
+		thenExpectCatalogVersionBumped(1);
+		thenExpectInfoOnlyMessages(displayBooksCommand, "Objects deleted: 1.");
+	}
+
 	@Test
 	public void shouldFailOnDeletingNotExistingBook() {
 		final DeleteBooksCommand command = aCommandToRemoveByIds(NOT_EXISTING_ID);
+		givenRepositoryDeletingCount(0);
 
 		DisplayBooksCommand displayBooksCommand = testee.delete(command);
 
-		thenExpectDeleteInvokedOnRepository(NOT_EXISTING_ID);
-		thenExpectWarnOnlyMessages(displayBooksCommand, "Object already deleted.");
+		thenExpectDeleteAllInvokedOnRepository(NOT_EXISTING_ID);
+		verifyZeroInteractions(booksCountCache);
+		thenExpectCatalogVersionBumped(0);
+		thenExpectWarnOnlyMessages(displayBooksCommand, "Objects already deleted: 1.");
 		thenExpectPagerPropagated(command, displayBooksCommand);
 	}
 
+	@Test
+	public void shouldReportBothDeletedAndAlreadyDeletedBooks() {
+		final DeleteBooksCommand command = aCommandToRemoveByIds(EXISTING_ID_1, EXISTING_ID_2, NOT_EXISTING_ID);
+		givenRepositoryDeletingCount(2);
+
+		DisplayBooksCommand displayBooksCommand = testee.delete(command);
+
+		thenExpectDeleteAllInvokedOnRepository(EXISTING_ID_1, EXISTING_ID_2, NOT_EXISTING_ID);
+		thenExpectBooksCountDecrementedBy(2);
+		thenExpectCatalogVersionBumped(1);
+		assertThat(displayBooksCommand.getMessages().getInfos(), contains("Objects deleted: 2."));
+		assertThat(displayBooksCommand.getMessages().getWarns(), contains("Objects already deleted: 1."));
+		assertThat(displayBooksCommand.getMessages().getErrors(), emptyCollectionOf(String.class));
+	}
+
 	private DeleteBooksCommand aCommandToRemoveByIds(int... ids) {
 		DeleteBooksCommand command = new DeleteBooksCommand();
 		for (int id : ids) {
@@ -76,12 +109,26 @@ public class DeleteBookServiceUnitTest {
 		return command;
 	}
 
-	private void thenExpectDeleteInvokedOnRepository(Integer... ids) {
-		verify(booksRepository, times(ids.length)).delete(idOfBookToRemove.capture());
-		assertThat(idOfBookToRemove.getAllValues(), hasItems(ids));
+	private void givenRepositoryDeletingCount(int count) {
+		given(booksRepository.deleteAll(anySetOf(Integer.class))).willReturn(count);
+	}
+
+	private void thenExpectDeleteAllInvokedOnRepository(Integer... ids) {
+		verify(booksRepository).deleteAll(idsOfBooksToRemove.capture());
+		assertThat(idsOfBooksToRemove.getValue(), containsInAnyOrder(ids));
 		verifyNoMoreInteractions(booksRepository);
 	}
 
+	private void thenExpectBooksCountDecrementedBy(int count) {
+		verify(booksCountCache).decrement(count);
+		verifyNoMoreInteractions(booksCountCache);
+	}
+
+	private void thenExpectCatalogVersionBumped(int times) {
+		verify(booksPageCache, times(times)).bumpCatalogVersion();
+		verifyNoMoreInteractions(booksPageCache);
+	}
+
 	private void thenExpectInfoOnlyMessages(DisplayBooksCommand displayBooksCommand, String... messages) {
 		assertThat(displayBooksCommand.getMessages().getInfos(), contains(messages));
 		assertThat(displayBooksCommand.getMessages().getWarns(), emptyCollectionOf(String.class));
@@ -9,12 +9,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import pl.jojczykp.bookstore.assemblers.DisplayBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksCountCache;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.DisplayBookCommand;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.commands.common.MessagesCommand;
 import pl.jojczykp.bookstore.commands.common.PagerCommand;
-import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.utils.PageSeek;
 import pl.jojczykp.bookstore.utils.PageSorterColumn;
 import pl.jojczykp.bookstore.utils.PageSorterDirection;
 import pl.jojczykp.bookstore.utils.PagerLimiter;
@@ -30,7 +33,14 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
 import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.ASC;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
@@ -38,7 +48,7 @@ import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
 @RunWith(MockitoJUnitRunner.class)
 public class DisplayBooksServiceUnitTest {
 
-	private static final List<Book> REPO_DATA = new ArrayList<>();
+	private static final List<BookSummary> REPO_DATA = new ArrayList<>();
 	private static final int REPO_TOTAL_COUNT = 23;
 
 	private static final int REQUESTED_PAGE_SIZE = 7;
@@ -56,14 +66,18 @@ public class DisplayBooksServiceUnitTest {
 	private static final PageSorterDirection LIMITED_SORT_DIRECTION = ASC;
 
 	private static final List<DisplayBookCommand> ASSEMBLER_RESULT_DATA = new ArrayList<>();
+	private static final List<DisplayBookCommand> CACHED_DATA = new ArrayList<>();
+	private static final String CATALOG_VERSION = "1418342400000-72";
 
 	@Mock private BooksRepository booksRepository;
+	@Mock private BooksCountCache booksCountCache;
+	@Mock private BooksPageCache booksPageCache;
 	@Mock private PagerLimiter pagerLimiter;
 	@Mock private DisplayBookAssembler displayBookAssembler;
 
 	@InjectMocks private DisplayBooksService testee;
 
-	@Captor private ArgumentCaptor<List<Book>> assembledListCaptor;
+	@Captor private ArgumentCaptor<List<BookSummary>> assembledListCaptor;
 	@Captor private ArgumentCaptor<PagerCommand> pagerCommandCaptor;
 	@Captor private ArgumentCaptor<Integer> totalCountCaptor;
 	@Captor private ArgumentCaptor<Integer> offsetCaptor;
@@ -74,16 +88,30 @@ public class DisplayBooksServiceUnitTest {
 	@Before
 	public void setUp() {
 		givenRepositoryMockConfigured();
+		givenBooksCountCacheMockConfigured();
+		givenBooksPageCacheMockConfigured();
 		givenRepeatingPageParamsLimiterMockConfigured();
 		givenBookAssemblerMockConfigured();
 	}
 
 	private void givenRepositoryMockConfigured() {
 		reset(booksRepository);
-		given(booksRepository.totalCount()).willReturn(REPO_TOTAL_COUNT);
 		given(booksRepository
 				.read(anyInt(), anyInt(), any(PageSorterColumn.class), any(PageSorterDirection.class)))
 				.willReturn(REPO_DATA);
+		given(booksRepository
+				.read(any(PageSeek.class), anyInt(), any(PageSorterColumn.class), any(PageSorterDirection.class)))
+				.willReturn(REPO_DATA);
+	}
+
+	private void givenBooksCountCacheMockConfigured() {
+		reset(booksCountCache);
+		given(booksCountCache.get()).willReturn(REPO_TOTAL_COUNT);
+	}
+
+	private void givenBooksPageCacheMockConfigured() {
+		reset(booksPageCache);
+		given(booksPageCache.get(anyString(), any(PagerCommand.class))).willReturn(null);
 	}
 
 	private void givenRepeatingPageParamsLimiterMockConfigured() {
@@ -103,7 +131,7 @@ public class DisplayBooksServiceUnitTest {
 		final List<String> errors = asList("error1", "error2", "error3");
 		DisplayBooksCommand command = aBooksCommand(aMessagesCommand(infos, warns, errors), aPagerCommand());
 
-		DisplayBooksCommand displayBooksCommand = testee.display(command);
+		DisplayBooksCommand displayBooksCommand = testee.display(command, CATALOG_VERSION);
 
 		assertThat(displayBooksCommand, is(sameInstance(command)));
 		assertThat(displayBooksCommand.getBooks(), is(sameInstance(ASSEMBLER_RESULT_DATA)));
@@ -118,6 +146,91 @@ public class DisplayBooksServiceUnitTest {
 		assertThat(displayBooksCommand.getMessages().getErrors(), is(equalTo(errors)));
 	}
 
+	@Test
+	public void shouldLimitPagerUsingCachedBooksCount() {
+		PagerCommand pager = aPagerCommand();
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), pager);
+
+		testee.display(command, CATALOG_VERSION);
+
+		verify(pagerLimiter).createLimited(pagerCommandCaptor.capture(), totalCountCaptor.capture());
+		assertThat(pagerCommandCaptor.getValue(), is(sameInstance(pager)));
+		assertThat(totalCountCaptor.getValue(), is(equalTo(REPO_TOTAL_COUNT)));
+		verify(booksRepository, never()).totalCount();
+	}
+
+	@Test
+	public void shouldReadByOffsetWhenSeekNotActive() {
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), aPagerCommand());
+
+		testee.display(command, CATALOG_VERSION);
+
+		verify(booksRepository).read((LIMITED_PAGE_NUMBER - 1) * LIMITED_PAGE_SIZE, LIMITED_PAGE_SIZE,
+				LIMITED_SORT_COLUMN, LIMITED_SORT_DIRECTION);
+		verifyNoMoreInteractions(booksRepository);
+	}
+
+	@Test
+	public void shouldReadBySeekWhenSeekActive() {
+		PagerCommand limitedPager = aLimitedPager();
+		limitedPager.getSeek().setDirection(NEXT);
+		given(pagerLimiter.createLimited(any(PagerCommand.class), anyInt())).willReturn(limitedPager);
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), aPagerCommand());
+
+		DisplayBooksCommand displayBooksCommand = testee.display(command, CATALOG_VERSION);
+
+		verify(booksRepository).read(limitedPager.getSeek(), LIMITED_PAGE_SIZE,
+				LIMITED_SORT_COLUMN, LIMITED_SORT_DIRECTION);
+		verifyNoMoreInteractions(booksRepository);
+		assertThat(displayBooksCommand.getBooks(), is(sameInstance(ASSEMBLER_RESULT_DATA)));
+	}
+
+	@Test
+	public void shouldTakeCatalogVersionFromPageCache() {
+		given(booksPageCache.getCatalogVersion()).willReturn(CATALOG_VERSION);
+
+		String catalogVersion = testee.catalogVersion();
+
+		assertThat(catalogVersion, is(equalTo(CATALOG_VERSION)));
+	}
+
+	@Test
+	public void shouldServeCachedPageWithoutReadingRepository() {
+		PagerCommand limitedPager = aLimitedPager();
+		given(pagerLimiter.createLimited(any(PagerCommand.class), anyInt())).willReturn(limitedPager);
+		given(booksPageCache.get(CATALOG_VERSION, limitedPager)).willReturn(CACHED_DATA);
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), aPagerCommand());
+
+		DisplayBooksCommand displayBooksCommand = testee.display(command, CATALOG_VERSION);
+
+		assertThat(displayBooksCommand.getBooks(), is(sameInstance(CACHED_DATA)));
+		verifyZeroInteractions(booksRepository, displayBookAssembler);
+		verify(booksPageCache, never()).put(anyString(), any(PagerCommand.class), anyListOf(DisplayBookCommand.class));
+	}
+
+	@Test
+	public void shouldPutPageReadByOffsetIntoCache() {
+		PagerCommand limitedPager = aLimitedPager();
+		given(pagerLimiter.createLimited(any(PagerCommand.class), anyInt())).willReturn(limitedPager);
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), aPagerCommand());
+
+		testee.display(command, CATALOG_VERSION);
+
+		verify(booksPageCache).put(CATALOG_VERSION, limitedPager, ASSEMBLER_RESULT_DATA);
+	}
+
+	@Test
+	public void shouldPutPageReadBySeekIntoCache() {
+		PagerCommand limitedPager = aLimitedPager();
+		limitedPager.getSeek().setDirection(NEXT);
+		given(pagerLimiter.createLimited(any(PagerCommand.class), anyInt())).willReturn(limitedPager);
+		DisplayBooksCommand command = aBooksCommand(new MessagesCommand(), aPagerCommand());
+
+		testee.display(command, CATALOG_VERSION);
+
+		verify(booksPageCache).put(CATALOG_VERSION, limitedPager, ASSEMBLER_RESULT_DATA);
+	}
+
 	private static DisplayBooksCommand aBooksCommand(MessagesCommand messagesCommand, PagerCommand pagerCommand) {
 		DisplayBooksCommand result = new DisplayBooksCommand();
 		result.setMessages(messagesCommand);
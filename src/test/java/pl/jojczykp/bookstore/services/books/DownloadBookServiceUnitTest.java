@@ -9,22 +9,30 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.caches.BookContentCache;
 import pl.jojczykp.bookstore.commands.books.DownloadBookCommand;
 import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
 import pl.jojczykp.bookstore.entities.Book;
 import pl.jojczykp.bookstore.entities.BookFile;
 import pl.jojczykp.bookstore.repositories.BooksRepository;
+import pl.jojczykp.bookstore.stores.BookContentStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
-import static pl.jojczykp.bookstore.utils.BlobUtils.aSerialBlobWith;
-import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DownloadBookServiceUnitTest {
@@ -32,28 +40,109 @@ public class DownloadBookServiceUnitTest {
 	private static final String EXISTING_ID = "7";
 	private static final String NOT_EXISTING_ID = "13";
 	private static final String NOT_PARSABLE_ID = "someString";
-	private static final byte[] CONTENT = {1, 2, 3, 4, 5};
+	private static final int BOOK_FILE_ID = 11;
+	private static final ByteBuffer CONTENT = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5});
 	private static final String EXCEPTION_MESSAGE = "Content of book with id '%s' not found.";
 
 	@Rule public ExpectedException expectedException = ExpectedException.none();
 
 	@Mock private BooksRepository booksRepository;
+	@Mock private BookContentCache bookContentCache;
+	@Mock private BookContentStore bookContentStore;
 
 	@InjectMocks private DownloadBookService testee;
 
 	@Before
 	public void setUp() {
-		reset(booksRepository);
+		reset(booksRepository, bookContentCache, bookContentStore);
 	}
 
 	@Test
-	public void shouldDownloadBook() {
+	public void shouldFindBookWithoutReadingContent() {
 		DownloadBookCommand command = downloadBookCommandWith(EXISTING_ID);
-		givenBookReadFromRepositoryWith(EXISTING_ID);
+		Book book = givenBookReadFromRepositoryWith(EXISTING_ID);
+
+		Book found = testee.find(command);
+
+		assertThat(found, is(sameInstance(book)));
+		verifyZeroInteractions(bookContentCache, bookContentStore);
+	}
+
+	@Test
+	public void shouldReadContentOfStoredBookFileFromStore() throws IOException {
+		BookFile stored = givenStoredBookFile();
+		given(bookContentStore.read(stored)).willReturn(CONTENT);
+
+		ByteBuffer content = testee.content(bookFileWithId(BOOK_FILE_ID));
+
+		assertThat(content, is(sameInstance(CONTENT)));
+	}
+
+	@Test
+	public void shouldReadContentFromCache() throws IOException {
+		BookFile stored = givenStoredBookFile();
+		given(bookContentCache.get(stored)).willReturn(CONTENT);
 
-		Book book = testee.download(command);
+		ByteBuffer content = testee.content(bookFileWithId(BOOK_FILE_ID));
 
-		assertThat(blobBytes(book.getBookFile().getContent()), is(equalTo(CONTENT)));
+		assertThat(content, is(sameInstance(CONTENT)));
+		verifyZeroInteractions(bookContentStore);
+	}
+
+	@Test
+	public void shouldReadOnlyRequestedRangeFromStoreWhenNotCached() throws IOException {
+		BookFile stored = givenStoredBookFile();
+		given(bookContentStore.read(stored, 1, 3)).willReturn(CONTENT);
+
+		ByteBuffer content = testee.content(bookFileWithId(BOOK_FILE_ID), 1, 3);
+
+		assertThat(content, is(sameInstance(CONTENT)));
+		verify(bookContentStore, never()).read(stored);
+		verify(bookContentCache, never()).get(any(BookFile.class));
+	}
+
+	@Test
+	public void shouldReadRangeFromCachedContent() throws IOException {
+		BookFile bookFile = bookFileWithId(BOOK_FILE_ID);
+		given(bookContentCache.getIfPresent(bookFile)).willReturn(CONTENT.duplicate());
+
+		ByteBuffer content = testee.content(bookFile, 1, 3);
+
+		assertThat(content.position(), is(1));
+		assertThat(content.remaining(), is(3));
+		verifyZeroInteractions(booksRepository, bookContentStore);
+	}
+
+	@Test
+	public void shouldWrapExceptionWithRuntimeExceptionWhenReadingContentFails() throws IOException {
+		BookFile stored = givenStoredBookFile();
+		IOException cause = new IOException();
+		given(bookContentStore.read(stored)).willThrow(cause);
+
+		expectedException.expect(RuntimeException.class);
+		expectedException.expectCause(is(sameInstance(cause)));
+
+		testee.content(bookFileWithId(BOOK_FILE_ID));
+	}
+
+	@Test
+	public void shouldWrapExceptionWithRuntimeExceptionWhenReadingContentRangeFails() throws IOException {
+		BookFile stored = givenStoredBookFile();
+		IOException cause = new IOException();
+		given(bookContentStore.read(stored, 1, 3)).willThrow(cause);
+
+		expectedException.expect(RuntimeException.class);
+		expectedException.expectCause(is(sameInstance(cause)));
+
+		testee.content(bookFileWithId(BOOK_FILE_ID), 1, 3);
+	}
+
+	@Test
+	public void shouldFailReadingContentOfNotExistingBookFile() {
+		expectedException.expect(ResourceNotFoundException.class);
+		expectedException.expectMessage(equalTo(format("Content of book file with id '%d' not found.", BOOK_FILE_ID)));
+
+		testee.content(bookFileWithId(BOOK_FILE_ID));
 	}
 
 	@Test
@@ -64,7 +153,7 @@ public class DownloadBookServiceUnitTest {
 		expectedException.expect(ResourceNotFoundException.class);
 		expectedException.expectMessage(equalTo(format(EXCEPTION_MESSAGE, NOT_EXISTING_ID)));
 
-		testee.download(command);
+		testee.find(command);
 	}
 
 	@Test
@@ -75,7 +164,7 @@ public class DownloadBookServiceUnitTest {
 		expectedException.expectMessage(equalTo(format(EXCEPTION_MESSAGE, NOT_PARSABLE_ID)));
 		expectedException.expectCause(Matchers.<Throwable>instanceOf(NumberFormatException.class));
 
-		testee.download(command);
+		testee.find(command);
 	}
 
 	private DownloadBookCommand downloadBookCommandWith(String id) {
@@ -85,13 +174,28 @@ public class DownloadBookServiceUnitTest {
 		return command;
 	}
 
-	private void givenBookReadFromRepositoryWith(String id) {
+	private BookFile givenStoredBookFile() {
+		BookFile stored = bookFileWithId(BOOK_FILE_ID);
+		given(booksRepository.findBookFile(BOOK_FILE_ID)).willReturn(stored);
+
+		return stored;
+	}
+
+	private BookFile bookFileWithId(int id) {
+		BookFile bookFile = mock(BookFile.class);
+		given(bookFile.getId()).willReturn(id);
+
+		return bookFile;
+	}
+
+	private Book givenBookReadFromRepositoryWith(String id) {
 		Book book = mock(Book.class);
 		BookFile bookFile = mock(BookFile.class);
 
 		given(booksRepository.find(parseInt(id))).willReturn(book);
 		given(book.getBookFile()).willReturn(bookFile);
-		given(bookFile.getContent()).willReturn(aSerialBlobWith(CONTENT));
+
+		return book;
 	}
 
 }
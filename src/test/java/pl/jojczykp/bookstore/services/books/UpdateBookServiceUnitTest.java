@@ -15,6 +15,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.MapBindingResult;
 import pl.jojczykp.bookstore.assemblers.UpdateBookAssembler;
+import pl.jojczykp.bookstore.caches.BooksPageCache;
 import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
 import pl.jojczykp.bookstore.commands.books.UpdateBookCommand;
 import pl.jojczykp.bookstore.entities.Book;
@@ -35,6 +36,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UpdateBookServiceUnitTest {
@@ -44,6 +46,7 @@ public class UpdateBookServiceUnitTest {
 	@Mock private UpdateBookValidator updateBookValidator;
 	@Mock private UpdateBookAssembler updateBookAssembler;
 	@Mock private BooksRepository booksRepository;
+	@Mock private BooksPageCache booksPageCache;
 
 	@InjectMocks private UpdateBookService testee;
 
@@ -68,6 +71,7 @@ public class UpdateBookServiceUnitTest {
 
 		thenExpectValidationInvokedFor(command);
 		thenExpectUpdateInvokedOnRepository();
+		thenExpectCatalogVersionBumped();
 		thenExpectInfoOnlyMessage(displayBooksCommand, "Title updated.");
 		thenExpectPagerPropagated(command, displayBooksCommand);
 	}
@@ -81,6 +85,7 @@ public class UpdateBookServiceUnitTest {
 
 		thenExpectValidationInvokedFor(command);
 		thenExpectUpdateInvokedOnRepository();
+		thenExpectCatalogVersionNotBumped();
 		thenExpectWarnOnlyMessage(displayBooksCommand,
 				"Object updated or deleted by another user. Please try again with actual data.");
 		thenExpectPagerPropagated(command, displayBooksCommand);
@@ -95,6 +100,7 @@ public class UpdateBookServiceUnitTest {
 
 		thenExpectValidationInvokedFor(command);
 		thenExpectErrorOnlyMessage(displayBooksCommand, VALIDATOR_ERROR_MESSAGE);
+		thenExpectCatalogVersionNotBumped();
 		thenExpectPagerPropagated(command, displayBooksCommand);
 	}
 
@@ -124,6 +130,15 @@ public class UpdateBookServiceUnitTest {
 		verifyNoMoreInteractions(updateBookValidator);
 	}
 
+	private void thenExpectCatalogVersionBumped() {
+		verify(booksPageCache).bumpCatalogVersion();
+		verifyNoMoreInteractions(booksPageCache);
+	}
+
+	private void thenExpectCatalogVersionNotBumped() {
+		verifyZeroInteractions(booksPageCache);
+	}
+
 	private void thenExpectUpdateInvokedOnRepository() {
 		verify(booksRepository).update(updatedBookCaptor.capture());
 		assertThat(updatedBookCaptor.getValue(), is(sameInstance(book)));
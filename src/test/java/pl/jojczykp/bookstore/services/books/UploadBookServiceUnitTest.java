@@ -0,0 +1,283 @@
+package pl.jojczykp.bookstore.services.books;
+
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.validation.BindingResult;
+import pl.jojczykp.bookstore.commands.books.CreateBookCommand;
+import pl.jojczykp.bookstore.commands.books.DisplayBooksCommand;
+import pl.jojczykp.bookstore.controllers.errors.InvalidUploadException;
+import pl.jojczykp.bookstore.controllers.errors.ResourceNotFoundException;
+import pl.jojczykp.bookstore.stores.UploadSession;
+import pl.jojczykp.bookstore.stores.UploadSessionStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.CHECKSUM_MISMATCH;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.SAVED;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.TOO_LARGE;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UploadBookServiceUnitTest {
+
+	private static final String SESSION_ID = "someSessionId";
+	private static final String TITLE = "Some Title";
+	private static final String FILE_NAME = "someBook.pdf";
+	private static final String CONTENT_TYPE = "application/pdf";
+	private static final String CHECKSUM = "someChecksum";
+	private static final long SESSION_EXPIRY_MILLIS = 1000;
+	private static final long MAX_SESSION_SIZE = 100;
+	private static final long MAX_CHUNK_SIZE = 30;
+	private static final UploadSession SESSION = new UploadSession(SESSION_ID, TITLE, FILE_NAME, CONTENT_TYPE);
+	private static final Path ASSEMBLED_CONTENT = Paths.get("assembled");
+
+	@Rule public ExpectedException expectedException = ExpectedException.none();
+
+	@Mock private UploadSessionStore uploadSessionStore;
+	@Mock private CreateBookService createBookService;
+
+	@InjectMocks private UploadBookService testee;
+
+	private final InputStream content = new ByteArrayInputStream(new byte[] {1, 2});
+
+	@Before
+	public void setUp() {
+		setField(testee, "sessionExpiryMillis", SESSION_EXPIRY_MILLIS);
+		setField(testee, "maxSessionSize", MAX_SESSION_SIZE);
+		setField(testee, "maxChunkSize", MAX_CHUNK_SIZE);
+		given(uploadSessionStore.find(anyString())).willReturn(Optional.<UploadSession>absent());
+		given(uploadSessionStore.find(SESSION_ID)).willReturn(Optional.of(SESSION));
+	}
+
+	@Test
+	public void shouldOpenSessionAfterDeletingExpiredOnes() {
+		given(uploadSessionStore.create(TITLE, FILE_NAME, CONTENT_TYPE)).willReturn(SESSION);
+
+		String sessionId = testee.open(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		assertThat(sessionId, is(equalTo(SESSION_ID)));
+		verify(uploadSessionStore).deleteOlderThan(SESSION_EXPIRY_MILLIS);
+	}
+
+	@Test
+	public void shouldFailOpeningSessionWithEmptyTitle() {
+		expectedException.expect(InvalidUploadException.class);
+
+		testee.open(" ", FILE_NAME, CONTENT_TYPE);
+	}
+
+	@Test
+	public void shouldFailOpeningSessionWithEmptyFileName() {
+		expectedException.expect(InvalidUploadException.class);
+
+		testee.open(TITLE, "", CONTENT_TYPE);
+	}
+
+	@Test
+	public void shouldGetReceivedChunks() {
+		SortedSet<Integer> chunkNumbers = new TreeSet<>(asList(0, 1));
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(chunkNumbers);
+
+		SortedSet<Integer> received = testee.receivedChunks(SESSION_ID);
+
+		assertThat(received, is(sameInstance(chunkNumbers)));
+	}
+
+	@Test
+	public void shouldFailForNotExistingSession() {
+		expectedException.expect(ResourceNotFoundException.class);
+		expectedException.expectMessage("Upload session 'otherSessionId' not found.");
+
+		testee.receivedChunks("otherSessionId");
+	}
+
+	@Test
+	public void shouldPutChunkLimitedByMaxChunkSize() {
+		given(uploadSessionStore.otherChunksSize(SESSION, 3)).willReturn(MAX_SESSION_SIZE - MAX_CHUNK_SIZE);
+		given(uploadSessionStore.saveChunk(SESSION, 3, content, CHECKSUM, MAX_CHUNK_SIZE)).willReturn(SAVED);
+
+		testee.putChunk(SESSION_ID, 3, CHECKSUM, content);
+
+		verify(uploadSessionStore).saveChunk(SESSION, 3, content, CHECKSUM, MAX_CHUNK_SIZE);
+	}
+
+	@Test
+	public void shouldPutChunkLimitedBySizeLeftForSession() {
+		given(uploadSessionStore.otherChunksSize(SESSION, 3)).willReturn(MAX_SESSION_SIZE - 7);
+		given(uploadSessionStore.saveChunk(SESSION, 3, content, CHECKSUM, 7)).willReturn(SAVED);
+
+		testee.putChunk(SESSION_ID, 3, CHECKSUM, content);
+
+		verify(uploadSessionStore).saveChunk(SESSION, 3, content, CHECKSUM, 7);
+	}
+
+	@Test
+	public void shouldPutChunkLimitedToEmptyWhenNoSizeLeftForSession() {
+		given(uploadSessionStore.otherChunksSize(SESSION, 3)).willReturn(MAX_SESSION_SIZE + 1);
+		given(uploadSessionStore.saveChunk(SESSION, 3, content, CHECKSUM, 0)).willReturn(SAVED);
+
+		testee.putChunk(SESSION_ID, 3, CHECKSUM, content);
+
+		verify(uploadSessionStore).saveChunk(SESSION, 3, content, CHECKSUM, 0);
+	}
+
+	@Test
+	public void shouldFailPuttingTooLargeChunk() {
+		given(uploadSessionStore.saveChunk(SESSION, 3, content, CHECKSUM, MAX_CHUNK_SIZE)).willReturn(TOO_LARGE);
+
+		expectedException.expect(InvalidUploadException.class);
+		expectedException.expectMessage(
+				"Chunk 3 exceeds 30 bytes allowed by chunk size limit 30 and session size limit 100.");
+
+		testee.putChunk(SESSION_ID, 3, CHECKSUM, content);
+	}
+
+	@Test
+	public void shouldFailPuttingChunkWithNotMatchingChecksum() {
+		given(uploadSessionStore.saveChunk(SESSION, 3, content, CHECKSUM, MAX_CHUNK_SIZE))
+				.willReturn(CHECKSUM_MISMATCH);
+
+		expectedException.expect(InvalidUploadException.class);
+		expectedException.expectMessage("Checksum of chunk 3 does not match its content.");
+
+		testee.putChunk(SESSION_ID, 3, CHECKSUM, content);
+	}
+
+	@Test
+	public void shouldFailPuttingChunkWithNegativeNumber() {
+		expectedException.expect(InvalidUploadException.class);
+
+		testee.putChunk(SESSION_ID, -1, CHECKSUM, content);
+	}
+
+	@Test
+	public void shouldCommitByCreatingBookFromAssembledChunks() {
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0, 1)));
+		given(uploadSessionStore.assemble(SESSION, 2)).willReturn(ASSEMBLED_CONTENT);
+		given(createBookService.create(any(CreateBookCommand.class), any(BindingResult.class)))
+				.willReturn(new DisplayBooksCommand());
+
+		testee.commit(SESSION_ID, 2);
+
+		ArgumentCaptor<CreateBookCommand> command = ArgumentCaptor.forClass(CreateBookCommand.class);
+		verify(createBookService).create(command.capture(), any(BindingResult.class));
+		assertThat(command.getValue().getTitle(), is(equalTo(TITLE)));
+		assertThat(command.getValue().getFile().getOriginalFilename(), is(equalTo(FILE_NAME)));
+		assertThat(command.getValue().getFile().getContentType(), is(equalTo(CONTENT_TYPE)));
+		verify(uploadSessionStore).delete(SESSION);
+	}
+
+	@Test
+	public void shouldFailCommittingWithMissingChunks() {
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0, 2)));
+
+		expectedException.expect(InvalidUploadException.class);
+		expectedException.expectMessage("Expected chunks 0 to 2 but received [0, 2].");
+
+		testee.commit(SESSION_ID, 3);
+	}
+
+	@Test
+	public void shouldCommitSessionOfMaxSize() {
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0)));
+		given(uploadSessionStore.chunksSize(SESSION)).willReturn(MAX_SESSION_SIZE);
+		given(uploadSessionStore.assemble(SESSION, 1)).willReturn(ASSEMBLED_CONTENT);
+		given(createBookService.create(any(CreateBookCommand.class), any(BindingResult.class)))
+				.willReturn(new DisplayBooksCommand());
+
+		testee.commit(SESSION_ID, 1);
+
+		verify(uploadSessionStore).delete(SESSION);
+	}
+
+	@Test
+	public void shouldFailCommittingSessionExceedingMaxSize() {
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0)));
+		given(uploadSessionStore.chunksSize(SESSION)).willReturn(MAX_SESSION_SIZE + 1);
+
+		expectedException.expect(InvalidUploadException.class);
+		expectedException.expectMessage("Upload of 101 bytes exceeds session size limit 100.");
+
+		testee.commit(SESSION_ID, 1);
+	}
+
+	@Test
+	public void shouldFailCommittingWithNoChunks() {
+		expectedException.expect(InvalidUploadException.class);
+
+		testee.commit(SESSION_ID, 0);
+	}
+
+	@Test(expected = InvalidUploadException.class)
+	public void shouldKeepStagedChunksWhenBookNotCreated() {
+		DisplayBooksCommand result = new DisplayBooksCommand();
+		result.getMessages().addErrors("Some error.");
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0)));
+		given(createBookService.create(any(CreateBookCommand.class), any(BindingResult.class))).willReturn(result);
+
+		try {
+			testee.commit(SESSION_ID, 1);
+		} finally {
+			verify(uploadSessionStore, never()).delete(SESSION);
+		}
+	}
+
+	@Test
+	public void shouldFailCommittingWhenBookNotCreated() {
+		DisplayBooksCommand result = new DisplayBooksCommand();
+		result.getMessages().addErrors("Some error.");
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0)));
+		given(createBookService.create(any(CreateBookCommand.class), any(BindingResult.class))).willReturn(result);
+
+		expectedException.expect(InvalidUploadException.class);
+		expectedException.expectMessage("Some error.");
+
+		testee.commit(SESSION_ID, 1);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void shouldKeepStagedChunksWhenCreatingBookFails() {
+		given(uploadSessionStore.chunkNumbers(SESSION)).willReturn(new TreeSet<>(asList(0)));
+		given(createBookService.create(any(CreateBookCommand.class), any(BindingResult.class)))
+				.willThrow(new RuntimeException());
+
+		try {
+			testee.commit(SESSION_ID, 1);
+		} finally {
+			verify(uploadSessionStore, never()).delete(SESSION);
+		}
+	}
+
+	@Test
+	public void shouldAbort() {
+		testee.abort(SESSION_ID);
+
+		verify(uploadSessionStore).delete(SESSION);
+		verify(uploadSessionStore, never()).assemble(any(UploadSession.class), anyInt());
+	}
+
+}
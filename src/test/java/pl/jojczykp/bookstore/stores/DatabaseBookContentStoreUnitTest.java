@@ -0,0 +1,118 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.junit.Before;
+import org.junit.Test;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobBytes;
+
+public class DatabaseBookContentStoreUnitTest {
+
+	private static final byte[] CONTENT = {4, 3, 2, 1};
+	private static final String CONTENT_KEY = "someContentKey";
+
+	private static final int MAX_IN_MEMORY_SIZE = 1024;
+
+	private DatabaseBookContentStore testee = new DatabaseBookContentStore();
+
+	@Before
+	public void setUp() {
+		setField(testee, "maxInMemorySize", MAX_IN_MEMORY_SIZE);
+	}
+
+	@Test
+	public void shouldKeepContentInBookFileWhenSaving() {
+		BookFile bookFile = aBookFile().withContent(CONTENT).withContentKey(CONTENT_KEY).build();
+
+		testee.save(bookFile);
+
+		assertThat(bookFile.getContentKey(), is(equalTo("")));
+		assertThat(blobBytes(bookFile.getContent()), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldReadSmallContentIntoMemory() throws IOException {
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+
+		ByteBuffer content = testee.read(bookFile);
+
+		assertThat(content.hasArray(), is(true));
+		assertThat(bytesOf(content), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldSpoolBigContentToMappedFile() throws IOException {
+		setField(testee, "maxInMemorySize", CONTENT.length - 1);
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+
+		ByteBuffer content = testee.read(bookFile);
+
+		assertThat(content, is(instanceOf(MappedByteBuffer.class)));
+		assertThat(bytesOf(content), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldReadContentRange() throws IOException {
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+
+		ByteBuffer content = testee.read(bookFile, 1, 2);
+
+		assertThat(content.isDirect(), is(false));
+		assertThat(bytesOf(content), is(equalTo(new byte[] {3, 2})));
+	}
+
+	@Test
+	public void shouldSpoolBigContentRangeToMappedFile() throws IOException {
+		setField(testee, "maxInMemorySize", 1);
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+
+		ByteBuffer content = testee.read(bookFile, 1, 2);
+
+		assertThat(content, is(instanceOf(MappedByteBuffer.class)));
+		assertThat(bytesOf(content), is(equalTo(new byte[] {3, 2})));
+	}
+
+	@Test
+	public void shouldReadEmptyContent() throws IOException {
+		BookFile bookFile = aBookFile().withContent(new byte[0]).build();
+
+		ByteBuffer content = testee.read(bookFile);
+
+		assertThat(content.remaining(), is(0));
+	}
+
+	@Test
+	public void shouldOpenStreamOfBookFileContent() throws IOException {
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+
+		try (InputStream content = testee.openStream(bookFile)) {
+			assertThat(toByteArray(content), is(equalTo(CONTENT)));
+		}
+	}
+
+	@Test
+	public void shouldIgnoreDeletingContents() {
+		testee.delete(asList(CONTENT_KEY));
+	}
+
+	private byte[] bytesOf(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+
+		return bytes;
+	}
+
+}
@@ -0,0 +1,210 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.clearSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.getSynchronizations;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.initSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
+
+public class FilesystemBookContentStoreUnitTest {
+
+	private static final byte[] CONTENT = {1, 3, 5, 7, 9};
+	private static final byte[] OTHER_CONTENT = {2, 4, 6};
+	private static final String CONTENT_HASH = "someContentHash";
+	private static final String OTHER_CONTENT_HASH = "otherContentHash";
+
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File directory;
+	private FilesystemBookContentStore testee;
+
+	@Before
+	public void setUpTestee() throws IOException {
+		directory = new File(temporaryFolder.getRoot(), "contents");
+		testee = new FilesystemBookContentStore();
+		setField(testee, "directoryName", directory.getPath());
+		testee.init();
+	}
+
+	@After
+	public void clearTransactionSynchronization() {
+		if (isSynchronizationActive()) {
+			clearSynchronization();
+		}
+	}
+
+	@Test
+	public void shouldCreateDirectoryOnInit() {
+		assertThat(directory.isDirectory(), is(true));
+	}
+
+	@Test
+	public void shouldSaveContentToFileNamedByGeneratedContentKey() throws IOException {
+		BookFile bookFile = aBookFile().withContent(CONTENT).withContentHash(CONTENT_HASH).build();
+
+		testee.save(bookFile);
+
+		assertThat(bookFile.getContentKey(), is(not(equalTo(CONTENT_HASH))));
+		assertThat(blobLength(bookFile.getContent()), is(0L));
+		assertThat(readFileToByteArray(new File(directory, bookFile.getContentKey())), is(equalTo(CONTENT)));
+		assertThat(directory.list(), is(arrayContaining(bookFile.getContentKey())));
+	}
+
+	@Test
+	public void shouldSaveSameContentHashToSeparateFiles() throws IOException {
+		BookFile bookFile = aBookFile().withContent(CONTENT).withContentHash(CONTENT_HASH).build();
+		BookFile otherBookFile = aBookFile().withContent(CONTENT).withContentHash(CONTENT_HASH).build();
+		testee.save(bookFile);
+		testee.save(otherBookFile);
+
+		testee.delete(asList(bookFile.getContentKey()));
+
+		assertThat(otherBookFile.getContentKey(), is(not(equalTo(bookFile.getContentKey()))));
+		assertThat(directory.list(), is(arrayContaining(otherBookFile.getContentKey())));
+		assertThat(readFileToByteArray(new File(directory, otherBookFile.getContentKey())), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldDeleteSavedFileWhenTransactionRollsBack() {
+		initSynchronization();
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+		testee.save(bookFile);
+
+		completeTransactionWith(STATUS_ROLLED_BACK);
+
+		assertThat(directory.list(), is(emptyArray()));
+	}
+
+	@Test
+	public void shouldKeepSavedFileWhenTransactionCommits() {
+		initSynchronization();
+		BookFile bookFile = aBookFile().withContent(CONTENT).build();
+		testee.save(bookFile);
+
+		completeTransactionWith(STATUS_COMMITTED);
+
+		assertThat(directory.list(), is(arrayContaining(bookFile.getContentKey())));
+	}
+
+	@Test
+	public void shouldReadContentFromFile() throws IOException {
+		writeByteArrayToFile(new File(directory, CONTENT_HASH), CONTENT);
+		BookFile bookFile = aBookFile().withContentKey(CONTENT_HASH).build();
+
+		ByteBuffer content = testee.read(bookFile);
+
+		byte[] bytes = new byte[content.remaining()];
+		content.get(bytes);
+		assertThat(bytes, is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldReadContentRangeFromFile() throws IOException {
+		writeByteArrayToFile(new File(directory, CONTENT_HASH), CONTENT);
+		BookFile bookFile = aBookFile().withContentKey(CONTENT_HASH).build();
+
+		ByteBuffer content = testee.read(bookFile, 1, 3);
+
+		byte[] bytes = new byte[content.remaining()];
+		content.get(bytes);
+		assertThat(bytes, is(equalTo(new byte[] {3, 5, 7})));
+	}
+
+	@Test
+	public void shouldOpenStreamOfFile() throws IOException {
+		writeByteArrayToFile(new File(directory, CONTENT_HASH), CONTENT);
+		BookFile bookFile = aBookFile().withContentKey(CONTENT_HASH).build();
+
+		try (InputStream content = testee.openStream(bookFile)) {
+			assertThat(toByteArray(content), is(equalTo(CONTENT)));
+		}
+	}
+
+	@Test
+	public void shouldDeleteContents() throws IOException {
+		writeByteArrayToFile(new File(directory, CONTENT_HASH), CONTENT);
+		writeByteArrayToFile(new File(directory, OTHER_CONTENT_HASH), OTHER_CONTENT);
+
+		testee.delete(asList(CONTENT_HASH, "notExistingContentKey"));
+
+		assertThat(directory.list(), is(arrayContaining(OTHER_CONTENT_HASH)));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWhenSavingFails() throws IOException {
+		deleteDirectory(directory);
+		BookFile bookFile = aBookFile().withContent(CONTENT).withContentHash(CONTENT_HASH).build();
+
+		testee.save(bookFile);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWhenDeletingFails() throws IOException {
+		writeByteArrayToFile(new File(new File(directory, CONTENT_HASH), "nested"), CONTENT);
+
+		testee.delete(asList(CONTENT_HASH));
+	}
+
+	@Test
+	public void shouldNotCreateDirectoryWhenNoneConfigured() throws IOException {
+		FilesystemBookContentStore unconfigured = anUnconfiguredStore();
+
+		assertThat(temporaryFolder.getRoot().list(), is(arrayContaining("contents")));
+		try {
+			unconfigured.read(aBookFile().withContentKey(CONTENT_HASH).build());
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("book.content.store.filesystem.directory"));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldFailSavingWhenNoDirectoryConfigured() throws IOException {
+		anUnconfiguredStore().save(aBookFile().withContent(CONTENT).build());
+	}
+
+	private void completeTransactionWith(int status) {
+		for (TransactionSynchronization synchronization : getSynchronizations()) {
+			synchronization.afterCompletion(status);
+		}
+	}
+
+	private FilesystemBookContentStore anUnconfiguredStore() throws IOException {
+		FilesystemBookContentStore store = new FilesystemBookContentStore();
+		setField(store, "directoryName", " ");
+		store.init();
+
+		return store;
+	}
+
+}
@@ -0,0 +1,120 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import pl.jojczykp.bookstore.entities.BookFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RoutingBookContentStoreUnitTest {
+
+	private static final BookFile DATABASE_BOOK_FILE = aBookFile().withContentKey("").build();
+	private static final BookFile FILESYSTEM_BOOK_FILE = aBookFile().withContentKey("someContentKey").build();
+
+	@Mock private BookContentStore savingBookContentStore;
+	@Mock private DatabaseBookContentStore databaseBookContentStore;
+	@Mock private FilesystemBookContentStore filesystemBookContentStore;
+
+	private RoutingBookContentStore testee;
+
+	@Before
+	public void setUpTestee() {
+		testee = new RoutingBookContentStore();
+		setField(testee, "savingBookContentStore", savingBookContentStore);
+		setField(testee, "databaseBookContentStore", databaseBookContentStore);
+		setField(testee, "filesystemBookContentStore", filesystemBookContentStore);
+	}
+
+	@Test
+	public void shouldSaveToConfiguredStore() {
+		BookFile bookFile = aBookFile().build();
+
+		testee.save(bookFile);
+
+		verify(savingBookContentStore).save(bookFile);
+		verifyZeroInteractions(databaseBookContentStore, filesystemBookContentStore);
+	}
+
+	@Test
+	public void shouldReadBookFileWithoutContentKeyFromDatabase() throws IOException {
+		ByteBuffer content = ByteBuffer.allocate(1);
+		given(databaseBookContentStore.read(DATABASE_BOOK_FILE)).willReturn(content);
+
+		assertThat(testee.read(DATABASE_BOOK_FILE), is(sameInstance(content)));
+		verifyZeroInteractions(filesystemBookContentStore);
+	}
+
+	@Test
+	public void shouldReadBookFileWithContentKeyFromFilesystem() throws IOException {
+		ByteBuffer content = ByteBuffer.allocate(1);
+		given(filesystemBookContentStore.read(FILESYSTEM_BOOK_FILE)).willReturn(content);
+
+		assertThat(testee.read(FILESYSTEM_BOOK_FILE), is(sameInstance(content)));
+		verifyZeroInteractions(databaseBookContentStore);
+	}
+
+	@Test
+	public void shouldReadRangeOfBookFileWithoutContentKeyFromDatabase() throws IOException {
+		ByteBuffer content = ByteBuffer.allocate(1);
+		given(databaseBookContentStore.read(DATABASE_BOOK_FILE, 2, 1)).willReturn(content);
+
+		assertThat(testee.read(DATABASE_BOOK_FILE, 2, 1), is(sameInstance(content)));
+		verifyZeroInteractions(filesystemBookContentStore);
+	}
+
+	@Test
+	public void shouldReadRangeOfBookFileWithContentKeyFromFilesystem() throws IOException {
+		ByteBuffer content = ByteBuffer.allocate(1);
+		given(filesystemBookContentStore.read(FILESYSTEM_BOOK_FILE, 2, 1)).willReturn(content);
+
+		assertThat(testee.read(FILESYSTEM_BOOK_FILE, 2, 1), is(sameInstance(content)));
+		verifyZeroInteractions(databaseBookContentStore);
+	}
+
+	@Test
+	public void shouldOpenStreamOfBookFileWithoutContentKeyFromDatabase() throws IOException {
+		InputStream content = new ByteArrayInputStream(new byte[1]);
+		given(databaseBookContentStore.openStream(DATABASE_BOOK_FILE)).willReturn(content);
+
+		assertThat(testee.openStream(DATABASE_BOOK_FILE), is(sameInstance(content)));
+		verifyZeroInteractions(filesystemBookContentStore);
+	}
+
+	@Test
+	public void shouldOpenStreamOfBookFileWithContentKeyFromFilesystem() throws IOException {
+		InputStream content = new ByteArrayInputStream(new byte[1]);
+		given(filesystemBookContentStore.openStream(FILESYSTEM_BOOK_FILE)).willReturn(content);
+
+		assertThat(testee.openStream(FILESYSTEM_BOOK_FILE), is(sameInstance(content)));
+		verifyZeroInteractions(databaseBookContentStore);
+	}
+
+	@Test
+	public void shouldDeleteContentKeysFromFilesystem() {
+		Collection<String> contentKeys = asList("someContentKey");
+
+		testee.delete(contentKeys);
+
+		verify(filesystemBookContentStore).delete(contentKeys);
+		verifyZeroInteractions(databaseBookContentStore);
+	}
+
+}
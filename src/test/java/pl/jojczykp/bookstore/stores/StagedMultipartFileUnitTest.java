@@ -0,0 +1,82 @@
+package pl.jojczykp.bookstore.stores;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class StagedMultipartFileUnitTest {
+
+	private static final byte[] CONTENT = {3, 1, 4, 1, 5};
+	private static final String FILE_NAME = "someBook.txt";
+	private static final String CONTENT_TYPE = "text/plain";
+
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File content;
+	private StagedMultipartFile testee;
+
+	@Before
+	public void setUpTestee() throws IOException {
+		content = temporaryFolder.newFile();
+		writeByteArrayToFile(content, CONTENT);
+		testee = new StagedMultipartFile(content.toPath(), FILE_NAME, CONTENT_TYPE);
+	}
+
+	@Test
+	public void shouldDescribeFile() {
+		assertThat(testee.getName(), is(equalTo("file")));
+		assertThat(testee.getOriginalFilename(), is(equalTo(FILE_NAME)));
+		assertThat(testee.getContentType(), is(equalTo(CONTENT_TYPE)));
+		assertThat(testee.getSize(), is(equalTo((long) CONTENT.length)));
+		assertThat(testee.isEmpty(), is(false));
+	}
+
+	@Test
+	public void shouldBeEmptyForEmptyContent() throws IOException {
+		StagedMultipartFile empty =
+				new StagedMultipartFile(temporaryFolder.newFile().toPath(), FILE_NAME, CONTENT_TYPE);
+
+		assertThat(empty.isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldGetBytes() throws IOException {
+		assertThat(testee.getBytes(), is(equalTo(CONTENT)));
+	}
+
+	@Test
+	public void shouldOpenInputStreamRepeatedly() throws IOException {
+		try (InputStream first = testee.getInputStream(); InputStream second = testee.getInputStream()) {
+			assertThat(toByteArray(first), is(equalTo(CONTENT)));
+			assertThat(toByteArray(second), is(equalTo(CONTENT)));
+		}
+	}
+
+	@Test
+	public void shouldTransferToFile() throws IOException {
+		File target = new File(temporaryFolder.getRoot(), "target");
+
+		testee.transferTo(target);
+
+		assertThat(readFileToByteArray(target), is(equalTo(CONTENT)));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWithRuntimeExceptionWhenGettingSizeOfMissingContent() {
+		new StagedMultipartFile(new File(temporaryFolder.getRoot(), "missing").toPath(), FILE_NAME, CONTENT_TYPE)
+				.getSize();
+	}
+
+}
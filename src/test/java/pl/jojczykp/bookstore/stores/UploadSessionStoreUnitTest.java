@@ -0,0 +1,222 @@
+package pl.jojczykp.bookstore.stores;
+
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.CHECKSUM_MISMATCH;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.SAVED;
+import static pl.jojczykp.bookstore.stores.UploadSessionStore.ChunkStatus.TOO_LARGE;
+
+public class UploadSessionStoreUnitTest {
+
+	private static final String TITLE = "Some Title";
+	private static final String FILE_NAME = "someBook.pdf";
+	private static final String CONTENT_TYPE = "application/pdf";
+	private static final byte[] CHUNK_0 = {1, 2, 3};
+	private static final byte[] CHUNK_1 = {4, 5};
+	private static final byte[] OTHER_CHUNK = {9, 9, 9, 9};
+	private static final String NOT_EXISTING_ID = "00000000-0000-0000-0000-000000000000";
+	private static final long VERY_OLD_MILLIS = 0;
+	private static final long DAY_MILLIS = 86400000;
+	private static final long MAX_SIZE = 4;
+
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File directory;
+	private UploadSessionStore testee;
+
+	@Before
+	public void setUpTestee() throws IOException {
+		directory = new File(temporaryFolder.getRoot(), "uploads");
+		testee = new UploadSessionStore();
+		setField(testee, "directoryName", directory.getPath());
+		testee.init();
+	}
+
+	@Test
+	public void shouldCreateDirectoryOnInit() {
+		assertThat(directory.isDirectory(), is(true));
+	}
+
+	@Test
+	public void shouldCreateAndFindSession() {
+		UploadSession created = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		UploadSession found = testee.find(created.getId()).get();
+
+		assertThat(found.getId(), is(equalTo(created.getId())));
+		assertThat(found.getTitle(), is(equalTo(TITLE)));
+		assertThat(found.getFileName(), is(equalTo(FILE_NAME)));
+		assertThat(found.getContentType(), is(equalTo(CONTENT_TYPE)));
+	}
+
+	@Test
+	public void shouldNotFindNotExistingSession() {
+		Optional<UploadSession> found = testee.find(NOT_EXISTING_ID);
+
+		assertThat(found.isPresent(), is(false));
+	}
+
+	@Test
+	public void shouldNotFindSessionOutsideOfStagingDirectory() {
+		Optional<UploadSession> found = testee.find("..");
+
+		assertThat(found.isPresent(), is(false));
+	}
+
+	@Test
+	public void shouldSaveChunkWithMatchingChecksum() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		ChunkStatus status = testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0),
+				MAX_SIZE);
+
+		assertThat(status, is(SAVED));
+		assertThat(testee.chunkNumbers(session), contains(0));
+	}
+
+	@Test
+	public void shouldRejectChunkWithNotMatchingChecksum() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		ChunkStatus status = testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_1),
+				MAX_SIZE);
+
+		assertThat(status, is(CHECKSUM_MISMATCH));
+		assertThat(testee.chunkNumbers(session), is(empty()));
+		assertThat(new File(directory, session.getId()).list(), is(equalTo(new String[] {"session.properties"})));
+	}
+
+	@Test
+	public void shouldSaveChunkOfMaxSize() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		ChunkStatus status = testee.saveChunk(session, 0, new ByteArrayInputStream(OTHER_CHUNK), sha256Hex(OTHER_CHUNK),
+				OTHER_CHUNK.length);
+
+		assertThat(status, is(SAVED));
+	}
+
+	@Test
+	public void shouldRejectChunkLargerThanMaxSize() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		ChunkStatus status = testee.saveChunk(session, 0, new ByteArrayInputStream(OTHER_CHUNK), sha256Hex(OTHER_CHUNK),
+				OTHER_CHUNK.length - 1);
+
+		assertThat(status, is(TOO_LARGE));
+		assertThat(testee.chunkNumbers(session), is(empty()));
+		assertThat(new File(directory, session.getId()).list(), is(equalTo(new String[] {"session.properties"})));
+	}
+
+	@Test
+	public void shouldSumSizesOfOtherChunks() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+		testee.saveChunk(session, 1, new ByteArrayInputStream(CHUNK_1), sha256Hex(CHUNK_1), MAX_SIZE);
+		testee.saveChunk(session, 2, new ByteArrayInputStream(OTHER_CHUNK), sha256Hex(OTHER_CHUNK), MAX_SIZE);
+
+		assertThat(testee.otherChunksSize(session, 1), is((long) (CHUNK_0.length + OTHER_CHUNK.length)));
+	}
+
+	@Test
+	public void shouldSumSizesOfAllChunks() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+		testee.saveChunk(session, 1, new ByteArrayInputStream(CHUNK_1), sha256Hex(CHUNK_1), MAX_SIZE);
+
+		assertThat(testee.chunksSize(session), is((long) (CHUNK_0.length + CHUNK_1.length)));
+	}
+
+	@Test
+	public void shouldListChunkNumbersInOrder() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 10, new ByteArrayInputStream(CHUNK_1), sha256Hex(CHUNK_1), MAX_SIZE);
+		testee.saveChunk(session, 2, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+
+		assertThat(testee.chunkNumbers(session), contains(2, 10));
+	}
+
+	@Test
+	public void shouldAssembleChunksInOrder() throws IOException {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 1, new ByteArrayInputStream(CHUNK_1), sha256Hex(CHUNK_1), MAX_SIZE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+
+		Path content = testee.assemble(session, 2);
+
+		assertThat(readFileToByteArray(content.toFile()), is(equalTo(new byte[] {1, 2, 3, 4, 5})));
+	}
+
+	@Test
+	public void shouldAssembleRetriedChunk() throws IOException {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(OTHER_CHUNK), sha256Hex(OTHER_CHUNK), MAX_SIZE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+
+		Path content = testee.assemble(session, 1);
+
+		assertThat(readFileToByteArray(content.toFile()), is(equalTo(CHUNK_0)));
+	}
+
+	@Test
+	public void shouldReassembleFromScratch() throws IOException {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+		testee.assemble(session, 1);
+
+		Path content = testee.assemble(session, 1);
+
+		assertThat(readFileToByteArray(content.toFile()), is(equalTo(CHUNK_0)));
+	}
+
+	@Test
+	public void shouldDeleteSession() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		testee.saveChunk(session, 0, new ByteArrayInputStream(CHUNK_0), sha256Hex(CHUNK_0), MAX_SIZE);
+
+		testee.delete(session);
+
+		assertThat(directory.list(), is(emptyArray()));
+	}
+
+	@Test
+	public void shouldDeleteSessionsOlderThanGivenAge() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+		new File(directory, session.getId()).setLastModified(VERY_OLD_MILLIS);
+
+		int deletedCount = testee.deleteOlderThan(DAY_MILLIS);
+
+		assertThat(deletedCount, is(1));
+		assertThat(directory.list(), is(emptyArray()));
+	}
+
+	@Test
+	public void shouldKeepRecentSessions() {
+		UploadSession session = testee.create(TITLE, FILE_NAME, CONTENT_TYPE);
+
+		int deletedCount = testee.deleteOlderThan(DAY_MILLIS);
+
+		assertThat(deletedCount, is(0));
+		assertThat(testee.find(session.getId()).isPresent(), is(true));
+	}
+
+}
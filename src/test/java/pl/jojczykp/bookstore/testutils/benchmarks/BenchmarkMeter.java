@@ -0,0 +1,67 @@
+package pl.jojczykp.bookstore.testutils.benchmarks;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+
+import static java.lang.Thread.currentThread;
+import static java.lang.management.ManagementFactory.getGarbageCollectorMXBeans;
+import static java.lang.management.ManagementFactory.getMemoryMXBean;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+
+public final class BenchmarkMeter {
+
+	private static final int GC_ROUNDS = 3;
+
+	private static final ThreadMXBean THREADS = (ThreadMXBean) getThreadMXBean();
+
+	private BenchmarkMeter() {
+	}
+
+	public static Measurement measure(String name, int warmupIterations, int iterations, Runnable operation) {
+		repeat(warmupIterations, operation);
+
+		long allocatedBefore = allocatedBytes();
+		long cpuBefore = THREADS.getCurrentThreadCpuTime();
+		long wallBefore = System.nanoTime();
+		repeat(iterations, operation);
+		long wallNanos = System.nanoTime() - wallBefore;
+		long cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+		long allocated = allocatedBytes() - allocatedBefore;
+
+		return report(new Measurement(name, iterations, wallNanos, cpuNanos, allocated));
+	}
+
+	public static long allocatedBytes() {
+		return THREADS.getThreadAllocatedBytes(currentThread().getId());
+	}
+
+	public static long usedHeapAfterGc() {
+		for (int i = 0; i < GC_ROUNDS; i++) {
+			System.gc();
+		}
+
+		return getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	public static long gcMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean collector : getGarbageCollectorMXBeans()) {
+			millis += collector.getCollectionTime();
+		}
+
+		return millis;
+	}
+
+	public static <T> T report(T result) {
+		System.out.println("BENCHMARK " + result);
+		return result;
+	}
+
+	private static void repeat(int iterations, Runnable operation) {
+		for (int i = 0; i < iterations; i++) {
+			operation.run();
+		}
+	}
+
+}
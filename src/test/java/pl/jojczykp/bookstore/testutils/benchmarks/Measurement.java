@@ -0,0 +1,39 @@
+package pl.jojczykp.bookstore.testutils.benchmarks;
+
+import static java.lang.String.format;
+
+public class Measurement {
+
+	private final String name;
+	private final int iterations;
+	private final long wallNanos;
+	private final long cpuNanos;
+	private final long allocatedBytes;
+
+	public Measurement(String name, int iterations, long wallNanos, long cpuNanos, long allocatedBytes) {
+		this.name = name;
+		this.iterations = iterations;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public long getWallNanosPerCall() {
+		return wallNanos / iterations;
+	}
+
+	public long getCpuNanosPerCall() {
+		return cpuNanos / iterations;
+	}
+
+	public long getAllocatedBytesPerCall() {
+		return allocatedBytes / iterations;
+	}
+
+	@Override
+	public String toString() {
+		return format("%-48s %8d calls %12d wall ns/call %12d cpu ns/call %12d B/call",
+				name, iterations, getWallNanosPerCall(), getCpuNanosPerCall(), getAllocatedBytesPerCall());
+	}
+
+}
@@ -0,0 +1,48 @@
+package pl.jojczykp.bookstore.testutils.controllers.security;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+public final class AuthenticatedUser implements RequestPostProcessor {
+
+	private static final String ROLE_PREFIX = "ROLE_";
+	private static final String NO_CREDENTIALS = "";
+
+	private final String name;
+	private final List<GrantedAuthority> authorities = new ArrayList<>();
+
+	public static AuthenticatedUser user(String name) {
+		return new AuthenticatedUser(name);
+	}
+
+	private AuthenticatedUser(String name) {
+		this.name = name;
+	}
+
+	public AuthenticatedUser roles(String... roles) {
+		for (String role : roles) {
+			authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+		}
+		return this;
+	}
+
+	@Override
+	public MockHttpServletRequest postProcessRequest(MockHttpServletRequest request) {
+		SecurityContext securityContext = new SecurityContextImpl();
+		securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(name, NO_CREDENTIALS, authorities));
+		request.getSession().setAttribute(SPRING_SECURITY_CONTEXT_KEY, securityContext);
+
+		return request;
+	}
+
+}
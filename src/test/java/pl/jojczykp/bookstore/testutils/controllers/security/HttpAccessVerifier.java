@@ -1,20 +1,24 @@
 package pl.jojczykp.bookstore.testutils.controllers.security;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.bind.annotation.RequestMethod;
 
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static pl.jojczykp.bookstore.testutils.controllers.security.AuthenticatedUser.user;
 
 public final class HttpAccessVerifier {
 
 	private RequestMethod method;
 	private String url;
 	private String role;
+	private final HttpHeaders headers = new HttpHeaders();
 	private HttpStatus expectedStatus;
 
 	public static HttpAccessVerifier allowFind() {
@@ -43,6 +47,11 @@ public final class HttpAccessVerifier {
 		return this;
 	}
 
+	public HttpAccessVerifier header(String name, String value) {
+		this.headers.add(name, value);
+		return this;
+	}
+
 	public HttpAccessVerifier role(String role) {
 		this.role = role;
 		return this;
@@ -51,6 +60,7 @@ public final class HttpAccessVerifier {
 	public void verify(MockMvc mvcMock) {
 		try {
 			mvcMock.perform(requestFor(method, url)
+					.headers(headers)
 					.with(user("someUser").roles(role)))
 					.andExpect(status().is(expectedStatus.value()));
 		} catch (Exception e) {
@@ -62,6 +72,8 @@ public final class HttpAccessVerifier {
 		switch (method) {
 			case GET: return get(url);
 			case POST: return post(url);
+			case PUT: return put(url);
+			case DELETE: return delete(url);
 			default: throw new RuntimeException("No implementation for " + method);
 		}
 	}
@@ -0,0 +1,46 @@
+package pl.jojczykp.bookstore.testutils.matchers;
+
+import org.hamcrest.Description;
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
+
+public final class IsBookSummaryOf extends TypeSafeMatcher<BookSummary> {
+
+	private Book book;
+
+	@Factory
+	public static Matcher<BookSummary> isBookSummaryOf(Book book) {
+		return new IsBookSummaryOf(book);
+	}
+
+	private IsBookSummaryOf(Book book) {
+		this.book = book;
+	}
+
+	@Override
+	protected boolean matchesSafely(BookSummary item) {
+		return book.getId() == item.getId()
+			&& book.getVersion() == item.getVersion()
+			&& book.getTitle().equals(item.getTitle())
+			&& book.getBookFile().getFileType().equals(item.getFileType());
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("BookSummary");
+		description.appendText("{id=" + book.getId());
+		description.appendText(", version=" + book.getVersion());
+		description.appendText(", title='" + book.getTitle() + "'");
+		description.appendText(", fileType='" + book.getBookFile().getFileType() + "'");
+		description.appendText("}");
+	}
+
+	@Override
+	protected void describeMismatchSafely(BookSummary item, Description mismatchDescription) {
+		mismatchDescription.appendText(item.toString());
+	}
+
+}
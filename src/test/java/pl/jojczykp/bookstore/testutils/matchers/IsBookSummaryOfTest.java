@@ -0,0 +1,74 @@
+package pl.jojczykp.bookstore.testutils.matchers;
+
+import org.hamcrest.Description;
+import org.hamcrest.StringDescription;
+import org.junit.Before;
+import org.junit.Test;
+import pl.jojczykp.bookstore.entities.Book;
+import pl.jojczykp.bookstore.entities.BookSummary;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static pl.jojczykp.bookstore.entities.builders.BookBuilder.aBook;
+import static pl.jojczykp.bookstore.entities.builders.BookFileBuilder.aBookFile;
+import static pl.jojczykp.bookstore.testutils.matchers.IsBookSummaryOf.isBookSummaryOf;
+
+public class IsBookSummaryOfTest {
+
+	private Book book;
+	private BookSummary bookSummary;
+
+	@Before
+	public void setupData() {
+		book = aBook().withId(1).withVersion(2).withTitle("Title")
+				.withBookFile(aBookFile().withId(3).withFileType("txt").build()).build();
+
+		bookSummary = new BookSummary();
+		bookSummary.setId(1);
+		bookSummary.setVersion(2);
+		bookSummary.setTitle("Title");
+		bookSummary.setFileType("txt");
+	}
+
+	@Test
+	public void shouldMatch() {
+		assertThat(bookSummary, isBookSummaryOf(book));
+	}
+
+	@Test
+	public void shouldNotMatchWhenDifferentId() {
+		bookSummary.setId(0);
+		assertThat(bookSummary, not(isBookSummaryOf(book)));
+	}
+
+	@Test
+	public void shouldNotMatchWhenDifferentVersion() {
+		bookSummary.setVersion(0);
+		assertThat(bookSummary, not(isBookSummaryOf(book)));
+	}
+
+	@Test
+	public void shouldNotMatchWhenDifferentTitle() {
+		bookSummary.setTitle("Another Title");
+		assertThat(bookSummary, not(isBookSummaryOf(book)));
+	}
+
+	@Test
+	public void shouldNotMatchWhenDifferentFileType() {
+		bookSummary.setFileType("pdf");
+		assertThat(bookSummary, not(isBookSummaryOf(book)));
+	}
+
+	@Test
+	public void shouldDescribeExpectedAndMismatch() {
+		Description description = new StringDescription();
+
+		isBookSummaryOf(book).describeTo(description);
+		isBookSummaryOf(book).describeMismatch(bookSummary, description);
+
+		assertThat(description.toString(), containsString("fileType='txt'"));
+		assertThat(description.toString(), containsString(bookSummary.toString()));
+	}
+
+}
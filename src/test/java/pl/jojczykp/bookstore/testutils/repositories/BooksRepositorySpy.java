@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import pl.jojczykp.bookstore.entities.Book;
 import pl.jojczykp.bookstore.entities.BookFile;
+import pl.jojczykp.bookstore.entities.BookFileContent;
+import pl.jojczykp.bookstore.utils.TitleCollator;
 
 import java.util.List;
 
@@ -18,6 +20,7 @@ public class BooksRepositorySpy {
 	public static final int FIRST_GENERATED_ID = 1;
 
 	@Autowired private SessionFactory sessionFactory;
+	@Autowired private TitleCollator titleCollator;
 
 	public List<Book> getAllBooks() {
 		return suppressUnchecked(getAll(Book.class));
@@ -27,18 +30,30 @@ public class BooksRepositorySpy {
 		return suppressUnchecked(getAll(BookFile.class));
 	}
 
+	public List<BookFileContent> getAllBookFileContents() {
+		return suppressUnchecked(getAll(BookFileContent.class));
+	}
+
 	private List<?> getAll(Class clazz) {
 		return getCurrentSession().createCriteria(clazz).list();
 	}
 
 	public void givenRepositoryWith(Object... objects) {
 		for (Object object: objects) {
+			if (object instanceof Book) {
+				collate((Book) object);
+			}
 			getCurrentSession().save(object);
 		}
 		getCurrentSession().flush();
 		getCurrentSession().clear();
 	}
 
+	private void collate(Book book) {
+		book.setTitleCollationKey(titleCollator.collationKeyFor(book.getTitle()));
+		book.setTitleCollationLocale(titleCollator.getCollationLocale().toString());
+	}
+
 	private Session getCurrentSession() {
 		return sessionFactory.getCurrentSession();
 	}
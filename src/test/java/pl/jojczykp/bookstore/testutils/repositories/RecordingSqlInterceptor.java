@@ -0,0 +1,26 @@
+package pl.jojczykp.bookstore.testutils.repositories;
+
+import org.hibernate.EmptyInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecordingSqlInterceptor extends EmptyInterceptor {
+
+	private final List<String> statements = new ArrayList<>();
+
+	@Override
+	public String onPrepareStatement(String sql) {
+		statements.add(sql);
+		return super.onPrepareStatement(sql);
+	}
+
+	public List<String> getStatements() {
+		return statements;
+	}
+
+	public void clear() {
+		statements.clear();
+	}
+
+}
@@ -4,6 +4,7 @@ import org.hsqldb.jdbc.JDBCBlob;
 import org.junit.Test;
 
 import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.sql.Blob;
@@ -14,6 +15,8 @@ import static org.apache.commons.io.IOUtils.toByteArray;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class BlobUtilsTest {
 
@@ -33,6 +36,24 @@ public class BlobUtilsTest {
 		assertThat(blob.getBytes(1, (int) blob.length()), is(equalTo(DATA)));
 	}
 
+	@Test
+	public void shouldCreateStreamedBlobWithGivenContent() throws Exception {
+		Blob blob = BlobUtils.aStreamedBlobWith(new ByteArrayInputStream(DATA), DATA.length);
+
+		assertThat(blob.length(), is((long) DATA.length));
+		assertThat(toByteArray(blob.getBinaryStream()), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldFreeBlob() throws Exception {
+		InputStream stream = mock(InputStream.class);
+		Blob blob = BlobUtils.aStreamedBlobWith(stream, DATA.length);
+
+		BlobUtils.blobFree(blob);
+
+		verify(stream).close();
+	}
+
 	@Test
 	public void shouldComputeBlobLength() throws SQLException {
 		Blob blob = new SerialBlob(DATA);
@@ -60,6 +81,15 @@ public class BlobUtilsTest {
 		assertThat(toByteArray(inputStream), is(equalTo(DATA)));
 	}
 
+	@Test
+	public void shouldGetBlobRangeInputStream() throws Exception {
+		Blob blob = new SerialBlob(DATA);
+
+		InputStream inputStream = BlobUtils.blobInputStream(blob, 1, 3);
+
+		assertThat(toByteArray(inputStream), is(equalTo(new byte[] {6, 4, 2})));
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void shouldWrapExceptionWithRuntimeExceptionWhenCreatingSerialBlob() {
 		byte[] dataThrowingSQLException = null;
@@ -91,6 +121,18 @@ public class BlobUtilsTest {
 		BlobUtils.blobBytes(blobThrowingSQLExceptionOnGetBytes);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWithRuntimeExceptionWhenFreeingBlob() {
+		Blob blobThrowingSQLExceptionOnFree = new JDBCBlob() {
+			@Override
+			public void free() throws SQLException {
+				throw new SQLException();
+			}
+		};
+
+		BlobUtils.blobFree(blobThrowingSQLExceptionOnFree);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void shouldWrapExceptionWithRuntimeExceptionWhenGettingBlobInputStream() {
 		Blob blobThrowingSQLExceptionOnGetInputStream = new JDBCBlob() {
@@ -103,6 +145,18 @@ public class BlobUtilsTest {
 		BlobUtils.blobInputStream(blobThrowingSQLExceptionOnGetInputStream);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWithRuntimeExceptionWhenGettingBlobRangeInputStream() {
+		Blob blobThrowingSQLExceptionOnGetInputStream = new JDBCBlob() {
+			@Override
+			public InputStream getBinaryStream(long position, long length) throws SQLException {
+				throw new SQLException();
+			}
+		};
+
+		BlobUtils.blobInputStream(blobThrowingSQLExceptionOnGetInputStream, 0, 1);
+	}
+
 	@Test
 	public void shouldHavePrivateConstructor() throws Exception {
 		Constructor<BlobUtils> constructor = BlobUtils.class.getDeclaredConstructor();
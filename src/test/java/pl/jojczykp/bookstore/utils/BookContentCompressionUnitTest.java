@@ -0,0 +1,26 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.FILE_TYPE;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.MEASURED;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.NONE;
+
+public class BookContentCompressionUnitTest {
+
+	@Test
+	public void shouldHaveOnlyGivenEnumValues() {
+		assertThat(asList(BookContentCompression.values()), containsInAnyOrder(NONE, FILE_TYPE, MEASURED));
+	}
+
+	@Test
+	public void shouldHaveOtherDefaultEnumMethods() {
+		assertThat(BookContentCompression.valueOf(MEASURED.toString()), is(equalTo(MEASURED)));
+	}
+
+}
@@ -0,0 +1,146 @@
+package pl.jojczykp.bookstore.utils;
+
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static java.util.Arrays.fill;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobInputStream;
+import static pl.jojczykp.bookstore.utils.BlobUtils.blobLength;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.FILE_TYPE;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.MEASURED;
+import static pl.jojczykp.bookstore.utils.BookContentCompression.NONE;
+
+public class BookContentCompressorUnitTest {
+
+	private static final String[] FILE_TYPES = {"txt", "html"};
+	private static final double MAX_RATIO = 0.9;
+	private static final int MAX_IN_MEMORY_SIZE = 1024;
+	private static final int COMPRESSIBLE_LENGTH = 64 * 1024;
+	private static final int INCOMPRESSIBLE_LENGTH = 4 * 1024;
+
+	private BookContentCompressor testee;
+
+	@Before
+	public void setUpTestee() {
+		testee = new BookContentCompressor();
+		setField(testee, "fileTypes", FILE_TYPES);
+		setField(testee, "maxRatio", MAX_RATIO);
+		setField(testee, "maxInMemorySize", MAX_IN_MEMORY_SIZE);
+	}
+
+	@Test
+	public void shouldNotTakeAnyCandidatesWhenCompressionDisabled() {
+		setField(testee, "compression", NONE);
+
+		assertThat(testee.isCandidate("txt"), is(false));
+		assertThat(testee.isCandidate("pdf"), is(false));
+	}
+
+	@Test
+	public void shouldTakeConfiguredFileTypesAsCandidatesWhenCompressingByFileType() {
+		setField(testee, "compression", FILE_TYPE);
+
+		assertThat(testee.isCandidate("txt"), is(true));
+		assertThat(testee.isCandidate("html"), is(true));
+		assertThat(testee.isCandidate("pdf"), is(false));
+	}
+
+	@Test
+	public void shouldTakeAnyFileTypeAsCandidateWhenCompressingByMeasurement() {
+		setField(testee, "compression", MEASURED);
+
+		assertThat(testee.isCandidate("pdf"), is(true));
+	}
+
+	@Test
+	public void shouldCompressInMemoryWithGzip() throws IOException {
+		setField(testee, "compression", FILE_TYPE);
+		byte[] content = "Some small text".getBytes();
+
+		Optional<Blob> compressed = testee.compress(new ByteArrayInputStream(content), content.length);
+
+		assertThat(gunzipped(compressed.get()), is(equalTo(content)));
+	}
+
+	@Test
+	public void shouldCompressAboveMaxInMemorySizeWithGzip() throws IOException {
+		setField(testee, "compression", FILE_TYPE);
+		byte[] content = incompressibleContent(INCOMPRESSIBLE_LENGTH);
+
+		Optional<Blob> compressed = testee.compress(new ByteArrayInputStream(content), content.length);
+
+		assertThat(gunzipped(compressed.get()), is(equalTo(content)));
+	}
+
+	@Test
+	public void shouldKeepCompressedContentWhenMeasuredRatioGood() throws IOException {
+		setField(testee, "compression", MEASURED);
+		byte[] content = compressibleContent(COMPRESSIBLE_LENGTH);
+
+		Optional<Blob> compressed = testee.compress(new ByteArrayInputStream(content), content.length);
+
+		assertThat(blobLength(compressed.get()), is(lessThan((long) (content.length * MAX_RATIO))));
+		assertThat(gunzipped(compressed.get()), is(equalTo(content)));
+	}
+
+	@Test
+	public void shouldDropCompressedContentWhenMeasuredRatioBad() {
+		setField(testee, "compression", MEASURED);
+		byte[] content = incompressibleContent(INCOMPRESSIBLE_LENGTH);
+
+		Optional<Blob> compressed = testee.compress(new ByteArrayInputStream(content), content.length);
+
+		assertThat(compressed.isPresent(), is(false));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void shouldWrapExceptionWhenReadingFails() {
+		setField(testee, "compression", FILE_TYPE);
+
+		testee.compress(aFailingInputStream(), 1);
+	}
+
+	private byte[] compressibleContent(int length) {
+		byte[] content = new byte[length];
+		fill(content, (byte) 'a');
+
+		return content;
+	}
+
+	private byte[] incompressibleContent(int length) {
+		byte[] content = new byte[length];
+		new Random(0).nextBytes(content);
+
+		return content;
+	}
+
+	private byte[] gunzipped(Blob blob) throws IOException {
+		try (InputStream content = new GZIPInputStream(blobInputStream(blob))) {
+			return toByteArray(content);
+		}
+	}
+
+	private InputStream aFailingInputStream() {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("Dummy " + getClass().getName());
+			}
+		};
+	}
+
+}
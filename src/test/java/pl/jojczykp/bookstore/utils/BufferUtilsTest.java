@@ -0,0 +1,154 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+import static java.lang.reflect.Modifier.isPrivate;
+import static java.nio.channels.Channels.newChannel;
+import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class BufferUtilsTest {
+
+	private static final byte[] DATA = {8, 6, 4, 2, -1};
+
+	@Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldMapFileContent() throws IOException {
+		File file = temporaryFolder.newFile();
+		writeByteArrayToFile(file, DATA);
+
+		ByteBuffer buffer = BufferUtils.aMappedBufferOf(file.toPath());
+
+		assertThat(bytesOf(buffer), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldMapEmptyFile() throws IOException {
+		File file = temporaryFolder.newFile();
+
+		ByteBuffer buffer = BufferUtils.aMappedBufferOf(file.toPath());
+
+		assertThat(buffer.remaining(), is(0));
+	}
+
+	@Test
+	public void shouldMapFileRange() throws IOException {
+		File file = temporaryFolder.newFile();
+		writeByteArrayToFile(file, DATA);
+
+		ByteBuffer buffer = BufferUtils.aMappedBufferOf(file.toPath(), 1, 3);
+
+		assertThat(bytesOf(buffer), is(equalTo(new byte[] {6, 4, 2})));
+	}
+
+	@Test
+	public void shouldSpoolStreamToMappedFile() throws IOException {
+		Path directory = temporaryFolder.getRoot().toPath();
+
+		ByteBuffer buffer = BufferUtils.aSpooledBufferOf(new ByteArrayInputStream(DATA), directory);
+
+		assertThat(buffer, is(instanceOf(MappedByteBuffer.class)));
+		assertThat(bytesOf(buffer), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldDeleteSpoolFileOnceMapped() throws IOException {
+		Path directory = temporaryFolder.getRoot().toPath();
+
+		BufferUtils.aSpooledBufferOf(new ByteArrayInputStream(DATA), directory);
+
+		assertThat(temporaryFolder.getRoot().list().length, is(0));
+	}
+
+	@Test
+	public void shouldGetIndependentRangeOfBuffer() {
+		ByteBuffer buffer = ByteBuffer.wrap(DATA);
+		buffer.position(4);
+
+		ByteBuffer range = BufferUtils.bufferRange(buffer, 1, 3);
+
+		assertThat(bytesOf(range), is(equalTo(new byte[] {6, 4, 2})));
+		assertThat(buffer.position(), is(4));
+	}
+
+	@Test
+	public void shouldWriteBufferFullyToChannel() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		BufferUtils.bufferWriteFully(ByteBuffer.wrap(DATA), newChannel(output));
+
+		assertThat(output.toByteArray(), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldReadStreamFullyIntoBuffer() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(DATA.length);
+
+		BufferUtils.bufferReadFully(new ByteArrayInputStream(DATA), buffer);
+
+		assertThat(buffer.hasRemaining(), is(false));
+		buffer.flip();
+		assertThat(bytesOf(buffer), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldStopReadingIntoBufferAtEndOfStream() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(DATA.length + 1);
+
+		BufferUtils.bufferReadFully(new ByteArrayInputStream(DATA), buffer);
+
+		assertThat(buffer.position(), is(DATA.length));
+	}
+
+	@Test
+	public void shouldReadBufferAsInputStream() throws IOException {
+		InputStream stream = BufferUtils.bufferInputStream(ByteBuffer.wrap(DATA));
+
+		assertThat(toByteArray(stream), is(equalTo(DATA)));
+	}
+
+	@Test
+	public void shouldReadBufferAsInputStreamByteByByte() throws IOException {
+		InputStream stream = BufferUtils.bufferInputStream(ByteBuffer.wrap(DATA, 3, 2));
+
+		assertThat(stream.read(), is(2));
+		assertThat(stream.read(), is(255));
+		assertThat(stream.read(), is(-1));
+		assertThat(stream.read(new byte[1], 0, 1), is(-1));
+	}
+
+	@Test
+	public void shouldHavePrivateConstructor() throws Exception {
+		Constructor<BufferUtils> constructor = BufferUtils.class.getDeclaredConstructor();
+
+		assertThat(isPrivate(constructor.getModifiers()), is(true));
+
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	private byte[] bytesOf(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+
+		return bytes;
+	}
+
+}
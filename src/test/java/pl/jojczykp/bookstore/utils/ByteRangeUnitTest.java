@@ -0,0 +1,175 @@
+package pl.jojczykp.bookstore.utils;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static pl.jojczykp.bookstore.utils.ByteRange.isValidRangesHeader;
+import static pl.jojczykp.bookstore.utils.ByteRange.parseSatisfiableRanges;
+
+public class ByteRangeUnitTest {
+
+	private static final long TOTAL_LENGTH = 100;
+	private static final String OVERFLOWING_POSITION = "99999999999999999999";
+
+	@Test
+	public void shouldHaveFirstLastAndLength() {
+		ByteRange testee = new ByteRange(10, 19);
+
+		assertThat(testee.getFirst(), is(10L));
+		assertThat(testee.getLast(), is(19L));
+		assertThat(testee.getLength(), is(10L));
+	}
+
+	@Test
+	public void shouldFormatContentRange() {
+		ByteRange testee = new ByteRange(10, 19);
+
+		assertThat(testee.toContentRange(TOTAL_LENGTH), is(equalTo("bytes 10-19/100")));
+	}
+
+	@Test
+	public void shouldAcceptValidRangesHeaders() {
+		assertThat(isValidRangesHeader("bytes=0-9"), is(true));
+		assertThat(isValidRangesHeader("bytes=10-"), is(true));
+		assertThat(isValidRangesHeader("bytes=-5"), is(true));
+		assertThat(isValidRangesHeader("bytes=0-9, 20-29,-5"), is(true));
+		assertThat(isValidRangesHeader("bytes=500-600"), is(true));
+	}
+
+	@Test
+	public void shouldRejectInvalidRangesHeaders() {
+		assertThat(isValidRangesHeader(null), is(false));
+		assertThat(isValidRangesHeader(""), is(false));
+		assertThat(isValidRangesHeader("bytes="), is(false));
+		assertThat(isValidRangesHeader("bytes=-"), is(false));
+		assertThat(isValidRangesHeader("items=0-9"), is(false));
+		assertThat(isValidRangesHeader("bytes=a-b"), is(false));
+		assertThat(isValidRangesHeader("bytes=9-0"), is(false));
+		assertThat(isValidRangesHeader("bytes=0-9,"), is(false));
+		assertThat(isValidRangesHeader("bytes=" + OVERFLOWING_POSITION + "-9"), is(false));
+	}
+
+	@Test
+	public void shouldAcceptRangesHeaderWithPositionsOverflowingLong() {
+		assertThat(isValidRangesHeader("bytes=0-" + OVERFLOWING_POSITION), is(true));
+		assertThat(isValidRangesHeader("bytes=" + OVERFLOWING_POSITION + "-"), is(true));
+		assertThat(isValidRangesHeader("bytes=-" + OVERFLOWING_POSITION), is(true));
+	}
+
+	@Test
+	public void shouldAcceptRangesHeaderWithMaxRangesCount() {
+		assertThat(isValidRangesHeader(aRangesHeaderWith(16)), is(true));
+	}
+
+	@Test
+	public void shouldRejectRangesHeaderWithTooManyRanges() {
+		assertThat(isValidRangesHeader(aRangesHeaderWith(17)), is(false));
+	}
+
+	@Test
+	public void shouldParseClosedRange() {
+		assertThat(parse("bytes=10-19"), contains(new ByteRange(10, 19)));
+	}
+
+	@Test
+	public void shouldParseOpenEndedRange() {
+		assertThat(parse("bytes=90-"), contains(new ByteRange(90, 99)));
+	}
+
+	@Test
+	public void shouldParseSuffixRange() {
+		assertThat(parse("bytes=-5"), contains(new ByteRange(95, 99)));
+	}
+
+	@Test
+	public void shouldTrimSuffixRangeLongerThanContent() {
+		assertThat(parse("bytes=-500"), contains(new ByteRange(0, 99)));
+	}
+
+	@Test
+	public void shouldTrimRangeEndingAfterContent() {
+		assertThat(parse("bytes=90-500"), contains(new ByteRange(90, 99)));
+	}
+
+	@Test
+	public void shouldParseMultipleRanges() {
+		assertThat(parse("bytes=0-9, 20-29"), contains(new ByteRange(0, 9), new ByteRange(20, 29)));
+	}
+
+	@Test
+	public void shouldSkipUnsatisfiableRanges() {
+		assertThat(parse("bytes=100-200, -0, 0-0"), contains(new ByteRange(0, 0)));
+	}
+
+	@Test
+	public void shouldTrimRangeEndingAfterLongRange() {
+		assertThat(parse("bytes=90-" + OVERFLOWING_POSITION), contains(new ByteRange(90, 99)));
+	}
+
+	@Test
+	public void shouldSkipRangeStartingAfterLongRange() {
+		assertThat(parse("bytes=" + OVERFLOWING_POSITION + "-, 0-0"), contains(new ByteRange(0, 0)));
+	}
+
+	@Test
+	public void shouldTrimSuffixRangeLongerThanLongRange() {
+		assertThat(parse("bytes=-" + OVERFLOWING_POSITION), contains(new ByteRange(0, 99)));
+	}
+
+	@Test
+	public void shouldCoalesceRepeatedRanges() {
+		assertThat(parse("bytes=0-,0-,0-"), contains(new ByteRange(0, 99)));
+	}
+
+	@Test
+	public void shouldCoalesceOverlappingRanges() {
+		assertThat(parse("bytes=0-9, 5-19, 15-17"), contains(new ByteRange(0, 19)));
+	}
+
+	@Test
+	public void shouldCoalesceAdjacentRanges() {
+		assertThat(parse("bytes=0-9, 10-19"), contains(new ByteRange(0, 19)));
+	}
+
+	@Test
+	public void shouldOrderRangesByFirstPosition() {
+		assertThat(parse("bytes=-5, 20-29, 0-9"),
+				contains(new ByteRange(0, 9), new ByteRange(20, 29), new ByteRange(95, 99)));
+	}
+
+	@Test
+	public void shouldFindNoSatisfiableRangesInEmptyContent() {
+		assertThat(parseSatisfiableRanges("bytes=0-9,-5", 0), is(empty()));
+	}
+
+	@Test
+	public void shouldMeetEqualsHashCodeContract() {
+		EqualsVerifier.forClass(ByteRange.class).verify();
+	}
+
+	@Test
+	public void shouldHaveToStringWithDetails() {
+		assertThat(new ByteRange(3, 7).toString(), is(equalTo("ByteRange{first=3, last=7}")));
+	}
+
+	private String aRangesHeaderWith(int rangesCount) {
+		StringBuilder header = new StringBuilder("bytes=0-0");
+		for (int i = 1; i < rangesCount; i++) {
+			header.append(",").append(i * 2).append("-").append(i * 2);
+		}
+
+		return header.toString();
+	}
+
+	private List<ByteRange> parse(String header) {
+		return parseSatisfiableRanges(header, TOTAL_LENGTH);
+	}
+
+}
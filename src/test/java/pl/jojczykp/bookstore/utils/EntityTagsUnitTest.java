@@ -0,0 +1,64 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static pl.jojczykp.bookstore.utils.EntityTags.aStrongEntityTag;
+import static pl.jojczykp.bookstore.utils.EntityTags.aWeakEntityTagOf;
+import static pl.jojczykp.bookstore.utils.EntityTags.isNoneMatchSatisfiedBy;
+
+public class EntityTagsUnitTest {
+
+	@Test
+	public void shouldQuoteStrongEntityTag() {
+		assertThat(aStrongEntityTag("abc"), is(equalTo("\"abc\"")));
+	}
+
+	@Test
+	public void shouldBuildWeakEntityTagStableForSameParts() {
+		assertThat(aWeakEntityTagOf(1L, "name", 2), startsWith("W/\""));
+		assertThat(aWeakEntityTagOf(1L, "name", 2), is(equalTo(aWeakEntityTagOf(1L, "name", 2))));
+	}
+
+	@Test
+	public void shouldBuildWeakEntityTagDifferentForDifferentParts() {
+		assertThat(aWeakEntityTagOf(1L, "name"), is(not(equalTo(aWeakEntityTagOf(2L, "name")))));
+		assertThat(aWeakEntityTagOf("a", "bc"), is(not(equalTo(aWeakEntityTagOf("ab", "c")))));
+	}
+
+	@Test
+	public void shouldNotBeSatisfiedByAbsentHeader() {
+		assertThat(isNoneMatchSatisfiedBy(null, "\"abc\""), is(false));
+	}
+
+	@Test
+	public void shouldBeSatisfiedBySameTag() {
+		assertThat(isNoneMatchSatisfiedBy("\"abc\"", "\"abc\""), is(true));
+	}
+
+	@Test
+	public void shouldNotBeSatisfiedByOtherTag() {
+		assertThat(isNoneMatchSatisfiedBy("\"xyz\"", "\"abc\""), is(false));
+	}
+
+	@Test
+	public void shouldBeSatisfiedByAnyOfListedTags() {
+		assertThat(isNoneMatchSatisfiedBy("\"xyz\", \"abc\"", "\"abc\""), is(true));
+	}
+
+	@Test
+	public void shouldBeSatisfiedByWildcard() {
+		assertThat(isNoneMatchSatisfiedBy("*", "\"abc\""), is(true));
+	}
+
+	@Test
+	public void shouldCompareWeakly() {
+		assertThat(isNoneMatchSatisfiedBy("W/\"abc\"", "\"abc\""), is(true));
+		assertThat(isNoneMatchSatisfiedBy("\"abc\"", "W/\"abc\""), is(true));
+	}
+
+}
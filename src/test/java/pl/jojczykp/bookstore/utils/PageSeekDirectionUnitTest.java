@@ -0,0 +1,26 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NONE;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.PREV;
+
+public class PageSeekDirectionUnitTest {
+
+	@Test
+	public void shouldHaveOnlyGivenEnumValues() {
+		assertThat(asList(PageSeekDirection.values()), containsInAnyOrder(NONE, NEXT, PREV));
+	}
+
+	@Test
+	public void shouldHaveOtherDefaultEnumMethods() {
+		assertThat(PageSeekDirection.valueOf(NEXT.toString()), is(equalTo(NEXT)));
+	}
+
+}
@@ -0,0 +1,81 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NEXT;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.NONE;
+import static pl.jojczykp.bookstore.utils.PageSeekDirection.PREV;
+
+public class PageSeekUnitTest {
+
+	private PageSeek testee;
+
+	@Before
+	public void setUpTestee() {
+		testee = new PageSeek();
+	}
+
+	@Test
+	public void shouldHaveDefaultConstructorSettingDefaultValues() {
+		assertThat(testee.getDirection(), is(NONE));
+		assertThat(testee.getBookId(), is(0));
+		assertThat(testee.getBookTitle(), is(""));
+		assertThat(testee.isActive(), is(false));
+	}
+
+	@Test
+	public void shouldSetDirection() {
+		final PageSeekDirection givenDirection = PREV;
+
+		testee.setDirection(givenDirection);
+
+		assertThat(testee.getDirection(), equalTo(givenDirection));
+	}
+
+	@Test
+	public void shouldSetBookId() {
+		final int givenBookId = 8;
+
+		testee.setBookId(givenBookId);
+
+		assertThat(testee.getBookId(), equalTo(givenBookId));
+	}
+
+	@Test
+	public void shouldSetBookTitle() {
+		final String givenBookTitle = "Some Title";
+
+		testee.setBookTitle(givenBookTitle);
+
+		assertThat(testee.getBookTitle(), equalTo(givenBookTitle));
+	}
+
+	@Test
+	public void shouldBeActiveWhenDirectionGiven() {
+		testee.setDirection(NEXT);
+
+		assertThat(testee.isActive(), is(true));
+	}
+
+	@Test
+	public void shouldHaveToStringWithDetails() {
+		final PageSeekDirection givenDirection = NEXT;
+		final int givenBookId = 5;
+		final String givenBookTitle = "Some Title";
+		testee.setDirection(givenDirection);
+		testee.setBookId(givenBookId);
+		testee.setBookTitle(givenBookTitle);
+
+		String toStringResult = testee.toString();
+
+		assertThat(toStringResult, containsString("direction=" + givenDirection.name()));
+		assertThat(toStringResult, containsString("bookId=" + givenBookId));
+		assertThat(toStringResult, containsString("bookTitle='" + givenBookTitle + "'"));
+	}
+
+}
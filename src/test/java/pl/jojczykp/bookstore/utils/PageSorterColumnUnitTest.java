@@ -8,6 +8,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
+import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE_COLLATED;
 
 public class PageSorterColumnUnitTest {
 
@@ -16,12 +17,30 @@ public class PageSorterColumnUnitTest {
 		PageSorterColumn column = BOOK_TITLE;
 
 		assertThat(column.getNameForQuery(), is(equalTo("title")));
+		assertThat(column.getNormalizedNameForQuery(), is(equalTo("titleNormalized")));
+		assertThat(column.isIgnoreCase(), is(true));
+	}
+
+	@Test
+	public void shouldSortByNormalizedNameWhenIgnoringCase() {
+		PageSorterColumn column = BOOK_TITLE;
+
+		assertThat(column.getSortNameForQuery(), is(equalTo("titleNormalized")));
+	}
+
+	@Test
+	public void shouldHavePageSorterColumnForCollatedTitle() {
+		PageSorterColumn column = BOOK_TITLE_COLLATED;
+
+		assertThat(column.getNameForQuery(), is(equalTo("title")));
+		assertThat(column.getNormalizedNameForQuery(), is(equalTo("titleCollationKey")));
+		assertThat(column.getSortNameForQuery(), is(equalTo("titleCollationKey")));
 		assertThat(column.isIgnoreCase(), is(true));
 	}
 
 	@Test
 	public void shouldHaveOnlyGivenEnumValues() {
-		assertThat(asList(PageSorterColumn.values()), containsInAnyOrder(BOOK_TITLE));
+		assertThat(asList(PageSorterColumn.values()), containsInAnyOrder(BOOK_TITLE, BOOK_TITLE_COLLATED));
 	}
 
 	@Test
@@ -6,6 +6,8 @@ import pl.jojczykp.bookstore.commands.common.PagerCommand;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static pl.jojczykp.bookstore.utils.PageSorterColumn.BOOK_TITLE;
 import static pl.jojczykp.bookstore.utils.PageSorterDirection.DESC;
@@ -132,6 +134,37 @@ public class PagerLimiterUnitTest {
 		assertThat(limited.getSorter().getDirection(), is(sortDirection));
 	}
 
+	@Test
+	public void shouldPropagateSeekWhenPageNotLimited() {
+		final PagerCommand requested = aPagerCommandWith(PAGE_NUMBER, PAGE_SIZE, PAGES_COUNT, TOTAL_COUNT);
+
+		PagerCommand limited = testee.createLimited(requested, TOTAL_COUNT);
+
+		assertThat(limited.getSeek(), is(sameInstance(requested.getSeek())));
+	}
+
+	@Test
+	public void shouldNotPropagateSeekWhenPageNumberLimited() {
+		final int givenPageNumber = PAGES_COUNT + 1;
+		final PagerCommand requested = aPagerCommandWith(givenPageNumber, PAGE_SIZE, PAGES_COUNT, TOTAL_COUNT);
+
+		PagerCommand limited = testee.createLimited(requested, TOTAL_COUNT);
+
+		assertThat(limited.getSeek(), is(not(sameInstance(requested.getSeek()))));
+		assertThat(limited.getSeek().isActive(), is(false));
+	}
+
+	@Test
+	public void shouldNotPropagateSeekWhenPageSizeLimited() {
+		final int givenPageSize = -3;
+		final PagerCommand requested = aPagerCommandWith(1, givenPageSize, PAGES_COUNT, TOTAL_COUNT);
+
+		PagerCommand limited = testee.createLimited(requested, TOTAL_COUNT);
+
+		assertThat(limited.getSeek(), is(not(sameInstance(requested.getSeek()))));
+		assertThat(limited.getSeek().isActive(), is(false));
+	}
+
 	private PagerCommand aPagerCommandWith(int pageNumber, int pageSize, int pagesCount, int totalCount) {
 		PagerCommand requested = new PagerCommand();
 		requested.setTotalCount(totalCount);
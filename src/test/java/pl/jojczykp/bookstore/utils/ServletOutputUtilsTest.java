@@ -0,0 +1,86 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Test;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+import static java.lang.reflect.Modifier.isPrivate;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static pl.jojczykp.bookstore.utils.ServletOutputUtils.nonBlockingOutputOf;
+
+public class ServletOutputUtilsTest {
+
+	@Test
+	public void shouldReturnOutputOfResponseSupportingNonBlockingWrites() throws IOException {
+		ServletOutputStream output = new NonBlockingOutputStream();
+
+		assertThat(nonBlockingOutputOf(aResponseWith(output)), is(sameInstance(output)));
+	}
+
+	@Test
+	public void shouldUnwrapToOutputSupportingNonBlockingWrites() throws IOException {
+		ServletOutputStream output = new NonBlockingOutputStream();
+		ServletResponse wrapper = new HttpServletResponseWrapper(aResponseWith(output)) {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return new DelegatingServletOutputStream(new ByteArrayOutputStream());
+			}
+		};
+
+		assertThat(nonBlockingOutputOf(wrapper), is(sameInstance(output)));
+	}
+
+	@Test
+	public void shouldReturnNullWhenNoOutputSupportsNonBlockingWrites() throws IOException {
+		ServletResponse wrapper = new HttpServletResponseWrapper(new MockHttpServletResponse());
+
+		assertThat(nonBlockingOutputOf(wrapper), is(nullValue()));
+	}
+
+	@Test
+	public void shouldHavePrivateConstructor() throws Exception {
+		Constructor<ServletOutputUtils> constructor = ServletOutputUtils.class.getDeclaredConstructor();
+		assertThat(isPrivate(constructor.getModifiers()), is(true));
+
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	private MockHttpServletResponse aResponseWith(final ServletOutputStream output) {
+		return new MockHttpServletResponse() {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return output;
+			}
+		};
+	}
+
+	private static class NonBlockingOutputStream extends ServletOutputStream {
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+
+		@Override
+		public void write(int b) {
+		}
+
+	}
+
+}
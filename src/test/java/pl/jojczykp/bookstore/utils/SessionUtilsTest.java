@@ -0,0 +1,57 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+
+import static java.lang.reflect.Modifier.isPrivate;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+import static pl.jojczykp.bookstore.utils.SessionUtils.sessionReadOnlyInReadOnlyTransaction;
+
+public class SessionUtilsTest {
+
+	private Session session = mock(Session.class);
+
+	@After
+	public void clearTransactionReadOnly() {
+		setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	public void shouldMakeSessionReadOnlyInReadOnlyTransaction() {
+		setCurrentTransactionReadOnly(true);
+
+		Session result = sessionReadOnlyInReadOnlyTransaction(session);
+
+		assertThat(result, is(sameInstance(session)));
+		verify(session).setDefaultReadOnly(true);
+	}
+
+	@Test
+	public void shouldLeaveSessionUntouchedInReadWriteTransaction() {
+		setCurrentTransactionReadOnly(false);
+
+		Session result = sessionReadOnlyInReadOnlyTransaction(session);
+
+		assertThat(result, is(sameInstance(session)));
+		verifyZeroInteractions(session);
+	}
+
+	@Test
+	public void shouldHavePrivateConstructor() throws Exception {
+		Constructor<SessionUtils> constructor = SessionUtils.class.getDeclaredConstructor();
+		assertThat(isPrivate(constructor.getModifiers()), is(true));
+
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+}
@@ -0,0 +1,78 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+public class TitleCollatorUnitTest {
+
+	private static final Locale POLISH = new Locale("pl", "PL");
+
+	private static final Locale SWEDISH = new Locale("sv", "SE");
+
+	private TitleCollator testee;
+
+	@Before
+	public void setupTestee() {
+		testee = new TitleCollator();
+		setField(testee, "collationLocale", POLISH);
+	}
+
+	@Test
+	public void shouldGetCollationLocale() {
+		assertThat(testee.getCollationLocale(), is(equalTo(POLISH)));
+	}
+
+	@Test
+	public void shouldProduceKeyForCollationLocale() {
+		setField(testee, "collationLocale", SWEDISH);
+
+		assertThat(compareKeys("\u00f6l", "zebra"), is(greaterThan(0)));
+	}
+
+	@Test
+	public void shouldProduceLowerCaseHexKey() {
+		String key = testee.collationKeyFor("Some Title");
+
+		assertThat(key.matches("([0-9a-f]{2})+"), is(true));
+	}
+
+	@Test
+	public void shouldProduceSameKeyForSameTitle() {
+		assertThat(testee.collationKeyFor("Title"), is(equalTo(testee.collationKeyFor("Title"))));
+	}
+
+	@Test
+	public void shouldProduceDifferentKeysForTitlesDifferentInCaseOnly() {
+		assertThat(testee.collationKeyFor("title"), is(not(equalTo(testee.collationKeyFor("Title")))));
+	}
+
+	@Test
+	public void shouldOrderPolishDiacriticsAfterBaseLetters() {
+		assertThat(compareKeys("ab", "\u0105b"), is(lessThan(0)));
+		assertThat(compareKeys("\u0105b", "b"), is(lessThan(0)));
+		assertThat(compareKeys("lody", "\u0142o\u015b"), is(lessThan(0)));
+		assertThat(compareKeys("\u0142o\u015b", "mysz"), is(lessThan(0)));
+		assertThat(compareKeys("\u017b\u00f3\u0142w", "Zebra"), is(greaterThan(0)));
+	}
+
+	@Test
+	public void shouldOrderIgnoringCaseAtPrimaryLevel() {
+		assertThat(compareKeys("Zebra", "ab"), is(greaterThan(0)));
+		assertThat(compareKeys("mysz", "Zebra"), is(lessThan(0)));
+	}
+
+	private int compareKeys(String title1, String title2) {
+		return testee.collationKeyFor(title1).compareTo(testee.collationKeyFor(title2));
+	}
+
+}
@@ -0,0 +1,44 @@
+package pl.jojczykp.bookstore.utils;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.Locale;
+
+import static java.lang.reflect.Modifier.isPrivate;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class TitleNormalizerTest {
+
+	@Test
+	public void shouldNormalizeTitleToLowerCase() {
+		String normalized = TitleNormalizer.normalizedTitle("Some MIXED case Title 7");
+
+		assertThat(normalized, is(equalTo("some mixed case title 7")));
+	}
+
+	@Test
+	public void shouldNormalizeTitleIndependentlyOfDefaultLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr"));
+		try {
+			String normalized = TitleNormalizer.normalizedTitle("TITLE");
+
+			assertThat(normalized, is(equalTo("title")));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void shouldHavePrivateConstructor() throws Exception {
+		Constructor<TitleNormalizer> constructor = TitleNormalizer.class.getDeclaredConstructor();
+		assertThat(isPrivate(constructor.getModifiers()), is(true));
+
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+}